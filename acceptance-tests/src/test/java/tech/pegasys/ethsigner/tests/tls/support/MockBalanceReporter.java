@@ -12,9 +12,10 @@
  */
 package tech.pegasys.ethsigner.tests.tls.support;
 
-import tech.pegasys.ethsigner.core.http.HttpResponseFactory;
 import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequest;
+import tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcSuccessResponse;
 import tech.pegasys.ethsigner.core.requesthandler.JsonRpcRequestHandler;
+import tech.pegasys.ethsigner.core.requesthandler.JsonRpcResponder;
 
 import io.vertx.ext.web.RoutingContext;
 
@@ -23,9 +24,12 @@ public class MockBalanceReporter implements JsonRpcRequestHandler {
   public static final int REPORTED_BALANCE = 300;
 
   @Override
-  public void handle(final RoutingContext context, final JsonRpcRequest rpcRequest) {
-    final HttpResponseFactory responseFactory = new HttpResponseFactory();
-    responseFactory.successResponse(
-        context.response(), rpcRequest.getId(), String.format("0x%X", REPORTED_BALANCE));
+  public void handle(
+      final RoutingContext context,
+      final JsonRpcRequest rpcRequest,
+      final JsonRpcResponder responder) {
+    responder.respond(
+        200,
+        new JsonRpcSuccessResponse(rpcRequest.getId(), String.format("0x%X", REPORTED_BALANCE)));
   }
 }
@@ -16,6 +16,7 @@ import static tech.pegasys.ethsigner.core.EthSigner.createJsonDecoder;
 import static tech.pegasys.ethsigner.tests.tls.support.CertificateHelpers.populateFingerprintFile;
 
 import tech.pegasys.ethsigner.core.http.HttpResponseFactory;
+import tech.pegasys.ethsigner.core.http.JsonRpcBatchHandler;
 import tech.pegasys.ethsigner.core.http.JsonRpcErrorHandler;
 import tech.pegasys.ethsigner.core.http.JsonRpcHandler;
 import tech.pegasys.ethsigner.core.http.RequestMapper;
@@ -82,13 +83,16 @@ public class TlsEnabledHttpServerFactory {
       final Router router = Router.router(vertx);
       final JsonDecoder jsonDecoder = createJsonDecoder();
       final RequestMapper requestMapper = new RequestMapper(new MockBalanceReporter());
+      final HttpResponseFactory responseFactory = new HttpResponseFactory();
+      final JsonRpcBatchHandler batchHandler =
+          new JsonRpcBatchHandler(responseFactory, requestMapper, jsonDecoder, 1024);
       router
           .route(HttpMethod.POST, "/")
           .produces(HttpHeaderValues.APPLICATION_JSON.toString())
           .handler(BodyHandler.create())
           .handler(ResponseContentTypeHandler.create())
           .failureHandler(new JsonRpcErrorHandler(new HttpResponseFactory()))
-          .handler(new JsonRpcHandler(null, requestMapper, jsonDecoder));
+          .handler(new JsonRpcHandler(responseFactory, requestMapper, jsonDecoder, batchHandler));
 
       final HttpServer web3ProviderHttpServer = vertx.createHttpServer(web3HttpServerOptions);
 
@@ -19,4 +19,5 @@ public interface DefaultCommandValues {
   String HOST_FORMAT_HELP = "<HOST>";
   String PORT_FORMAT_HELP = "<PORT>";
   String LONG_FORMAT_HELP = "<LONG>";
+  String INTEGER_FORMAT_HELP = "<INTEGER>";
 }
@@ -12,7 +12,10 @@
  */
 package tech.pegasys.ethsigner;
 
+import static tech.pegasys.ethsigner.DefaultCommandValues.BOOLEAN_FORMAT_HELP;
+import static tech.pegasys.ethsigner.DefaultCommandValues.FILE_FORMAT_HELP;
 import static tech.pegasys.ethsigner.DefaultCommandValues.HOST_FORMAT_HELP;
+import static tech.pegasys.ethsigner.DefaultCommandValues.INTEGER_FORMAT_HELP;
 import static tech.pegasys.ethsigner.DefaultCommandValues.LONG_FORMAT_HELP;
 import static tech.pegasys.ethsigner.DefaultCommandValues.PATH_FORMAT_HELP;
 import static tech.pegasys.ethsigner.DefaultCommandValues.PORT_FORMAT_HELP;
@@ -25,6 +28,7 @@ import tech.pegasys.ethsigner.config.ConfigFileOption;
 import tech.pegasys.ethsigner.config.InvalidCommandLineOptionsException;
 import tech.pegasys.ethsigner.config.PicoCliTlsServerOptions;
 import tech.pegasys.ethsigner.config.tls.client.PicoCliClientTlsOptions;
+import tech.pegasys.ethsigner.convertor.HostAndPortConverter;
 import tech.pegasys.ethsigner.convertor.MetricCategoryConverter;
 import tech.pegasys.ethsigner.core.CorsAllowedOriginsProperty;
 import tech.pegasys.ethsigner.core.config.Config;
@@ -41,12 +45,14 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.file.Path;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
 import com.google.common.base.MoreObjects;
+import com.google.common.net.HostAndPort;
 import org.apache.logging.log4j.Level;
 import org.hyperledger.besu.metrics.StandardMetricCategory;
 import org.hyperledger.besu.plugin.services.metrics.MetricCategory;
@@ -122,6 +128,78 @@ public class EthSignerBaseCommand implements Config, Runnable {
       arity = "1")
   private final Integer httpListenPort = 8545;
 
+  @SuppressWarnings("FieldMayBeFinal")
+  @Option(
+      names = {"--http-server-instances"},
+      description =
+          "Number of JSON-RPC HTTP server instances, each processing requests on its own event loop (default: number of available processors)",
+      paramLabel = INTEGER_FORMAT_HELP,
+      arity = "1")
+  private Integer httpServerInstances = Runtime.getRuntime().availableProcessors();
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Option(
+      names = {"--http-compression-min-size"},
+      description =
+          "Minimum size in bytes of a response for it to be compressed, 0 compresses all responses (default: ${DEFAULT-VALUE})",
+      paramLabel = INTEGER_FORMAT_HELP,
+      arity = "1")
+  private Integer httpCompressionMinSize = 1024;
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Option(
+      names = {"--http-max-batch-size"},
+      description =
+          "Maximum number of requests in a JSON-RPC batch, larger batches are rejected (default: ${DEFAULT-VALUE})",
+      paramLabel = INTEGER_FORMAT_HELP,
+      arity = "1")
+  private Integer httpMaxBatchSize = 1024;
+
+  @Option(
+      names = {"--http2-enabled"},
+      description =
+          "Set to accept JSON-RPC requests over HTTP/2, negotiated by ALPN when TLS is enabled, or h2c otherwise (default: ${DEFAULT-VALUE})")
+  private final Boolean http2Enabled = false;
+
+  @Option(
+      names = {"--websocket-enabled"},
+      description =
+          "Set to accept JSON-RPC requests over WebSockets opened on the JSON-RPC HTTP listener, with requests not handled by EthSigner, such as eth_subscribe, forwarded over a WebSocket to the downstream node (default: ${DEFAULT-VALUE})")
+  private final Boolean webSocketEnabled = false;
+
+  @Option(
+      names = {"--downstream-http2-enabled"},
+      description =
+          "Set to forward requests to downstream nodes over HTTP/2, negotiated by ALPN when TLS is enabled, or an h2c upgrade otherwise (default: ${DEFAULT-VALUE})")
+  private final Boolean downstreamHttp2Enabled = false;
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Option(
+      names = {"--http2-max-concurrent-streams"},
+      description =
+          "Maximum number of concurrent requests multiplexed over each HTTP/2 connection (default: ${DEFAULT-VALUE})",
+      paramLabel = INTEGER_FORMAT_HELP,
+      arity = "1")
+  private Integer http2MaxConcurrentStreams = 100;
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Option(
+      names = {"--http2-initial-window-size"},
+      description =
+          "Initial flow control window size in bytes of each HTTP/2 stream (default: ${DEFAULT-VALUE})",
+      paramLabel = INTEGER_FORMAT_HELP,
+      arity = "1")
+  private Integer http2InitialWindowSize = 65535;
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Option(
+      names = {"--http2-connection-window-size"},
+      description =
+          "Flow control window size in bytes of each HTTP/2 connection, -1 for the protocol default (default: ${DEFAULT-VALUE})",
+      paramLabel = INTEGER_FORMAT_HELP,
+      arity = "1")
+  private Integer http2ConnectionWindowSize = -1;
+
   @Mixin private PicoCliTlsServerOptions picoCliTlsServerOptions;
 
   @SuppressWarnings("FieldMayBeFinal") // Because PicoCLI requires Strings to not be final.
@@ -141,6 +219,25 @@ public class EthSignerBaseCommand implements Config, Runnable {
       arity = "1")
   private Integer downstreamHttpPort;
 
+  @SuppressWarnings("FieldMayBeFinal")
+  @Option(
+      names = "--downstream-http-additional-endpoints",
+      description =
+          "Comma separated list of further endpoints, as host:port, to which received requests are balanced with the downstream host and port",
+      paramLabel = "<host:port>",
+      split = ",",
+      arity = "1..*",
+      converter = HostAndPortConverter.class)
+  private List<HostAndPort> downstreamHttpAdditionalEndpoints = new ArrayList<>();
+
+  @Option(
+      names = "--downstream-routing-config-file",
+      description =
+          "TOML file routing JSON-RPC methods, or method prefixes, to named pools of downstream nodes, each with its own connection pool size and timeout",
+      paramLabel = FILE_FORMAT_HELP,
+      arity = "1")
+  private Path downstreamRoutingConfigFile;
+
   private String downstreamHttpPath = "/";
 
   @SuppressWarnings("FieldMayBeFinal")
@@ -179,8 +276,160 @@ public class EthSignerBaseCommand implements Config, Runnable {
       arity = "1")
   private long downstreamHttpRequestTimeout = Duration.ofSeconds(5).toMillis();
 
+  @SuppressWarnings("FieldMayBeFinal")
+  @Option(
+      names = {"--downstream-http-initial-latency"},
+      description =
+          "Latency in milliseconds assumed for a downstream node until its requests have been timed, used to balance requests across nodes (default: ${DEFAULT-VALUE})",
+      paramLabel = LONG_FORMAT_HELP,
+      arity = "1")
+  private long downstreamHttpInitialLatency = 100;
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Option(
+      names = {"--downstream-http-max-pool-size"},
+      description =
+          "Maximum number of connections to each downstream node used for proxied requests (default: ${DEFAULT-VALUE})",
+      paramLabel = INTEGER_FORMAT_HELP,
+      arity = "1")
+  private Integer downstreamHttpMaxPoolSize = 5;
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Option(
+      names = {"--downstream-http-max-wait-queue-size"},
+      description =
+          "Maximum number of requests waiting for a connection to a downstream node, further requests fail immediately, -1 for no limit (default: ${DEFAULT-VALUE})",
+      paramLabel = INTEGER_FORMAT_HELP,
+      arity = "1")
+  private Integer downstreamHttpMaxWaitQueueSize = -1;
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Option(
+      names = {"--downstream-http-keep-alive-timeout"},
+      description =
+          "Time in seconds an unused connection to a downstream node is kept alive, 0 for no limit (default: ${DEFAULT-VALUE})",
+      paramLabel = LONG_FORMAT_HELP,
+      arity = "1")
+  private long downstreamHttpKeepAliveTimeout = 60;
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Option(
+      names = {"--downstream-http-idle-timeout"},
+      description =
+          "Time in seconds after which a connection to a downstream node which has not sent or received data is closed, 0 for no limit (default: ${DEFAULT-VALUE})",
+      paramLabel = LONG_FORMAT_HELP,
+      arity = "1")
+  private long downstreamHttpIdleTimeout = 0;
+
+  @Option(
+      names = {"--downstream-http-pipelining-enabled"},
+      description =
+          "Set to pipeline proxied requests over connections to downstream nodes (default: ${DEFAULT-VALUE})")
+  private final Boolean downstreamHttpPipeliningEnabled = false;
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Option(
+      names = {"--downstream-http-pipelining-limit"},
+      description =
+          "Maximum number of requests pipelined over a connection to a downstream node (default: ${DEFAULT-VALUE})",
+      paramLabel = INTEGER_FORMAT_HELP,
+      arity = "1")
+  private Integer downstreamHttpPipeliningLimit = 10;
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Option(
+      names = {"--downstream-http-warm-up-connections"},
+      description =
+          "Number of connections opened to each downstream node at startup, divided amongst the clients of the http server instances and limited to their pool size, 0 opens connections on demand (default: ${DEFAULT-VALUE})",
+      paramLabel = INTEGER_FORMAT_HELP,
+      arity = "1")
+  private Integer downstreamHttpWarmUpConnections = 0;
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Option(
+      names = {"--downstream-http-transaction-pool-size"},
+      description =
+          "Maximum number of connections to each downstream node dedicated to nonce queries and transaction submission, separate from those of proxied requests (default: ${DEFAULT-VALUE})",
+      paramLabel = INTEGER_FORMAT_HELP,
+      arity = "1")
+  private Integer downstreamHttpTransactionPoolSize = 5;
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Option(
+      names = {"--downstream-http-transaction-keep-alive-enabled"},
+      description =
+          "Set to keep connections dedicated to transaction submission open between requests (default: ${DEFAULT-VALUE})",
+      paramLabel = BOOLEAN_FORMAT_HELP,
+      arity = "1")
+  private Boolean downstreamHttpTransactionKeepAliveEnabled = true;
+
+  @Option(
+      names = {"--downstream-http-transaction-pipelining-enabled"},
+      description =
+          "Set to pipeline requests over connections dedicated to transaction submission (default: ${DEFAULT-VALUE})")
+  private final Boolean downstreamHttpTransactionPipeliningEnabled = false;
+
   @Mixin private PicoCliClientTlsOptions clientTlsOptions;
 
+  @Option(
+      names = {"--local-nonce-management-enabled"},
+      description =
+          "Set to allocate nonces for eth_sendTransaction and eea_sendTransaction locally, only "
+              + "querying the downstream node on first use of an account or privacy group, or after "
+              + "a nonce is rejected (default: ${DEFAULT-VALUE})")
+  private final Boolean localNonceManagementEnabled = false;
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Option(
+      names = {"--signer-cache-size"},
+      description =
+          "Maximum number of initialised signers held in memory, 0 disables caching (default: ${DEFAULT-VALUE})",
+      paramLabel = LONG_FORMAT_HELP,
+      arity = "1")
+  private long signerCacheSize = 1000;
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Option(
+      names = {"--signer-cache-idle-expiry"},
+      description =
+          "Time in seconds an unused signer is retained in the signer cache, 0 retains signers until evicted due to size (default: ${DEFAULT-VALUE})",
+      paramLabel = LONG_FORMAT_HELP,
+      arity = "1")
+  private long signerCacheIdleExpiry = Duration.ofHours(1).toSeconds();
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Option(
+      names = {"--response-cache-size"},
+      description =
+          "Maximum total size in bytes of immutable downstream results (such as eth_chainId or mined transaction receipts) held in memory, 0 disables the cache (default: ${DEFAULT-VALUE})",
+      paramLabel = LONG_FORMAT_HELP,
+      arity = "1")
+  private long responseCacheSize = 0;
+
+  @Option(
+      names = {"--request-coalescing-enabled"},
+      description =
+          "Set to merge identical concurrent reads (such as eth_blockNumber or eth_call) from clients with the same credentials into a single downstream request; the responses to these reads are then buffered rather than streamed (default: ${DEFAULT-VALUE})")
+  private final Boolean requestCoalescingEnabled = false;
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Option(
+      names = {"--signing-threads"},
+      description =
+          "Number of threads dedicated to loading signers and signing requests (default: ${DEFAULT-VALUE})",
+      paramLabel = INTEGER_FORMAT_HELP,
+      arity = "1")
+  private Integer signingThreads = 20;
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Option(
+      names = {"--signing-queue-size"},
+      description =
+          "Maximum number of signing requests awaiting a signing thread, further requests are rejected with HTTP 429 (default: ${DEFAULT-VALUE})",
+      paramLabel = INTEGER_FORMAT_HELP,
+      arity = "1")
+  private Integer signingQueueSize = 1000;
+
   @Option(
       names = {"--metrics-enabled"},
       description = "Set to start the metrics exporter (default: ${DEFAULT-VALUE})")
@@ -234,6 +483,16 @@ public class EthSignerBaseCommand implements Config, Runnable {
     return downstreamHttpPort;
   }
 
+  @Override
+  public List<HostAndPort> getDownstreamHttpAdditionalEndpoints() {
+    return downstreamHttpAdditionalEndpoints;
+  }
+
+  @Override
+  public Optional<Path> getDownstreamRoutingConfigFile() {
+    return Optional.ofNullable(downstreamRoutingConfigFile);
+  }
+
   @Override
   public String getDownstreamHttpPath() {
     return downstreamHttpPath;
@@ -249,6 +508,11 @@ public class EthSignerBaseCommand implements Config, Runnable {
     return httpListenPort;
   }
 
+  @Override
+  public Integer getHttpServerInstances() {
+    return httpServerInstances;
+  }
+
   @Override
   public ChainIdProvider getChainId() {
     return new ConfigurationChainId(chainId);
@@ -264,6 +528,11 @@ public class EthSignerBaseCommand implements Config, Runnable {
     return Duration.ofMillis(downstreamHttpRequestTimeout);
   }
 
+  @Override
+  public Duration getDownstreamHttpInitialLatency() {
+    return Duration.ofMillis(downstreamHttpInitialLatency);
+  }
+
   @Override
   public Optional<TlsOptions> getTlsOptions() {
     return picoCliTlsServerOptions.isTlsEnabled()
@@ -281,6 +550,131 @@ public class EthSignerBaseCommand implements Config, Runnable {
     return rpcHttpCorsAllowedOrigins;
   }
 
+  @Override
+  public Integer getDownstreamHttpMaxPoolSize() {
+    return downstreamHttpMaxPoolSize;
+  }
+
+  @Override
+  public Integer getDownstreamHttpMaxWaitQueueSize() {
+    return downstreamHttpMaxWaitQueueSize;
+  }
+
+  @Override
+  public Duration getDownstreamHttpKeepAliveTimeout() {
+    return Duration.ofSeconds(downstreamHttpKeepAliveTimeout);
+  }
+
+  @Override
+  public Duration getDownstreamHttpIdleTimeout() {
+    return Duration.ofSeconds(downstreamHttpIdleTimeout);
+  }
+
+  @Override
+  public Boolean isDownstreamHttpPipeliningEnabled() {
+    return downstreamHttpPipeliningEnabled;
+  }
+
+  @Override
+  public Integer getDownstreamHttpPipeliningLimit() {
+    return downstreamHttpPipeliningLimit;
+  }
+
+  @Override
+  public Integer getDownstreamHttpWarmUpConnections() {
+    return downstreamHttpWarmUpConnections;
+  }
+
+  @Override
+  public Integer getDownstreamHttpTransactionPoolSize() {
+    return downstreamHttpTransactionPoolSize;
+  }
+
+  @Override
+  public Boolean isDownstreamHttpTransactionKeepAliveEnabled() {
+    return downstreamHttpTransactionKeepAliveEnabled;
+  }
+
+  @Override
+  public Boolean isDownstreamHttpTransactionPipeliningEnabled() {
+    return downstreamHttpTransactionPipeliningEnabled;
+  }
+
+  @Override
+  public Boolean isLocalNonceManagementEnabled() {
+    return localNonceManagementEnabled;
+  }
+
+  @Override
+  public Integer getHttpCompressionMinSize() {
+    return httpCompressionMinSize;
+  }
+
+  @Override
+  public Integer getHttpMaxBatchSize() {
+    return httpMaxBatchSize;
+  }
+
+  @Override
+  public Long getResponseCacheSize() {
+    return responseCacheSize;
+  }
+
+  @Override
+  public Boolean isRequestCoalescingEnabled() {
+    return requestCoalescingEnabled;
+  }
+
+  @Override
+  public Boolean isHttp2Enabled() {
+    return http2Enabled;
+  }
+
+  @Override
+  public Boolean isWebSocketEnabled() {
+    return webSocketEnabled;
+  }
+
+  @Override
+  public Boolean isDownstreamHttp2Enabled() {
+    return downstreamHttp2Enabled;
+  }
+
+  @Override
+  public Integer getHttp2MaxConcurrentStreams() {
+    return http2MaxConcurrentStreams;
+  }
+
+  @Override
+  public Integer getHttp2InitialWindowSize() {
+    return http2InitialWindowSize;
+  }
+
+  @Override
+  public Integer getHttp2ConnectionWindowSize() {
+    return http2ConnectionWindowSize;
+  }
+
+  @Override
+  public Integer getSigningThreads() {
+    return signingThreads;
+  }
+
+  @Override
+  public Integer getSigningQueueSize() {
+    return signingQueueSize;
+  }
+
+  @Override
+  public Long getSignerCacheSize() {
+    return signerCacheSize;
+  }
+
+  @Override
+  public Duration getSignerCacheIdleExpiry() {
+    return Duration.ofSeconds(signerCacheIdleExpiry);
+  }
+
   @Override
   public Boolean isMetricsEnabled() {
     return metricsEnabled;
@@ -321,14 +715,45 @@ public class EthSignerBaseCommand implements Config, Runnable {
         .add("logLevel", logLevel)
         .add("downstreamHttpHost", downstreamHttpHost)
         .add("downstreamHttpPort", downstreamHttpPort)
+        .add("downstreamHttpAdditionalEndpoints", downstreamHttpAdditionalEndpoints)
+        .add("downstreamRoutingConfigFile", downstreamRoutingConfigFile)
         .add("downstreamHttpPath", downstreamHttpPath)
         .add("downstreamHttpRequestTimeout", downstreamHttpRequestTimeout)
+        .add("downstreamHttpInitialLatency", downstreamHttpInitialLatency)
+        .add("downstreamHttpMaxPoolSize", downstreamHttpMaxPoolSize)
+        .add("downstreamHttpMaxWaitQueueSize", downstreamHttpMaxWaitQueueSize)
+        .add("downstreamHttpKeepAliveTimeout", downstreamHttpKeepAliveTimeout)
+        .add("downstreamHttpIdleTimeout", downstreamHttpIdleTimeout)
+        .add("downstreamHttpPipeliningEnabled", downstreamHttpPipeliningEnabled)
+        .add("downstreamHttpPipeliningLimit", downstreamHttpPipeliningLimit)
+        .add("downstreamHttpWarmUpConnections", downstreamHttpWarmUpConnections)
+        .add("downstreamHttpTransactionPoolSize", downstreamHttpTransactionPoolSize)
+        .add(
+            "downstreamHttpTransactionKeepAliveEnabled", downstreamHttpTransactionKeepAliveEnabled)
+        .add(
+            "downstreamHttpTransactionPipeliningEnabled", downstreamHttpTransactionPipeliningEnabled)
         .add("httpListenHost", httpListenHost)
         .add("httpListenPort", httpListenPort)
+        .add("httpServerInstances", httpServerInstances)
+        .add("httpCompressionMinSize", httpCompressionMinSize)
+        .add("httpMaxBatchSize", httpMaxBatchSize)
+        .add("http2Enabled", http2Enabled)
+        .add("webSocketEnabled", webSocketEnabled)
+        .add("downstreamHttp2Enabled", downstreamHttp2Enabled)
+        .add("http2MaxConcurrentStreams", http2MaxConcurrentStreams)
+        .add("http2InitialWindowSize", http2InitialWindowSize)
+        .add("http2ConnectionWindowSize", http2ConnectionWindowSize)
         .add("chainId", chainId)
         .add("dataPath", dataPath)
         .add("clientTlsOptions", clientTlsOptions)
         .add("corsAllowedOrigins", rpcHttpCorsAllowedOrigins)
+        .add("localNonceManagementEnabled", localNonceManagementEnabled)
+        .add("signerCacheSize", signerCacheSize)
+        .add("signerCacheIdleExpiry", signerCacheIdleExpiry)
+        .add("responseCacheSize", responseCacheSize)
+        .add("requestCoalescingEnabled", requestCoalescingEnabled)
+        .add("signingThreads", signingThreads)
+        .add("signingQueueSize", signingQueueSize)
         .toString();
   }
 
@@ -34,6 +34,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.function.Supplier;
 
+import com.google.common.net.HostAndPort;
 import org.apache.logging.log4j.Level;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -196,6 +197,193 @@ class CommandlineParserTest {
         Duration.ofSeconds(5));
   }
 
+  @Test
+  void missingDownstreamInitialLatencyDefaultsTo100Milliseconds() {
+    missingOptionalParameterIsValidAndMeetsDefault(
+        "downstream-http-initial-latency",
+        config::getDownstreamHttpInitialLatency,
+        Duration.ofMillis(100));
+  }
+
+  @Test
+  void missingLocalNonceManagementDefaultsToDisabled() {
+    missingOptionalParameterIsValidAndMeetsDefault(
+        "local-nonce-management-enabled", config::isLocalNonceManagementEnabled, false);
+  }
+
+  @Test
+  void missingSignerCacheSizeDefaultsToOneThousand() {
+    missingOptionalParameterIsValidAndMeetsDefault(
+        "signer-cache-size", config::getSignerCacheSize, 1000L);
+  }
+
+  @Test
+  void missingSignerCacheIdleExpiryDefaultsToOneHour() {
+    missingOptionalParameterIsValidAndMeetsDefault(
+        "signer-cache-idle-expiry", config::getSignerCacheIdleExpiry, Duration.ofHours(1));
+  }
+
+  @Test
+  void missingHttpServerInstancesDefaultsToAvailableProcessors() {
+    missingOptionalParameterIsValidAndMeetsDefault(
+        "http-server-instances",
+        config::getHttpServerInstances,
+        Runtime.getRuntime().availableProcessors());
+  }
+
+  @Test
+  void missingHttpCompressionMinSizeDefaultsTo1024() {
+    missingOptionalParameterIsValidAndMeetsDefault(
+        "http-compression-min-size", config::getHttpCompressionMinSize, 1024);
+  }
+
+  @Test
+  void missingHttpMaxBatchSizeDefaultsTo1024() {
+    missingOptionalParameterIsValidAndMeetsDefault(
+        "http-max-batch-size", config::getHttpMaxBatchSize, 1024);
+  }
+
+  @Test
+  void missingDownstreamAdditionalEndpointsDefaultsToEmpty() {
+    missingOptionalParameterIsValidAndMeetsDefault(
+        "downstream-http-additional-endpoints",
+        config::getDownstreamHttpAdditionalEndpoints,
+        List.of());
+  }
+
+  @Test
+  void missingDownstreamRoutingConfigFileDefaultsToEmpty() {
+    missingOptionalParameterIsValidAndMeetsDefault(
+        "downstream-routing-config-file",
+        config::getDownstreamRoutingConfigFile,
+        Optional.empty());
+  }
+
+  @Test
+  void missingResponseCacheSizeDefaultsToDisabled() {
+    missingOptionalParameterIsValidAndMeetsDefault(
+        "response-cache-size", config::getResponseCacheSize, 0L);
+  }
+
+  @Test
+  void missingRequestCoalescingEnabledDefaultsToDisabled() {
+    missingOptionalParameterIsValidAndMeetsDefault(
+        "request-coalescing-enabled", config::isRequestCoalescingEnabled, false);
+  }
+
+  @Test
+  void missingHttp2EnabledDefaultsToDisabled() {
+    missingOptionalParameterIsValidAndMeetsDefault("http2-enabled", config::isHttp2Enabled, false);
+  }
+
+  @Test
+  void missingWebSocketEnabledDefaultsToDisabled() {
+    missingOptionalParameterIsValidAndMeetsDefault(
+        "websocket-enabled", config::isWebSocketEnabled, false);
+  }
+
+  @Test
+  void missingDownstreamHttp2EnabledDefaultsToDisabled() {
+    missingOptionalParameterIsValidAndMeetsDefault(
+        "downstream-http2-enabled", config::isDownstreamHttp2Enabled, false);
+  }
+
+  @Test
+  void missingHttp2MaxConcurrentStreamsDefaultsToOneHundred() {
+    missingOptionalParameterIsValidAndMeetsDefault(
+        "http2-max-concurrent-streams", config::getHttp2MaxConcurrentStreams, 100);
+  }
+
+  @Test
+  void missingHttp2InitialWindowSizeDefaultsToProtocolDefault() {
+    missingOptionalParameterIsValidAndMeetsDefault(
+        "http2-initial-window-size", config::getHttp2InitialWindowSize, 65535);
+  }
+
+  @Test
+  void missingHttp2ConnectionWindowSizeDefaultsToProtocolDefault() {
+    missingOptionalParameterIsValidAndMeetsDefault(
+        "http2-connection-window-size", config::getHttp2ConnectionWindowSize, -1);
+  }
+
+  @Test
+  void missingDownstreamMaxPoolSizeDefaultsToFive() {
+    missingOptionalParameterIsValidAndMeetsDefault(
+        "downstream-http-max-pool-size", config::getDownstreamHttpMaxPoolSize, 5);
+  }
+
+  @Test
+  void missingDownstreamMaxWaitQueueSizeDefaultsToUnbounded() {
+    missingOptionalParameterIsValidAndMeetsDefault(
+        "downstream-http-max-wait-queue-size", config::getDownstreamHttpMaxWaitQueueSize, -1);
+  }
+
+  @Test
+  void missingDownstreamKeepAliveTimeoutDefaultsToOneMinute() {
+    missingOptionalParameterIsValidAndMeetsDefault(
+        "downstream-http-keep-alive-timeout",
+        config::getDownstreamHttpKeepAliveTimeout,
+        Duration.ofMinutes(1));
+  }
+
+  @Test
+  void missingDownstreamIdleTimeoutDefaultsToNoTimeout() {
+    missingOptionalParameterIsValidAndMeetsDefault(
+        "downstream-http-idle-timeout", config::getDownstreamHttpIdleTimeout, Duration.ZERO);
+  }
+
+  @Test
+  void missingDownstreamPipeliningDefaultsToDisabled() {
+    missingOptionalParameterIsValidAndMeetsDefault(
+        "downstream-http-pipelining-enabled", config::isDownstreamHttpPipeliningEnabled, false);
+  }
+
+  @Test
+  void missingDownstreamPipeliningLimitDefaultsToTen() {
+    missingOptionalParameterIsValidAndMeetsDefault(
+        "downstream-http-pipelining-limit", config::getDownstreamHttpPipeliningLimit, 10);
+  }
+
+  @Test
+  void missingDownstreamWarmUpConnectionsDefaultsToNone() {
+    missingOptionalParameterIsValidAndMeetsDefault(
+        "downstream-http-warm-up-connections", config::getDownstreamHttpWarmUpConnections, 0);
+  }
+
+  @Test
+  void missingDownstreamTransactionPoolSizeDefaultsToFive() {
+    missingOptionalParameterIsValidAndMeetsDefault(
+        "downstream-http-transaction-pool-size", config::getDownstreamHttpTransactionPoolSize, 5);
+  }
+
+  @Test
+  void missingDownstreamTransactionKeepAliveDefaultsToEnabled() {
+    missingOptionalParameterIsValidAndMeetsDefault(
+        "downstream-http-transaction-keep-alive-enabled",
+        config::isDownstreamHttpTransactionKeepAliveEnabled,
+        true);
+  }
+
+  @Test
+  void missingDownstreamTransactionPipeliningDefaultsToDisabled() {
+    missingOptionalParameterIsValidAndMeetsDefault(
+        "downstream-http-transaction-pipelining-enabled",
+        config::isDownstreamHttpTransactionPipeliningEnabled,
+        false);
+  }
+
+  @Test
+  void missingSigningThreadsDefaultsToTwenty() {
+    missingOptionalParameterIsValidAndMeetsDefault(
+        "signing-threads", config::getSigningThreads, 20);
+  }
+
+  @Test
+  void missingSigningQueueSizeDefaultsToOneThousand() {
+    missingOptionalParameterIsValidAndMeetsDefault(
+        "signing-queue-size", config::getSigningQueueSize, 1000);
+  }
+
   @Test
   void missingListenHostDefaultsToLoopback() {
     missingOptionalParameterIsValidAndMeetsDefault(
@@ -404,6 +592,28 @@ class CommandlineParserTest {
     assertThat(config.getCorsAllowedOrigins()).contains("sample.com", "mydomain.com");
   }
 
+  @Test
+  void downstreamAdditionalEndpointsCanBeACommaSeparatedList() {
+    final List<String> cmdLine = toOptionsList(baseCommandOptions());
+    cmdLine.add("--downstream-http-additional-endpoints=10.0.0.1:8545,node2:8546");
+    cmdLine.add(subCommand.getCommandName());
+    final boolean result = parser.parseCommandLine(cmdLine.toArray(String[]::new));
+    assertThat(result).isTrue();
+    assertThat(config.getDownstreamHttpAdditionalEndpoints())
+        .containsExactly(
+            HostAndPort.fromParts("10.0.0.1", 8545), HostAndPort.fromParts("node2", 8546));
+  }
+
+  @Test
+  void downstreamAdditionalEndpointWithoutPortShowsError() {
+    final List<String> cmdLine = toOptionsList(baseCommandOptions());
+    cmdLine.add("--downstream-http-additional-endpoints=10.0.0.1");
+    cmdLine.add(subCommand.getCommandName());
+    final boolean result = parser.parseCommandLine(cmdLine.toArray(String[]::new));
+    assertThat(result).isFalse();
+    assertThat(commandError.toString()).contains("--downstream-http-additional-endpoints");
+  }
+
   @ParameterizedTest
   @ValueSource(booleans = {false, true})
   void corsValueOfNoneLiteralProducesEmptyListInConfig(final boolean useConfigFile) {
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.jsonrpcproxy;
+
+import static java.util.Collections.singletonList;
+import static tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcError.INVALID_REQUEST;
+
+import tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcErrorResponse;
+import tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcSuccessResponse;
+
+import io.vertx.core.json.Json;
+import org.junit.jupiter.api.Test;
+
+class BatchRequestIntegrationTest extends DefaultTestBase {
+
+  private static final Object NO_ID = null;
+
+  private static final String ETH_ACCOUNTS_REQUEST =
+      "{\"jsonrpc\":\"2.0\",\"method\":\"eth_accounts\",\"params\":[],\"id\":1}";
+  private static final String NET_VERSION_REQUEST =
+      "{\"jsonrpc\":\"2.0\",\"method\":\"net_version\",\"params\":[],\"id\":2}";
+  private static final String NET_VERSION_RESPONSE =
+      "{\"jsonrpc\":\"2.0\",\"id\":2,\"result\":\"4\"}";
+  private static final String CHAIN_ID_REQUEST =
+      "{\"jsonrpc\":\"2.0\",\"method\":\"eth_chainId\",\"params\":[],\"id\":3}";
+  private static final String CHAIN_ID_RESPONSE =
+      "{\"jsonrpc\":\"2.0\",\"id\":3,\"result\":\"0x9\"}";
+
+  @Test
+  void batchResponsesAreReturnedInRequestOrder() {
+    setUpEthNodeResponse(
+        request.ethNode(batch(NET_VERSION_REQUEST)),
+        response.ethNode(batch(NET_VERSION_RESPONSE)));
+
+    final String accountsResponse =
+        Json.encode(new JsonRpcSuccessResponse(1, singletonList(unlockedAccount)));
+
+    sendPostRequestAndVerifyResponse(
+        request.ethSigner(batch(ETH_ACCOUNTS_REQUEST, NET_VERSION_REQUEST)),
+        response.ethSigner(batch(accountsResponse, NET_VERSION_RESPONSE)));
+  }
+
+  @Test
+  void passThroughRequestsAreForwardedAsSingleBatchAndCorrelatedById() {
+    setUpEthNodeResponse(
+        request.ethNode(batch(NET_VERSION_REQUEST, CHAIN_ID_REQUEST)),
+        response.ethNode(batch(CHAIN_ID_RESPONSE, NET_VERSION_RESPONSE)));
+
+    sendPostRequestAndVerifyResponse(
+        request.ethSigner(batch(NET_VERSION_REQUEST, CHAIN_ID_REQUEST)),
+        response.ethSigner(batch(NET_VERSION_RESPONSE, CHAIN_ID_RESPONSE)));
+  }
+
+  @Test
+  void invalidBatchElementReceivesInvalidRequestError() {
+    final String accountsResponse =
+        Json.encode(new JsonRpcSuccessResponse(1, singletonList(unlockedAccount)));
+    final String invalidRequestResponse = Json.encode(new JsonRpcErrorResponse(INVALID_REQUEST));
+
+    sendPostRequestAndVerifyResponse(
+        request.ethSigner(batch("1", ETH_ACCOUNTS_REQUEST)),
+        response.ethSigner(batch(invalidRequestResponse, accountsResponse)));
+  }
+
+  @Test
+  void emptyBatchIsRejected() {
+    sendPostRequestAndVerifyResponse(
+        request.ethSigner("[]"), response.ethSigner(NO_ID, INVALID_REQUEST));
+  }
+
+  private static String batch(final String... elements) {
+    return "[" + String.join(",", elements) + "]";
+  }
+}
@@ -27,6 +27,7 @@ import static org.web3j.utils.Async.defaultExecutorService;
 
 import tech.pegasys.ethsigner.core.AddressIndexedSignerProvider;
 import tech.pegasys.ethsigner.core.Runner;
+import tech.pegasys.ethsigner.core.downstream.DownstreamRoutingTable;
 import tech.pegasys.ethsigner.core.jsonrpc.JsonDecoder;
 import tech.pegasys.ethsigner.core.metrics.MetricsEndpoint;
 import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.DownstreamPathCalculator;
@@ -49,6 +50,7 @@ import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Duration;
+import java.util.List;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Properties;
@@ -58,6 +60,7 @@ import java.util.stream.Stream;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.io.Resources;
+import com.google.common.net.HostAndPort;
 import io.restassured.RestAssured;
 import io.restassured.config.HttpClientConfig;
 import io.restassured.response.Response;
@@ -149,12 +152,26 @@ public class IntegrationTestBase {
             httpClientOptions,
             httpServerOptions,
             downstreamTimeout,
+            Duration.ofMillis(100),
             new DownstreamPathCalculator(downstreamHttpRequestPath),
             jsonDecoder,
             dataPath,
             vertx,
             singletonList("sample.com"),
-            new MetricsEndpoint(false, 0, "", emptySet(), emptyList()));
+            new MetricsEndpoint(false, 0, "", emptySet(), emptyList()),
+            false,
+            2,
+            4,
+            100,
+            0,
+            1024,
+            0L,
+            false,
+            List.of(HostAndPort.fromParts(LOCALHOST, clientAndServer.getLocalPort())),
+            DownstreamRoutingTable.empty(),
+            httpClientOptions,
+            0,
+            false);
     runner.start();
 
     final Path portsFile = dataPath.resolve(PORTS_FILENAME);
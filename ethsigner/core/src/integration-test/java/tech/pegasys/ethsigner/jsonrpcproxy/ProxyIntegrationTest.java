@@ -12,6 +12,7 @@
  */
 package tech.pegasys.ethsigner.jsonrpcproxy;
 
+import static io.restassured.RestAssured.given;
 import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockserver.model.HttpRequest.request;
@@ -22,6 +23,7 @@ import java.util.Map.Entry;
 import com.google.common.collect.Lists;
 import io.netty.handler.codec.http.HttpHeaderNames;
 import io.netty.handler.codec.http.HttpResponseStatus;
+import io.restassured.http.Headers;
 import io.vertx.core.json.Json;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.junit.jupiter.api.BeforeAll;
@@ -264,4 +266,25 @@ public class ProxyIntegrationTest extends IntegrationTestBase {
         response.ethSigner(multiValueResponseHeader, LOGIN_RESPONSE),
         "/login");
   }
+
+  @Test
+  void hopByHopHeadersFromDownstreamAreNotPassedBackToCallingApplication() {
+    final List<Entry<String, String>> downstreamResponseHeaders =
+        Lists.newArrayList(RESPONSE_HEADERS);
+    downstreamResponseHeaders.add(ImmutablePair.of("Keep-Alive", "timeout=5"));
+    downstreamResponseHeaders.add(ImmutablePair.of("Proxy-Connection", "keep-alive"));
+    downstreamResponseHeaders.add(ImmutablePair.of("Upgrade", "h2c"));
+
+    setUpEthNodeResponse(
+        request.ethNode(LOGIN_BODY),
+        response.ethNode(downstreamResponseHeaders, LOGIN_RESPONSE, HttpResponseStatus.OK));
+
+    final Headers headers =
+        given().body(LOGIN_BODY).post("/login").then().statusCode(200).extract().headers();
+
+    assertThat(headers.hasHeaderWithName("Content-Type")).isTrue();
+    assertThat(headers.hasHeaderWithName("Keep-Alive")).isFalse();
+    assertThat(headers.hasHeaderWithName("Proxy-Connection")).isFalse();
+    assertThat(headers.hasHeaderWithName("Upgrade")).isFalse();
+  }
 }
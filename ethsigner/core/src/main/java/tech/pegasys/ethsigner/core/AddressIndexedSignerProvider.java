@@ -12,20 +12,41 @@
  */
 package tech.pegasys.ethsigner.core;
 
+import static java.util.Collections.emptyMap;
+
+import tech.pegasys.ethsigner.core.metrics.EthSignerMetricCategory;
+import tech.pegasys.ethsigner.core.signing.PreloadableSignerProvider;
+import tech.pegasys.ethsigner.core.signing.SignerChangeListener;
 import tech.pegasys.signers.secp256k1.EthPublicKeyUtils;
 import tech.pegasys.signers.secp256k1.api.Signer;
 import tech.pegasys.signers.secp256k1.api.SignerProvider;
 
 import java.security.interfaces.ECPublicKey;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.apache.tuweni.bytes.Bytes;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
 import org.web3j.crypto.Keys;
 
-public class AddressIndexedSignerProvider {
+public class AddressIndexedSignerProvider implements SignerChangeListener {
+
+  private static final Logger LOG = LogManager.getLogger();
 
   // Provides a signer based on its Public Key
   private final SignerProvider signerProvider;
@@ -34,37 +55,171 @@ public class AddressIndexedSignerProvider {
   // key.
   private final Map<String, ECPublicKey> addressToPublicKeyMap;
 
+  private volatile boolean loaded;
+  private volatile boolean loadFailed;
+
+  // Initialised signers (which may have required decryption or a remote fetch), keyed as above
+  private final Cache<String, Signer> signerCache;
+
+  private final Counter cacheHitCounter;
+  private final Counter cacheMissCounter;
+  private final Counter cacheEvictionCounter;
+
   public AddressIndexedSignerProvider(
       final SignerProvider signerProvider, final Map<String, ECPublicKey> addressToPublicKeyMap) {
+    this(signerProvider, addressToPublicKeyMap, 0, Duration.ZERO, new NoOpMetricsSystem());
+  }
+
+  public AddressIndexedSignerProvider(
+      final SignerProvider signerProvider,
+      final Map<String, ECPublicKey> addressToPublicKeyMap,
+      final long signerCacheSize,
+      final Duration signerCacheIdleExpiry,
+      final MetricsSystem metricsSystem) {
     this.signerProvider = signerProvider;
-    this.addressToPublicKeyMap = addressToPublicKeyMap;
+    this.addressToPublicKeyMap = new ConcurrentHashMap<>(addressToPublicKeyMap);
+    this.loaded = true;
+
+    cacheHitCounter =
+        metricsSystem.createCounter(
+            EthSignerMetricCategory.SIGNING,
+            "signer_cache_hits",
+            "Number of signer lookups served from the signer cache");
+    cacheMissCounter =
+        metricsSystem.createCounter(
+            EthSignerMetricCategory.SIGNING,
+            "signer_cache_misses",
+            "Number of signer lookups which required the signer to be loaded");
+    cacheEvictionCounter =
+        metricsSystem.createCounter(
+            EthSignerMetricCategory.SIGNING,
+            "signer_cache_evictions",
+            "Number of signers evicted from the signer cache due to size or idle expiry");
+
+    final CacheBuilder<Object, Object> cacheBuilder =
+        CacheBuilder.newBuilder().maximumSize(signerCacheSize);
+    if (!signerCacheIdleExpiry.isZero()) {
+      cacheBuilder.expireAfterAccess(signerCacheIdleExpiry);
+    }
+    this.signerCache = cacheBuilder.removalListener(this::cacheEntryRemoved).build();
   }
 
   public static AddressIndexedSignerProvider create(final SignerProvider signerProvider) {
+    return new AddressIndexedSignerProvider(signerProvider, createAddressMap(signerProvider));
+  }
+
+  public static AddressIndexedSignerProvider create(
+      final SignerProvider signerProvider,
+      final long signerCacheSize,
+      final Duration signerCacheIdleExpiry,
+      final MetricsSystem metricsSystem) {
+    return new AddressIndexedSignerProvider(
+        signerProvider,
+        createAddressMap(signerProvider),
+        signerCacheSize,
+        signerCacheIdleExpiry,
+        metricsSystem);
+  }
+
+  /**
+   * Creates a provider with no available addresses, which are populated by a subsequent call to
+   * {@link #loadAddresses()} once the underlying signer provider is ready.
+   */
+  public static AddressIndexedSignerProvider createUnloaded(
+      final SignerProvider signerProvider,
+      final long signerCacheSize,
+      final Duration signerCacheIdleExpiry,
+      final MetricsSystem metricsSystem) {
+    final AddressIndexedSignerProvider provider =
+        new AddressIndexedSignerProvider(
+            signerProvider, emptyMap(), signerCacheSize, signerCacheIdleExpiry, metricsSystem);
+    provider.loaded = false;
+    return provider;
+  }
+
+  // synchronized with signer changes, so a change reported while loading is not overwritten
+  public synchronized void loadAddresses() {
+    final Map<String, ECPublicKey> availableAddresses = createAddressMap(signerProvider);
+    addressToPublicKeyMap.putAll(availableAddresses);
+    addressToPublicKeyMap.keySet().retainAll(availableAddresses.keySet());
+    loaded = true;
+  }
+
+  /**
+   * Initialises every signer of a preloadable signer provider into the signer cache (so the
+   * preloaded signers are bounded by the cache's size), then loads the available addresses. A
+   * failure is terminal, and is reported by {@link #hasLoadFailed()}.
+   */
+  public CompletableFuture<Void> preload() {
+    final CompletableFuture<Void> signersLoaded =
+        signerProvider instanceof PreloadableSignerProvider
+            ? ((PreloadableSignerProvider) signerProvider).preload(this)
+            : CompletableFuture.completedFuture(null);
+    return signersLoaded
+        .thenRun(this::loadAddresses)
+        .whenComplete(
+            (result, thrown) -> {
+              if (thrown != null) {
+                loadFailed = true;
+              }
+            });
+  }
+
+  public boolean isLoaded() {
+    return loaded;
+  }
+
+  public boolean hasLoadFailed() {
+    return loadFailed;
+  }
+
+  private static Map<String, ECPublicKey> createAddressMap(final SignerProvider signerProvider) {
     final Map<String, ECPublicKey> addrToPubKeyMap = new HashMap<>();
 
     signerProvider
         .availablePublicKeys()
-        .forEach(
-            pubKey -> {
-              final String address =
-                  "0x"
-                      + Keys.getAddress(
-                              Bytes.wrap(EthPublicKeyUtils.toByteArray(pubKey)).toHexString())
-                          .toLowerCase();
-              addrToPubKeyMap.put(address, pubKey);
-            });
+        .forEach(pubKey -> addrToPubKeyMap.put(toAddress(pubKey), pubKey));
+
+    return addrToPubKeyMap;
+  }
 
-    return new AddressIndexedSignerProvider(signerProvider, addrToPubKeyMap);
+  public static String toAddress(final ECPublicKey publicKey) {
+    return "0x"
+        + Keys.getAddress(Bytes.wrap(EthPublicKeyUtils.toByteArray(publicKey)).toHexString())
+            .toLowerCase();
   }
 
   /* Gets a signer from its address, NOTE address MUST have 0x hex prefix */
   public Optional<Signer> getSigner(final String address) {
-    final ECPublicKey publicKey = addressToPublicKeyMap.get(address.toLowerCase());
+    final String key = address.toLowerCase();
+    final ECPublicKey publicKey = addressToPublicKeyMap.get(key);
     if (publicKey == null) {
       return Optional.empty();
     }
-    return signerProvider.getSigner(publicKey);
+
+    final Signer cachedSigner = signerCache.getIfPresent(key);
+    if (cachedSigner != null) {
+      cacheHitCounter.inc();
+      return Optional.of(cachedSigner);
+    }
+
+    // concurrent lookups for an uncached signer wait for a single load, rather than each loading it
+    try {
+      return Optional.of(signerCache.get(key, () -> loadSigner(publicKey)));
+    } catch (final UncheckedExecutionException e) {
+      if (e.getCause() instanceof SignerUnavailableException) {
+        return Optional.empty();
+      }
+      Throwables.throwIfUnchecked(e.getCause());
+      throw e;
+    } catch (final ExecutionException e) {
+      throw new IllegalStateException("Failed to load signer for " + key, e.getCause());
+    }
+  }
+
+  private Signer loadSigner(final ECPublicKey publicKey) {
+    cacheMissCounter.inc();
+    return signerProvider.getSigner(publicKey).orElseThrow(SignerUnavailableException::new);
   }
 
   public Set<String> availableAddresses() {
@@ -72,6 +227,39 @@ public class AddressIndexedSignerProvider {
   }
 
   public Set<ECPublicKey> availablePublicKeys() {
-    return signerProvider.availablePublicKeys();
+    return Set.copyOf(addressToPublicKeyMap.values());
+  }
+
+  @Override
+  public synchronized void signerAdded(final Signer signer) {
+    final ECPublicKey publicKey = signer.getPublicKey();
+    final String address = toAddress(publicKey);
+    LOG.info("Signer for {} is now available", address);
+    addressToPublicKeyMap.put(address, publicKey);
+    signerCache.put(address, signer);
+  }
+
+  @Override
+  public synchronized void signerRemoved(final String address) {
+    final String key = address.toLowerCase();
+    if (addressToPublicKeyMap.remove(key) != null) {
+      LOG.info("Signer for {} is no longer available", key);
+    }
+    signerCache.invalidate(key);
+  }
+
+  private void cacheEntryRemoved(final RemovalNotification<String, Signer> notification) {
+    if (notification.wasEvicted()) {
+      LOG.debug(
+          "Signer for {} evicted from cache ({})", notification.getKey(), notification.getCause());
+      cacheEvictionCounter.inc();
+    }
+  }
+
+  // the signer provider has no signer for an available address, which is not cached
+  private static class SignerUnavailableException extends RuntimeException {
+    SignerUnavailableException() {
+      super(null, null, false, false);
+    }
   }
 }
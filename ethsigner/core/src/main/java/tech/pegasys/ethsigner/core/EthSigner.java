@@ -15,9 +15,12 @@ package tech.pegasys.ethsigner.core;
 import tech.pegasys.ethsigner.core.config.ClientAuthConstraints;
 import tech.pegasys.ethsigner.core.config.Config;
 import tech.pegasys.ethsigner.core.config.TlsOptions;
+import tech.pegasys.ethsigner.core.downstream.DownstreamRoutingTable;
 import tech.pegasys.ethsigner.core.jsonrpc.JsonDecoder;
 import tech.pegasys.ethsigner.core.metrics.MetricsEndpoint;
 import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.DownstreamPathCalculator;
+import tech.pegasys.ethsigner.core.signing.PreloadableSignerProvider;
+import tech.pegasys.ethsigner.core.signing.ReloadableSignerProvider;
 import tech.pegasys.ethsigner.core.util.FileUtil;
 import tech.pegasys.signers.secp256k1.api.SignerProvider;
 
@@ -25,13 +28,19 @@ import java.io.IOException;
 import java.nio.file.AccessDeniedException;
 import java.nio.file.NoSuchFileException;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.net.HostAndPort;
 import io.vertx.core.Vertx;
 import io.vertx.core.http.ClientAuth;
+import io.vertx.core.http.Http2Settings;
 import io.vertx.core.http.HttpServerOptions;
+import io.vertx.core.http.HttpVersion;
 import io.vertx.core.net.PfxOptions;
+import io.vertx.ext.web.client.WebClientOptions;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.tuweni.net.tls.VertxTrustOptions;
@@ -41,12 +50,12 @@ public final class EthSigner {
   private static final Logger LOG = LogManager.getLogger();
 
   private final Config config;
-  private final AddressIndexedSignerProvider signerProvider;
+  private final SignerProvider signerProvider;
   private final WebClientOptionsFactory webClientOptionsFactory = new WebClientOptionsFactory();
 
   public EthSigner(final Config config, final SignerProvider signerProvider) {
     this.config = config;
-    this.signerProvider = AddressIndexedSignerProvider.create(signerProvider);
+    this.signerProvider = signerProvider;
   }
 
   public void run() {
@@ -57,8 +66,74 @@ public final class EthSigner {
       return;
     }
 
-    if (config.getHttpListenHost().equals(config.getDownstreamHttpHost())
-        && config.getHttpListenPort().equals(config.getDownstreamHttpPort())) {
+    if (config.getDownstreamHttpInitialLatency().isNegative()) {
+      LOG.error("Downstream http initial latency must not be negative.");
+      return;
+    }
+
+    if (config.getSignerCacheSize() < 0 || config.getSignerCacheIdleExpiry().isNegative()) {
+      LOG.error("Signer cache size and idle expiry must not be negative.");
+      return;
+    }
+
+    if (config.getHttpServerInstances() < 1) {
+      LOG.error("Http server instances must be greater than 0.");
+      return;
+    }
+
+    if (config.getResponseCacheSize() < 0) {
+      LOG.error("Response cache size must not be negative.");
+      return;
+    }
+
+    if (config.getHttpCompressionMinSize() < 0) {
+      LOG.error("Http compression minimum size must not be negative.");
+      return;
+    }
+
+    if (config.getHttpMaxBatchSize() < 1) {
+      LOG.error("Http max batch size must be greater than 0.");
+      return;
+    }
+
+    if (config.getDownstreamHttpMaxPoolSize() < 1
+        || config.getDownstreamHttpPipeliningLimit() < 1
+        || config.getDownstreamHttpMaxWaitQueueSize() < -1) {
+      LOG.error(
+          "Downstream http max pool size and pipelining limit must be greater than 0, and max wait queue size must not be less than -1.");
+      return;
+    }
+
+    if (config.getDownstreamHttpKeepAliveTimeout().isNegative()
+        || config.getDownstreamHttpIdleTimeout().isNegative()
+        || config.getDownstreamHttpWarmUpConnections() < 0) {
+      LOG.error(
+          "Downstream http keep alive timeout, idle timeout and warm up connections must not be negative.");
+      return;
+    }
+
+    if (config.getDownstreamHttpTransactionPoolSize() < 1) {
+      LOG.error("Downstream http transaction pool size must be greater than 0.");
+      return;
+    }
+
+    if (config.getHttp2MaxConcurrentStreams() < 1
+        || config.getHttp2InitialWindowSize() < 1
+        || config.getHttp2ConnectionWindowSize() < -1) {
+      LOG.error(
+          "Http2 max concurrent streams and initial window size must be greater than 0, and connection window size must not be less than -1.");
+      return;
+    }
+
+    if (config.getSigningThreads() < 1 || config.getSigningQueueSize() < 1) {
+      LOG.error("Signing threads and signing queue size must be greater than 0.");
+      return;
+    }
+
+    final List<HostAndPort> downstreamEndpoints = downstreamEndpoints(config);
+    final HostAndPort httpListenEndpoint =
+        HostAndPort.fromParts(config.getHttpListenHost(), config.getHttpListenPort());
+    if (downstreamEndpoints.contains(httpListenEndpoint)) {
       LOG.error("Http host and port must be different to the downstream host and port.");
       return;
     }
@@ -82,21 +157,52 @@ public final class EthSigner {
             config.getMetricCategories(),
             config.getMetricsHostAllowList());
 
+    final AddressIndexedSignerProvider addressIndexedSignerProvider =
+        createAddressIndexedSignerProvider(metricsEndpoint);
+
     final Vertx vertx = Vertx.vertx();
     try {
+      final WebClientOptions clientOptions = webClientOptionsFactory.createWebClientOptions(config);
+      final WebClientOptions transactionClientOptions =
+          webClientOptionsFactory.createTransactionWebClientOptions(config, clientOptions);
+      final DownstreamRoutingTable routingTable =
+          config
+              .getDownstreamRoutingConfigFile()
+              .map(
+                  file ->
+                      DownstreamRoutingTable.fromToml(
+                          file,
+                          clientOptions.getMaxPoolSize(),
+                          transactionClientOptions.getMaxPoolSize(),
+                          downstreamHttpRequestTimeout))
+              .orElseGet(DownstreamRoutingTable::empty);
       final Runner runner =
           new Runner(
               config.getChainId().id(),
-              signerProvider,
-              webClientOptionsFactory.createWebClientOptions(config),
-              applyConfigTlsSettingsTo(serverOptions),
+              addressIndexedSignerProvider,
+              clientOptions,
+              applyHttp2SettingsTo(applyConfigTlsSettingsTo(serverOptions), config),
               downstreamHttpRequestTimeout,
+              config.getDownstreamHttpInitialLatency(),
               new DownstreamPathCalculator(config.getDownstreamHttpPath()),
               jsonDecoder,
               config.getDataPath(),
               vertx,
               config.getCorsAllowedOrigins(),
-              metricsEndpoint);
+              metricsEndpoint,
+              config.isLocalNonceManagementEnabled(),
+              config.getHttpServerInstances(),
+              config.getSigningThreads(),
+              config.getSigningQueueSize(),
+              config.getHttpCompressionMinSize(),
+              config.getHttpMaxBatchSize(),
+              config.getResponseCacheSize(),
+              config.isRequestCoalescingEnabled(),
+              downstreamEndpoints,
+              routingTable,
+              transactionClientOptions,
+              config.getDownstreamHttpWarmUpConnections(),
+              config.isWebSocketEnabled());
 
       runner.start();
     } catch (final Throwable t) {
@@ -104,6 +210,63 @@ public final class EthSigner {
       throw new InitializationException(
           "Failed to create http service due to " + t.getMessage(), t);
     }
+
+    if (signerProvider instanceof ReloadableSignerProvider) {
+      final ReloadableSignerProvider reloadableSignerProvider =
+          (ReloadableSignerProvider) signerProvider;
+      reloadableSignerProvider.watch(addressIndexedSignerProvider);
+      Runtime.getRuntime().addShutdownHook(new Thread(reloadableSignerProvider::close));
+    }
+
+    if (!addressIndexedSignerProvider.isLoaded()) {
+      preloadSigners(addressIndexedSignerProvider);
+    }
+  }
+
+  private AddressIndexedSignerProvider createAddressIndexedSignerProvider(
+      final MetricsEndpoint metricsEndpoint) {
+    if (signerProvider instanceof PreloadableSignerProvider) {
+      return AddressIndexedSignerProvider.createUnloaded(
+          signerProvider,
+          config.getSignerCacheSize(),
+          config.getSignerCacheIdleExpiry(),
+          metricsEndpoint.getMetricsSystem());
+    }
+    return AddressIndexedSignerProvider.create(
+        signerProvider,
+        config.getSignerCacheSize(),
+        config.getSignerCacheIdleExpiry(),
+        metricsEndpoint.getMetricsSystem());
+  }
+
+  private void preloadSigners(final AddressIndexedSignerProvider addressIndexedSignerProvider) {
+    LOG.info("Preloading signers, upcheck will report unavailable until complete");
+    addressIndexedSignerProvider.preload().whenComplete(this::logPreloadResult);
+  }
+
+  private void logPreloadResult(final Void result, final Throwable thrown) {
+    if (thrown != null) {
+      LOG.error("Failed to preload signers, upcheck will report the failure", thrown);
+    } else {
+      LOG.info("Signer preloading complete");
+    }
+  }
+
+  static HttpServerOptions applyHttp2SettingsTo(
+      final HttpServerOptions input, final Config config) {
+    if (!config.isHttp2Enabled()) {
+      return input;
+    }
+
+    // ALPN offers HTTP/2 over TLS, while plaintext connections may upgrade to, or start with, h2c
+    return new HttpServerOptions(input)
+        .setUseAlpn(true)
+        .setAlpnVersions(List.of(HttpVersion.HTTP_2, HttpVersion.HTTP_1_1))
+        .setInitialSettings(
+            new Http2Settings()
+                .setMaxConcurrentStreams(config.getHttp2MaxConcurrentStreams())
+                .setInitialWindowSize(config.getHttp2InitialWindowSize()))
+        .setHttp2ConnectionWindowSize(config.getHttp2ConnectionWindowSize());
   }
 
   private HttpServerOptions applyConfigTlsSettingsTo(final HttpServerOptions input) {
@@ -125,6 +288,14 @@ public final class EthSigner {
     return result;
   }
 
+  private static List<HostAndPort> downstreamEndpoints(final Config config) {
+    final List<HostAndPort> endpoints = new ArrayList<>();
+    endpoints.add(
+        HostAndPort.fromParts(config.getDownstreamHttpHost(), config.getDownstreamHttpPort()));
+    endpoints.addAll(config.getDownstreamHttpAdditionalEndpoints());
+    return endpoints;
+  }
+
   private static HttpServerOptions applyTlsKeyStore(
       final HttpServerOptions input, final TlsOptions tlsConfig) {
     final HttpServerOptions result = new HttpServerOptions(input);
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core;
+
+import java.util.function.Supplier;
+
+import io.vertx.core.AbstractVerticle;
+import io.vertx.core.Promise;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.http.HttpServerOptions;
+import io.vertx.ext.web.Router;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Serves JSON-RPC over HTTP on the event loop of the verticle. When several instances are deployed
+ * the listening socket is shared between them, with each instance using its own router (and
+ * downstream connections), such that requests are spread across event loops.
+ */
+class JsonRpcHttpVerticle extends AbstractVerticle {
+
+  private static final Logger LOG = LogManager.getLogger();
+
+  private final HttpServerOptions serverOptions;
+  private final Supplier<Router> routerFactory;
+  private HttpServer httpServer;
+
+  JsonRpcHttpVerticle(final HttpServerOptions serverOptions, final Supplier<Router> routerFactory) {
+    this.serverOptions = serverOptions;
+    this.routerFactory = routerFactory;
+  }
+
+  @Override
+  public void start(final Promise<Void> startPromise) {
+    // the router is created here, so its downstream connections are bound to this event loop
+    httpServer = vertx.createHttpServer(serverOptions);
+    httpServer
+        .requestHandler(routerFactory.get())
+        .listen(
+            result -> {
+              if (result.succeeded()) {
+                startPromise.complete();
+              } else {
+                LOG.error(
+                    "Failed to create HTTP Server on {}:{}",
+                    serverOptions.getHost(),
+                    serverOptions.getPort());
+                startPromise.fail(result.cause());
+              }
+            });
+  }
+
+  int actualPort() {
+    return httpServer.actualPort();
+  }
+}
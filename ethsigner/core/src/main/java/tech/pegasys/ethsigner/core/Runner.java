@@ -12,62 +12,100 @@
  */
 package tech.pegasys.ethsigner.core;
 
+import static tech.pegasys.ethsigner.core.downstream.DownstreamRoutingTable.DEFAULT_POOL;
+
+import tech.pegasys.ethsigner.core.downstream.ConnectionWaitQueue;
+import tech.pegasys.ethsigner.core.downstream.ConnectionWarmer;
+import tech.pegasys.ethsigner.core.downstream.DownstreamHealthChecker;
+import tech.pegasys.ethsigner.core.downstream.DownstreamMetrics;
+import tech.pegasys.ethsigner.core.downstream.DownstreamNodes;
+import tech.pegasys.ethsigner.core.downstream.DownstreamPool;
+import tech.pegasys.ethsigner.core.downstream.DownstreamRoutingTable;
+import tech.pegasys.ethsigner.core.http.CompressionThresholdHandler;
 import tech.pegasys.ethsigner.core.http.HttpResponseFactory;
+import tech.pegasys.ethsigner.core.http.JsonRpcBatchHandler;
 import tech.pegasys.ethsigner.core.http.JsonRpcErrorHandler;
 import tech.pegasys.ethsigner.core.http.JsonRpcHandler;
 import tech.pegasys.ethsigner.core.http.LogErrorHandler;
 import tech.pegasys.ethsigner.core.http.RequestMapper;
 import tech.pegasys.ethsigner.core.http.UpcheckHandler;
+import tech.pegasys.ethsigner.core.http.WebSocketJsonRpcHandler;
 import tech.pegasys.ethsigner.core.jsonrpc.JsonDecoder;
+import tech.pegasys.ethsigner.core.metrics.EthSignerMetricCategory;
 import tech.pegasys.ethsigner.core.metrics.MetricsEndpoint;
-import tech.pegasys.ethsigner.core.requesthandler.VertxRequestTransmitter;
+import tech.pegasys.ethsigner.core.requesthandler.BalancingRequestTransmitterFactory;
+import tech.pegasys.ethsigner.core.requesthandler.RoutingRequestTransmitterFactory;
+import tech.pegasys.ethsigner.core.requesthandler.SigningExecutor;
 import tech.pegasys.ethsigner.core.requesthandler.VertxRequestTransmitterFactory;
 import tech.pegasys.ethsigner.core.requesthandler.internalresponse.EthAccountsResultProvider;
 import tech.pegasys.ethsigner.core.requesthandler.internalresponse.EthSignResultProvider;
 import tech.pegasys.ethsigner.core.requesthandler.internalresponse.EthSignTransactionResultProvider;
 import tech.pegasys.ethsigner.core.requesthandler.internalresponse.InternalResponseHandler;
+import tech.pegasys.ethsigner.core.requesthandler.passthrough.CachingPassThroughHandler;
+import tech.pegasys.ethsigner.core.requesthandler.passthrough.CoalescingPassThroughHandler;
+import tech.pegasys.ethsigner.core.requesthandler.passthrough.DownstreamWebSocketFactory;
 import tech.pegasys.ethsigner.core.requesthandler.passthrough.PassThroughHandler;
+import tech.pegasys.ethsigner.core.requesthandler.passthrough.RequestCoalescer;
+import tech.pegasys.ethsigner.core.requesthandler.passthrough.ResponseCache;
+import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.AccountNonceManager;
 import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.DownstreamPathCalculator;
 import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.SendTransactionHandler;
+import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.SubmissionLanes;
 import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.transaction.TransactionFactory;
 
 import java.io.File;
 import java.io.FileOutputStream;
 import java.nio.file.Path;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Properties;
 import java.util.StringJoiner;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
 
+import com.google.common.collect.HashBasedTable;
 import com.google.common.collect.Sets;
+import com.google.common.collect.Table;
+import com.google.common.net.HostAndPort;
 import io.netty.handler.codec.http.HttpHeaderValues;
-import io.vertx.core.Handler;
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Verticle;
 import io.vertx.core.Vertx;
 import io.vertx.core.http.HttpClient;
 import io.vertx.core.http.HttpClientOptions;
 import io.vertx.core.http.HttpMethod;
-import io.vertx.core.http.HttpServer;
 import io.vertx.core.http.HttpServerOptions;
-import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.HttpVersion;
 import io.vertx.ext.web.Router;
 import io.vertx.ext.web.handler.BodyHandler;
 import io.vertx.ext.web.handler.CorsHandler;
 import io.vertx.ext.web.handler.ResponseContentTypeHandler;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
 
 public class Runner {
 
   private static final Logger LOG = LogManager.getLogger();
   private static final String JSON = HttpHeaderValues.APPLICATION_JSON.toString();
   private static final String TEXT = HttpHeaderValues.TEXT_PLAIN.toString() + "; charset=utf-8";
+  private static final Duration HEALTH_CHECK_INTERVAL = Duration.ofSeconds(5);
+  private static final String PASSTHROUGH_CLIENT = "passthrough";
+  private static final String STREAMING_CLIENT = "streaming";
+  private static final String TRANSACTION_CLIENT = "transaction";
+  private static final List<String> CLIENTS =
+      List.of(PASSTHROUGH_CLIENT, STREAMING_CLIENT, TRANSACTION_CLIENT);
 
   private final long chainId;
   private final AddressIndexedSignerProvider signerProvider;
   private final HttpClientOptions clientOptions;
+  private final HttpClientOptions transactionClientOptions;
   private final Duration httpRequestTimeout;
   private final DownstreamPathCalculator downstreamPathCalculator;
   private final HttpResponseFactory responseFactory = new HttpResponseFactory();
@@ -77,6 +115,28 @@ public class Runner {
   private final Collection<String> allowedCorsOrigins;
   private final HttpServerOptions serverOptions;
   private final MetricsEndpoint metricsEndpoint;
+  private final int httpServerInstances;
+  private final int httpCompressionMinSize;
+  private final int httpMaxBatchSize;
+  private final int warmUpConnections;
+  private final boolean webSocketEnabled;
+  // shared by all server instances, so nonces are allocated consistently for each sender
+  private final Optional<AccountNonceManager> nonceManager;
+  private final SubmissionLanes submissionLanes = new SubmissionLanes();
+  private final SigningExecutor signingExecutor;
+  private final Optional<ResponseCache> responseCache;
+  private final boolean requestCoalescingEnabled;
+  // shared by all server instances, so identical reads received by any instance are coalesced
+  private final RequestCoalescer requestCoalescer;
+  private final Counter reusedLookupIdCounter;
+  private final DownstreamRoutingTable routingTable;
+  // the default pool, followed by those of the routing table
+  private final List<DownstreamPool> downstreamPools = new ArrayList<>();
+  // shared by all server instances, so the load and health of each node reflect all requests
+  private final Map<String, DownstreamNodes> downstreamNodes = new HashMap<>();
+  // by pool and client, shared by all server instances so each counts all waiting requests
+  private final Table<String, String, ConnectionWaitQueue> connectionWaitQueues =
+      HashBasedTable.create();
 
   public Runner(
       final long chainId,
@@ -84,15 +144,30 @@ public class Runner {
       final HttpClientOptions clientOptions,
       final HttpServerOptions serverOptions,
       final Duration httpRequestTimeout,
+      final Duration downstreamInitialLatency,
       final DownstreamPathCalculator downstreamPathCalculator,
       final JsonDecoder jsonDecoder,
       final Path dataPath,
       final Vertx vertx,
       final Collection<String> allowedCorsOrigins,
-      final MetricsEndpoint metricsEndpoint) {
+      final MetricsEndpoint metricsEndpoint,
+      final boolean localNonceManagementEnabled,
+      final int httpServerInstances,
+      final int signingThreads,
+      final int signingQueueSize,
+      final int httpCompressionMinSize,
+      final int httpMaxBatchSize,
+      final long responseCacheSize,
+      final boolean requestCoalescingEnabled,
+      final List<HostAndPort> downstreamEndpoints,
+      final DownstreamRoutingTable routingTable,
+      final HttpClientOptions transactionClientOptions,
+      final int warmUpConnections,
+      final boolean webSocketEnabled) {
     this.chainId = chainId;
     this.signerProvider = signerProvider;
     this.clientOptions = clientOptions;
+    this.transactionClientOptions = transactionClientOptions;
     this.httpRequestTimeout = httpRequestTimeout;
     this.downstreamPathCalculator = downstreamPathCalculator;
     this.jsonDecoder = jsonDecoder;
@@ -101,31 +176,148 @@ public class Runner {
     this.allowedCorsOrigins = allowedCorsOrigins;
     this.serverOptions = serverOptions;
     this.metricsEndpoint = metricsEndpoint;
+    this.httpServerInstances = httpServerInstances;
+    this.httpCompressionMinSize = httpCompressionMinSize;
+    this.httpMaxBatchSize = httpMaxBatchSize;
+    this.warmUpConnections = warmUpConnections;
+    this.webSocketEnabled = webSocketEnabled;
+    this.nonceManager =
+        localNonceManagementEnabled ? Optional.of(new AccountNonceManager()) : Optional.empty();
+    this.signingExecutor =
+        new SigningExecutor(signingThreads, signingQueueSize, metricsEndpoint.getMetricsSystem());
+    this.responseCache =
+        responseCacheSize > 0
+            ? Optional.of(new ResponseCache(responseCacheSize, metricsEndpoint.getMetricsSystem()))
+            : Optional.empty();
+    this.requestCoalescer = new RequestCoalescer(metricsEndpoint.getMetricsSystem());
+    this.requestCoalescingEnabled = requestCoalescingEnabled;
+    this.reusedLookupIdCounter =
+        metricsEndpoint
+            .getMetricsSystem()
+            .createCounter(
+                EthSignerMetricCategory.SIGNING,
+                "reused_enclave_lookup_ids",
+                "Number of GoQuorum storeRaw uploads avoided by reusing the lookup id on a retry");
+    this.routingTable = routingTable;
+    downstreamPools.add(
+        new DownstreamPool(
+            DEFAULT_POOL,
+            downstreamEndpoints,
+            clientOptions.getMaxPoolSize(),
+            transactionClientOptions.getMaxPoolSize(),
+            httpRequestTimeout));
+    downstreamPools.addAll(routingTable.getPools());
+    final DownstreamMetrics downstreamMetrics =
+        new DownstreamMetrics(metricsEndpoint.getMetricsSystem());
+    for (final DownstreamPool pool : downstreamPools) {
+      downstreamNodes.put(
+          pool.getName(),
+          new DownstreamNodes(
+              pool.getName(),
+              pool.getEndpoints(),
+              downstreamMetrics,
+              downstreamInitialLatency,
+              pool.getRequestTimeout()));
+      for (final String client : CLIENTS) {
+        connectionWaitQueues.put(
+            pool.getName(),
+            client,
+            new ConnectionWaitQueue(pool.getName(), client, downstreamMetrics));
+      }
+    }
   }
 
   public void start() throws ExecutionException, InterruptedException {
     metricsEndpoint.start(vertx);
-    final HttpServer httpServer = createServerAndWait(vertx, router());
-    LOG.info("Server is up, and listening on {}", httpServer.actualPort());
+    downstreamPools.stream()
+        .filter(pool -> pool.getEndpoints().size() > 1)
+        .forEach(
+            pool ->
+                new DownstreamHealthChecker(
+                        vertx,
+                        vertx.createHttpClient(clientOptions),
+                        downstreamNodes.get(pool.getName()),
+                        downstreamPathCalculator,
+                        HEALTH_CHECK_INTERVAL,
+                        pool.getRequestTimeout())
+                    .start());
+
+    // The first instance binds the (possibly ephemeral) port, which the remaining instances share
+    final JsonRpcHttpVerticle firstInstance = new JsonRpcHttpVerticle(serverOptions, this::router);
+    deployAndWait(() -> firstInstance, 1);
+    final int port = firstInstance.actualPort();
+    if (httpServerInstances > 1) {
+      final HttpServerOptions sharedServerOptions =
+          new HttpServerOptions(serverOptions).setPort(port);
+      deployAndWait(
+          () -> new JsonRpcHttpVerticle(sharedServerOptions, this::router),
+          httpServerInstances - 1);
+    }
+
+    LOG.info("Server is up, and listening on {} with {} instances", port, httpServerInstances);
     if (dataPath != null) {
-      writePortsToFile(httpServer, metricsEndpoint.getPort());
+      writePortsToFile(port, metricsEndpoint.getPort());
     }
   }
 
+  private void deployAndWait(final Supplier<Verticle> verticleFactory, final int instances)
+      throws ExecutionException, InterruptedException {
+    final CompletableFuture<Void> deployed = new CompletableFuture<>();
+    vertx.deployVerticle(
+        verticleFactory,
+        new DeploymentOptions().setInstances(instances),
+        result -> {
+          if (result.succeeded()) {
+            deployed.complete(null);
+          } else {
+            deployed.completeExceptionally(result.cause());
+          }
+        });
+    deployed.get();
+  }
+
   private Router router() {
-    final HttpClient downStreamConnection = vertx.createHttpClient(clientOptions);
+    final Map<String, VertxRequestTransmitterFactory> poolTransmitterFactories = new HashMap<>();
+    final Map<String, VertxRequestTransmitterFactory> poolStreamingTransmitterFactories =
+        new HashMap<>();
+    final Map<String, VertxRequestTransmitterFactory> poolTransactionTransmitterFactories =
+        new HashMap<>();
+    for (final DownstreamPool pool : downstreamPools) {
+      final HttpClientOptions poolClientOptions =
+          new HttpClientOptions(clientOptions).setMaxPoolSize(pool.getMaxPoolSize());
+      poolTransmitterFactories.put(
+          pool.getName(), transmitterFactory(pool, PASSTHROUGH_CLIENT, poolClientOptions));
+      // streamed responses are not inspected, so are forwarded in the encoding the client accepted
+      final HttpClientOptions streamingClientOptions =
+          new HttpClientOptions(poolClientOptions).setTryUseCompression(false);
+      poolStreamingTransmitterFactories.put(
+          pool.getName(), transmitterFactory(pool, STREAMING_CLIENT, streamingClientOptions));
+      // nonce queries and submissions never wait for a connection behind proxied requests
+      final HttpClientOptions poolTransactionClientOptions =
+          new HttpClientOptions(transactionClientOptions)
+              .setMaxPoolSize(pool.getTransactionPoolSize());
+      poolTransactionTransmitterFactories.put(
+          pool.getName(),
+          transmitterFactory(pool, TRANSACTION_CLIENT, poolTransactionClientOptions));
+    }
     final VertxRequestTransmitterFactory transmitterFactory =
-        responseBodyHandler ->
-            new VertxRequestTransmitter(
-                vertx,
-                downStreamConnection,
-                httpRequestTimeout,
-                downstreamPathCalculator,
-                responseBodyHandler);
-    final RequestMapper requestMapper = createRequestMapper(transmitterFactory);
+        new RoutingRequestTransmitterFactory(routingTable, poolTransmitterFactories);
+    final VertxRequestTransmitterFactory streamingTransmitterFactory =
+        new RoutingRequestTransmitterFactory(routingTable, poolStreamingTransmitterFactories);
+    final VertxRequestTransmitterFactory transactionTransmitterFactory =
+        new RoutingRequestTransmitterFactory(routingTable, poolTransactionTransmitterFactories);
+    final PassThroughHandler passThroughHandler =
+        new PassThroughHandler(transmitterFactory, streamingTransmitterFactory);
+    final RequestMapper requestMapper =
+        createRequestMapper(transactionTransmitterFactory, passThroughHandler);
+    final JsonRpcBatchHandler batchHandler =
+        new JsonRpcBatchHandler(
+            responseFactory, requestMapper, passThroughHandler, jsonDecoder, httpMaxBatchSize);
 
     final Router router = Router.router(vertx);
 
+    router.route().handler(new CompressionThresholdHandler(httpCompressionMinSize));
+
     // Handler for JSON-RPC requests
     router
         .route()
@@ -139,7 +331,7 @@ public class Runner {
         .handler(BodyHandler.create())
         .handler(ResponseContentTypeHandler.create())
         .failureHandler(new JsonRpcErrorHandler(new HttpResponseFactory()))
-        .blockingHandler(new JsonRpcHandler(responseFactory, requestMapper, jsonDecoder), false);
+        .handler(new JsonRpcHandler(responseFactory, requestMapper, jsonDecoder, batchHandler));
 
     // Handler for UpCheck endpoint
     router
@@ -148,46 +340,106 @@ public class Runner {
         .handler(BodyHandler.create())
         .handler(ResponseContentTypeHandler.create())
         .failureHandler(new LogErrorHandler())
-        .handler(new UpcheckHandler());
+        .handler(new UpcheckHandler(signerProvider::isLoaded, signerProvider::hasLoadFailed));
+
+    if (webSocketEnabled) {
+      // WebSockets are only opened over HTTP/1.1
+      final HttpClientOptions webSocketClientOptions =
+          new HttpClientOptions(clientOptions).setProtocolVersion(HttpVersion.HTTP_1_1);
+      final DownstreamWebSocketFactory downstreamWebSocketFactory =
+          new DownstreamWebSocketFactory(
+              vertx.createHttpClient(webSocketClientOptions),
+              downstreamNodes.get(DEFAULT_POOL),
+              downstreamPathCalculator);
+      router
+          .route(HttpMethod.GET, "/")
+          .failureHandler(new LogErrorHandler())
+          .handler(
+              new WebSocketJsonRpcHandler(
+                  requestMapper, jsonDecoder, batchHandler, downstreamWebSocketFactory));
+    }
 
-    final PassThroughHandler passThroughHandler = new PassThroughHandler(transmitterFactory);
     router.route().handler(BodyHandler.create()).handler(passThroughHandler);
     return router;
   }
 
+  private VertxRequestTransmitterFactory transmitterFactory(
+      final DownstreamPool pool, final String client, final HttpClientOptions options) {
+    final HttpClient downStreamConnection = vertx.createHttpClient(options);
+    if (warmUpConnections > 0) {
+      new ConnectionWarmer(
+              downstreamNodes.get(pool.getName()),
+              downstreamPathCalculator,
+              pool.getRequestTimeout())
+          .warmUp(
+              downStreamConnection,
+              ConnectionWarmer.connectionsPerClient(
+                  warmUpConnections,
+                  httpServerInstances * CLIENTS.size(),
+                  options.getMaxPoolSize()));
+    }
+    return new BalancingRequestTransmitterFactory(
+        downStreamConnection,
+        downstreamNodes.get(pool.getName()),
+        connectionWaitQueues.get(pool.getName(), client),
+        pool.getRequestTimeout(),
+        downstreamPathCalculator);
+  }
+
   private RequestMapper createRequestMapper(
-      final VertxRequestTransmitterFactory transmitterFactory) {
-    final PassThroughHandler defaultHandler = new PassThroughHandler(transmitterFactory);
+      final VertxRequestTransmitterFactory transactionTransmitterFactory,
+      final PassThroughHandler defaultHandler) {
     final TransactionFactory transactionFactory =
-        new TransactionFactory(jsonDecoder, transmitterFactory);
+        new TransactionFactory(
+            jsonDecoder, transactionTransmitterFactory, nonceManager, reusedLookupIdCounter);
 
     final SendTransactionHandler sendTransactionHandler =
-        new SendTransactionHandler(chainId, signerProvider, transactionFactory, transmitterFactory);
+        new SendTransactionHandler(
+            chainId,
+            signerProvider,
+            transactionFactory,
+            transactionTransmitterFactory,
+            submissionLanes,
+            signingExecutor);
 
     final RequestMapper requestMapper = new RequestMapper(defaultHandler);
+    final CoalescingPassThroughHandler coalescingHandler =
+        new CoalescingPassThroughHandler(defaultHandler, requestCoalescer);
+    // coalesced reads are buffered, so are otherwise left to be streamed by the default handler
+    if (requestCoalescingEnabled) {
+      RequestCoalescer.coalescableMethods()
+          .forEach(method -> requestMapper.addHandler(method, coalescingHandler));
+    }
+    responseCache.ifPresent(
+        cache -> {
+          final CachingPassThroughHandler cachingHandler =
+              new CachingPassThroughHandler(coalescingHandler, cache);
+          ResponseCache.cacheableMethods()
+              .forEach(method -> requestMapper.addHandler(method, cachingHandler));
+        });
     requestMapper.addHandler("eth_sendTransaction", sendTransactionHandler);
     requestMapper.addHandler("eea_sendTransaction", sendTransactionHandler);
     requestMapper.addHandler(
         "eth_accounts",
         new InternalResponseHandler<>(
-            responseFactory, new EthAccountsResultProvider(signerProvider::availablePublicKeys)));
+            new EthAccountsResultProvider(signerProvider::availablePublicKeys)));
     requestMapper.addHandler(
         "eth_sign",
-        new InternalResponseHandler<>(responseFactory, new EthSignResultProvider(signerProvider)));
+        new InternalResponseHandler<>(new EthSignResultProvider(signerProvider), signingExecutor));
     requestMapper.addHandler(
         "eth_signTransaction",
         new InternalResponseHandler<>(
-            responseFactory,
-            new EthSignTransactionResultProvider(chainId, signerProvider, jsonDecoder)));
+            new EthSignTransactionResultProvider(chainId, signerProvider, jsonDecoder),
+            signingExecutor));
     return requestMapper;
   }
 
-  private void writePortsToFile(final HttpServer server, final Optional<Integer> metricsPort) {
+  private void writePortsToFile(final int port, final Optional<Integer> metricsPort) {
     final File portsFile = new File(dataPath.toFile(), "ethsigner.ports");
     portsFile.deleteOnExit();
 
     final Properties properties = new Properties();
-    properties.setProperty("http-jsonrpc", String.valueOf(server.actualPort()));
+    properties.setProperty("http-jsonrpc", String.valueOf(port));
     metricsPort.ifPresent(port -> properties.setProperty("metrics-port", String.valueOf(port)));
 
     LOG.info(
@@ -215,29 +467,4 @@ public class Runner {
       return stringJoiner.toString();
     }
   }
-
-  private HttpServer createServerAndWait(
-      final Vertx vertx, final Handler<HttpServerRequest> requestHandler)
-      throws ExecutionException, InterruptedException {
-
-    final HttpServer httpServer = vertx.createHttpServer(serverOptions);
-    final CompletableFuture<Void> serverRunningFuture = new CompletableFuture<>();
-    httpServer
-        .requestHandler(requestHandler)
-        .listen(
-            result -> {
-              if (result.succeeded()) {
-                serverRunningFuture.complete(null);
-              } else {
-                LOG.error(
-                    "Failed to create HTTP Server on {}:{}",
-                    serverOptions.getHost(),
-                    serverOptions.getPort());
-                serverRunningFuture.completeExceptionally(result.cause());
-              }
-            });
-    serverRunningFuture.get();
-
-    return httpServer;
-  }
 }
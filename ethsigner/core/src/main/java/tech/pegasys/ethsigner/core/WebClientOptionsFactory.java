@@ -23,6 +23,8 @@ import java.io.IOException;
 import java.nio.file.Path;
 import java.util.Optional;
 
+import io.vertx.core.http.Http2Settings;
+import io.vertx.core.http.HttpVersion;
 import io.vertx.core.net.PfxOptions;
 import io.vertx.ext.web.client.WebClientOptions;
 
@@ -32,12 +34,32 @@ class WebClientOptionsFactory {
         new WebClientOptions()
             .setDefaultPort(config.getDownstreamHttpPort())
             .setDefaultHost(config.getDownstreamHttpHost())
-            .setTryUseCompression(true);
+            .setTryUseCompression(true)
+            .setMaxPoolSize(config.getDownstreamHttpMaxPoolSize())
+            .setMaxWaitQueueSize(config.getDownstreamHttpMaxWaitQueueSize())
+            .setKeepAliveTimeout(
+                Math.toIntExact(config.getDownstreamHttpKeepAliveTimeout().toSeconds()))
+            .setIdleTimeout(Math.toIntExact(config.getDownstreamHttpIdleTimeout().toSeconds()))
+            .setPipelining(config.isDownstreamHttpPipeliningEnabled())
+            .setPipeliningLimit(config.getDownstreamHttpPipeliningLimit());
 
     applyTlsOptions(clientOptions, config);
+    applyHttp2Options(clientOptions, config);
     return clientOptions;
   }
 
+  /**
+   * Options of the clients dedicated to nonce queries, storeRaw and transaction submission, which
+   * keep their own connections so they are not queued behind slow proxied requests.
+   */
+  public WebClientOptions createTransactionWebClientOptions(
+      final Config config, final WebClientOptions clientOptions) {
+    return new WebClientOptions(clientOptions)
+        .setMaxPoolSize(config.getDownstreamHttpTransactionPoolSize())
+        .setKeepAlive(config.isDownstreamHttpTransactionKeepAliveEnabled())
+        .setPipelining(config.isDownstreamHttpTransactionPipeliningEnabled());
+  }
+
   private void applyTlsOptions(final WebClientOptions webClientOptions, final Config config) {
     final Optional<ClientTlsOptions> optionalClientTlsOptions = config.getClientTlsOptions();
     if (optionalClientTlsOptions.isEmpty()) {
@@ -55,6 +77,23 @@ class WebClientOptionsFactory {
     applyKeyStoreOptions(webClientOptions, clientTlsOptions.getKeyStoreOptions());
   }
 
+  private void applyHttp2Options(final WebClientOptions webClientOptions, final Config config) {
+    if (!config.isDownstreamHttp2Enabled()) {
+      return;
+    }
+
+    // ALPN negotiates the version over TLS; plaintext connections attempt an h2c upgrade, so
+    // downstream nodes which only support HTTP/1.1 continue to be served over it
+    webClientOptions
+        .setProtocolVersion(HttpVersion.HTTP_2)
+        .setUseAlpn(webClientOptions.isSsl())
+        .setHttp2ClearTextUpgrade(true)
+        .setHttp2MultiplexingLimit(config.getHttp2MaxConcurrentStreams())
+        .setInitialSettings(
+            new Http2Settings().setInitialWindowSize(config.getHttp2InitialWindowSize()))
+        .setHttp2ConnectionWindowSize(config.getHttp2ConnectionWindowSize());
+  }
+
   private void applyTrustOptions(
       final WebClientOptions webClientOptions,
       final Optional<Path> knownServerFile,
@@ -22,6 +22,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
+import com.google.common.net.HostAndPort;
 import org.apache.logging.log4j.Level;
 import org.hyperledger.besu.plugin.services.metrics.MetricCategory;
 
@@ -33,14 +34,62 @@ public interface Config {
 
   Integer getDownstreamHttpPort();
 
+  List<HostAndPort> getDownstreamHttpAdditionalEndpoints();
+
+  Optional<Path> getDownstreamRoutingConfigFile();
+
   String getDownstreamHttpPath();
 
   Duration getDownstreamHttpRequestTimeout();
 
+  Duration getDownstreamHttpInitialLatency();
+
+  Integer getDownstreamHttpMaxPoolSize();
+
+  Integer getDownstreamHttpMaxWaitQueueSize();
+
+  Duration getDownstreamHttpKeepAliveTimeout();
+
+  Duration getDownstreamHttpIdleTimeout();
+
+  Boolean isDownstreamHttpPipeliningEnabled();
+
+  Integer getDownstreamHttpPipeliningLimit();
+
+  Integer getDownstreamHttpWarmUpConnections();
+
+  Integer getDownstreamHttpTransactionPoolSize();
+
+  Boolean isDownstreamHttpTransactionKeepAliveEnabled();
+
+  Boolean isDownstreamHttpTransactionPipeliningEnabled();
+
   String getHttpListenHost();
 
   Integer getHttpListenPort();
 
+  Integer getHttpServerInstances();
+
+  Integer getHttpCompressionMinSize();
+
+  Integer getHttpMaxBatchSize();
+
+  Boolean isHttp2Enabled();
+
+  Boolean isWebSocketEnabled();
+
+  Boolean isDownstreamHttp2Enabled();
+
+  Integer getHttp2MaxConcurrentStreams();
+
+  Integer getHttp2InitialWindowSize();
+
+  Integer getHttp2ConnectionWindowSize();
+
+  Integer getSigningThreads();
+
+  Integer getSigningQueueSize();
+
   ChainIdProvider getChainId();
 
   Path getDataPath();
@@ -51,6 +100,16 @@ public interface Config {
 
   Collection<String> getCorsAllowedOrigins();
 
+  Boolean isLocalNonceManagementEnabled();
+
+  Long getSignerCacheSize();
+
+  Duration getSignerCacheIdleExpiry();
+
+  Long getResponseCacheSize();
+
+  Boolean isRequestCoalescingEnabled();
+
   Boolean isMetricsEnabled();
 
   Integer getMetricsPort();
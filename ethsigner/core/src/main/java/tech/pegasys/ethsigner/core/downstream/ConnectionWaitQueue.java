@@ -0,0 +1,41 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.downstream;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts the requests sent through a HttpClient to a pool of downstream nodes which are waiting
+ * for a connection, i.e. have been issued but whose headers have not yet been written.
+ */
+public class ConnectionWaitQueue {
+
+  private final AtomicInteger waiting = new AtomicInteger();
+
+  public ConnectionWaitQueue(
+      final String pool, final String client, final DownstreamMetrics downstreamMetrics) {
+    downstreamMetrics.connectionWaitQueue(pool, client, waiting::get);
+  }
+
+  public void requestQueued() {
+    waiting.incrementAndGet();
+  }
+
+  public void requestDequeued() {
+    waiting.decrementAndGet();
+  }
+
+  public int size() {
+    return waiting.get();
+  }
+}
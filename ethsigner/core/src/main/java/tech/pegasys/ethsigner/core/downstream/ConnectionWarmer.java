@@ -0,0 +1,85 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.downstream;
+
+import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.DownstreamPathCalculator;
+
+import java.time.Duration;
+
+import com.google.common.net.HttpHeaders;
+import com.google.common.net.MediaType;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientRequest;
+import io.vertx.core.http.HttpMethod;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Opens connections from a client to each downstream node at startup by sending concurrent probes,
+ * so the first burst of client requests does not wait for TCP and TLS handshakes.
+ *
+ * <p>Each server instance has its own clients to a pool, one for each kind of traffic, and a
+ * connection opened by one client is not used by another. The connections to open to each node of
+ * a pool are therefore divided amongst its clients by {@link #connectionsPerClient}.
+ */
+public class ConnectionWarmer {
+
+  private static final Logger LOG = LogManager.getLogger();
+
+  private final DownstreamNodes downstreamNodes;
+  private final DownstreamPathCalculator downstreamPathCalculator;
+  private final Duration timeout;
+
+  public ConnectionWarmer(
+      final DownstreamNodes downstreamNodes,
+      final DownstreamPathCalculator downstreamPathCalculator,
+      final Duration timeout) {
+    this.downstreamNodes = downstreamNodes;
+    this.downstreamPathCalculator = downstreamPathCalculator;
+    this.timeout = timeout;
+  }
+
+  /**
+   * The connections each of the clients to a pool opens to a node, such that together they open the
+   * given number, limited to the client's pool size.
+   */
+  public static int connectionsPerClient(
+      final int connections, final int clients, final int maxPoolSize) {
+    final int perClient = (connections + clients - 1) / clients;
+    return Math.min(perClient, maxPoolSize);
+  }
+
+  /** Opens the given number of connections from the client to each node. */
+  public void warmUp(final HttpClient httpClient, final int connections) {
+    for (final DownstreamNode node : downstreamNodes.nodes()) {
+      for (int i = 0; i < connections; i++) {
+        probe(httpClient, node);
+      }
+    }
+  }
+
+  private void probe(final HttpClient httpClient, final DownstreamNode node) {
+    final HttpClientRequest request =
+        httpClient.request(
+            HttpMethod.POST,
+            node.getPort(),
+            node.getHost(),
+            downstreamPathCalculator.calculateDownstreamPath("/"),
+            response -> response.bodyHandler(body -> {}));
+    request.setTimeout(timeout.toMillis());
+    request.exceptionHandler(
+        thrown -> LOG.debug("Opening connection to {} failed", node.getEndpoint(), thrown));
+    request.putHeader(HttpHeaders.CONTENT_TYPE, MediaType.JSON_UTF_8.toString());
+    request.end(DownstreamHealthChecker.PROBE);
+  }
+}
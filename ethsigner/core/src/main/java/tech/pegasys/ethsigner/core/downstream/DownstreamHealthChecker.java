@@ -0,0 +1,91 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.downstream;
+
+import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.DownstreamPathCalculator;
+
+import java.time.Duration;
+
+import com.google.common.net.HttpHeaders;
+import com.google.common.net.MediaType;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientRequest;
+import io.vertx.core.http.HttpMethod;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Periodically probes each downstream node, so that ejected nodes which have recovered are
+ * reinstated, and nodes which have failed are ejected before client requests are sent to them.
+ */
+public class DownstreamHealthChecker {
+
+  private static final Logger LOG = LogManager.getLogger();
+
+  static final Buffer PROBE =
+      Buffer.buffer("{\"jsonrpc\":\"2.0\",\"method\":\"net_version\",\"params\":[],\"id\":1}");
+
+  private final Vertx vertx;
+  private final HttpClient httpClient;
+  private final DownstreamNodes downstreamNodes;
+  private final DownstreamPathCalculator downstreamPathCalculator;
+  private final Duration interval;
+  private final Duration timeout;
+
+  public DownstreamHealthChecker(
+      final Vertx vertx,
+      final HttpClient httpClient,
+      final DownstreamNodes downstreamNodes,
+      final DownstreamPathCalculator downstreamPathCalculator,
+      final Duration interval,
+      final Duration timeout) {
+    this.vertx = vertx;
+    this.httpClient = httpClient;
+    this.downstreamNodes = downstreamNodes;
+    this.downstreamPathCalculator = downstreamPathCalculator;
+    this.interval = interval;
+    this.timeout = timeout;
+  }
+
+  public void start() {
+    vertx.setPeriodic(interval.toMillis(), id -> downstreamNodes.nodes().forEach(this::probe));
+  }
+
+  private void probe(final DownstreamNode node) {
+    final HttpClientRequest request =
+        httpClient.request(
+            HttpMethod.POST,
+            node.getPort(),
+            node.getHost(),
+            downstreamPathCalculator.calculateDownstreamPath("/"),
+            response -> {
+              if (response.statusCode() == 200) {
+                downstreamNodes.healthCheckSucceeded(node);
+              } else {
+                LOG.debug(
+                    "Health check of {} returned {}", node.getEndpoint(), response.statusCode());
+                downstreamNodes.healthCheckFailed(node);
+              }
+            });
+    request.setTimeout(timeout.toMillis());
+    request.exceptionHandler(
+        thrown -> {
+          LOG.debug("Health check of {} failed", node.getEndpoint(), thrown);
+          downstreamNodes.healthCheckFailed(node);
+        });
+    request.putHeader(HttpHeaders.CONTENT_TYPE, MediaType.JSON_UTF_8.toString());
+    request.end(PROBE);
+  }
+}
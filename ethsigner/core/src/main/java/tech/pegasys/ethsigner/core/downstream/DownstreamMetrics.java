@@ -0,0 +1,64 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.downstream;
+
+import tech.pegasys.ethsigner.core.metrics.EthSignerMetricCategory;
+
+import java.util.function.DoubleSupplier;
+
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.LabelledGauge;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+
+/** Metrics of the pools of downstream nodes, labelled by the name of the pool. */
+public class DownstreamMetrics {
+
+  private final LabelledMetric<Counter> ejectionCounter;
+  private final LabelledGauge availableNodesGauge;
+  private final LabelledGauge connectionWaitQueueGauge;
+
+  public DownstreamMetrics(final MetricsSystem metricsSystem) {
+    ejectionCounter =
+        metricsSystem.createLabelledCounter(
+            EthSignerMetricCategory.HTTP,
+            "downstream_node_ejections",
+            "Number of times a downstream node was ejected following consecutive failures",
+            "pool");
+    availableNodesGauge =
+        metricsSystem.createLabelledGauge(
+            EthSignerMetricCategory.HTTP,
+            "downstream_nodes_available",
+            "Number of downstream nodes which are not ejected",
+            "pool");
+    connectionWaitQueueGauge =
+        metricsSystem.createLabelledGauge(
+            EthSignerMetricCategory.HTTP,
+            "downstream_connection_wait_queue_size",
+            "Number of requests to downstream nodes waiting for a connection from the client pool",
+            "pool",
+            "client");
+  }
+
+  Counter ejectionCounter(final String pool) {
+    return ejectionCounter.labels(pool);
+  }
+
+  void availableNodes(final String pool, final DoubleSupplier availableNodes) {
+    availableNodesGauge.labels(availableNodes, pool);
+  }
+
+  void connectionWaitQueue(final String pool, final String client, final DoubleSupplier size) {
+    connectionWaitQueueGauge.labels(size, pool, client);
+  }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.downstream;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.net.HostAndPort;
+
+/**
+ * A downstream node to which requests are balanced, tracking the load and latency used to select
+ * it, and the failures which cause it to be ejected from selection.
+ */
+public class DownstreamNode {
+
+  // weight given to the latest latency sample, the remainder is given to the previous average
+  private static final double LATENCY_DECAY = 0.3;
+
+  private final HostAndPort endpoint;
+  private final long initialLatencyMillis;
+  private final AtomicInteger outstandingRequests = new AtomicInteger();
+  private final AtomicInteger consecutiveFailures = new AtomicInteger();
+  private volatile double averageLatencyMillis;
+  private volatile long ejectedUntilMillis = 0;
+
+  /**
+   * @param endpoint the host and port of the node
+   * @param initialLatencyMillis the latency assumed until the node's requests have been timed
+   */
+  public DownstreamNode(final HostAndPort endpoint, final long initialLatencyMillis) {
+    this.endpoint = endpoint;
+    this.initialLatencyMillis = initialLatencyMillis;
+    this.averageLatencyMillis = initialLatencyMillis;
+  }
+
+  public String getHost() {
+    return endpoint.getHost();
+  }
+
+  public int getPort() {
+    return endpoint.getPort();
+  }
+
+  public HostAndPort getEndpoint() {
+    return endpoint;
+  }
+
+  public void requestStarted() {
+    outstandingRequests.incrementAndGet();
+  }
+
+  void requestFinished() {
+    outstandingRequests.decrementAndGet();
+  }
+
+  int outstandingRequests() {
+    return outstandingRequests.get();
+  }
+
+  synchronized void recordLatency(final long latencyMillis) {
+    averageLatencyMillis =
+        LATENCY_DECAY * latencyMillis + (1 - LATENCY_DECAY) * averageLatencyMillis;
+  }
+
+  double averageLatencyMillis() {
+    return averageLatencyMillis;
+  }
+
+  /**
+   * The cost of sending a request to the node, being the expected latency scaled by the requests
+   * already queued on it. A node without latency samples is costed at the initial latency.
+   */
+  double cost() {
+    return averageLatencyMillis * (outstandingRequests.get() + 1);
+  }
+
+  int failed() {
+    return consecutiveFailures.incrementAndGet();
+  }
+
+  void succeeded() {
+    consecutiveFailures.set(0);
+  }
+
+  /**
+   * Ejects the node until the time given. Its latency is reset to the initial latency, so that once
+   * selectable again it is not avoided for the failures which caused its ejection.
+   */
+  synchronized void ejectUntil(final long millis) {
+    ejectedUntilMillis = millis;
+    averageLatencyMillis = initialLatencyMillis;
+  }
+
+  void reinstate() {
+    ejectedUntilMillis = 0;
+  }
+
+  boolean isEjected(final long nowMillis) {
+    return nowMillis < ejectedUntilMillis;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("endpoint", endpoint)
+        .add("outstandingRequests", outstandingRequests)
+        .add("averageLatencyMillis", averageLatencyMillis)
+        .add("consecutiveFailures", consecutiveFailures)
+        .toString();
+  }
+}
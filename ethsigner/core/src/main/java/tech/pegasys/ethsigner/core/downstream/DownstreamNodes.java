@@ -0,0 +1,182 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.downstream;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import com.google.common.net.HostAndPort;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+
+/**
+ * The downstream nodes to which requests are balanced. Each request is sent to the node with the
+ * lowest latency weighted by its outstanding requests. Nodes which fail consecutive requests are
+ * ejected from selection for a period, unless every node is ejected, in which case all are
+ * selectable. A failed request or health check counts towards a node's latency as the failure
+ * latency, typically the request timeout, so a failing node is selected less often before it is
+ * ejected.
+ *
+ * <p>Requests for a sender can be pinned to a node, so that the nonce queried for a sender and the
+ * transaction subsequently submitted for it observe the same pending state.
+ */
+public class DownstreamNodes {
+
+  private static final Logger LOG = LogManager.getLogger();
+
+  public static final int EJECTION_THRESHOLD = 3;
+  public static final Duration EJECTION_PERIOD = Duration.ofSeconds(30);
+
+  private static final HashFunction STICKINESS_HASH = Hashing.murmur3_32();
+
+  private final String poolName;
+  private final List<DownstreamNode> nodes;
+  private final long failureLatencyMillis;
+  private final Clock clock;
+  private final Counter ejectionCounter;
+
+  public DownstreamNodes(
+      final String poolName,
+      final List<HostAndPort> endpoints,
+      final DownstreamMetrics metrics,
+      final Duration initialLatency,
+      final Duration failureLatency) {
+    this(poolName, endpoints, metrics, initialLatency, failureLatency, Clock.systemUTC());
+  }
+
+  DownstreamNodes(
+      final String poolName,
+      final List<HostAndPort> endpoints,
+      final DownstreamMetrics metrics,
+      final Duration initialLatency,
+      final Duration failureLatency,
+      final Clock clock) {
+    if (endpoints.isEmpty()) {
+      throw new IllegalArgumentException("At least one downstream node is required");
+    }
+    this.poolName = poolName;
+    this.nodes =
+        endpoints.stream()
+            .map(endpoint -> new DownstreamNode(endpoint, initialLatency.toMillis()))
+            .collect(Collectors.toList());
+    this.failureLatencyMillis = failureLatency.toMillis();
+    this.clock = clock;
+    this.ejectionCounter = metrics.ejectionCounter(poolName);
+    metrics.availableNodes(
+        poolName, () -> nodes.stream().filter(available(clock.millis())).count());
+  }
+
+  public String poolName() {
+    return poolName;
+  }
+
+  public List<DownstreamNode> nodes() {
+    return nodes;
+  }
+
+  /** Selects the node to which a request which is not bound to a sender is sent. */
+  public DownstreamNode select() {
+    if (nodes.size() == 1) {
+      return nodes.get(0);
+    }
+    return selectable().stream().min(Comparator.comparingDouble(DownstreamNode::cost)).get();
+  }
+
+  /**
+   * Selects the node to which requests for the sender are pinned, using rendezvous hashing so that
+   * only the senders pinned to a node which is ejected move to another node.
+   */
+  public DownstreamNode selectForSender(final String sender) {
+    if (nodes.size() == 1) {
+      return nodes.get(0);
+    }
+    final String senderKey = sender.toLowerCase(Locale.ROOT);
+    return selectable().stream()
+        .max(Comparator.comparingInt(node -> stickinessWeight(senderKey, node)))
+        .get();
+  }
+
+  public void requestSucceeded(final DownstreamNode node, final long latencyMillis) {
+    node.requestFinished();
+    node.recordLatency(latencyMillis);
+    nodeSucceeded(node);
+  }
+
+  public void requestFailed(final DownstreamNode node) {
+    node.requestFinished();
+    nodeFailed(node);
+  }
+
+  /** Releases a request which was never sent to the node, without affecting its health. */
+  public void requestAbandoned(final DownstreamNode node) {
+    node.requestFinished();
+  }
+
+  public void healthCheckSucceeded(final DownstreamNode node) {
+    nodeSucceeded(node);
+  }
+
+  public void healthCheckFailed(final DownstreamNode node) {
+    nodeFailed(node);
+  }
+
+  private void nodeSucceeded(final DownstreamNode node) {
+    node.succeeded();
+    if (node.isEjected(clock.millis())) {
+      LOG.info("Downstream node {} of pool {} reinstated", node.getEndpoint(), poolName);
+      node.reinstate();
+    }
+  }
+
+  private void nodeFailed(final DownstreamNode node) {
+    node.recordLatency(failureLatencyMillis);
+    final long now = clock.millis();
+    if (node.failed() >= EJECTION_THRESHOLD && !node.isEjected(now)) {
+      LOG.warn(
+          "Downstream node {} of pool {} ejected for {} after {} consecutive failures",
+          node.getEndpoint(),
+          poolName,
+          EJECTION_PERIOD,
+          EJECTION_THRESHOLD);
+      node.ejectUntil(now + EJECTION_PERIOD.toMillis());
+      ejectionCounter.inc();
+    }
+  }
+
+  private List<DownstreamNode> selectable() {
+    final List<DownstreamNode> availableNodes =
+        nodes.stream().filter(available(clock.millis())).collect(Collectors.toList());
+    return availableNodes.isEmpty() ? nodes : availableNodes;
+  }
+
+  private static Predicate<DownstreamNode> available(final long nowMillis) {
+    return node -> !node.isEjected(nowMillis);
+  }
+
+  private static int stickinessWeight(final String senderKey, final DownstreamNode node) {
+    return STICKINESS_HASH
+        .newHasher()
+        .putUnencodedChars(senderKey)
+        .putUnencodedChars(node.getEndpoint().toString())
+        .hash()
+        .asInt();
+  }
+}
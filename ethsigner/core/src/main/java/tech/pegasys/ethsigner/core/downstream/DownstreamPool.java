@@ -0,0 +1,81 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.downstream;
+
+import java.time.Duration;
+import java.util.List;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.net.HostAndPort;
+
+/**
+ * A named pool of downstream nodes, with its own connections and request timeout. Transaction
+ * traffic to the pool is sent over connections of its own, separate from those of proxied requests.
+ */
+public class DownstreamPool {
+
+  private final String name;
+  private final List<HostAndPort> endpoints;
+  private final int maxPoolSize;
+  private final int transactionPoolSize;
+  private final Duration requestTimeout;
+
+  public DownstreamPool(
+      final String name,
+      final List<HostAndPort> endpoints,
+      final int maxPoolSize,
+      final int transactionPoolSize,
+      final Duration requestTimeout) {
+    this.name = name;
+    this.endpoints = endpoints;
+    this.maxPoolSize = maxPoolSize;
+    this.transactionPoolSize = transactionPoolSize;
+    this.requestTimeout = requestTimeout;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public List<HostAndPort> getEndpoints() {
+    return endpoints;
+  }
+
+  /** The maximum number of connections to each node of the pool. */
+  public int getMaxPoolSize() {
+    return maxPoolSize;
+  }
+
+  /**
+   * The maximum number of connections to each node of the pool for nonce queries, GoQuorum storeraw
+   * and transaction submission.
+   */
+  public int getTransactionPoolSize() {
+    return transactionPoolSize;
+  }
+
+  public Duration getRequestTimeout() {
+    return requestTimeout;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("name", name)
+        .add("endpoints", endpoints)
+        .add("maxPoolSize", maxPoolSize)
+        .add("transactionPoolSize", transactionPoolSize)
+        .add("requestTimeout", requestTimeout)
+        .toString();
+  }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.downstream;
+
+import tech.pegasys.ethsigner.core.InitializationException;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.net.HostAndPort;
+import org.apache.tuweni.toml.Toml;
+import org.apache.tuweni.toml.TomlArray;
+import org.apache.tuweni.toml.TomlParseResult;
+import org.apache.tuweni.toml.TomlTable;
+
+/**
+ * Routes JSON-RPC methods to named pools of downstream nodes. A route either names a method
+ * exactly, or a method prefix followed by {@code *}; an exact route takes precedence, followed by
+ * the longest matching prefix. Methods without a route are sent to the default pool, being the
+ * downstream nodes configured on the command line.
+ *
+ * <p>A transaction signed by EthSigner is routed by the method by which it is submitted, such as
+ * eth_sendRawTransaction, and the nonce query and GoQuorum storeraw for it are sent to the same
+ * pool, regardless of any route for their own methods.
+ *
+ * <p>The table is loaded from a TOML file of the form below, where a pool's max-pool-size and
+ * timeout-ms default to those of the default pool. Its transaction-pool-size defaults to that of
+ * the default pool, limited to the pool's max-pool-size:
+ *
+ * <pre>
+ * [pools.archive]
+ * endpoints = ["archive-1:8545", "archive-2:8545"]
+ * max-pool-size = 32
+ * transaction-pool-size = 2
+ * timeout-ms = 60000
+ *
+ * [routes]
+ * eth_getLogs = "archive"
+ * "trace_*" = "archive"
+ * </pre>
+ */
+public class DownstreamRoutingTable {
+
+  public static final String DEFAULT_POOL = "default";
+
+  private static final String PREFIX_WILDCARD = "*";
+
+  private final List<DownstreamPool> pools;
+  private final Map<String, String> methodRoutes;
+  // ordered from the longest prefix, so the most specific prefix matches first
+  private final List<Map.Entry<String, String>> prefixRoutes;
+
+  DownstreamRoutingTable(final List<DownstreamPool> pools, final Map<String, String> routes) {
+    this.pools = pools;
+    this.methodRoutes = new HashMap<>();
+    this.prefixRoutes = new ArrayList<>();
+    routes.forEach(
+        (route, pool) -> {
+          if (route.endsWith(PREFIX_WILDCARD)) {
+            prefixRoutes.add(Map.entry(route.substring(0, route.length() - 1), pool));
+          } else {
+            methodRoutes.put(route, pool);
+          }
+        });
+    prefixRoutes.sort(
+        Comparator.comparingInt((Map.Entry<String, String> entry) -> entry.getKey().length())
+            .reversed());
+  }
+
+  public static DownstreamRoutingTable empty() {
+    return new DownstreamRoutingTable(Collections.emptyList(), Collections.emptyMap());
+  }
+
+  /** The pools to which methods are routed, excluding the default pool. */
+  public List<DownstreamPool> getPools() {
+    return pools;
+  }
+
+  /** The name of the pool to which requests for the method are sent. */
+  public String poolFor(final String method) {
+    final String pool = methodRoutes.get(method);
+    if (pool != null) {
+      return pool;
+    }
+    return prefixRoutes.stream()
+        .filter(route -> method.startsWith(route.getKey()))
+        .map(Map.Entry::getValue)
+        .findFirst()
+        .orElse(DEFAULT_POOL);
+  }
+
+  public static DownstreamRoutingTable fromToml(
+      final Path routingConfigFile,
+      final int defaultMaxPoolSize,
+      final int defaultTransactionPoolSize,
+      final Duration defaultRequestTimeout) {
+    final TomlParseResult toml;
+    try {
+      toml = Toml.parse(routingConfigFile);
+    } catch (final IOException e) {
+      throw new InitializationException(
+          "Failed to read downstream routing config " + routingConfigFile, e);
+    }
+    if (toml.hasErrors()) {
+      throw new InitializationException(
+          "Invalid downstream routing config " + routingConfigFile + ": " + toml.errors().get(0));
+    }
+
+    final List<DownstreamPool> pools = new ArrayList<>();
+    final TomlTable poolsTable = toml.getTable("pools");
+    if (poolsTable != null) {
+      for (final String name : poolsTable.keySet()) {
+        if (!poolsTable.isTable(List.of(name))) {
+          throw new InitializationException("Pool " + name + " must be a table");
+        }
+        pools.add(
+            pool(
+                name,
+                poolsTable.getTable(List.of(name)),
+                defaultMaxPoolSize,
+                defaultTransactionPoolSize,
+                defaultRequestTimeout));
+      }
+    }
+
+    final Map<String, String> routes = new HashMap<>();
+    final TomlTable routesTable = toml.getTable("routes");
+    if (routesTable != null) {
+      for (final String route : routesTable.keySet()) {
+        if (!routesTable.isString(List.of(route))) {
+          throw new InitializationException("Route " + route + " must name a pool");
+        }
+        final String pool = routesTable.getString(List.of(route));
+        if (!pool.equals(DEFAULT_POOL)
+            && pools.stream().noneMatch(candidate -> candidate.getName().equals(pool))) {
+          throw new InitializationException("Route " + route + " names unknown pool " + pool);
+        }
+        routes.put(route, pool);
+      }
+    }
+
+    return new DownstreamRoutingTable(pools, routes);
+  }
+
+  private static DownstreamPool pool(
+      final String name,
+      final TomlTable table,
+      final int defaultMaxPoolSize,
+      final int defaultTransactionPoolSize,
+      final Duration defaultRequestTimeout) {
+    if (name.equals(DEFAULT_POOL)) {
+      throw new InitializationException("Pool name " + DEFAULT_POOL + " is reserved");
+    }
+    final TomlArray endpointsArray = table.getArray("endpoints");
+    if (endpointsArray == null || endpointsArray.isEmpty()) {
+      throw new InitializationException("Pool " + name + " must have at least one endpoint");
+    }
+    final List<HostAndPort> endpoints = new ArrayList<>();
+    for (int i = 0; i < endpointsArray.size(); i++) {
+      final HostAndPort endpoint = HostAndPort.fromString(endpointsArray.getString(i));
+      if (!endpoint.hasPort()) {
+        throw new InitializationException(
+            "Endpoint " + endpoint + " of pool " + name + " has no port");
+      }
+      endpoints.add(endpoint);
+    }
+
+    final long maxPoolSize = table.getLong("max-pool-size", () -> defaultMaxPoolSize);
+    final long transactionPoolSize =
+        table.getLong(
+            "transaction-pool-size", () -> Math.min(defaultTransactionPoolSize, maxPoolSize));
+    final long timeoutMillis = table.getLong("timeout-ms", defaultRequestTimeout::toMillis);
+    if (maxPoolSize < 1 || transactionPoolSize < 1 || timeoutMillis < 1) {
+      throw new InitializationException(
+          "Pool "
+              + name
+              + " must have a max-pool-size, transaction-pool-size and timeout-ms greater than 0");
+    }
+    return new DownstreamPool(
+        name,
+        endpoints,
+        Math.toIntExact(maxPoolSize),
+        Math.toIntExact(transactionPoolSize),
+        Duration.ofMillis(timeoutMillis));
+  }
+}
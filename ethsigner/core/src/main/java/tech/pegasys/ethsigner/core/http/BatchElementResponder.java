@@ -0,0 +1,74 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.http;
+
+import tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcError;
+import tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcErrorResponse;
+import tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcResponse;
+import tech.pegasys.ethsigner.core.requesthandler.JsonRpcResponder;
+
+import java.util.Map.Entry;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.Json;
+import io.vertx.core.json.JsonObject;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Captures the response to a single element of a batch request, as a serialised JSON-RPC response
+ * object. HTTP status codes and headers are discarded, as they apply to the batch as a whole, or
+ * have no equivalent for requests received over a WebSocket.
+ */
+class BatchElementResponder implements JsonRpcResponder {
+
+  private static final Logger LOG = LogManager.getLogger();
+
+  private final Object id;
+  private final Promise<Buffer> response = Promise.promise();
+
+  BatchElementResponder(final Object id) {
+    this.id = id;
+  }
+
+  @Override
+  public void respond(
+      final int statusCode, final Iterable<Entry<String, String>> headers, final Buffer body) {
+    try {
+      new JsonObject(body);
+      response.tryComplete(body);
+    } catch (final DecodeException e) {
+      LOG.debug("Non JSON-RPC response ({}) received for batch element: {}", statusCode, body);
+      response.tryComplete(
+          Json.encodeToBuffer(new JsonRpcErrorResponse(id, JsonRpcError.INTERNAL_ERROR)));
+    }
+  }
+
+  @Override
+  public void respond(final int statusCode, final JsonRpcResponse response) {
+    this.response.tryComplete(Json.encodeToBuffer(response));
+  }
+
+  @Override
+  public void fail(final int statusCode, final Throwable failure) {
+    final JsonRpcError error = JsonRpcErrorHandler.toJsonRpcError(failure);
+    response.tryComplete(Json.encodeToBuffer(new JsonRpcErrorResponse(id, error)));
+  }
+
+  Future<Buffer> response() {
+    return response.future();
+  }
+}
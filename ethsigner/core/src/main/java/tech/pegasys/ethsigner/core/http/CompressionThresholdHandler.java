@@ -0,0 +1,63 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.http;
+
+import com.google.common.net.HttpHeaders;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.vertx.core.Handler;
+import io.vertx.core.MultiMap;
+import io.vertx.ext.web.RoutingContext;
+
+/**
+ * Prevents responses smaller than the minimum size from being compressed, as the saving does not
+ * justify the cost of compressing them. Responses which already have a content encoding, such as
+ * compressed responses streamed from the downstream node, are left unchanged.
+ */
+public class CompressionThresholdHandler implements Handler<RoutingContext> {
+
+  private final long minimumSize;
+
+  public CompressionThresholdHandler(final long minimumSize) {
+    this.minimumSize = minimumSize;
+  }
+
+  @Override
+  public void handle(final RoutingContext context) {
+    context.addHeadersEndHandler(v -> applyThreshold(context.response().headers()));
+    context.next();
+  }
+
+  private void applyThreshold(final MultiMap headers) {
+    if (headers.contains(HttpHeaders.CONTENT_ENCODING)) {
+      return;
+    }
+    final String contentLength = headers.get(HttpHeaders.CONTENT_LENGTH);
+    if (contentLength != null && parseContentLength(contentLength) < minimumSize) {
+      // the server does not compress responses with an identity content encoding
+      headers.set(HttpHeaders.CONTENT_ENCODING, HttpHeaderValues.IDENTITY);
+    }
+  }
+
+  /**
+   * Parses the content length, treating a malformed length as that of a streamed response, which
+   * may be compressed.
+   */
+  static long parseContentLength(final String contentLength) {
+    try {
+      final long length = Long.parseLong(contentLength.trim());
+      return length < 0 ? Long.MAX_VALUE : length;
+    } catch (final NumberFormatException e) {
+      return Long.MAX_VALUE;
+    }
+  }
+}
@@ -20,17 +20,47 @@ import io.vertx.core.http.impl.headers.VertxHttpHeaders;
 
 public class HeaderHelpers {
 
+  // connection specific, so must not be forwarded, and are forbidden in HTTP/2
+  private static final List<String> HOP_BY_HOP_HEADERS =
+      List.of(
+          HttpHeaders.CONNECTION,
+          "Keep-Alive",
+          "Proxy-Connection",
+          HttpHeaders.TE,
+          HttpHeaders.TRANSFER_ENCODING,
+          HttpHeaders.UPGRADE);
+
+  private static final String WEBSOCKET_HEADER_PREFIX = "Sec-WebSocket-";
+
+  /** Whether the header is specific to a single connection, so must not be forwarded. */
+  public static boolean isHopByHopHeader(final String name) {
+    return HOP_BY_HOP_HEADERS.stream().anyMatch(name::equalsIgnoreCase);
+  }
+
   public static MultiMap createHeaders(final MultiMap headers) {
     final MultiMap headersToReturn = new VertxHttpHeaders();
-    headers.forEach(entry -> headersToReturn.add(entry.getKey(), entry.getValue()));
+    headers.forEach(
+        entry -> {
+          // HTTP/2 pseudo headers, such as :path, are not headers of the forwarded request, nor
+          // are those negotiating a WebSocket, whose upgrade request is the context of its requests
+          if (!entry.getKey().startsWith(":") && !isWebSocketHeader(entry.getKey())) {
+            headersToReturn.add(entry.getKey(), entry.getValue());
+          }
+        });
 
     headersToReturn.remove(HttpHeaders.CONTENT_LENGTH);
     headersToReturn.remove(HttpHeaders.ORIGIN);
+    HOP_BY_HOP_HEADERS.forEach(headersToReturn::remove);
     renameHeader(headersToReturn, HttpHeaders.HOST, HttpHeaders.X_FORWARDED_HOST);
 
     return headersToReturn;
   }
 
+  private static boolean isWebSocketHeader(final String name) {
+    return name.regionMatches(
+        true, 0, WEBSOCKET_HEADER_PREFIX, 0, WEBSOCKET_HEADER_PREFIX.length());
+  }
+
   private static void renameHeader(
       final MultiMap headers, final String oldHeader, final String newHeader) {
     final List<String> oldHeaderValue = headers.getAll(oldHeader);
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.http;
+
+import tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcResponse;
+import tech.pegasys.ethsigner.core.requesthandler.JsonRpcResponder;
+
+import java.util.Map.Entry;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.ext.web.RoutingContext;
+
+/** Responds to a JSON-RPC request which was received as the entire body of an HTTP request. */
+public class HttpJsonRpcResponder implements JsonRpcResponder {
+
+  private final RoutingContext context;
+  private final HttpResponseFactory responseFactory;
+
+  public HttpJsonRpcResponder(
+      final RoutingContext context, final HttpResponseFactory responseFactory) {
+    this.context = context;
+    this.responseFactory = responseFactory;
+  }
+
+  @Override
+  public void respond(
+      final int statusCode, final Iterable<Entry<String, String>> headers, final Buffer body) {
+    final HttpServerResponse response = context.response();
+    response.setStatusCode(statusCode);
+    headers.forEach(
+        entry -> {
+          if (isForwardedHeader(entry.getKey())) {
+            response.headers().add(entry.getKey(), entry.getValue());
+          }
+        });
+    response.setChunked(false);
+    response.end(body);
+  }
+
+  @Override
+  public void respond(final int statusCode, final JsonRpcResponse response) {
+    responseFactory.response(context.response(), statusCode, response);
+  }
+
+  @Override
+  public void fail(final int statusCode, final Throwable failure) {
+    context.fail(statusCode, failure);
+  }
+
+  // hop-by-hop headers are of the connection to the downstream node, and are forbidden in HTTP/2
+  private static boolean isForwardedHeader(final String name) {
+    return !HeaderHelpers.isHopByHopHeader(name)
+        && !name.equalsIgnoreCase(HttpHeaderNames.ACCESS_CONTROL_ALLOW_ORIGIN.toString());
+  }
+}
@@ -19,6 +19,7 @@ import tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcResponse;
 import tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcSuccessResponse;
 
 import io.netty.handler.codec.http.HttpHeaderValues;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpServerResponse;
 import io.vertx.core.json.Json;
 
@@ -28,10 +29,14 @@ public class HttpResponseFactory {
 
   public void response(
       final HttpServerResponse response, final int statusCode, final JsonRpcResponse body) {
+    response(response, statusCode, Json.encodeToBuffer(body));
+  }
+
+  public void response(final HttpServerResponse response, final int statusCode, final Buffer body) {
     response.putHeader("Content", JSON);
     response.setStatusCode(statusCode);
     response.setChunked(false);
-    response.end(Json.encodeToBuffer(body));
+    response.end(body);
   }
 
   public void successResponse(
@@ -0,0 +1,315 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.http;
+
+import static io.netty.handler.codec.http.HttpResponseStatus.BAD_REQUEST;
+import static io.netty.handler.codec.http.HttpResponseStatus.INTERNAL_SERVER_ERROR;
+import static io.netty.handler.codec.http.HttpResponseStatus.OK;
+import static java.util.Collections.emptyList;
+
+import tech.pegasys.ethsigner.core.jsonrpc.JsonDecoder;
+import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequest;
+import tech.pegasys.ethsigner.core.jsonrpc.exception.JsonRpcException;
+import tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcError;
+import tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcErrorResponse;
+import tech.pegasys.ethsigner.core.requesthandler.DownstreamResponseHandler;
+import tech.pegasys.ethsigner.core.requesthandler.passthrough.PassThroughHandler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.Json;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.RoutingContext;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Dispatches each element of a JSON-RPC batch concurrently. Elements handled by EthSigner are
+ * dispatched to their matching handler, while the remaining elements are forwarded to the
+ * downstream node as a single batch request. Responses are returned in the order of the requests.
+ * Without a pass through handler, every element is dispatched to its matching handler.
+ */
+public class JsonRpcBatchHandler {
+
+  private static final Logger LOG = LogManager.getLogger();
+
+  private final HttpResponseFactory responseFactory;
+  private final RequestMapper requestMapper;
+  private final Optional<PassThroughHandler> passThroughHandler;
+  private final JsonDecoder jsonDecoder;
+  private final int maxBatchSize;
+
+  public JsonRpcBatchHandler(
+      final HttpResponseFactory responseFactory,
+      final RequestMapper requestMapper,
+      final PassThroughHandler passThroughHandler,
+      final JsonDecoder jsonDecoder,
+      final int maxBatchSize) {
+    this(
+        responseFactory,
+        requestMapper,
+        Optional.of(passThroughHandler),
+        jsonDecoder,
+        maxBatchSize);
+  }
+
+  public JsonRpcBatchHandler(
+      final HttpResponseFactory responseFactory,
+      final RequestMapper requestMapper,
+      final JsonDecoder jsonDecoder,
+      final int maxBatchSize) {
+    this(responseFactory, requestMapper, Optional.empty(), jsonDecoder, maxBatchSize);
+  }
+
+  private JsonRpcBatchHandler(
+      final HttpResponseFactory responseFactory,
+      final RequestMapper requestMapper,
+      final Optional<PassThroughHandler> passThroughHandler,
+      final JsonDecoder jsonDecoder,
+      final int maxBatchSize) {
+    this.responseFactory = responseFactory;
+    this.requestMapper = requestMapper;
+    this.passThroughHandler = passThroughHandler;
+    this.jsonDecoder = jsonDecoder;
+    this.maxBatchSize = maxBatchSize;
+  }
+
+  public void handle(final RoutingContext context, final JsonArray batch) {
+    final Optional<JsonRpcError> error = validate(batch);
+    if (error.isPresent()) {
+      responseFactory.response(
+          context.response(), BAD_REQUEST.code(), new JsonRpcErrorResponse(error.get()));
+      return;
+    }
+    process(context, batch).onSuccess(body -> respond(context, body));
+  }
+
+  /** Identifies the error to return in place of processing the batch, if it is not acceptable. */
+  public Optional<JsonRpcError> validate(final JsonArray batch) {
+    if (batch.isEmpty()) {
+      return Optional.of(JsonRpcError.INVALID_REQUEST);
+    }
+    if (batch.size() > maxBatchSize) {
+      LOG.debug("Rejecting batch of {} requests, exceeding {}", batch.size(), maxBatchSize);
+      return Optional.of(JsonRpcError.EXCEEDS_RPC_MAX_BATCH_SIZE);
+    }
+    return Optional.empty();
+  }
+
+  /**
+   * Dispatches each element of a batch which has passed validation, completing with the body of
+   * the batch response, or empty if the batch consisted solely of notifications.
+   */
+  public Future<Optional<Buffer>> process(final RoutingContext context, final JsonArray batch) {
+    LOG.debug("Dispatching batch of {} requests", batch.size());
+
+    final List<Future<Optional<Buffer>>> responses = new ArrayList<>(batch.size());
+    final List<PassThroughElement> passThroughElements = new ArrayList<>();
+    for (final Object element : batch) {
+      responses.add(dispatch(context, element, passThroughElements));
+    }
+
+    if (!passThroughElements.isEmpty()) {
+      forward(context, passThroughElements);
+    }
+
+    final Promise<Optional<Buffer>> batchResponse = Promise.promise();
+    final AtomicInteger outstanding = new AtomicInteger(responses.size());
+    responses.forEach(
+        response ->
+            response.onComplete(
+                result -> {
+                  if (outstanding.decrementAndGet() == 0) {
+                    batchResponse.complete(assemble(responses));
+                  }
+                }));
+    return batchResponse.future();
+  }
+
+  private Future<Optional<Buffer>> dispatch(
+      final RoutingContext context,
+      final Object element,
+      final List<PassThroughElement> passThroughElements) {
+    if (!(element instanceof JsonObject)) {
+      return invalidRequest();
+    }
+
+    final JsonObject requestObject = (JsonObject) element;
+    final JsonRpcRequest request;
+    try {
+      // the element has already been parsed as part of the batch, so is converted, not re-parsed
+      request = jsonDecoder.decodeValue(requestObject, JsonRpcRequest.class);
+    } catch (final DecodeException | IllegalArgumentException e) {
+      LOG.debug("Invalid batch element: {}", requestObject, e);
+      return invalidRequest();
+    }
+
+    final BatchElementResponder responder = new BatchElementResponder(request.getId());
+    if (passThroughHandler.isPresent() && !requestMapper.hasHandler(request.getMethod())) {
+      passThroughElements.add(new PassThroughElement(requestObject, responder));
+    } else {
+      requestMapper.getMatchingHandler(request.getMethod()).handle(context, request, responder);
+    }
+
+    // notifications are processed, but receive no response
+    if (!requestObject.containsKey("id")) {
+      return responder.response().map(response -> Optional.<Buffer>empty());
+    }
+    return responder.response().map(Optional::of);
+  }
+
+  private Future<Optional<Buffer>> invalidRequest() {
+    return Future.succeededFuture(
+        Optional.of(Json.encodeToBuffer(new JsonRpcErrorResponse(JsonRpcError.INVALID_REQUEST))));
+  }
+
+  private void forward(final RoutingContext context, final List<PassThroughElement> elements) {
+    final JsonArray downstreamBatch = new JsonArray();
+    elements.forEach(element -> downstreamBatch.add(element.request));
+    passThroughHandler
+        .orElseThrow()
+        .forward(
+            context, downstreamBatch.toBuffer(), new PassThroughBatchResponseHandler(elements));
+  }
+
+  private Optional<Buffer> assemble(final List<Future<Optional<Buffer>>> responses) {
+    final List<Buffer> responseObjects = new ArrayList<>(responses.size());
+    responses.forEach(response -> response.result().ifPresent(responseObjects::add));
+
+    if (responseObjects.isEmpty()) {
+      // a batch consisting solely of notifications
+      return Optional.empty();
+    }
+
+    final Buffer body = Buffer.buffer().appendByte((byte) '[');
+    for (int i = 0; i < responseObjects.size(); i++) {
+      if (i > 0) {
+        body.appendByte((byte) ',');
+      }
+      body.appendBuffer(responseObjects.get(i));
+    }
+    body.appendByte((byte) ']');
+    return Optional.of(body);
+  }
+
+  private void respond(final RoutingContext context, final Optional<Buffer> body) {
+    if (body.isEmpty()) {
+      context.response().setStatusCode(OK.code()).end();
+      return;
+    }
+    responseFactory.response(context.response(), OK.code(), body.get());
+  }
+
+  private static class PassThroughElement {
+    private final JsonObject request;
+    private final BatchElementResponder responder;
+
+    PassThroughElement(final JsonObject request, final BatchElementResponder responder) {
+      this.request = request;
+      this.responder = responder;
+    }
+  }
+
+  /** Distributes the responses to a downstream batch amongst the elements which formed it. */
+  private static class PassThroughBatchResponseHandler implements DownstreamResponseHandler {
+
+    private final List<PassThroughElement> elements;
+
+    PassThroughBatchResponseHandler(final List<PassThroughElement> elements) {
+      this.elements = elements;
+    }
+
+    @Override
+    public void handleResponse(
+        final Iterable<Entry<String, String>> headers, final int statusCode, final Buffer body) {
+      try {
+        if (JsonRpcHandler.isBatch(body)) {
+          distribute(new JsonArray(body));
+        } else {
+          // the downstream node rejected the batch as a whole
+          failAll(statusCode, new JsonObject(body));
+        }
+      } catch (final DecodeException e) {
+        LOG.debug("Non JSON-RPC response ({}) received for batch: {}", statusCode, body);
+        elements.forEach(element -> element.responder.fail(statusCode, internalError()));
+      }
+    }
+
+    private void distribute(final JsonArray responses) {
+      // responses to a batch may be returned in any order, so are correlated by id
+      final List<JsonObject> unmatched = new ArrayList<>();
+      responses.forEach(
+          response -> {
+            if (response instanceof JsonObject) {
+              unmatched.add((JsonObject) response);
+            }
+          });
+
+      for (final PassThroughElement element : elements) {
+        final Optional<JsonObject> response = findResponse(unmatched, element.request);
+        if (response.isPresent()) {
+          unmatched.remove(response.get());
+          element.responder.respond(OK.code(), emptyList(), response.get().toBuffer());
+        } else {
+          // expected for notifications, for which the response is discarded
+          element.responder.fail(OK.code(), internalError());
+        }
+      }
+    }
+
+    private Optional<JsonObject> findResponse(
+        final List<JsonObject> responses, final JsonObject request) {
+      return responses.stream()
+          .filter(response -> response.containsKey("id"))
+          .filter(response -> Objects.equals(response.getValue("id"), request.getValue("id")))
+          .findFirst();
+    }
+
+    private void failAll(final int statusCode, final JsonObject response) {
+      if (!response.containsKey("error")) {
+        elements.forEach(element -> element.responder.fail(statusCode, internalError()));
+        return;
+      }
+
+      final Object error = response.getValue("error");
+      elements.forEach(
+          element -> {
+            final JsonObject elementResponse =
+                new JsonObject()
+                    .put("jsonrpc", "2.0")
+                    .put("id", element.request.getValue("id"))
+                    .put("error", error);
+            element.responder.respond(statusCode, emptyList(), elementResponse.toBuffer());
+          });
+    }
+
+    private static JsonRpcException internalError() {
+      return new JsonRpcException(JsonRpcError.INTERNAL_ERROR);
+    }
+
+    @Override
+    public void handleFailure(final Throwable t) {
+      elements.forEach(element -> element.responder.fail(INTERNAL_SERVER_ERROR.code(), t));
+    }
+  }
+}
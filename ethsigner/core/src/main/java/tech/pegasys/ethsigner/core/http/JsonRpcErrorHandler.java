@@ -45,30 +45,24 @@ public class JsonRpcErrorHandler implements Handler<RoutingContext> {
 
     final Throwable failure = context.failure();
     if (failure != null) {
-      if (failure instanceof JsonRpcException) {
-        final JsonRpcException ex = (JsonRpcException) context.failure();
-        httpResponseFactory.failureResponse(
-            context.response(), requestId, statusCode, ex.getJsonRpcError());
-      } else if (failure instanceof ConnectException || failure instanceof SSLException) {
-        httpResponseFactory.failureResponse(
-            context.response(),
-            requestId,
-            statusCode,
-            JsonRpcError.FAILED_TO_CONNECT_TO_DOWNSTREAM_NODE);
-      } else if (failure instanceof TimeoutException) {
-        httpResponseFactory.failureResponse(
-            context.response(),
-            requestId,
-            statusCode,
-            JsonRpcError.CONNECTION_TO_DOWNSTREAM_NODE_TIMED_OUT);
-      } else {
-        LOG.error("Unhandled exception handling request", failure);
-        httpResponseFactory.failureResponse(
-            context.response(), requestId, statusCode, JsonRpcError.INTERNAL_ERROR);
-      }
+      httpResponseFactory.failureResponse(
+          context.response(), requestId, statusCode, toJsonRpcError(failure));
     } else {
       context.response().setStatusCode(statusCode);
       context.response().end();
     }
   }
+
+  static JsonRpcError toJsonRpcError(final Throwable failure) {
+    if (failure instanceof JsonRpcException) {
+      return ((JsonRpcException) failure).getJsonRpcError();
+    } else if (failure instanceof ConnectException || failure instanceof SSLException) {
+      return JsonRpcError.FAILED_TO_CONNECT_TO_DOWNSTREAM_NODE;
+    } else if (failure instanceof TimeoutException) {
+      return JsonRpcError.CONNECTION_TO_DOWNSTREAM_NODE_TIMED_OUT;
+    } else {
+      LOG.error("Unhandled exception handling request", failure);
+      return JsonRpcError.INTERNAL_ERROR;
+    }
+  }
 }
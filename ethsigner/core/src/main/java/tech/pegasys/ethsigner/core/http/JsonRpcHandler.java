@@ -14,13 +14,20 @@ package tech.pegasys.ethsigner.core.http;
 
 import tech.pegasys.ethsigner.core.jsonrpc.JsonDecoder;
 import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequest;
+import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequestPeek;
 import tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcError;
 import tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcErrorResponse;
 import tech.pegasys.ethsigner.core.requesthandler.JsonRpcRequestHandler;
+import tech.pegasys.ethsigner.core.requesthandler.StreamingJsonRpcRequestHandler;
+
+import java.util.Objects;
+import java.util.Optional;
 
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.JsonArray;
 import io.vertx.ext.web.RoutingContext;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -34,31 +41,70 @@ public class JsonRpcHandler implements Handler<RoutingContext> {
   private final RequestMapper requestHandlerMapper;
   private final HttpResponseFactory responseFactory;
   private final JsonDecoder jsonDecoder;
+  private final JsonRpcBatchHandler batchHandler;
 
   public JsonRpcHandler(
       final HttpResponseFactory responseFactory,
       final RequestMapper requestHandlerMapper,
-      final JsonDecoder jsonDecoder) {
+      final JsonDecoder jsonDecoder,
+      final JsonRpcBatchHandler batchHandler) {
     this.responseFactory = responseFactory;
     this.requestHandlerMapper = requestHandlerMapper;
     this.jsonDecoder = jsonDecoder;
+    this.batchHandler = Objects.requireNonNull(batchHandler, "batchHandler must not be null");
   }
 
   @Override
   public void handle(final RoutingContext context) {
     try {
-      LOG.trace("Request body = {}", context.getBodyAsString());
+      LOG.trace("Request body = {}", context::getBodyAsString);
+      if (isBatch(context.getBody())) {
+        batchHandler.handle(context, new JsonArray(context.getBody()));
+        return;
+      }
+      if (streamIfNotIntercepted(context)) {
+        return;
+      }
       final JsonRpcRequest request =
           jsonDecoder.decodeValue(context.getBody(), JsonRpcRequest.class);
       context.put(ID_ELEMENT_NAME, request.getId());
       final JsonRpcRequestHandler handler =
           requestHandlerMapper.getMatchingHandler(request.getMethod());
-      handler.handle(context, request);
+      handler.handle(context, request, new HttpJsonRpcResponder(context, responseFactory));
     } catch (final DecodeException | IllegalArgumentException e) {
       sendParseErrorResponse(context, e);
     }
   }
 
+  /**
+   * Requests which are not intercepted are identified by peeking at their method, and forwarded
+   * without being decoded, with the response streamed back to the client.
+   */
+  private boolean streamIfNotIntercepted(final RoutingContext context) {
+    final Optional<JsonRpcRequestPeek> peek = JsonRpcRequestPeek.peek(context.getBody());
+    if (peek.isEmpty()) {
+      return false;
+    }
+    final JsonRpcRequestHandler handler =
+        requestHandlerMapper.getMatchingHandler(peek.get().getMethod());
+    if (!(handler instanceof StreamingJsonRpcRequestHandler)) {
+      return false;
+    }
+    context.put(ID_ELEMENT_NAME, peek.get().getId());
+    ((StreamingJsonRpcRequestHandler) handler).stream(context, peek.get().getMethod());
+    return true;
+  }
+
+  static boolean isBatch(final Buffer body) {
+    for (int i = 0; i < body.length(); i++) {
+      final byte b = body.getByte(i);
+      if (!Character.isWhitespace(b)) {
+        return b == '[';
+      }
+    }
+    return false;
+  }
+
   private void sendParseErrorResponse(final RoutingContext context, final Throwable error) {
     LOG.info("Dropping request from {}", context.request().remoteAddress());
     LOG.debug("Parsing body as JSON failed for: {}", context.getBodyAsString(), error);
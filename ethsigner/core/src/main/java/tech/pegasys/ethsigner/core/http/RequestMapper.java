@@ -30,6 +30,11 @@ public class RequestMapper {
     handlers.put(jsonMethod, requestHandler);
   }
 
+  /** Determines if the method is handled by EthSigner, rather than the default handler. */
+  public boolean hasHandler(final String method) {
+    return handlers.containsKey(method);
+  }
+
   public JsonRpcRequestHandler getMatchingHandler(final String method) {
     return handlers.getOrDefault(method, defaultHandler);
   }
@@ -12,13 +12,42 @@
  */
 package tech.pegasys.ethsigner.core.http;
 
+import java.util.function.BooleanSupplier;
+
+import io.netty.handler.codec.http.HttpResponseStatus;
 import io.vertx.core.Handler;
 import io.vertx.ext.web.RoutingContext;
 
 public class UpcheckHandler implements Handler<RoutingContext> {
 
+  private final BooleanSupplier ready;
+  private final BooleanSupplier failed;
+
+  public UpcheckHandler() {
+    this(() -> true, () -> false);
+  }
+
+  public UpcheckHandler(final BooleanSupplier ready, final BooleanSupplier failed) {
+    this.ready = ready;
+    this.failed = failed;
+  }
+
   @Override
   public void handle(final RoutingContext routingContext) {
+    if (failed.getAsBoolean()) {
+      routingContext
+          .response()
+          .setStatusCode(HttpResponseStatus.INTERNAL_SERVER_ERROR.code())
+          .end("Failed to load signers");
+      return;
+    }
+    if (!ready.getAsBoolean()) {
+      routingContext
+          .response()
+          .setStatusCode(HttpResponseStatus.SERVICE_UNAVAILABLE.code())
+          .end("Loading signers");
+      return;
+    }
     routingContext.response().end("I'm up!");
   }
 }
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.http;
+
+import tech.pegasys.ethsigner.core.jsonrpc.JsonDecoder;
+import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequest;
+import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequestId;
+import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequestPeek;
+import tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcError;
+import tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcErrorResponse;
+import tech.pegasys.ethsigner.core.requesthandler.JsonRpcRequestHandler;
+import tech.pegasys.ethsigner.core.requesthandler.StreamingJsonRpcRequestHandler;
+import tech.pegasys.ethsigner.core.requesthandler.passthrough.DownstreamWebSocket;
+import tech.pegasys.ethsigner.core.requesthandler.passthrough.DownstreamWebSocketFactory;
+
+import java.util.Optional;
+
+import com.google.common.net.HttpHeaders;
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.ServerWebSocket;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.Json;
+import io.vertx.core.json.JsonArray;
+import io.vertx.ext.web.RoutingContext;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Upgrades requests for a WebSocket, over which each message is a JSON-RPC request or batch.
+ * Requests handled by EthSigner, such as eth_sendTransaction, are dispatched to the same handlers
+ * as those received over HTTP, with the context of the upgrade request. The remaining requests,
+ * including eth_subscribe, are forwarded over a WebSocket to the downstream node, from which
+ * responses and notifications are relayed to the client. Binary messages are not JSON-RPC, so the
+ * WebSocket is closed on receipt of one.
+ */
+public class WebSocketJsonRpcHandler implements Handler<RoutingContext> {
+
+  private static final Logger LOG = LogManager.getLogger();
+
+  // the WebSocket close status for data of a type which cannot be accepted
+  private static final short UNSUPPORTED_DATA = 1003;
+
+  private final RequestMapper requestMapper;
+  private final JsonDecoder jsonDecoder;
+  private final JsonRpcBatchHandler batchHandler;
+  private final DownstreamWebSocketFactory downstreamWebSocketFactory;
+
+  public WebSocketJsonRpcHandler(
+      final RequestMapper requestMapper,
+      final JsonDecoder jsonDecoder,
+      final JsonRpcBatchHandler batchHandler,
+      final DownstreamWebSocketFactory downstreamWebSocketFactory) {
+    this.requestMapper = requestMapper;
+    this.jsonDecoder = jsonDecoder;
+    this.batchHandler = batchHandler;
+    this.downstreamWebSocketFactory = downstreamWebSocketFactory;
+  }
+
+  @Override
+  public void handle(final RoutingContext context) {
+    if (!"websocket".equalsIgnoreCase(context.request().getHeader(HttpHeaders.UPGRADE))) {
+      context.next();
+      return;
+    }
+
+    final ServerWebSocket socket = context.request().upgrade();
+    LOG.debug("WebSocket opened by {}", socket.remoteAddress());
+    final DownstreamWebSocket downstreamWebSocket =
+        downstreamWebSocketFactory.create(socket, context.request().headers());
+    socket.textMessageHandler(
+        message -> handleMessage(context, socket, downstreamWebSocket, Buffer.buffer(message)));
+    socket.binaryMessageHandler(
+        message -> {
+          LOG.debug("Closing WebSocket of {} on binary message", socket.remoteAddress());
+          socket.close(UNSUPPORTED_DATA, "Binary messages are not supported");
+        });
+    socket.closeHandler(v -> downstreamWebSocket.close());
+  }
+
+  private void handleMessage(
+      final RoutingContext context,
+      final ServerWebSocket socket,
+      final DownstreamWebSocket downstreamWebSocket,
+      final Buffer message) {
+    LOG.trace("WebSocket message = {}", message);
+    try {
+      if (JsonRpcHandler.isBatch(message)) {
+        handleBatch(context, socket, new JsonArray(message));
+        return;
+      }
+
+      final Optional<JsonRpcRequestPeek> peek = JsonRpcRequestPeek.peek(message);
+      if (peek.isPresent() && isForwarded(peek.get().getMethod())) {
+        downstreamWebSocket.send(message);
+        return;
+      }
+
+      final JsonRpcRequest request = jsonDecoder.decodeValue(message, JsonRpcRequest.class);
+      if (isForwarded(request.getMethod())) {
+        downstreamWebSocket.send(message);
+        return;
+      }
+      final BatchElementResponder responder = new BatchElementResponder(request.getId());
+      requestMapper.getMatchingHandler(request.getMethod()).handle(context, request, responder);
+      responder.response().onSuccess(response -> socket.writeTextMessage(response.toString()));
+    } catch (final DecodeException | IllegalArgumentException e) {
+      LOG.debug("Parsing WebSocket message as JSON failed for: {}", message, e);
+      socket.writeTextMessage(Json.encode(new JsonRpcErrorResponse(JsonRpcError.PARSE_ERROR)));
+    } catch (final RuntimeException e) {
+      // as over HTTP, where the failure handler responds, the client is answered rather than the
+      // exception escaping the message handler of the socket
+      final JsonRpcRequestId id =
+          JsonRpcRequestPeek.peek(message).map(JsonRpcRequestPeek::getId).orElse(null);
+      socket.writeTextMessage(
+          Json.encode(new JsonRpcErrorResponse(id, JsonRpcErrorHandler.toJsonRpcError(e))));
+    }
+  }
+
+  // batches are dispatched as over HTTP, so elements not handled by EthSigner are posted
+  private void handleBatch(
+      final RoutingContext context, final ServerWebSocket socket, final JsonArray batch) {
+    final Optional<JsonRpcError> error = batchHandler.validate(batch);
+    if (error.isPresent()) {
+      socket.writeTextMessage(Json.encode(new JsonRpcErrorResponse(error.get())));
+      return;
+    }
+    batchHandler
+        .process(context, batch)
+        .onSuccess(
+            response -> response.ifPresent(body -> socket.writeTextMessage(body.toString())));
+  }
+
+  private boolean isForwarded(final String method) {
+    final JsonRpcRequestHandler handler = requestMapper.getMatchingHandler(method);
+    return handler instanceof StreamingJsonRpcRequestHandler;
+  }
+}
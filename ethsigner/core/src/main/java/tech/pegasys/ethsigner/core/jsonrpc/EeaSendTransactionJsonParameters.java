@@ -12,8 +12,8 @@
  */
 package tech.pegasys.ethsigner.core.jsonrpc;
 
-import static org.web3j.utils.Numeric.decodeQuantity;
 import static tech.pegasys.ethsigner.core.jsonrpc.RpcUtil.decodeBigInteger;
+import static tech.pegasys.ethsigner.core.jsonrpc.RpcUtil.decodeQuantityBytes;
 import static tech.pegasys.ethsigner.core.jsonrpc.RpcUtil.fromRpcRequestToJsonParam;
 import static tech.pegasys.ethsigner.core.jsonrpc.RpcUtil.validateNotEmpty;
 
@@ -27,7 +27,9 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonSetter;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import org.web3j.utils.Base64String;
+import org.web3j.utils.Numeric;
 
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class EeaSendTransactionJsonParameters {
@@ -36,12 +38,12 @@ public class EeaSendTransactionJsonParameters {
   private final Base64String privateFrom;
   private final String restriction;
 
-  private BigInteger gas;
-  private BigInteger gasPrice;
+  private byte[] gas;
+  private byte[] gasPrice;
   private BigInteger nonce;
-  private BigInteger value;
+  private byte[] value;
   private String receiver;
-  private String data;
+  private byte[] data;
   private Base64String privacyGroupId;
   private List<Base64String> privateFor;
 
@@ -56,14 +58,24 @@ public class EeaSendTransactionJsonParameters {
     this.sender = sender;
   }
 
-  @JsonSetter("gas")
   public void gas(final String gas) {
-    this.gas = decodeBigInteger(gas);
+    this.gas = decodeQuantityBytes(gas);
+  }
+
+  @JsonSetter("gas")
+  @JsonDeserialize(using = HexQuantityDeserializer.class)
+  private void gas(final byte[] gas) {
+    this.gas = gas;
   }
 
-  @JsonSetter("gasPrice")
   public void gasPrice(final String gasPrice) {
-    this.gasPrice = decodeBigInteger(gasPrice);
+    this.gasPrice = decodeQuantityBytes(gasPrice);
+  }
+
+  @JsonSetter("gasPrice")
+  @JsonDeserialize(using = HexQuantityDeserializer.class)
+  private void gasPrice(final byte[] gasPrice) {
+    this.gasPrice = gasPrice;
   }
 
   @JsonSetter("nonce")
@@ -76,14 +88,24 @@ public class EeaSendTransactionJsonParameters {
     this.receiver = receiver;
   }
 
-  @JsonSetter("value")
   public void value(final String value) {
+    value(decodeQuantityBytes(value));
+  }
+
+  @JsonSetter("value")
+  @JsonDeserialize(using = HexQuantityDeserializer.class)
+  private void value(final byte[] value) {
     validateValue(value);
-    this.value = decodeBigInteger(value);
+    this.value = value;
   }
 
-  @JsonSetter("data")
   public void data(final String data) {
+    this.data = data == null ? null : HexDataDeserializer.decodeHex(data);
+  }
+
+  @JsonSetter("data")
+  @JsonDeserialize(using = HexDataDeserializer.class)
+  private void data(final byte[] data) {
     this.data = data;
   }
 
@@ -99,15 +121,15 @@ public class EeaSendTransactionJsonParameters {
   }
 
   public Optional<String> data() {
-    return Optional.ofNullable(data);
+    return Optional.ofNullable(data).map(Numeric::toHexString);
   }
 
   public Optional<BigInteger> gas() {
-    return Optional.ofNullable(gas);
+    return Optional.ofNullable(gas).map(RpcUtil::fromQuantityBytes);
   }
 
   public Optional<BigInteger> gasPrice() {
-    return Optional.ofNullable(gasPrice);
+    return Optional.ofNullable(gasPrice).map(RpcUtil::fromQuantityBytes);
   }
 
   public Optional<String> receiver() {
@@ -115,7 +137,7 @@ public class EeaSendTransactionJsonParameters {
   }
 
   public Optional<BigInteger> value() {
-    return Optional.ofNullable(value);
+    return Optional.ofNullable(value).map(RpcUtil::fromQuantityBytes);
   }
 
   public Optional<BigInteger> nonce() {
@@ -130,6 +152,26 @@ public class EeaSendTransactionJsonParameters {
     return Optional.ofNullable(privacyGroupId);
   }
 
+  /** @return the call data as bytes, or null if not provided */
+  public byte[] dataBytes() {
+    return data;
+  }
+
+  /** @return the gas limit as minimal big endian bytes, or null if not provided */
+  public byte[] gasBytes() {
+    return gas;
+  }
+
+  /** @return the gas price as minimal big endian bytes, or null if not provided */
+  public byte[] gasPriceBytes() {
+    return gasPrice;
+  }
+
+  /** @return the value as minimal big endian bytes, or null if not provided */
+  public byte[] valueBytes() {
+    return value;
+  }
+
   public String sender() {
     return sender;
   }
@@ -146,8 +188,8 @@ public class EeaSendTransactionJsonParameters {
     return fromRpcRequestToJsonParam(EeaSendTransactionJsonParameters.class, request);
   }
 
-  private void validateValue(final String value) {
-    if (value != null && !decodeQuantity(value).equals(BigInteger.ZERO)) {
+  private void validateValue(final byte[] value) {
+    if (value != null && value.length != 0) {
       throw new IllegalArgumentException(
           "Non-zero value, private transactions cannot transfer ether");
     }
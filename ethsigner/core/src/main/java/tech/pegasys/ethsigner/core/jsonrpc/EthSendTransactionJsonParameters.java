@@ -13,6 +13,7 @@
 package tech.pegasys.ethsigner.core.jsonrpc;
 
 import static tech.pegasys.ethsigner.core.jsonrpc.RpcUtil.decodeBigInteger;
+import static tech.pegasys.ethsigner.core.jsonrpc.RpcUtil.decodeQuantityBytes;
 import static tech.pegasys.ethsigner.core.jsonrpc.RpcUtil.validateNotEmpty;
 
 import java.math.BigInteger;
@@ -25,17 +26,19 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonSetter;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import org.web3j.utils.Base64String;
+import org.web3j.utils.Numeric;
 
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class EthSendTransactionJsonParameters {
   private final String sender;
-  private BigInteger gas;
-  private BigInteger gasPrice;
+  private byte[] gas;
+  private byte[] gasPrice;
   private BigInteger nonce;
-  private BigInteger value;
+  private byte[] value;
   private String receiver;
-  private String data;
+  private byte[] data;
   private Base64String privateFrom;
   private List<Base64String> privateFor;
 
@@ -45,14 +48,24 @@ public class EthSendTransactionJsonParameters {
     this.sender = sender;
   }
 
-  @JsonSetter("gas")
   public void gas(final String gas) {
-    this.gas = decodeBigInteger(gas);
+    this.gas = decodeQuantityBytes(gas);
+  }
+
+  @JsonSetter("gas")
+  @JsonDeserialize(using = HexQuantityDeserializer.class)
+  private void gas(final byte[] gas) {
+    this.gas = gas;
   }
 
-  @JsonSetter("gasPrice")
   public void gasPrice(final String gasPrice) {
-    this.gasPrice = decodeBigInteger(gasPrice);
+    this.gasPrice = decodeQuantityBytes(gasPrice);
+  }
+
+  @JsonSetter("gasPrice")
+  @JsonDeserialize(using = HexQuantityDeserializer.class)
+  private void gasPrice(final byte[] gasPrice) {
+    this.gasPrice = gasPrice;
   }
 
   @JsonSetter("nonce")
@@ -65,13 +78,23 @@ public class EthSendTransactionJsonParameters {
     this.receiver = receiver;
   }
 
-  @JsonSetter("value")
   public void value(final String value) {
-    this.value = decodeBigInteger(value);
+    this.value = decodeQuantityBytes(value);
+  }
+
+  @JsonSetter("value")
+  @JsonDeserialize(using = HexQuantityDeserializer.class)
+  private void value(final byte[] value) {
+    this.value = value;
   }
 
-  @JsonSetter("data")
   public void data(final String data) {
+    this.data = data == null ? null : HexDataDeserializer.decodeHex(data);
+  }
+
+  @JsonSetter("data")
+  @JsonDeserialize(using = HexDataDeserializer.class)
+  private void data(final byte[] data) {
     this.data = data;
   }
 
@@ -87,15 +110,15 @@ public class EthSendTransactionJsonParameters {
   }
 
   public Optional<String> data() {
-    return Optional.ofNullable(data);
+    return Optional.ofNullable(data).map(Numeric::toHexString);
   }
 
   public Optional<BigInteger> gas() {
-    return Optional.ofNullable(gas);
+    return Optional.ofNullable(gas).map(RpcUtil::fromQuantityBytes);
   }
 
   public Optional<BigInteger> gasPrice() {
-    return Optional.ofNullable(gasPrice);
+    return Optional.ofNullable(gasPrice).map(RpcUtil::fromQuantityBytes);
   }
 
   public Optional<String> receiver() {
@@ -103,13 +126,33 @@ public class EthSendTransactionJsonParameters {
   }
 
   public Optional<BigInteger> value() {
-    return Optional.ofNullable(value);
+    return Optional.ofNullable(value).map(RpcUtil::fromQuantityBytes);
   }
 
   public Optional<BigInteger> nonce() {
     return Optional.ofNullable(nonce);
   }
 
+  /** @return the call data as bytes, or null if not provided */
+  public byte[] dataBytes() {
+    return data;
+  }
+
+  /** @return the gas limit as minimal big endian bytes, or null if not provided */
+  public byte[] gasBytes() {
+    return gas;
+  }
+
+  /** @return the gas price as minimal big endian bytes, or null if not provided */
+  public byte[] gasPriceBytes() {
+    return gasPrice;
+  }
+
+  /** @return the value as minimal big endian bytes, or null if not provided */
+  public byte[] valueBytes() {
+    return value;
+  }
+
   public String sender() {
     return sender;
   }
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.jsonrpc;
+
+import static tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcError.INVALID_PARAMS;
+
+import tech.pegasys.ethsigner.core.jsonrpc.exception.JsonRpcException;
+
+import java.io.IOException;
+import java.nio.CharBuffer;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+/**
+ * Deserializes JSON-RPC hex data, being 0x followed by hex digits, into bytes. The hex is decoded
+ * in place, from the parser's character buffer or the String already held by the parsed params,
+ * rather than being copied first. Data which is not 0x prefixed, or contains a character which is
+ * not a hex digit, is rejected as invalid params.
+ */
+public class HexDataDeserializer extends StdDeserializer<byte[]> {
+
+  public HexDataDeserializer() {
+    super(byte[].class);
+  }
+
+  @Override
+  public byte[] deserialize(final JsonParser parser, final DeserializationContext context)
+      throws IOException {
+    if (!parser.currentToken().isScalarValue()) {
+      return (byte[]) context.handleUnexpectedToken(byte[].class, parser);
+    }
+    if (parser.hasToken(JsonToken.VALUE_STRING) && parser.hasTextCharacters()) {
+      return decodeHex(
+          CharBuffer.wrap(
+              parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength()));
+    }
+    return decodeHex(parser.getValueAsString());
+  }
+
+  /** Decodes 0x prefixed hex data, throwing a JsonRpcException of invalid params if malformed. */
+  static byte[] decodeHex(final CharSequence hex) {
+    final int length = hex.length();
+    if (length < 2 || hex.charAt(0) != '0' || hex.charAt(1) != 'x') {
+      throw new JsonRpcException(INVALID_PARAMS);
+    }
+    final int digits = length - 2;
+
+    final byte[] data = new byte[(digits + 1) / 2];
+    int index = 0;
+    int i = 2;
+    if (digits % 2 != 0) {
+      data[index++] = (byte) hexDigit(hex.charAt(i++));
+    }
+    for (; i < length; i += 2) {
+      data[index++] = (byte) ((hexDigit(hex.charAt(i)) << 4) + hexDigit(hex.charAt(i + 1)));
+    }
+    return data;
+  }
+
+  private static int hexDigit(final char c) {
+    final int digit = Character.digit(c, 16);
+    if (digit < 0) {
+      throw new JsonRpcException(INVALID_PARAMS);
+    }
+    return digit;
+  }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.jsonrpc;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+/**
+ * Deserializes a JSON-RPC quantity into its minimal big endian bytes, as written to RLP. A 0x
+ * prefixed hex quantity is decoded directly from the parser's characters, without creating a
+ * String or BigInteger of it.
+ */
+public class HexQuantityDeserializer extends StdDeserializer<byte[]> {
+
+  public HexQuantityDeserializer() {
+    super(byte[].class);
+  }
+
+  @Override
+  public byte[] deserialize(final JsonParser parser, final DeserializationContext context)
+      throws IOException {
+    if (!parser.currentToken().isScalarValue()) {
+      return (byte[]) context.handleUnexpectedToken(byte[].class, parser);
+    }
+    if (parser.hasToken(JsonToken.VALUE_STRING)) {
+      final byte[] quantity =
+          decodeHex(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+      if (quantity != null) {
+        return quantity;
+      }
+    }
+    // any other representation is accepted, or rejected, as by web3j's Numeric.decodeQuantity
+    return RpcUtil.decodeQuantityBytes(parser.getValueAsString());
+  }
+
+  // returns null unless the characters are 0x followed by at least one hex digit
+  private static byte[] decodeHex(final char[] chars, final int offset, final int length) {
+    final int end = offset + length;
+    if (length < 3 || chars[offset] != '0' || chars[offset + 1] != 'x') {
+      return null;
+    }
+    for (int i = offset + 2; i < end; i++) {
+      if (Character.digit(chars[i], 16) < 0) {
+        return null;
+      }
+    }
+
+    int start = offset + 2;
+    while (start < end && chars[start] == '0') {
+      start++;
+    }
+    final byte[] quantity = new byte[(end - start + 1) / 2];
+    int index = quantity.length - 1;
+    for (int i = end - 1; i >= start; i -= 2) {
+      final int high = i > start ? Character.digit(chars[i - 1], 16) : 0;
+      quantity[index--] = (byte) ((high << 4) | Character.digit(chars[i], 16));
+    }
+    return quantity;
+  }
+}
@@ -19,6 +19,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import io.netty.buffer.ByteBufInputStream;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.JsonObject;
 
 public class JsonDecoder {
 
@@ -35,4 +36,13 @@ public class JsonDecoder {
       throw new DecodeException("Failed to decode:" + e.getMessage(), e);
     }
   }
+
+  /** Converts an already parsed JSON object, such as an element of a batch request. */
+  public <T> T decodeValue(final JsonObject json, final Class<T> clazz) throws DecodeException {
+    try {
+      return mapper.convertValue(json.getMap(), clazz);
+    } catch (IllegalArgumentException e) {
+      throw new DecodeException("Failed to decode:" + e.getMessage(), e);
+    }
+  }
 }
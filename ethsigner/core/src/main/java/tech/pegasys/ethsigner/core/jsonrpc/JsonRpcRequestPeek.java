@@ -0,0 +1,111 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.jsonrpc;
+
+import tech.pegasys.ethsigner.core.jsonrpc.exception.InvalidJsonRpcRequestException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.google.common.base.MoreObjects;
+import io.netty.buffer.ByteBufInputStream;
+import io.vertx.core.buffer.Buffer;
+
+/**
+ * The method and id of a single JSON-RPC request, read with a streaming parser so the params are
+ * tokenized but never bound to objects.
+ */
+public class JsonRpcRequestPeek {
+
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+  private final String method;
+  private final JsonRpcRequestId id;
+
+  private JsonRpcRequestPeek(final String method, final JsonRpcRequestId id) {
+    this.method = method;
+    this.id = id;
+  }
+
+  /**
+   * Reads the method and id of a JSON-RPC request object.
+   *
+   * @return empty if the body is not a well-formed JSON object with a "jsonrpc" and a string
+   *     "method", in which case the request should be fully decoded to determine the outcome.
+   */
+  public static Optional<JsonRpcRequestPeek> peek(final Buffer body) {
+    try (final JsonParser parser =
+        JSON_FACTORY.createParser((InputStream) new ByteBufInputStream(body.getByteBuf()))) {
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
+        return Optional.empty();
+      }
+      String version = null;
+      String method = null;
+      Object id = null;
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        final String fieldName = parser.getCurrentName();
+        final JsonToken value = parser.nextToken();
+        if ("jsonrpc".equals(fieldName) && value.isScalarValue() && value != JsonToken.VALUE_NULL) {
+          version = parser.getText();
+        } else if ("method".equals(fieldName) && value == JsonToken.VALUE_STRING) {
+          method = parser.getText();
+        } else if ("id".equals(fieldName)) {
+          id = idValue(parser, value);
+        } else {
+          parser.skipChildren();
+        }
+      }
+      if (parser.getCurrentToken() != JsonToken.END_OBJECT
+          || parser.nextToken() != null
+          || version == null
+          || method == null) {
+        return Optional.empty();
+      }
+      return Optional.of(new JsonRpcRequestPeek(method, new JsonRpcRequestId(id)));
+    } catch (final IOException | InvalidJsonRpcRequestException e) {
+      return Optional.empty();
+    }
+  }
+
+  private static Object idValue(final JsonParser parser, final JsonToken value) throws IOException {
+    switch (value) {
+      case VALUE_STRING:
+        return parser.getText();
+      case VALUE_NUMBER_INT:
+        return parser.getNumberValue();
+      case VALUE_NUMBER_FLOAT:
+        return parser.getDoubleValue();
+      case VALUE_NULL:
+        return null;
+      default:
+        throw new InvalidJsonRpcRequestException("Invalid id");
+    }
+  }
+
+  public String getMethod() {
+    return method;
+  }
+
+  public JsonRpcRequestId getId() {
+    return id;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this).add("method", method).add("id", id).toString();
+  }
+}
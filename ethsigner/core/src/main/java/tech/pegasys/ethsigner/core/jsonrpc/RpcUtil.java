@@ -18,6 +18,7 @@ import tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcError;
 import tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcErrorResponse;
 
 import java.math.BigInteger;
+import java.util.Arrays;
 import java.util.List;
 
 import io.vertx.core.buffer.Buffer;
@@ -60,10 +61,26 @@ public class RpcUtil {
     return value == null ? null : decodeQuantity(value);
   }
 
-  public static JsonRpcError determineErrorCode(final String body, final JsonDecoder decoder) {
+  static byte[] decodeQuantityBytes(final String value) {
+    return value == null ? null : toQuantityBytes(decodeQuantity(value));
+  }
+
+  // the minimal big endian bytes of a quantity, as written to RLP, where values below one are zero
+  static byte[] toQuantityBytes(final BigInteger value) {
+    if (value.signum() < 1) {
+      return new byte[0];
+    }
+    final byte[] bytes = value.toByteArray();
+    return bytes[0] == 0 ? Arrays.copyOfRange(bytes, 1, bytes.length) : bytes;
+  }
+
+  static BigInteger fromQuantityBytes(final byte[] quantity) {
+    return new BigInteger(1, quantity);
+  }
+
+  public static JsonRpcError determineErrorCode(final Buffer body, final JsonDecoder decoder) {
     try {
-      final JsonRpcErrorResponse response =
-          decoder.decodeValue(Buffer.buffer(body), JsonRpcErrorResponse.class);
+      final JsonRpcErrorResponse response = decoder.decodeValue(body, JsonRpcErrorResponse.class);
       return response.getError();
     } catch (final DecodeException e) {
       return JsonRpcError.INTERNAL_ERROR;
@@ -172,9 +172,11 @@ public enum JsonRpcError {
   // Gateway errors
   CONNECTION_TO_DOWNSTREAM_NODE_TIMED_OUT(-32000, "Connection to downstream node timed out"),
   FAILED_TO_CONNECT_TO_DOWNSTREAM_NODE(-32000, "Failed to connect to downstream node"),
+  EXCEEDS_RPC_MAX_BATCH_SIZE(-32005, "Number of requests exceeds max batch size"),
 
   // Transaction signing errors
   SIGNING_FROM_IS_NOT_AN_UNLOCKED_ACCOUNT(-32000, "No unlocked account matches the Sender"),
+  SIGNING_CAPACITY_EXCEEDED(-32005, "Signing capacity exceeded, retry later"),
 
   // GoQuorum transaction validation
   ETHER_VALUE_NOT_SUPPORTED(-30200, "ether value is not supported for private transactions");
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.requesthandler;
+
+import tech.pegasys.ethsigner.core.downstream.ConnectionWaitQueue;
+import tech.pegasys.ethsigner.core.downstream.DownstreamNode;
+import tech.pegasys.ethsigner.core.downstream.DownstreamNodes;
+import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.DownstreamPathCalculator;
+
+import java.time.Duration;
+
+import io.vertx.core.http.HttpClient;
+
+/** Creates transmitters to the downstream node selected for each request by the balancer. */
+public class BalancingRequestTransmitterFactory implements VertxRequestTransmitterFactory {
+
+  private final HttpClient downStreamConnection;
+  private final DownstreamNodes downstreamNodes;
+  private final ConnectionWaitQueue connectionWaitQueue;
+  private final Duration httpRequestTimeout;
+  private final DownstreamPathCalculator downstreamPathCalculator;
+
+  public BalancingRequestTransmitterFactory(
+      final HttpClient downStreamConnection,
+      final DownstreamNodes downstreamNodes,
+      final ConnectionWaitQueue connectionWaitQueue,
+      final Duration httpRequestTimeout,
+      final DownstreamPathCalculator downstreamPathCalculator) {
+    this.downStreamConnection = downStreamConnection;
+    this.downstreamNodes = downstreamNodes;
+    this.connectionWaitQueue = connectionWaitQueue;
+    this.httpRequestTimeout = httpRequestTimeout;
+    this.downstreamPathCalculator = downstreamPathCalculator;
+  }
+
+  @Override
+  public VertxRequestTransmitter create(final DownstreamResponseHandler downstreamResponseHandler) {
+    return create(downstreamNodes.select(), downstreamResponseHandler);
+  }
+
+  @Override
+  public VertxRequestTransmitter createForSender(
+      final String sender, final DownstreamResponseHandler downstreamResponseHandler) {
+    return create(downstreamNodes.selectForSender(sender), downstreamResponseHandler);
+  }
+
+  private VertxRequestTransmitter create(
+      final DownstreamNode node, final DownstreamResponseHandler downstreamResponseHandler) {
+    return new VertxRequestTransmitter(
+        downStreamConnection,
+        downstreamNodes,
+        node,
+        connectionWaitQueue,
+        httpRequestTimeout,
+        downstreamPathCalculator,
+        downstreamResponseHandler);
+  }
+}
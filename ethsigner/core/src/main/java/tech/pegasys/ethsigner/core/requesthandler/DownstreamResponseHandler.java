@@ -14,10 +14,12 @@ package tech.pegasys.ethsigner.core.requesthandler;
 
 import java.util.Map.Entry;
 
+import io.vertx.core.buffer.Buffer;
+
 public interface DownstreamResponseHandler {
 
   void handleResponse(
-      final Iterable<Entry<String, String>> headers, final int statusCode, final String body);
+      final Iterable<Entry<String, String>> headers, final int statusCode, final Buffer body);
 
   void handleFailure(final Throwable t);
 }
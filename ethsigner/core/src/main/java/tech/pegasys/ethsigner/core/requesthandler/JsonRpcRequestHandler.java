@@ -18,5 +18,9 @@ import io.vertx.ext.web.RoutingContext;
 
 public interface JsonRpcRequestHandler {
 
-  void handle(RoutingContext context, JsonRpcRequest rpcRequest);
+  /**
+   * Handles a JSON-RPC request received via the context, the outcome of which MUST be reported via
+   * the responder (rather than the context's response).
+   */
+  void handle(RoutingContext context, JsonRpcRequest rpcRequest, JsonRpcResponder responder);
 }
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.requesthandler;
+
+import tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcResponse;
+
+import java.util.Map.Entry;
+
+import io.vertx.core.buffer.Buffer;
+
+/**
+ * Completes a single JSON-RPC request, which may be the entire body of an HTTP request, or an
+ * element of a batch.
+ */
+public interface JsonRpcResponder {
+
+  /** Completes the request with a response body which has already been serialised. */
+  void respond(int statusCode, Iterable<Entry<String, String>> headers, Buffer body);
+
+  void respond(int statusCode, JsonRpcResponse response);
+
+  /** Completes the request with an error, converted to a JSON-RPC error response. */
+  void fail(int statusCode, Throwable failure);
+}
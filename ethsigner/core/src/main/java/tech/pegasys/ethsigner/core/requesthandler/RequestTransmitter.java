@@ -14,10 +14,11 @@ package tech.pegasys.ethsigner.core.requesthandler;
 
 import java.util.Map.Entry;
 
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpMethod;
 
 public interface RequestTransmitter {
 
   void sendRequest(
-      HttpMethod method, Iterable<Entry<String, String>> headers, String path, String body);
+      HttpMethod method, Iterable<Entry<String, String>> headers, String path, Buffer body);
 }
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.requesthandler;
+
+import static tech.pegasys.ethsigner.core.downstream.DownstreamRoutingTable.DEFAULT_POOL;
+
+import tech.pegasys.ethsigner.core.downstream.DownstreamRoutingTable;
+
+import java.util.Map;
+
+/**
+ * Creates transmitters to the pool of downstream nodes to which the routing table sends each
+ * JSON-RPC method. Requests whose method is not known, such as batches, are sent to the default
+ * pool.
+ */
+public class RoutingRequestTransmitterFactory implements VertxRequestTransmitterFactory {
+
+  private final DownstreamRoutingTable routingTable;
+  private final Map<String, VertxRequestTransmitterFactory> poolTransmitterFactories;
+  private final VertxRequestTransmitterFactory defaultTransmitterFactory;
+
+  public RoutingRequestTransmitterFactory(
+      final DownstreamRoutingTable routingTable,
+      final Map<String, VertxRequestTransmitterFactory> poolTransmitterFactories) {
+    this.routingTable = routingTable;
+    this.poolTransmitterFactories = poolTransmitterFactories;
+    this.defaultTransmitterFactory = poolTransmitterFactories.get(DEFAULT_POOL);
+  }
+
+  @Override
+  public VertxRequestTransmitter create(final DownstreamResponseHandler downstreamResponseHandler) {
+    return defaultTransmitterFactory.create(downstreamResponseHandler);
+  }
+
+  @Override
+  public VertxRequestTransmitter createForSender(
+      final String sender, final DownstreamResponseHandler downstreamResponseHandler) {
+    return defaultTransmitterFactory.createForSender(sender, downstreamResponseHandler);
+  }
+
+  @Override
+  public VertxRequestTransmitterFactory forMethod(final String method) {
+    return poolTransmitterFactories.get(routingTable.poolFor(method));
+  }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.requesthandler;
+
+import static tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcError.SIGNING_CAPACITY_EXCEEDED;
+
+import tech.pegasys.ethsigner.core.jsonrpc.exception.JsonRpcException;
+import tech.pegasys.ethsigner.core.metrics.EthSignerMetricCategory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+
+/**
+ * Executes blocking signing work (key loading, decryption, remote vault calls) on a fixed size
+ * pool with a bounded queue, so a burst of requests is rejected quickly rather than queueing
+ * unbounded work behind the shared Vert.x worker pool.
+ */
+public class SigningExecutor {
+
+  private static final Logger LOG = LogManager.getLogger();
+
+  private final ThreadPoolExecutor executor;
+  private final Counter rejectedCounter;
+
+  public SigningExecutor(
+      final int threads, final int queueSize, final MetricsSystem metricsSystem) {
+    this.executor =
+        new ThreadPoolExecutor(
+            threads,
+            threads,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueSize),
+            new ThreadFactoryBuilder()
+                .setNameFormat("ethsigner-signing-%d")
+                .setDaemon(true)
+                .build());
+
+    metricsSystem.createGauge(
+        EthSignerMetricCategory.SIGNING,
+        "signing_executor_queue_depth",
+        "Number of signing tasks waiting for a signing thread",
+        () -> executor.getQueue().size());
+    metricsSystem.createGauge(
+        EthSignerMetricCategory.SIGNING,
+        "signing_executor_active_threads",
+        "Number of signing threads currently executing a task",
+        executor::getActiveCount);
+    rejectedCounter =
+        metricsSystem.createCounter(
+            EthSignerMetricCategory.SIGNING,
+            "signing_executor_rejections",
+            "Number of signing tasks rejected as the signing queue was full");
+  }
+
+  /**
+   * Submits the task for execution, with the returned future being completed on the supplied
+   * context. If the signing queue is full, the future fails immediately with a {@link
+   * JsonRpcException} of {@code SIGNING_CAPACITY_EXCEEDED}.
+   */
+  public <T> Future<T> execute(final Context context, final Callable<T> task) {
+    final Promise<T> promise = Promise.promise();
+    try {
+      executor.execute(() -> run(context, task, promise));
+    } catch (final RejectedExecutionException e) {
+      LOG.debug("Signing queue is full, rejecting task");
+      rejectedCounter.inc();
+      return Future.failedFuture(new JsonRpcException(SIGNING_CAPACITY_EXCEEDED));
+    }
+    return promise.future();
+  }
+
+  private <T> void run(final Context context, final Callable<T> task, final Promise<T> promise) {
+    try {
+      final T result = task.call();
+      context.runOnContext(v -> promise.complete(result));
+    } catch (final Throwable t) {
+      context.runOnContext(v -> promise.fail(t));
+    }
+  }
+}
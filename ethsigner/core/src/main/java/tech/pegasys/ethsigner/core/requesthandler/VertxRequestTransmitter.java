@@ -12,21 +12,30 @@
  */
 package tech.pegasys.ethsigner.core.requesthandler;
 
+import tech.pegasys.ethsigner.core.downstream.ConnectionWaitQueue;
+import tech.pegasys.ethsigner.core.downstream.DownstreamNode;
+import tech.pegasys.ethsigner.core.downstream.DownstreamNodes;
+import tech.pegasys.ethsigner.core.http.HeaderHelpers;
 import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.DownstreamPathCalculator;
 
-import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
-import io.vertx.core.Vertx;
+import com.google.common.net.HttpHeaders;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.ConnectionPoolTooBusyException;
 import io.vertx.core.http.HttpClient;
 import io.vertx.core.http.HttpClientRequest;
 import io.vertx.core.http.HttpClientResponse;
 import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServerResponse;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -34,23 +43,32 @@ public class VertxRequestTransmitter implements RequestTransmitter {
 
   private static final Logger LOG = LogManager.getLogger();
 
-  private final Vertx vertx;
   private final Duration httpRequestTimeout;
   private final DownstreamResponseHandler bodyHandler;
   private final HttpClient downStreamConnection;
+  private final DownstreamNodes downstreamNodes;
+  private final DownstreamNode downstreamNode;
+  private final ConnectionWaitQueue connectionWaitQueue;
   private final DownstreamPathCalculator downstreamPathCalculator;
   private final AtomicBoolean responseHandled = new AtomicBoolean(false);
+  private final AtomicBoolean nodeReleased = new AtomicBoolean(false);
+  private final AtomicBoolean connectionAcquired = new AtomicBoolean(false);
+  private long sentAtMillis;
 
   public VertxRequestTransmitter(
-      final Vertx vertx,
       final HttpClient downStreamConnection,
+      final DownstreamNodes downstreamNodes,
+      final DownstreamNode downstreamNode,
+      final ConnectionWaitQueue connectionWaitQueue,
       final Duration httpRequestTimeout,
       final DownstreamPathCalculator downstreamPathCalculator,
       final DownstreamResponseHandler bodyHandler) {
-    this.vertx = vertx;
     this.httpRequestTimeout = httpRequestTimeout;
     this.bodyHandler = bodyHandler;
     this.downStreamConnection = downStreamConnection;
+    this.downstreamNodes = downstreamNodes;
+    this.downstreamNode = downstreamNode;
+    this.connectionWaitQueue = connectionWaitQueue;
     this.downstreamPathCalculator = downstreamPathCalculator;
   }
 
@@ -59,7 +77,31 @@ public class VertxRequestTransmitter implements RequestTransmitter {
       final HttpMethod method,
       final Iterable<Entry<String, String>> headers,
       final String path,
-      final String body) {
+      final Buffer body) {
+    send(method, headers, path, body, this::handleResponse);
+  }
+
+  /**
+   * Sends the request, piping the downstream response into the server response as it is received
+   * rather than buffering it. Failures prior to receiving the response are reported to the
+   * response handler; failures part way through the body close the server connection, as the
+   * status has already been sent.
+   */
+  public void streamRequest(
+      final HttpMethod method,
+      final Iterable<Entry<String, String>> headers,
+      final String path,
+      final Buffer body,
+      final HttpServerResponse serverResponse) {
+    send(method, headers, path, body, response -> streamResponse(response, serverResponse));
+  }
+
+  private void send(
+      final HttpMethod method,
+      final Iterable<Entry<String, String>> headers,
+      final String path,
+      final Buffer body,
+      final Handler<HttpClientResponse> responseHandler) {
     LOG.debug(
         "Sending headers {} and request {} to {} ",
         () ->
@@ -67,51 +109,149 @@ public class VertxRequestTransmitter implements RequestTransmitter {
                 .map(Objects::toString)
                 .collect(Collectors.joining(", ")),
         () -> body,
-        () -> path);
+        () -> downstreamNode.getEndpoint() + path);
 
     final String fullPath = downstreamPathCalculator.calculateDownstreamPath(path);
     final HttpClientRequest request =
-        downStreamConnection.request(method, fullPath, this::handleResponse);
+        downStreamConnection.request(
+            method, downstreamNode.getPort(), downstreamNode.getHost(), fullPath, responseHandler);
+    downstreamNode.requestStarted();
+    sentAtMillis = System.currentTimeMillis();
     request.setTimeout(httpRequestTimeout.toMillis());
     request.exceptionHandler(this::handleException);
     headers.forEach(entry -> request.headers().add(entry.getKey(), entry.getValue()));
     request.setChunked(false);
+    request.putHeader(HttpHeaders.CONTENT_LENGTH, String.valueOf(body.length()));
+    // the head is written once the request is assigned a connection from the client's pool
+    connectionWaitQueue.requestQueued();
+    request.sendHead(version -> connectionAcquired());
     request.end(body);
   }
 
+  private void connectionAcquired() {
+    if (!connectionAcquired.getAndSet(true)) {
+      connectionWaitQueue.requestDequeued();
+    }
+  }
+
   private void handleException(final Throwable thrown) {
     LOG.error("Transmission failed", thrown);
+    final boolean waitingForConnection = !connectionAcquired.get();
+    connectionAcquired();
+    if (isLocalBackPressure(thrown, waitingForConnection)) {
+      abandonNode();
+    } else {
+      releaseNode(false);
+    }
     if (!responseHandled.getAndSet(true)) {
-      vertx.executeBlocking(
-          future -> bodyHandler.handleFailure(thrown),
-          false,
-          res -> {
-            if (res.failed()) {
-              LOG.error("Reporting failure, failed", res.cause());
-            }
-          });
+      try {
+        bodyHandler.handleFailure(thrown);
+      } catch (final RuntimeException e) {
+        LOG.error("Reporting failure, failed", e);
+      }
     }
   }
 
+  /**
+   * A request rejected by the client's full wait queue, or which timed out waiting in it for a
+   * connection, was never sent to the node, so does not count towards its ejection. A node which
+   * cannot be connected to fails with a connection error, and is ejected by the health checker.
+   */
+  private boolean isLocalBackPressure(final Throwable thrown, final boolean waitingForConnection) {
+    return thrown instanceof ConnectionPoolTooBusyException
+        || (waitingForConnection && thrown instanceof TimeoutException);
+  }
+
   private void handleResponse(final HttpClientResponse response) {
     responseHandled.set(true);
+    releaseNode(isNodeHealthy(response));
+    logResponse(response);
+    response.bodyHandler(body -> handleResponseBody(response, body));
+  }
+
+  private void handleResponseBody(final HttpClientResponse response, final Buffer body) {
+    try {
+      bodyHandler.handleResponse(response.headers(), response.statusCode(), body);
+    } catch (final RuntimeException e) {
+      LOG.error("An unhandled error occurred while processing a response", e);
+      bodyHandler.handleFailure(e);
+    }
+  }
+
+  private void streamResponse(
+      final HttpClientResponse response, final HttpServerResponse serverResponse) {
+    responseHandled.set(true);
+    releaseNode(isNodeHealthy(response));
     logResponse(response);
-    response.bodyHandler(
-        body ->
-            vertx.executeBlocking(
-                future ->
-                    bodyHandler.handleResponse(
-                        response.headers(),
-                        response.statusCode(),
-                        body.toString(StandardCharsets.UTF_8)),
-                false,
-                res -> {
-                  if (res.failed()) {
-                    final Throwable t = res.cause();
-                    LOG.error("An unhandled error occurred while processing a response", t);
-                    bodyHandler.handleFailure(t);
-                  }
-                }));
+    serverResponse.setStatusCode(response.statusCode());
+    response
+        .headers()
+        .forEach(
+            entry -> {
+              if (!isHopByHopOrCorsHeader(entry.getKey())) {
+                serverResponse.headers().add(entry.getKey(), entry.getValue());
+              }
+            });
+    final String contentLength = response.getHeader(HttpHeaders.CONTENT_LENGTH);
+    if (isValidContentLength(contentLength)) {
+      serverResponse.putHeader(HttpHeaders.CONTENT_LENGTH, contentLength);
+    } else {
+      // a missing or malformed length is not relied upon, and the response is streamed in chunks
+      serverResponse.setChunked(true);
+    }
+
+    response
+        .pipe()
+        .endOnFailure(false)
+        .to(
+            serverResponse,
+            result -> {
+              if (result.failed()) {
+                LOG.warn("Streaming response from downstream node failed", result.cause());
+                response.request().reset();
+                serverResponse.close();
+              }
+            });
+  }
+
+  private boolean isValidContentLength(final String contentLength) {
+    if (contentLength == null) {
+      return false;
+    }
+    try {
+      return Long.parseLong(contentLength) >= 0;
+    } catch (final NumberFormatException e) {
+      LOG.debug("Ignoring malformed content length from downstream node: {}", contentLength);
+      return false;
+    }
+  }
+
+  // a node which fails to serve a request, or is unavailable, counts towards its ejection
+  private boolean isNodeHealthy(final HttpClientResponse response) {
+    return response.statusCode() < 500;
+  }
+
+  private void releaseNode(final boolean healthy) {
+    if (nodeReleased.getAndSet(true)) {
+      return;
+    }
+    if (healthy) {
+      downstreamNodes.requestSucceeded(downstreamNode, System.currentTimeMillis() - sentAtMillis);
+    } else {
+      downstreamNodes.requestFailed(downstreamNode);
+    }
+  }
+
+  private void abandonNode() {
+    if (!nodeReleased.getAndSet(true)) {
+      downstreamNodes.requestAbandoned(downstreamNode);
+    }
+  }
+
+  private boolean isHopByHopOrCorsHeader(final String name) {
+    return name.equalsIgnoreCase(HttpHeaders.CONTENT_LENGTH)
+        || HeaderHelpers.isHopByHopHeader(name)
+        || name.equalsIgnoreCase(HttpHeaderNames.ACCESS_CONTROL_ALLOW_ORIGIN.toString());
   }
 
   private void logResponse(final HttpClientResponse response) {
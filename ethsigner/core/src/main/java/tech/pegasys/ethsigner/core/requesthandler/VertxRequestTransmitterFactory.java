@@ -12,8 +12,19 @@
  */
 package tech.pegasys.ethsigner.core.requesthandler;
 
-@FunctionalInterface
 public interface VertxRequestTransmitterFactory {
 
   VertxRequestTransmitter create(DownstreamResponseHandler downstreamResponseHandler);
+
+  /**
+   * Creates a transmitter to the downstream node to which requests for the sender are pinned, so
+   * that the nonce queried for a sender and its submitted transaction observe the same state.
+   */
+  VertxRequestTransmitter createForSender(
+      String sender, DownstreamResponseHandler downstreamResponseHandler);
+
+  /** Returns the factory for requests of the JSON-RPC method, where methods are routed. */
+  default VertxRequestTransmitterFactory forMethod(final String method) {
+    return this;
+  }
 }
@@ -125,6 +125,6 @@ public class EthSignTransactionResultProvider implements ResultProvider<String>
               + " json Rpc requires a valid parameter, request contained a null object");
     }
     final JsonObject receivedParams = JsonObject.mapFrom(object);
-    return decoder.decodeValue(receivedParams.toBuffer(), type);
+    return decoder.decodeValue(receivedParams, type);
   }
 }
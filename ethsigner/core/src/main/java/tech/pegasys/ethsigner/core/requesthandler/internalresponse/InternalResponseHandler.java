@@ -13,15 +13,24 @@
 package tech.pegasys.ethsigner.core.requesthandler.internalresponse;
 
 import static io.netty.handler.codec.http.HttpResponseStatus.INTERNAL_SERVER_ERROR;
+import static io.netty.handler.codec.http.HttpResponseStatus.OK;
 import static tech.pegasys.ethsigner.core.util.ResponseCodeSelector.jsonRPCErrorCode;
 
-import tech.pegasys.ethsigner.core.http.HttpResponseFactory;
 import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequest;
 import tech.pegasys.ethsigner.core.jsonrpc.exception.JsonRpcException;
 import tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcError;
+import tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcErrorResponse;
+import tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcSuccessResponse;
 import tech.pegasys.ethsigner.core.requesthandler.JsonRpcRequestHandler;
+import tech.pegasys.ethsigner.core.requesthandler.JsonRpcResponder;
 import tech.pegasys.ethsigner.core.requesthandler.ResultProvider;
+import tech.pegasys.ethsigner.core.requesthandler.SigningExecutor;
 
+import java.util.Optional;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
 import io.vertx.ext.web.RoutingContext;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -30,31 +39,67 @@ public class InternalResponseHandler<T> implements JsonRpcRequestHandler {
 
   private static final Logger LOG = LogManager.getLogger();
 
-  private final HttpResponseFactory responder;
   private final ResultProvider<T> responseResultProvider;
+  private final Optional<SigningExecutor> signingExecutor;
+
+  /**
+   * Creates a handler whose result is created on the event loop, so is never rejected when the
+   * signing executor is saturated, which is only suitable for results held in memory.
+   */
+  public InternalResponseHandler(final ResultProvider<T> responseResultProvider) {
+    this.responseResultProvider = responseResultProvider;
+    this.signingExecutor = Optional.empty();
+  }
 
   public InternalResponseHandler(
-      final HttpResponseFactory responder, final ResultProvider<T> responseResultProvider) {
-    this.responder = responder;
+      final ResultProvider<T> responseResultProvider, final SigningExecutor signingExecutor) {
     this.responseResultProvider = responseResultProvider;
+    this.signingExecutor = Optional.of(signingExecutor);
   }
 
   @Override
-  public void handle(final RoutingContext context, final JsonRpcRequest rpcRequest) {
+  public void handle(
+      final RoutingContext context,
+      final JsonRpcRequest rpcRequest,
+      final JsonRpcResponder responder) {
     LOG.debug("Internally responding to {}, id={}", rpcRequest.getMethod(), rpcRequest.getId());
+    if (signingExecutor.isEmpty()) {
+      handleResponseResult(responder, rpcRequest, createResponseResult(rpcRequest));
+      return;
+    }
+
+    // captured while handling the request, so the response is written on its event loop
+    final Context requestContext = context.vertx().getOrCreateContext();
+    // Result providers may sign or access key storage, so must be kept off the event loop
+    signingExecutor
+        .get()
+        .execute(requestContext, () -> responseResultProvider.createResponseResult(rpcRequest))
+        .onComplete(result -> handleResponseResult(responder, rpcRequest, result));
+  }
+
+  private Future<T> createResponseResult(final JsonRpcRequest rpcRequest) {
     try {
-      final T result = responseResultProvider.createResponseResult(rpcRequest);
-      responder.successResponse(context.response(), rpcRequest.getId(), result);
-    } catch (final JsonRpcException e) {
-      final JsonRpcError jsonRpcError = e.getJsonRpcError();
-      responder.failureResponse(
-          context.response(), rpcRequest.getId(), jsonRPCErrorCode(e), jsonRpcError);
+      return Future.succeededFuture(responseResultProvider.createResponseResult(rpcRequest));
     } catch (final RuntimeException e) {
-      responder.failureResponse(
-          context.response(),
-          rpcRequest.getId(),
+      return Future.failedFuture(e);
+    }
+  }
+
+  private void handleResponseResult(
+      final JsonRpcResponder responder,
+      final JsonRpcRequest rpcRequest,
+      final AsyncResult<T> result) {
+    if (result.succeeded()) {
+      responder.respond(OK.code(), new JsonRpcSuccessResponse(rpcRequest.getId(), result.result()));
+    } else if (result.cause() instanceof JsonRpcException) {
+      final JsonRpcException e = (JsonRpcException) result.cause();
+      final JsonRpcError jsonRpcError = e.getJsonRpcError();
+      responder.respond(
+          jsonRPCErrorCode(e), new JsonRpcErrorResponse(rpcRequest.getId(), jsonRpcError));
+    } else {
+      responder.respond(
           INTERNAL_SERVER_ERROR.code(),
-          JsonRpcError.INTERNAL_ERROR);
+          new JsonRpcErrorResponse(rpcRequest.getId(), JsonRpcError.INTERNAL_ERROR));
     }
   }
 }
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.requesthandler.passthrough;
+
+import static io.netty.handler.codec.http.HttpResponseStatus.OK;
+import static java.util.Collections.emptyList;
+
+import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequest;
+import tech.pegasys.ethsigner.core.requesthandler.JsonRpcRequestHandler;
+import tech.pegasys.ethsigner.core.requesthandler.JsonRpcResponder;
+import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.ForwardedMessageResponder;
+
+import java.util.Map.Entry;
+import java.util.Optional;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.RoutingContext;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Answers cacheable reads from the response cache, forwarding them to the downstream node on a miss
+ * and caching the result. Concurrent misses for the same read are coalesced.
+ */
+public class CachingPassThroughHandler implements JsonRpcRequestHandler {
+
+  private static final Logger LOG = LogManager.getLogger();
+
+  private final CoalescingPassThroughHandler passThroughHandler;
+  private final ResponseCache responseCache;
+
+  public CachingPassThroughHandler(
+      final CoalescingPassThroughHandler passThroughHandler, final ResponseCache responseCache) {
+    this.passThroughHandler = passThroughHandler;
+    this.responseCache = responseCache;
+  }
+
+  @Override
+  public void handle(
+      final RoutingContext context,
+      final JsonRpcRequest request,
+      final JsonRpcResponder responder) {
+    final String scope = CoalescingPassThroughHandler.scopeOf(context.request());
+    final Optional<Buffer> cachedResponse = responseCache.get(scope, request);
+    if (cachedResponse.isPresent()) {
+      LOG.trace("Responding to {} from response cache", request.getMethod());
+      responder.respond(OK.code(), emptyList(), cachedResponse.get());
+      return;
+    }
+
+    passThroughHandler.forward(
+        context, request, new CachingResponder(context, responder, scope, request));
+  }
+
+  private class CachingResponder extends ForwardedMessageResponder {
+
+    private final String scope;
+    private final JsonRpcRequest request;
+
+    CachingResponder(
+        final RoutingContext context,
+        final JsonRpcResponder responder,
+        final String scope,
+        final JsonRpcRequest request) {
+      super(context, responder);
+      this.scope = scope;
+      this.request = request;
+    }
+
+    @Override
+    public void handleResponse(
+        final Iterable<Entry<String, String>> headers, final int statusCode, final Buffer body) {
+      super.handleResponse(headers, statusCode, body);
+      if (statusCode != OK.code()) {
+        return;
+      }
+      try {
+        final JsonObject response = new JsonObject(body);
+        if (response.containsKey("result") && !response.containsKey("error")) {
+          responseCache.put(scope, request, response.getValue("result"));
+        }
+      } catch (final DecodeException e) {
+        LOG.debug("Non JSON-RPC response received for {}", request.getMethod());
+      }
+    }
+  }
+}
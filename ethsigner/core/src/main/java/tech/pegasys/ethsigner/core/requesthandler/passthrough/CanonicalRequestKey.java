@@ -0,0 +1,39 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.requesthandler.passthrough;
+
+import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Identifies requests which are equivalent regardless of their id, by the method and params with
+ * object members ordered by name.
+ */
+final class CanonicalRequestKey {
+
+  private static final ObjectMapper CANONICAL_MAPPER =
+      new ObjectMapper().configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+
+  private CanonicalRequestKey() {}
+
+  static String of(final JsonRpcRequest request) {
+    try {
+      return request.getMethod() + CANONICAL_MAPPER.writeValueAsString(request.getParams());
+    } catch (final JsonProcessingException e) {
+      throw new IllegalArgumentException("Unable to encode params of " + request.getMethod(), e);
+    }
+  }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.requesthandler.passthrough;
+
+import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequest;
+import tech.pegasys.ethsigner.core.requesthandler.DownstreamResponseHandler;
+import tech.pegasys.ethsigner.core.requesthandler.JsonRpcRequestHandler;
+import tech.pegasys.ethsigner.core.requesthandler.JsonRpcResponder;
+import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.ForwardedMessageResponder;
+
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import com.google.common.net.HttpHeaders;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.json.Json;
+import io.vertx.ext.web.RoutingContext;
+
+/** Forwards reads to the downstream node, coalescing identical reads which are in flight. */
+public class CoalescingPassThroughHandler implements JsonRpcRequestHandler {
+
+  private static final Set<String> CLIENT_IDENTIFYING_HEADERS =
+      Set.of(
+          HttpHeaders.AUTHORIZATION.toLowerCase(Locale.ROOT),
+          HttpHeaders.PROXY_AUTHORIZATION.toLowerCase(Locale.ROOT),
+          HttpHeaders.COOKIE.toLowerCase(Locale.ROOT),
+          HttpHeaders.FORWARDED.toLowerCase(Locale.ROOT),
+          // forwarded downstream as X-Forwarded-Host
+          HttpHeaders.HOST.toLowerCase(Locale.ROOT));
+
+  private final PassThroughHandler passThroughHandler;
+  private final RequestCoalescer coalescer;
+
+  public CoalescingPassThroughHandler(
+      final PassThroughHandler passThroughHandler, final RequestCoalescer coalescer) {
+    this.passThroughHandler = passThroughHandler;
+    this.coalescer = coalescer;
+  }
+
+  @Override
+  public void handle(
+      final RoutingContext context,
+      final JsonRpcRequest request,
+      final JsonRpcResponder responder) {
+    forward(context, request, new ForwardedMessageResponder(context, responder));
+  }
+
+  public void forward(
+      final RoutingContext context,
+      final JsonRpcRequest request,
+      final DownstreamResponseHandler responseHandler) {
+    // the request may be an element of a batch, so is re-encoded rather than using the HTTP body
+    coalescer.coalesce(
+        scopeOf(context.request()),
+        request,
+        responseHandler,
+        downstreamHandler ->
+            passThroughHandler.forward(
+                context, request.getMethod(), Json.encodeToBuffer(request), downstreamHandler));
+  }
+
+  /**
+   * Requests are only coalesced with those to the same path, carrying the same credentials and
+   * forwarding details, so the downstream node cannot serve one client with another's response.
+   */
+  static String scopeOf(final HttpServerRequest request) {
+    return request.headers().entries().stream()
+        .filter(header -> isClientIdentifyingHeader(header.getKey()))
+        .map(header -> header.getKey().toLowerCase(Locale.ROOT) + ":" + header.getValue())
+        .sorted()
+        .collect(Collectors.joining("\n", request.path() + "\n", ""));
+  }
+
+  private static boolean isClientIdentifyingHeader(final String name) {
+    final String lowerCaseName = name.toLowerCase(Locale.ROOT);
+    return CLIENT_IDENTIFYING_HEADERS.contains(lowerCaseName)
+        || lowerCaseName.startsWith("x-forwarded-");
+  }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.requesthandler.passthrough;
+
+import tech.pegasys.ethsigner.core.downstream.DownstreamNode;
+import tech.pegasys.ethsigner.core.downstream.DownstreamNodes;
+import tech.pegasys.ethsigner.core.http.HeaderHelpers;
+import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequestId;
+import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequestPeek;
+import tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcError;
+import tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcErrorResponse;
+import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.DownstreamPathCalculator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.ServerWebSocket;
+import io.vertx.core.http.WebSocket;
+import io.vertx.core.http.WebSocketConnectOptions;
+import io.vertx.core.json.Json;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * The WebSocket to a downstream node dedicated to a client's WebSocket, over which the client's
+ * requests which are not handled by EthSigner are forwarded. Every message from the node, including
+ * subscription notifications, is relayed to the client unchanged. The connection is opened with
+ * the headers of the client's upgrade request, filtered as those of a forwarded HTTP request, so
+ * the node authenticates it as it would the client's HTTP requests.
+ *
+ * <p>The connection is opened on first use, with messages sent in the meantime held until it is
+ * established. The client's WebSocket is paused while connecting, so the messages held are limited
+ * to those it has already read. As subscriptions are held by the node, the client's WebSocket is
+ * closed if the node's is, so the client reconnects and resubscribes.
+ */
+public class DownstreamWebSocket {
+
+  private static final Logger LOG = LogManager.getLogger();
+
+  private final HttpClient httpClient;
+  private final DownstreamNodes downstreamNodes;
+  private final DownstreamPathCalculator downstreamPathCalculator;
+  private final ServerWebSocket clientSocket;
+  private final MultiMap upgradeHeaders;
+  private final List<Buffer> pendingMessages = new ArrayList<>();
+  private WebSocket webSocket;
+  private boolean connecting;
+  private boolean closed;
+
+  DownstreamWebSocket(
+      final HttpClient httpClient,
+      final DownstreamNodes downstreamNodes,
+      final DownstreamPathCalculator downstreamPathCalculator,
+      final ServerWebSocket clientSocket,
+      final MultiMap upgradeHeaders) {
+    this.httpClient = httpClient;
+    this.downstreamNodes = downstreamNodes;
+    this.downstreamPathCalculator = downstreamPathCalculator;
+    this.clientSocket = clientSocket;
+    this.upgradeHeaders = upgradeHeaders;
+  }
+
+  public synchronized void send(final Buffer message) {
+    if (closed) {
+      return;
+    }
+    if (webSocket != null) {
+      webSocket.writeTextMessage(message.toString());
+      return;
+    }
+    pendingMessages.add(message);
+    if (!connecting) {
+      connecting = true;
+      clientSocket.pause();
+      connect();
+    }
+  }
+
+  /** Closes the downstream WebSocket, following the closure of the client's. */
+  public synchronized void close() {
+    closed = true;
+    pendingMessages.clear();
+    if (webSocket != null) {
+      webSocket.close();
+    }
+  }
+
+  private void connect() {
+    final DownstreamNode node = downstreamNodes.select();
+    final WebSocketConnectOptions options =
+        new WebSocketConnectOptions()
+            .setHost(node.getHost())
+            .setPort(node.getPort())
+            .setURI(downstreamPathCalculator.calculateDownstreamPath("/"))
+            .setHeaders(HeaderHelpers.createHeaders(upgradeHeaders));
+    LOG.debug("Opening WebSocket to {}", node.getEndpoint());
+    httpClient.webSocket(options, result -> connected(node, result));
+  }
+
+  private synchronized void connected(
+      final DownstreamNode node, final AsyncResult<WebSocket> result) {
+    connecting = false;
+    clientSocket.resume();
+    if (result.failed()) {
+      LOG.warn("Opening WebSocket to {} failed", node.getEndpoint(), result.cause());
+      // the next message retries, possibly with another node
+      pendingMessages.forEach(this::respondConnectionFailed);
+      pendingMessages.clear();
+      return;
+    }
+
+    webSocket = result.result();
+    if (closed) {
+      webSocket.close();
+      return;
+    }
+    webSocket.textMessageHandler(clientSocket::writeTextMessage);
+    webSocket.closeHandler(v -> downstreamClosed(node));
+    pendingMessages.forEach(message -> webSocket.writeTextMessage(message.toString()));
+    pendingMessages.clear();
+  }
+
+  private synchronized void downstreamClosed(final DownstreamNode node) {
+    webSocket = null;
+    if (!closed) {
+      LOG.debug("WebSocket to {} closed, closing client WebSocket", node.getEndpoint());
+      closed = true;
+      clientSocket.close();
+    }
+  }
+
+  private void respondConnectionFailed(final Buffer message) {
+    final JsonRpcRequestId id =
+        JsonRpcRequestPeek.peek(message).map(JsonRpcRequestPeek::getId).orElse(null);
+    clientSocket.writeTextMessage(
+        Json.encode(
+            new JsonRpcErrorResponse(id, JsonRpcError.FAILED_TO_CONNECT_TO_DOWNSTREAM_NODE)));
+  }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.requesthandler.passthrough;
+
+import tech.pegasys.ethsigner.core.downstream.DownstreamNodes;
+import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.DownstreamPathCalculator;
+
+import io.vertx.core.MultiMap;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.ServerWebSocket;
+
+/** Creates the downstream WebSocket of each client WebSocket, to the default pool of nodes. */
+public class DownstreamWebSocketFactory {
+
+  private final HttpClient httpClient;
+  private final DownstreamNodes downstreamNodes;
+  private final DownstreamPathCalculator downstreamPathCalculator;
+
+  public DownstreamWebSocketFactory(
+      final HttpClient httpClient,
+      final DownstreamNodes downstreamNodes,
+      final DownstreamPathCalculator downstreamPathCalculator) {
+    this.httpClient = httpClient;
+    this.downstreamNodes = downstreamNodes;
+    this.downstreamPathCalculator = downstreamPathCalculator;
+  }
+
+  public DownstreamWebSocket create(
+      final ServerWebSocket clientSocket, final MultiMap upgradeHeaders) {
+    return new DownstreamWebSocket(
+        httpClient, downstreamNodes, downstreamPathCalculator, clientSocket, upgradeHeaders);
+  }
+}
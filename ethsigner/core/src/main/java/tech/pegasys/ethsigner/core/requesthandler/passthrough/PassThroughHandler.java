@@ -13,47 +13,117 @@
 package tech.pegasys.ethsigner.core.requesthandler.passthrough;
 
 import tech.pegasys.ethsigner.core.http.HeaderHelpers;
+import tech.pegasys.ethsigner.core.http.HttpJsonRpcResponder;
+import tech.pegasys.ethsigner.core.http.HttpResponseFactory;
 import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequest;
-import tech.pegasys.ethsigner.core.requesthandler.JsonRpcRequestHandler;
+import tech.pegasys.ethsigner.core.requesthandler.DownstreamResponseHandler;
+import tech.pegasys.ethsigner.core.requesthandler.JsonRpcResponder;
+import tech.pegasys.ethsigner.core.requesthandler.StreamingJsonRpcRequestHandler;
 import tech.pegasys.ethsigner.core.requesthandler.VertxRequestTransmitter;
 import tech.pegasys.ethsigner.core.requesthandler.VertxRequestTransmitterFactory;
 import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.ForwardedMessageResponder;
 
 import io.vertx.core.Handler;
 import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpMethod;
 import io.vertx.core.http.HttpServerRequest;
 import io.vertx.ext.web.RoutingContext;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-public class PassThroughHandler implements JsonRpcRequestHandler, Handler<RoutingContext> {
+public class PassThroughHandler implements StreamingJsonRpcRequestHandler, Handler<RoutingContext> {
 
   private static final Logger LOG = LogManager.getLogger();
 
   private final VertxRequestTransmitterFactory transmitterFactory;
+  private final VertxRequestTransmitterFactory streamingTransmitterFactory;
+  private final HttpResponseFactory responseFactory = new HttpResponseFactory();
 
-  public PassThroughHandler(final VertxRequestTransmitterFactory vertxTransmitterFactory) {
+  /**
+   * @param vertxTransmitterFactory creates transmitters for responses which are inspected, so must
+   *     be decompressed
+   * @param streamingTransmitterFactory creates transmitters for responses which are streamed to
+   *     the client, so may retain the content encoding chosen by the downstream node
+   */
+  public PassThroughHandler(
+      final VertxRequestTransmitterFactory vertxTransmitterFactory,
+      final VertxRequestTransmitterFactory streamingTransmitterFactory) {
     this.transmitterFactory = vertxTransmitterFactory;
+    this.streamingTransmitterFactory = streamingTransmitterFactory;
   }
 
   @Override
-  public void handle(final RoutingContext context, final JsonRpcRequest request) {
-    handle(context);
+  public void handle(
+      final RoutingContext context,
+      final JsonRpcRequest request,
+      final JsonRpcResponder responder) {
+    forward(
+        context,
+        request.getMethod(),
+        context.getBody(),
+        new ForwardedMessageResponder(context, responder));
   }
 
   @Override
   public void handle(final RoutingContext context) {
-    logRequest(context.request(), context.getBodyAsString());
+    stream(context, streamingTransmitterFactory);
+  }
+
+  /** Forwards the request body, streaming the downstream response directly to the client. */
+  @Override
+  public void stream(final RoutingContext context, final String method) {
+    stream(context, streamingTransmitterFactory.forMethod(method));
+  }
+
+  private void stream(final RoutingContext context, final VertxRequestTransmitterFactory factory) {
+    final JsonRpcResponder responder = new HttpJsonRpcResponder(context, responseFactory);
+    final Buffer body = context.getBody();
+    logRequest(context.request(), body);
     final VertxRequestTransmitter transmitter =
-        transmitterFactory.create(new ForwardedMessageResponder(context));
+        factory.create(new ForwardedMessageResponder(context, responder));
+
+    final HttpServerRequest request = context.request();
+    final MultiMap headersToSend = HeaderHelpers.createHeaders(request.headers());
+    transmitter.streamRequest(
+        request.method(), headersToSend, request.path(), body, context.response());
+  }
+
+  /**
+   * Forwards the body to the default pool of downstream nodes as a JSON-RPC POST, with the path and
+   * headers of the context.
+   */
+  public void forward(
+      final RoutingContext context,
+      final Buffer body,
+      final DownstreamResponseHandler responseHandler) {
+    forward(context, body, responseHandler, transmitterFactory);
+  }
+
+  /** Forwards the body of a request for the JSON-RPC method to the pool to which it is routed. */
+  public void forward(
+      final RoutingContext context,
+      final String method,
+      final Buffer body,
+      final DownstreamResponseHandler responseHandler) {
+    forward(context, body, responseHandler, transmitterFactory.forMethod(method));
+  }
+
+  private void forward(
+      final RoutingContext context,
+      final Buffer body,
+      final DownstreamResponseHandler responseHandler,
+      final VertxRequestTransmitterFactory factory) {
+    logRequest(context.request(), body);
+    final VertxRequestTransmitter transmitter = factory.create(responseHandler);
 
     final HttpServerRequest request = context.request();
     final MultiMap headersToSend = HeaderHelpers.createHeaders(request.headers());
-    transmitter.sendRequest(
-        request.method(), headersToSend, request.path(), context.getBodyAsString());
+    // posted regardless of the client's method, as the request may have arrived over a WebSocket
+    transmitter.sendRequest(HttpMethod.POST, headersToSend, request.path(), body);
   }
 
-  private void logRequest(final HttpServerRequest httpRequest, final String body) {
+  private void logRequest(final HttpServerRequest httpRequest, final Buffer body) {
     LOG.debug(
         "Proxying method: {}, uri: {}, body: {}",
         httpRequest::method,
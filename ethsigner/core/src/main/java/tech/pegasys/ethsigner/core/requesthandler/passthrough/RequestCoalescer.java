@@ -0,0 +1,205 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.requesthandler.passthrough;
+
+import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequest;
+import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequestId;
+import tech.pegasys.ethsigner.core.metrics.EthSignerMetricCategory;
+import tech.pegasys.ethsigner.core.requesthandler.DownstreamResponseHandler;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import com.google.common.collect.Streams;
+import com.google.common.net.HttpHeaders;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.JsonObject;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+
+/**
+ * Merges identical reads which are concurrently in flight to the downstream node into a single
+ * downstream request, the response to which is delivered to every waiting request with its own id.
+ * Requests are identical when their scope, method and canonicalised params are equal. As the
+ * downstream request carries the headers of the first request, the scope identifies the downstream
+ * path and the headers by which the downstream node may distinguish clients.
+ *
+ * <p>Shared by all server instances, so each waiter's response is delivered on the context from
+ * which it joined.
+ */
+public class RequestCoalescer {
+
+  private static final Logger LOG = LogManager.getLogger();
+
+  // reads which are polled by many clients at once, typically on the arrival of a new block
+  private static final Set<String> COALESCABLE_METHODS =
+      Set.of(
+          "eth_blockNumber",
+          "eth_gasPrice",
+          "eth_getBlockByNumber",
+          "eth_getBalance",
+          "eth_call",
+          "eth_syncing");
+
+  private final Map<String, InFlightRequest> inFlightRequests = new ConcurrentHashMap<>();
+  private final Counter coalescedCounter;
+
+  public RequestCoalescer(final MetricsSystem metricsSystem) {
+    coalescedCounter =
+        metricsSystem.createCounter(
+            EthSignerMetricCategory.HTTP,
+            "coalesced_requests",
+            "Number of requests answered by a concurrent identical downstream request");
+  }
+
+  public static Set<String> coalescableMethods() {
+    return COALESCABLE_METHODS;
+  }
+
+  /**
+   * Delivers the response to the request to the response handler, either by joining an identical
+   * request already in flight, or by sending the request downstream through the supplied call.
+   */
+  public void coalesce(
+      final String scope,
+      final JsonRpcRequest request,
+      final DownstreamResponseHandler responseHandler,
+      final Consumer<DownstreamResponseHandler> downstreamCall) {
+    final String key = scope + "\n" + CanonicalRequestKey.of(request);
+    final Waiter waiter = new Waiter(Vertx.currentContext(), request.getId(), responseHandler);
+
+    while (true) {
+      final InFlightRequest candidate = new InFlightRequest(key, request.getId());
+      final InFlightRequest inFlightRequest = inFlightRequests.putIfAbsent(key, candidate);
+      if (inFlightRequest == null) {
+        candidate.join(waiter);
+        downstreamCall.accept(candidate);
+        return;
+      }
+      // a request which has just completed can no longer be joined, so a new one is sent
+      if (inFlightRequest.join(waiter)) {
+        LOG.trace("Coalesced {} with request in flight", request.getMethod());
+        coalescedCounter.inc();
+        return;
+      }
+    }
+  }
+
+  private class InFlightRequest implements DownstreamResponseHandler {
+
+    private final String key;
+    private final JsonRpcRequestId id;
+    private final List<Waiter> waiters = new ArrayList<>();
+    private boolean completed = false;
+
+    InFlightRequest(final String key, final JsonRpcRequestId id) {
+      this.key = key;
+      this.id = id;
+    }
+
+    synchronized boolean join(final Waiter waiter) {
+      if (completed) {
+        return false;
+      }
+      waiters.add(waiter);
+      return true;
+    }
+
+    @Override
+    public void handleResponse(
+        final Iterable<Entry<String, String>> headers, final int statusCode, final Buffer body) {
+      final JsonObject response = decode(body);
+      // the length of each body depends on its id, so is set when it is written
+      final List<Entry<String, String>> forwardedHeaders =
+          Streams.stream(headers)
+              .filter(header -> !header.getKey().equalsIgnoreCase(HttpHeaders.CONTENT_LENGTH))
+              .collect(Collectors.toList());
+      for (final Waiter waiter : complete()) {
+        waiter.run(
+            handler ->
+                handler.handleResponse(
+                    forwardedHeaders, statusCode, bodyFor(waiter, response, body)));
+      }
+    }
+
+    @Override
+    public void handleFailure(final Throwable t) {
+      for (final Waiter waiter : complete()) {
+        waiter.run(handler -> handler.handleFailure(t));
+      }
+    }
+
+    private List<Waiter> complete() {
+      synchronized (this) {
+        completed = true;
+      }
+      inFlightRequests.remove(key, this);
+      return waiters;
+    }
+
+    private Buffer bodyFor(final Waiter waiter, final JsonObject response, final Buffer body) {
+      if (response == null || Objects.equals(waiter.id, id)) {
+        return body.copy();
+      }
+      final Map<String, Object> fields = new LinkedHashMap<>(response.getMap());
+      fields.put("id", waiter.id == null ? null : waiter.id.getValue());
+      return new JsonObject(fields).toBuffer();
+    }
+
+    private JsonObject decode(final Buffer body) {
+      try {
+        return new JsonObject(body);
+      } catch (final DecodeException e) {
+        LOG.debug("Non JSON-RPC response received, forwarded to all waiters unchanged");
+        return null;
+      }
+    }
+  }
+
+  private static class Waiter {
+
+    private final Context context;
+    private final JsonRpcRequestId id;
+    private final DownstreamResponseHandler responseHandler;
+
+    Waiter(
+        final Context context,
+        final JsonRpcRequestId id,
+        final DownstreamResponseHandler responseHandler) {
+      this.context = context;
+      this.id = id;
+      this.responseHandler = responseHandler;
+    }
+
+    void run(final Consumer<DownstreamResponseHandler> action) {
+      if (context == null || context == Vertx.currentContext()) {
+        action.accept(responseHandler);
+      } else {
+        context.runOnContext(v -> action.accept(responseHandler));
+      }
+    }
+  }
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.requesthandler.passthrough;
+
+import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequest;
+import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequestId;
+import tech.pegasys.ethsigner.core.metrics.EthSignerMetricCategory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.Json;
+import io.vertx.core.json.JsonObject;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+
+/**
+ * Caches the results of downstream reads which do not change once available, bounded by the total
+ * size of the cached results. Results are cached without their id, which is replaced by the id of
+ * the request on a hit.
+ *
+ * <p>Results are cached within the scope of the request given by {@link
+ * CoalescingPassThroughHandler#scopeOf}, being its path and the credentials and forwarding details
+ * it carries, so a result fetched for one client is not served to a client without its
+ * credentials.
+ *
+ * <p>Results which a reorganisation could change, such as a receipt, are only cached once their
+ * block is at least {@link #FINALITY_DEPTH} blocks below the highest block number observed in a
+ * result, which trails the actual chain head and so errs towards not caching.
+ */
+public class ResponseCache {
+
+  private static final Logger LOG = LogManager.getLogger();
+
+  static final long FINALITY_DEPTH = 64;
+
+  private static final Set<String> CACHEABLE_METHODS =
+      Set.of(
+          "eth_chainId",
+          "net_version",
+          "eth_getTransactionReceipt",
+          "eth_getBlockByHash",
+          "eth_getCode");
+
+  private final AtomicLong observedBlockNumber = new AtomicLong(-1);
+  private final Cache<String, Buffer> cache;
+  private final Counter hitCounter;
+  private final Counter missCounter;
+  private final Counter evictionCounter;
+
+  public ResponseCache(final long maximumSize, final MetricsSystem metricsSystem) {
+    hitCounter =
+        metricsSystem.createCounter(
+            EthSignerMetricCategory.HTTP,
+            "response_cache_hits",
+            "Number of requests answered from the response cache");
+    missCounter =
+        metricsSystem.createCounter(
+            EthSignerMetricCategory.HTTP,
+            "response_cache_misses",
+            "Number of cacheable requests which were forwarded to the downstream node");
+    evictionCounter =
+        metricsSystem.createCounter(
+            EthSignerMetricCategory.HTTP,
+            "response_cache_evictions",
+            "Number of results evicted from the response cache due to its size");
+
+    this.cache =
+        CacheBuilder.newBuilder()
+            .maximumWeight(maximumSize)
+            .weigher((String key, Buffer result) -> key.length() + result.length())
+            .removalListener(this::cacheEntryRemoved)
+            .build();
+  }
+
+  public static Set<String> cacheableMethods() {
+    return CACHEABLE_METHODS;
+  }
+
+  /** Returns the cached response to the request, with the id of the request. */
+  public Optional<Buffer> get(final String scope, final JsonRpcRequest request) {
+    final Buffer result = cache.getIfPresent(key(scope, request));
+    if (result == null) {
+      missCounter.inc();
+      return Optional.empty();
+    }
+    hitCounter.inc();
+    return Optional.of(response(request.getId(), result));
+  }
+
+  /** Caches the result of a successful response, if the method's rules allow it. */
+  public void put(final String scope, final JsonRpcRequest request, final Object result) {
+    observeBlockNumber(result);
+    if (isCacheable(request, result)) {
+      cache.put(key(scope, request), Json.encodeToBuffer(result));
+    }
+  }
+
+  private static String key(final String scope, final JsonRpcRequest request) {
+    return scope + "\n" + CanonicalRequestKey.of(request);
+  }
+
+  private boolean isCacheable(final JsonRpcRequest request, final Object result) {
+    switch (request.getMethod()) {
+      case "eth_chainId":
+      case "net_version":
+        return true;
+      case "eth_getBlockByHash":
+        // a block identified by its hash does not change, even if it is no longer canonical
+        return result != null;
+      case "eth_getTransactionReceipt":
+        // a receipt is only returned once mined, but may move to another block on a reorg
+        return field(result, "blockNumber").map(this::isFinal).orElse(false);
+      case "eth_getCode":
+        // deployed code only changes on self destruct, whereas absent code may yet be deployed,
+        // so is only cached at a block which will not change, rather than at a tag like latest
+        return !"0x".equals(result) && isFinalBlockParameter(request);
+      default:
+        return false;
+    }
+  }
+
+  private boolean isFinalBlockParameter(final JsonRpcRequest request) {
+    final Object params = request.getParams();
+    if (!(params instanceof List) || ((List<?>) params).size() < 2) {
+      return false;
+    }
+    final Object blockParameter = ((List<?>) params).get(1);
+    if (blockParameter instanceof String) {
+      return isFinal((String) blockParameter);
+    }
+    if (field(blockParameter, "blockHash").isPresent()) {
+      return true;
+    }
+    return field(blockParameter, "blockNumber").map(this::isFinal).orElse(false);
+  }
+
+  private boolean isFinal(final String blockNumber) {
+    final long observed = observedBlockNumber.get();
+    return parseBlockNumber(blockNumber)
+        .map(number -> observed >= FINALITY_DEPTH && number <= observed - FINALITY_DEPTH)
+        .orElse(false);
+  }
+
+  // receipts carry the number of their block, and blocks their own number
+  private void observeBlockNumber(final Object result) {
+    field(result, "blockNumber")
+        .or(() -> field(result, "number"))
+        .flatMap(ResponseCache::parseBlockNumber)
+        .ifPresent(number -> observedBlockNumber.accumulateAndGet(number, Math::max));
+  }
+
+  private static Optional<String> field(final Object object, final String name) {
+    final Map<?, ?> map;
+    if (object instanceof JsonObject) {
+      map = ((JsonObject) object).getMap();
+    } else if (object instanceof Map) {
+      map = (Map<?, ?>) object;
+    } else {
+      return Optional.empty();
+    }
+    final Object value = map.get(name);
+    return value instanceof String ? Optional.of((String) value) : Optional.empty();
+  }
+
+  private static Optional<Long> parseBlockNumber(final String blockNumber) {
+    if (!blockNumber.startsWith("0x") || blockNumber.length() < 3) {
+      return Optional.empty();
+    }
+    try {
+      return Optional.of(Long.parseLong(blockNumber.substring(2), 16));
+    } catch (final NumberFormatException e) {
+      return Optional.empty();
+    }
+  }
+
+  private static Buffer response(final JsonRpcRequestId id, final Buffer result) {
+    return Buffer.buffer("{\"jsonrpc\":\"2.0\",\"id\":")
+        .appendBuffer(Json.encodeToBuffer(id))
+        .appendString(",\"result\":")
+        .appendBuffer(result)
+        .appendString("}");
+  }
+
+  private void cacheEntryRemoved(final RemovalNotification<String, Buffer> notification) {
+    if (notification.wasEvicted()) {
+      LOG.trace("Response for {} evicted from cache", notification.getKey());
+      evictionCounter.inc();
+    }
+  }
+}
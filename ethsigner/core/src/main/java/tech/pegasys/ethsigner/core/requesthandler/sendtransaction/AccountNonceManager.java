@@ -0,0 +1,112 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.requesthandler.sendtransaction;
+
+import java.math.BigInteger;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Tracks the next nonce for each account locally, such that only the first transaction for an
+ * account (or the first after a resync) requires the nonce to be retrieved from the downstream
+ * node. The private transactions of an account are tracked separately for each privacy group, as
+ * each has its own nonce.
+ */
+public class AccountNonceManager {
+
+  private static final Logger LOG = LogManager.getLogger();
+
+  private final Map<NonceKey, Future<NonceSequence>> nextNonces = new ConcurrentHashMap<>();
+
+  public Future<Allocation> allocate(final NonceKey key, final NonceProvider seedProvider) {
+    final Promise<NonceSequence> seed = Promise.promise();
+    final Future<NonceSequence> existing = nextNonces.putIfAbsent(key, seed.future());
+
+    if (existing != null) {
+      return existing.map(sequence -> new Allocation(key, existing, sequence.take()));
+    }
+
+    LOG.debug("Seeding nonce for {} from downstream node", key);
+    seedProvider.getNonce().map(NonceSequence::new).onComplete(seed);
+    // a failed seed must not be cached, otherwise the account could never be resynced
+    seed.future().onFailure(error -> nextNonces.remove(key, seed.future()));
+    return seed.future().map(sequence -> new Allocation(key, seed.future(), sequence.take()));
+  }
+
+  /**
+   * Discards the locally held nonce of the allocation's key, such that it is reseeded from the
+   * downstream node, unless it has already been reseeded since the nonce was allocated.
+   */
+  public void resync(final Allocation allocation) {
+    if (nextNonces.remove(allocation.key, allocation.sequence)) {
+      LOG.debug("Discarded locally held nonce for {}", allocation.key);
+    }
+  }
+
+  /**
+   * Returns a nonce which never reached the downstream node, such that it is not skipped. If
+   * further nonces have since been allocated it cannot be handed back, so the key is resynced.
+   */
+  public void release(final Allocation allocation) {
+    if (!allocation.sequence.result().giveBack(allocation.nonce)) {
+      resync(allocation);
+    }
+  }
+
+  /** A nonce, together with the locally held sequence it was taken from. */
+  public static class Allocation {
+
+    private final NonceKey key;
+    private final Future<NonceSequence> sequence;
+    private final BigInteger nonce;
+
+    private Allocation(
+        final NonceKey key, final Future<NonceSequence> sequence, final BigInteger nonce) {
+      this.key = key;
+      this.sequence = sequence;
+      this.nonce = nonce;
+    }
+
+    public BigInteger getNonce() {
+      return nonce;
+    }
+  }
+
+  private static class NonceSequence {
+
+    private BigInteger next;
+
+    private NonceSequence(final BigInteger next) {
+      this.next = next;
+    }
+
+    private synchronized BigInteger take() {
+      final BigInteger nonce = next;
+      next = next.add(BigInteger.ONE);
+      return nonce;
+    }
+
+    private synchronized boolean giveBack(final BigInteger nonce) {
+      if (!next.equals(nonce.add(BigInteger.ONE))) {
+        return false;
+      }
+      next = nonce;
+      return true;
+    }
+  }
+}
@@ -17,49 +17,48 @@ import static io.netty.handler.codec.http.HttpResponseStatus.GATEWAY_TIMEOUT;
 import static io.netty.handler.codec.http.HttpResponseStatus.INTERNAL_SERVER_ERROR;
 
 import tech.pegasys.ethsigner.core.requesthandler.DownstreamResponseHandler;
+import tech.pegasys.ethsigner.core.requesthandler.JsonRpcResponder;
 
 import java.net.ConnectException;
 import java.util.Map.Entry;
 import java.util.concurrent.TimeoutException;
 import javax.net.ssl.SSLHandshakeException;
 
-import io.netty.handler.codec.http.HttpHeaderNames;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.ext.web.RoutingContext;
 
 public class ForwardedMessageResponder implements DownstreamResponseHandler {
 
   private final RoutingContext context;
+  private final JsonRpcResponder responder;
 
-  public ForwardedMessageResponder(final RoutingContext context) {
+  public ForwardedMessageResponder(final RoutingContext context, final JsonRpcResponder responder) {
     this.context = context;
+    this.responder = responder;
   }
 
   @Override
   public void handleResponse(
-      final Iterable<Entry<String, String>> headers, final int statusCode, final String body) {
-    context.response().setStatusCode(statusCode);
-    headers.forEach(
-        entry -> {
-          if (!entry.getKey().equals(HttpHeaderNames.ACCESS_CONTROL_ALLOW_ORIGIN.toString())) {
-            context.response().headers().add(entry.getKey(), entry.getValue());
-          }
-        });
-    context.response().setChunked(false);
-    context.response().end(body);
+      final Iterable<Entry<String, String>> headers, final int statusCode, final Buffer body) {
+    responder.respond(statusCode, headers, body);
   }
 
   @Override
   public void handleFailure(final Throwable thrown) {
     if (thrown instanceof TimeoutException || thrown instanceof ConnectException) {
-      context.fail(GATEWAY_TIMEOUT.code(), thrown);
+      responder.fail(GATEWAY_TIMEOUT.code(), thrown);
     } else if (thrown instanceof SSLHandshakeException) {
-      context.fail(BAD_GATEWAY.code(), thrown);
+      responder.fail(BAD_GATEWAY.code(), thrown);
     } else {
-      context.fail(INTERNAL_SERVER_ERROR.code(), thrown);
+      responder.fail(INTERNAL_SERVER_ERROR.code(), thrown);
     }
   }
 
   protected RoutingContext context() {
     return context;
   }
+
+  protected JsonRpcResponder responder() {
+    return responder;
+  }
 }
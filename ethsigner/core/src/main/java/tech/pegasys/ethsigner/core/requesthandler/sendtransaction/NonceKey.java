@@ -0,0 +1,78 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.requesthandler.sendtransaction;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+import com.google.common.base.Objects;
+import org.web3j.utils.Base64String;
+
+/**
+ * Identifies a sequence of nonces held by the {@link AccountNonceManager}: that of an account's
+ * public transactions, or that of its private transactions with a given set of parties.
+ */
+public class NonceKey {
+
+  private final String account;
+  private final String privacyScope;
+
+  private NonceKey(final String account, final String privacyScope) {
+    this.account = account.toLowerCase(Locale.ROOT);
+    this.privacyScope = privacyScope;
+  }
+
+  public static NonceKey forAccount(final String account) {
+    return new NonceKey(account, "");
+  }
+
+  public static NonceKey forPrivacyGroup(final String account, final Base64String privacyGroupId) {
+    return new NonceKey(account, "privacyGroup=" + privacyGroupId.toString());
+  }
+
+  // the parties are ordered, as the same set of recipients forms the same privacy group
+  public static NonceKey forPrivateParties(
+      final String account, final Base64String privateFrom, final List<Base64String> privateFor) {
+    final String recipients =
+        privateFor.stream()
+            .map(Base64String::toString)
+            .distinct()
+            .sorted()
+            .collect(Collectors.joining(","));
+    return new NonceKey(
+        account, "privateFrom=" + privateFrom.toString() + ",privateFor=" + recipients);
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    final NonceKey that = (NonceKey) o;
+    return account.equals(that.account) && privacyScope.equals(that.privacyScope);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hashCode(account, privacyScope);
+  }
+
+  @Override
+  public String toString() {
+    return privacyScope.isEmpty() ? account : account + " (" + privacyScope + ")";
+  }
+}
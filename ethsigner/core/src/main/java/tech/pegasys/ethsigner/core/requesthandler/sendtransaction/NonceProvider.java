@@ -14,8 +14,22 @@ package tech.pegasys.ethsigner.core.requesthandler.sendtransaction;
 
 import java.math.BigInteger;
 
+import io.vertx.core.Future;
+
 @FunctionalInterface
 public interface NonceProvider {
 
-  BigInteger getNonce();
+  Future<BigInteger> getNonce();
+
+  /**
+   * Invoked when the downstream node reported the nonce last returned by this provider as too low
+   * or already in use, such that any locally held nonce state is no longer trustworthy.
+   */
+  default void resync() {}
+
+  /**
+   * Invoked when the nonce last returned by this provider was never accepted by the downstream
+   * node (e.g. signing failed, or the transaction was rejected), so it can be allocated again.
+   */
+  default void release() {}
 }
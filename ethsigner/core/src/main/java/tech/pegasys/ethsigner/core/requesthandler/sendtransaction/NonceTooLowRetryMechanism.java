@@ -19,6 +19,7 @@ import static tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcError.NONCE_TO
 import tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcErrorResponse;
 
 import io.netty.handler.codec.http.HttpResponseStatus;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.JsonObject;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -32,7 +33,7 @@ public class NonceTooLowRetryMechanism extends RetryMechanism {
   }
 
   @Override
-  public boolean responseRequiresRetry(final int httpStatusCode, final String body) {
+  public boolean responseRequiresRetry(final int httpStatusCode, final Buffer body) {
     if ((httpStatusCode == HttpResponseStatus.OK.code())) {
       final JsonRpcErrorResponse errorResponse;
       try {
@@ -55,7 +56,7 @@ public class NonceTooLowRetryMechanism extends RetryMechanism {
     return false;
   }
 
-  private JsonRpcErrorResponse specialiseResponse(final String errorResposneBody) {
+  private JsonRpcErrorResponse specialiseResponse(final Buffer errorResposneBody) {
     final JsonObject jsonBody = new JsonObject(errorResposneBody);
     return jsonBody.mapTo(JsonRpcErrorResponse.class);
   }
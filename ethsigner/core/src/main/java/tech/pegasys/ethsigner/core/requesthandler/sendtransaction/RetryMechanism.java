@@ -12,6 +12,8 @@
  */
 package tech.pegasys.ethsigner.core.requesthandler.sendtransaction;
 
+import io.vertx.core.buffer.Buffer;
+
 public abstract class RetryMechanism {
 
   private final int maxRetries;
@@ -21,7 +23,7 @@ public abstract class RetryMechanism {
     this.maxRetries = maxRetries;
   }
 
-  public abstract boolean responseRequiresRetry(final int httpStatusCode, final String body);
+  public abstract boolean responseRequiresRetry(final int httpStatusCode, final Buffer body);
 
   public boolean retriesAvailable() {
     return retriesPerformed < maxRetries;
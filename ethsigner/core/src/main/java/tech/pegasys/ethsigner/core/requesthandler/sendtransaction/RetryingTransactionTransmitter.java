@@ -13,19 +13,27 @@
 package tech.pegasys.ethsigner.core.requesthandler.sendtransaction;
 
 import static io.netty.handler.codec.http.HttpResponseStatus.BAD_REQUEST;
+import static io.netty.handler.codec.http.HttpResponseStatus.OK;
 import static tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcError.INTERNAL_ERROR;
 
 import tech.pegasys.ethsigner.core.jsonrpc.exception.JsonRpcException;
+import tech.pegasys.ethsigner.core.requesthandler.JsonRpcResponder;
+import tech.pegasys.ethsigner.core.requesthandler.SigningExecutor;
 import tech.pegasys.ethsigner.core.requesthandler.VertxRequestTransmitterFactory;
 import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.transaction.Transaction;
 import tech.pegasys.ethsigner.core.signing.TransactionSerializer;
 
 import java.util.Map.Entry;
 
+import io.vertx.core.Context;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.RoutingContext;
 
 public class RetryingTransactionTransmitter extends TransactionTransmitter {
 
+  private final Transaction transaction;
   private final RetryMechanism retryMechanism;
 
   public RetryingTransactionTransmitter(
@@ -33,24 +41,52 @@ public class RetryingTransactionTransmitter extends TransactionTransmitter {
       final TransactionSerializer transactionSerializer,
       final VertxRequestTransmitterFactory transmitterFactory,
       final RetryMechanism retryMechanism,
-      final RoutingContext routingContext) {
-    super(transaction, transactionSerializer, transmitterFactory, routingContext);
+      final SigningExecutor signingExecutor,
+      final Context requestContext,
+      final RoutingContext routingContext,
+      final JsonRpcResponder responder) {
+    super(
+        transaction,
+        transactionSerializer,
+        transmitterFactory,
+        signingExecutor,
+        requestContext,
+        routingContext,
+        responder);
+    this.transaction = transaction;
     this.retryMechanism = retryMechanism;
   }
 
   @Override
   public void handleResponse(
-      final Iterable<Entry<String, String>> headers, final int statusCode, final String body) {
+      final Iterable<Entry<String, String>> headers, final int statusCode, final Buffer body) {
     if (retryMechanism.responseRequiresRetry(statusCode, body)) {
+      transaction.nonceRejected();
       if (retryMechanism.retriesAvailable()) {
         retryMechanism.incrementRetries();
         send();
       } else {
-        context().fail(BAD_REQUEST.code(), new JsonRpcException(INTERNAL_ERROR));
+        responder().fail(BAD_REQUEST.code(), new JsonRpcException(INTERNAL_ERROR));
       }
       return;
     }
 
+    if (isErrorResponse(statusCode, body)) {
+      // a rejected transaction does not consume its nonce
+      transaction.nonceUnused();
+    }
+
     super.handleResponse(headers, statusCode, body);
   }
+
+  private boolean isErrorResponse(final int statusCode, final Buffer body) {
+    if (statusCode != OK.code()) {
+      return true;
+    }
+    try {
+      return new JsonObject(body).containsKey("error");
+    } catch (final DecodeException e) {
+      return true;
+    }
+  }
 }
@@ -13,6 +13,8 @@
 package tech.pegasys.ethsigner.core.requesthandler.sendtransaction;
 
 import static io.netty.handler.codec.http.HttpResponseStatus.BAD_REQUEST;
+import static io.netty.handler.codec.http.HttpResponseStatus.INTERNAL_SERVER_ERROR;
+import static tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcError.INTERNAL_ERROR;
 import static tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcError.INVALID_PARAMS;
 import static tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcError.SIGNING_FROM_IS_NOT_AN_UNLOCKED_ACCOUNT;
 import static tech.pegasys.ethsigner.core.util.ResponseCodeSelector.jsonRPCErrorCode;
@@ -21,6 +23,8 @@ import tech.pegasys.ethsigner.core.AddressIndexedSignerProvider;
 import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequest;
 import tech.pegasys.ethsigner.core.jsonrpc.exception.JsonRpcException;
 import tech.pegasys.ethsigner.core.requesthandler.JsonRpcRequestHandler;
+import tech.pegasys.ethsigner.core.requesthandler.JsonRpcResponder;
+import tech.pegasys.ethsigner.core.requesthandler.SigningExecutor;
 import tech.pegasys.ethsigner.core.requesthandler.VertxRequestTransmitterFactory;
 import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.transaction.GoQuorumPrivateTransaction;
 import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.transaction.Transaction;
@@ -31,6 +35,10 @@ import tech.pegasys.signers.secp256k1.api.Signer;
 
 import java.util.Optional;
 
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
 import io.vertx.core.json.DecodeException;
 import io.vertx.ext.web.RoutingContext;
 import org.apache.logging.log4j.LogManager;
@@ -44,6 +52,8 @@ public class SendTransactionHandler implements JsonRpcRequestHandler {
   private final AddressIndexedSignerProvider signerProvider;
   private final TransactionFactory transactionFactory;
   private final VertxRequestTransmitterFactory vertxTransmitterFactory;
+  private final SubmissionLanes submissionLanes;
+  private final SigningExecutor signingExecutor;
 
   private static final int MAX_NONCE_RETRIES = 10;
 
@@ -51,15 +61,22 @@ public class SendTransactionHandler implements JsonRpcRequestHandler {
       final long chainId,
       final AddressIndexedSignerProvider signerProvider,
       final TransactionFactory transactionFactory,
-      final VertxRequestTransmitterFactory vertxTransmitterFactory) {
+      final VertxRequestTransmitterFactory vertxTransmitterFactory,
+      final SubmissionLanes submissionLanes,
+      final SigningExecutor signingExecutor) {
     this.chainId = chainId;
     this.signerProvider = signerProvider;
     this.transactionFactory = transactionFactory;
     this.vertxTransmitterFactory = vertxTransmitterFactory;
+    this.submissionLanes = submissionLanes;
+    this.signingExecutor = signingExecutor;
   }
 
   @Override
-  public void handle(final RoutingContext context, final JsonRpcRequest request) {
+  public void handle(
+      final RoutingContext context,
+      final JsonRpcRequest request,
+      final JsonRpcResponder responder) {
     LOG.debug("Transforming request {}, {}", request.getId(), request.getMethod());
     final Transaction transaction;
     try {
@@ -67,33 +84,113 @@ public class SendTransactionHandler implements JsonRpcRequestHandler {
     } catch (final NumberFormatException e) {
       LOG.debug("Parsing values failed for request: {}", request.getParams(), e);
       final JsonRpcException jsonRpcException = new JsonRpcException(INVALID_PARAMS);
-      context.fail(jsonRPCErrorCode(jsonRpcException), jsonRpcException);
+      responder.fail(jsonRPCErrorCode(jsonRpcException), jsonRpcException);
       return;
     } catch (final JsonRpcException e) {
-      context.fail(jsonRPCErrorCode(e), e);
+      responder.fail(jsonRPCErrorCode(e), e);
       return;
     } catch (final IllegalArgumentException | DecodeException e) {
       LOG.debug("JSON Deserialization failed for request: {}", request.getParams(), e);
       final JsonRpcException jsonRpcException = new JsonRpcException(INVALID_PARAMS);
-      context.fail(jsonRPCErrorCode(jsonRpcException), jsonRpcException);
+      responder.fail(jsonRPCErrorCode(jsonRpcException), jsonRpcException);
       return;
     }
 
-    final Optional<Signer> signer = signerProvider.getSigner(transaction.sender());
+    // nonces and submission lanes are shared by all server instances, so may complete on another
+    // instance's event loop, the request is always resumed on the context it arrived on
+    final Context requestContext = context.vertx().getOrCreateContext();
+    if (transaction.isNonceUserSpecified()) {
+      lookupSignerAndSend(
+          transaction, requestContext, context, request, responder, Promise.promise());
+    } else {
+      // nonces are assigned in arrival order, so concurrent requests from a sender do not collide
+      submissionLanes.submit(
+          requestContext,
+          transaction.sender(),
+          slot -> sendInLane(transaction, requestContext, context, request, responder, slot));
+    }
+  }
 
+  private void sendInLane(
+      final Transaction transaction,
+      final Context requestContext,
+      final RoutingContext context,
+      final JsonRpcRequest request,
+      final JsonRpcResponder responder,
+      final Promise<Void> slot) {
+    final Promise<Void> nonceAssigned = Promise.promise();
+    // a locally allocated nonce lets the sender's next transaction proceed as soon as it is
+    // assigned, whereas the node only reports the next nonce once it has received this one
+    if (transactionFactory.allocatesNoncesLocally()) {
+      nonceAssigned.future().onComplete(ignored -> slot.tryComplete());
+    }
+    lookupSignerAndSend(
+        transaction,
+        requestContext,
+        context,
+        request,
+        new SlotReleasingResponder(responder, slot),
+        nonceAssigned);
+  }
+
+  private void lookupSignerAndSend(
+      final Transaction transaction,
+      final Context requestContext,
+      final RoutingContext context,
+      final JsonRpcRequest request,
+      final JsonRpcResponder responder,
+      final Promise<Void> nonceAssigned) {
+    // Resolving a signer may load and decrypt key material, so it is kept off the event loop
+    signingExecutor
+        .execute(requestContext, () -> signerProvider.getSigner(transaction.sender()))
+        .onComplete(
+            result ->
+                handleSignerLookup(
+                    transaction,
+                    requestContext,
+                    context,
+                    request,
+                    responder,
+                    nonceAssigned,
+                    result));
+  }
+
+  private void handleSignerLookup(
+      final Transaction transaction,
+      final Context requestContext,
+      final RoutingContext context,
+      final JsonRpcRequest request,
+      final JsonRpcResponder responder,
+      final Promise<Void> nonceAssigned,
+      final AsyncResult<Optional<Signer>> result) {
+    if (result.failed()) {
+      if (result.cause() instanceof JsonRpcException) {
+        final JsonRpcException e = (JsonRpcException) result.cause();
+        responder.fail(jsonRPCErrorCode(e), e);
+        return;
+      }
+      LOG.error("Failed to resolve signer for {}", transaction.sender(), result.cause());
+      responder.fail(INTERNAL_SERVER_ERROR.code(), new JsonRpcException(INTERNAL_ERROR));
+      return;
+    }
+
+    final Optional<Signer> signer = result.result();
     if (signer.isEmpty()) {
       LOG.info("From address ({}) does not match any available account", transaction.sender());
-      context.fail(
+      responder.fail(
           BAD_REQUEST.code(), new JsonRpcException(SIGNING_FROM_IS_NOT_AN_UNLOCKED_ACCOUNT));
       return;
     }
 
-    sendTransaction(transaction, context, signer.get(), request);
+    sendTransaction(transaction, requestContext, context, responder, signer.get(), request)
+        .onComplete(nonceAssigned);
   }
 
-  private void sendTransaction(
+  private Future<Void> sendTransaction(
       final Transaction transaction,
+      final Context requestContext,
       final RoutingContext routingContext,
+      final JsonRpcResponder responder,
       final Signer signer,
       final JsonRpcRequest request) {
 
@@ -103,14 +200,17 @@ public class SendTransactionHandler implements JsonRpcRequestHandler {
             : new TransactionSerializer(signer, chainId);
 
     final TransactionTransmitter transmitter =
-        createTransactionTransmitter(transaction, transactionSerializer, routingContext, request);
-    transmitter.send();
+        createTransactionTransmitter(
+            transaction, transactionSerializer, requestContext, routingContext, responder, request);
+    return transmitter.send();
   }
 
   private TransactionTransmitter createTransactionTransmitter(
       final Transaction transaction,
       final TransactionSerializer transactionSerializer,
+      final Context requestContext,
       final RoutingContext routingContext,
+      final JsonRpcResponder responder,
       final JsonRpcRequest request) {
 
     if (!transaction.isNonceUserSpecified()) {
@@ -120,11 +220,20 @@ public class SendTransactionHandler implements JsonRpcRequestHandler {
           transactionSerializer,
           vertxTransmitterFactory,
           new NonceTooLowRetryMechanism(MAX_NONCE_RETRIES),
-          routingContext);
+          signingExecutor,
+          requestContext,
+          routingContext,
+          responder);
     } else {
       LOG.debug("Nonce supplied by client, forwarding request");
       return new TransactionTransmitter(
-          transaction, transactionSerializer, vertxTransmitterFactory, routingContext);
+          transaction,
+          transactionSerializer,
+          vertxTransmitterFactory,
+          signingExecutor,
+          requestContext,
+          routingContext,
+          responder);
     }
   }
 }
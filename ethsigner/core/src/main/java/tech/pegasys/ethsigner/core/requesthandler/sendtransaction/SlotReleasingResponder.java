@@ -0,0 +1,55 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.requesthandler.sendtransaction;
+
+import tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcResponse;
+import tech.pegasys.ethsigner.core.requesthandler.JsonRpcResponder;
+
+import java.util.Map.Entry;
+
+import io.vertx.core.Promise;
+import io.vertx.core.buffer.Buffer;
+
+/**
+ * Releases a submission lane slot once the request occupying it has been responded to, if it was
+ * not already released when the request's nonce was assigned.
+ */
+class SlotReleasingResponder implements JsonRpcResponder {
+
+  private final JsonRpcResponder responder;
+  private final Promise<Void> slot;
+
+  SlotReleasingResponder(final JsonRpcResponder responder, final Promise<Void> slot) {
+    this.responder = responder;
+    this.slot = slot;
+  }
+
+  @Override
+  public void respond(
+      final int statusCode, final Iterable<Entry<String, String>> headers, final Buffer body) {
+    slot.tryComplete();
+    responder.respond(statusCode, headers, body);
+  }
+
+  @Override
+  public void respond(final int statusCode, final JsonRpcResponse response) {
+    slot.tryComplete();
+    responder.respond(statusCode, response);
+  }
+
+  @Override
+  public void fail(final int statusCode, final Throwable failure) {
+    slot.tryComplete();
+    responder.fail(statusCode, failure);
+  }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.requesthandler.sendtransaction;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Executes tasks for the same sender one at a time, in the order they were submitted, while tasks
+ * for different senders run independently.
+ *
+ * <p>A task occupies its sender's lane until it completes the supplied promise; the next task for
+ * that sender is started once this occurs, on the context it was submitted from.
+ */
+public class SubmissionLanes {
+
+  private static final Logger LOG = LogManager.getLogger();
+
+  private final Map<String, Future<Void>> laneTails = new ConcurrentHashMap<>();
+
+  public void submit(
+      final Context context, final String sender, final Handler<Promise<Void>> task) {
+    final String key = sender.toLowerCase(Locale.ROOT);
+    final Promise<Void> completion = Promise.promise();
+    final Future<Void> tail = completion.future();
+    final Future<Void> previous = laneTails.put(key, tail);
+
+    tail.onComplete(result -> laneTails.remove(key, tail));
+
+    if (previous == null) {
+      execute(task, completion);
+    } else {
+      LOG.trace("Queueing task for {} behind in-flight transaction", key);
+      // the previous task may complete on any thread, such as another server instance's event loop
+      previous.onComplete(result -> context.runOnContext(v -> execute(task, completion)));
+    }
+  }
+
+  private void execute(final Handler<Promise<Void>> task, final Promise<Void> completion) {
+    try {
+      task.handle(completion);
+    } catch (final RuntimeException e) {
+      LOG.error("Unhandled failure while processing queued transaction", e);
+      completion.tryFail(e);
+    }
+  }
+}
@@ -20,14 +20,22 @@ import tech.pegasys.ethsigner.core.http.HeaderHelpers;
 import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequest;
 import tech.pegasys.ethsigner.core.jsonrpc.exception.JsonRpcException;
 import tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcError;
+import tech.pegasys.ethsigner.core.requesthandler.JsonRpcResponder;
+import tech.pegasys.ethsigner.core.requesthandler.SigningExecutor;
 import tech.pegasys.ethsigner.core.requesthandler.VertxRequestTransmitter;
 import tech.pegasys.ethsigner.core.requesthandler.VertxRequestTransmitterFactory;
 import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.transaction.Transaction;
 import tech.pegasys.ethsigner.core.signing.TransactionSerializer;
 
-import java.util.Optional;
+import java.net.ConnectException;
 
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
 import io.vertx.core.MultiMap;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpMethod;
 import io.vertx.core.http.HttpServerRequest;
 import io.vertx.core.json.EncodeException;
 import io.vertx.core.json.Json;
@@ -42,76 +50,108 @@ public class TransactionTransmitter extends ForwardedMessageResponder {
   private final TransactionSerializer transactionSerializer;
   private final Transaction transaction;
   private final VertxRequestTransmitterFactory transmitterFactory;
+  private final SigningExecutor signingExecutor;
+  private final Context requestContext;
 
   public TransactionTransmitter(
       final Transaction transaction,
       final TransactionSerializer transactionSerializer,
       final VertxRequestTransmitterFactory transmitterFactory,
-      final RoutingContext context) {
-    super(context);
+      final SigningExecutor signingExecutor,
+      final Context requestContext,
+      final RoutingContext context,
+      final JsonRpcResponder responder) {
+    super(context, responder);
     this.transmitterFactory = transmitterFactory;
+    this.signingExecutor = signingExecutor;
+    this.requestContext = requestContext;
     this.transaction = transaction;
     this.transactionSerializer = transactionSerializer;
   }
 
-  public void send() {
-    final Optional<JsonRpcRequest> request = createSignedTransactionPayload();
+  /**
+   * Sends the transaction, with the returned future completing once its fields (such as its nonce)
+   * have been assigned, rather than once it has been submitted.
+   */
+  public Future<Void> send() {
+    final Future<Void> fieldsUpdated = transaction.updateFieldsIfRequired();
+    fieldsUpdated.onComplete(result -> onRequestContext(() -> handleFieldsUpdated(result)));
+    return fieldsUpdated;
+  }
 
-    if (request.isEmpty()) {
-      return;
+  // a nonce shared with another server instance may be completed on that instance's event loop
+  private void onRequestContext(final Runnable action) {
+    if (requestContext == Vertx.currentContext()) {
+      action.run();
+    } else {
+      requestContext.runOnContext(v -> action.run());
     }
+  }
 
-    try {
-      sendTransaction(Json.encode(request.get()));
-    } catch (final IllegalArgumentException | EncodeException e) {
-      LOG.debug("JSON Serialization failed for: {}", request, e);
-      context().fail(BAD_REQUEST.code(), new JsonRpcException(INTERNAL_ERROR));
+  private void handleFieldsUpdated(final AsyncResult<Void> result) {
+    if (result.failed()) {
+      LOG.warn("Unable to get nonce (or enclave lookup id) from web3j provider.", result.cause());
+      // a nonce may have been allocated even though the enclave lookup id was not
+      transaction.nonceUnused();
+      super.handleFailure(result.cause());
+      return;
     }
+
+    // Signing may involve a remote vault or HSM, so it must not be executed on the event loop
+    signingExecutor
+        .execute(requestContext, this::signTransaction)
+        .onComplete(this::handleSignedTransaction);
   }
 
-  private Optional<JsonRpcRequest> createSignedTransactionPayload() {
+  private String signTransaction() {
+    return transactionSerializer.serialize(transaction);
+  }
 
-    if (!populateNonce()) {
-      return Optional.empty();
+  private void handleSignedTransaction(final AsyncResult<String> result) {
+    if (result.failed()) {
+      final Throwable thrown = result.cause();
+      LOG.debug("Failed to encode transaction: {}", transaction, thrown);
+      transaction.nonceUnused();
+      if (thrown instanceof JsonRpcException) {
+        final JsonRpcException jsonRpcException = (JsonRpcException) thrown;
+        responder().fail(jsonRPCErrorCode(jsonRpcException), jsonRpcException);
+      } else if (thrown instanceof IllegalArgumentException) {
+        final JsonRpcException jsonRpcException = new JsonRpcException(JsonRpcError.INVALID_PARAMS);
+        responder().fail(jsonRPCErrorCode(jsonRpcException), jsonRpcException);
+      } else {
+        responder().fail(BAD_REQUEST.code(), new JsonRpcException(INTERNAL_ERROR));
+      }
+      return;
     }
 
-    final String signedTransactionHexString;
+    final JsonRpcRequest request = transaction.jsonRpcRequest(result.result(), transaction.getId());
     try {
-      signedTransactionHexString = transactionSerializer.serialize(transaction);
-    } catch (final IllegalArgumentException e) {
-      LOG.debug("Failed to encode transaction: {}", transaction, e);
-      final JsonRpcException jsonRpcException = new JsonRpcException(JsonRpcError.INVALID_PARAMS);
-      context().fail(jsonRPCErrorCode(jsonRpcException), jsonRpcException);
-      return Optional.empty();
-    } catch (final Throwable thrown) {
-      LOG.debug("Failed to encode transaction: {}", transaction, thrown);
-      context().fail(BAD_REQUEST.code(), new JsonRpcException(INTERNAL_ERROR));
-      return Optional.empty();
+      sendTransaction(Json.encodeToBuffer(request));
+    } catch (final IllegalArgumentException | EncodeException e) {
+      LOG.debug("JSON Serialization failed for: {}", request, e);
+      transaction.nonceUnused();
+      responder().fail(BAD_REQUEST.code(), new JsonRpcException(INTERNAL_ERROR));
     }
-
-    return Optional.of(transaction.jsonRpcRequest(signedTransactionHexString, transaction.getId()));
   }
 
-  private boolean populateNonce() {
-    try {
-      transaction.updateFieldsIfRequired();
-      return true;
-    } catch (final RuntimeException e) {
-      // It is currently recognised that the underlying nonce provider will wrap a transmission
-      // exception in a Runtime exception.
-      LOG.warn("Unable to get nonce (or enclave lookup id) from web3j provider.", e);
-      this.handleFailure(e.getCause());
-    } catch (final Throwable thrown) {
-      LOG.debug("Failed to encode/serialize transaction: {}", transaction, thrown);
-      context().fail(BAD_REQUEST.code(), new JsonRpcException(INTERNAL_ERROR));
+  @Override
+  public void handleFailure(final Throwable thrown) {
+    // only a refused connection ensures the node never saw the transaction, after a timeout (or
+    // other failure) it may yet be accepted, so its nonce is retained
+    if (thrown instanceof ConnectException) {
+      transaction.nonceUnused();
     }
-    return false;
+    super.handleFailure(thrown);
   }
 
-  protected void sendTransaction(final String bodyContent) {
+  protected void sendTransaction(final Buffer bodyContent) {
     final HttpServerRequest request = context().request();
     final MultiMap headersToSend = HeaderHelpers.createHeaders(request.headers());
-    final VertxRequestTransmitter transmitter = transmitterFactory.create(this);
-    transmitter.sendRequest(request.method(), headersToSend, request.path(), bodyContent);
+    final VertxRequestTransmitter transmitter =
+        transmitterFactory
+            .forMethod(transaction.getJsonRpcMethodName())
+            .createForSender(transaction.sender(), this);
+    // posted regardless of the client's method, as the request may have arrived over a WebSocket
+    transmitter.sendRequest(HttpMethod.POST, headersToSend, request.path(), bodyContent);
   }
 }
@@ -15,10 +15,9 @@ package tech.pegasys.ethsigner.core.requesthandler.sendtransaction.transaction;
 import tech.pegasys.ethsigner.core.jsonrpc.EeaSendTransactionJsonParameters;
 import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequestId;
 import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.NonceProvider;
+import tech.pegasys.ethsigner.core.signing.RlpTransactionEncoder;
 
-import org.web3j.protocol.eea.crypto.RawPrivateTransaction;
 import org.web3j.utils.Base64String;
-import org.web3j.utils.Restriction;
 
 public class BesuPrivateTransaction extends PrivateTransaction {
 
@@ -47,15 +46,7 @@ public class BesuPrivateTransaction extends PrivateTransaction {
   }
 
   @Override
-  protected RawPrivateTransaction createTransaction() {
-    return RawPrivateTransaction.createTransaction(
-        nonce,
-        transactionJsonParameters.gasPrice().orElse(DEFAULT_GAS_PRICE),
-        transactionJsonParameters.gas().orElse(DEFAULT_GAS),
-        transactionJsonParameters.receiver().orElse(DEFAULT_TO),
-        transactionJsonParameters.data().orElse(DEFAULT_DATA),
-        transactionJsonParameters.privateFrom(),
-        privacyGroupId,
-        Restriction.fromString(transactionJsonParameters.restriction()));
+  protected void writeRecipients(final RlpTransactionEncoder encoder) {
+    encoder.writeBytes(privacyGroupId.raw());
   }
 }
@@ -15,13 +15,13 @@ package tech.pegasys.ethsigner.core.requesthandler.sendtransaction.transaction;
 import tech.pegasys.ethsigner.core.jsonrpc.EeaSendTransactionJsonParameters;
 import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequestId;
 import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.NonceProvider;
+import tech.pegasys.ethsigner.core.signing.RlpTransactionEncoder;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 import com.google.common.base.MoreObjects;
-import org.web3j.protocol.eea.crypto.RawPrivateTransaction;
 import org.web3j.utils.Base64String;
-import org.web3j.utils.Restriction;
 
 public class EeaPrivateTransaction extends PrivateTransaction {
 
@@ -59,15 +59,7 @@ public class EeaPrivateTransaction extends PrivateTransaction {
   }
 
   @Override
-  protected RawPrivateTransaction createTransaction() {
-    return RawPrivateTransaction.createTransaction(
-        nonce,
-        transactionJsonParameters.gasPrice().orElse(DEFAULT_GAS_PRICE),
-        transactionJsonParameters.gas().orElse(DEFAULT_GAS),
-        transactionJsonParameters.receiver().orElse(DEFAULT_TO),
-        transactionJsonParameters.data().orElse(DEFAULT_DATA),
-        transactionJsonParameters.privateFrom(),
-        privateFor,
-        Restriction.fromString(transactionJsonParameters.restriction()));
+  protected void writeRecipients(final RlpTransactionEncoder encoder) {
+    encoder.writeBytesList(privateFor.stream().map(Base64String::raw).collect(Collectors.toList()));
   }
 }
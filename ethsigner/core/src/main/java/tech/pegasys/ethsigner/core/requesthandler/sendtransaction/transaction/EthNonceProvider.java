@@ -17,6 +17,8 @@ import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.NonceProvider;
 
 import java.math.BigInteger;
 
+import io.vertx.core.Future;
+
 public class EthNonceProvider implements NonceProvider {
 
   private final String accountAddress;
@@ -30,7 +32,7 @@ public class EthNonceProvider implements NonceProvider {
   }
 
   @Override
-  public BigInteger getNonce() {
+  public Future<BigInteger> getNonce() {
     final JsonRpcRequest request = generateRequest();
     return vertxNonceRequestTransmitter.requestNonce(request);
   }
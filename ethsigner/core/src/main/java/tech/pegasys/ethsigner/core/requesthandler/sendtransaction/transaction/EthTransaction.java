@@ -16,22 +16,17 @@ import tech.pegasys.ethsigner.core.jsonrpc.EthSendTransactionJsonParameters;
 import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequest;
 import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequestId;
 import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.NonceProvider;
+import tech.pegasys.ethsigner.core.signing.RlpTransactionEncoder;
 
 import java.math.BigInteger;
-import java.util.List;
 
 import com.google.common.base.MoreObjects;
+import io.vertx.core.Future;
 import org.jetbrains.annotations.NotNull;
-import org.web3j.crypto.RawTransaction;
-import org.web3j.crypto.Sign.SignatureData;
-import org.web3j.crypto.TransactionEncoder;
-import org.web3j.rlp.RlpEncoder;
-import org.web3j.rlp.RlpList;
-import org.web3j.rlp.RlpType;
 
 public class EthTransaction implements Transaction {
 
-  private static final String JSON_RPC_METHOD = "eth_sendRawTransaction";
+  static final String JSON_RPC_METHOD = "eth_sendRawTransaction";
   protected final EthSendTransactionJsonParameters transactionJsonParameters;
   protected final NonceProvider nonceProvider;
   protected final JsonRpcRequestId id;
@@ -48,9 +43,30 @@ public class EthTransaction implements Transaction {
   }
 
   @Override
-  public void updateFieldsIfRequired() {
+  public Future<Void> updateFieldsIfRequired() {
+    if (this.isNonceUserSpecified()) {
+      return Future.succeededFuture();
+    }
+    return nonceProvider
+        .getNonce()
+        .map(
+            providedNonce -> {
+              this.nonce = providedNonce;
+              return null;
+            });
+  }
+
+  @Override
+  public void nonceRejected() {
+    if (!this.isNonceUserSpecified()) {
+      nonceProvider.resync();
+    }
+  }
+
+  @Override
+  public void nonceUnused() {
     if (!this.isNonceUserSpecified()) {
-      this.nonce = nonceProvider.getNonce();
+      nonceProvider.release();
     }
   }
 
@@ -61,11 +77,9 @@ public class EthTransaction implements Transaction {
   }
 
   @Override
-  public byte[] rlpEncode(final SignatureData signatureData) {
-    final RawTransaction rawTransaction = createTransaction();
-    final List<RlpType> values = TransactionEncoder.asRlpValues(rawTransaction, signatureData);
-    final RlpList rlpList = new RlpList(values);
-    return RlpEncoder.encode(rlpList);
+  public void writeFields(final RlpTransactionEncoder encoder) {
+    writeFields(
+        encoder, transactionJsonParameters.valueBytes(), transactionJsonParameters.dataBytes());
   }
 
   @Override
@@ -99,13 +113,14 @@ public class EthTransaction implements Transaction {
         .toString();
   }
 
-  protected RawTransaction createTransaction() {
-    return RawTransaction.createTransaction(
-        nonce,
-        transactionJsonParameters.gasPrice().orElse(DEFAULT_GAS_PRICE),
-        transactionJsonParameters.gas().orElse(DEFAULT_GAS),
-        transactionJsonParameters.receiver().orElse(DEFAULT_TO),
-        transactionJsonParameters.value().orElse(DEFAULT_VALUE),
-        transactionJsonParameters.data().orElse(DEFAULT_DATA));
+  protected void writeFields(
+      final RlpTransactionEncoder encoder, final byte[] value, final byte[] data) {
+    encoder.writeQuantity(nonce);
+    encoder.writeQuantity(transactionJsonParameters.gasPriceBytes(), DEFAULT_GAS_PRICE);
+    encoder.writeQuantity(transactionJsonParameters.gasBytes(), DEFAULT_GAS);
+    encoder.writeHex(transactionJsonParameters.receiver().orElse(DEFAULT_TO));
+    encoder.writeQuantity(value, DEFAULT_VALUE);
+    encoder.writeData(data);
+    encoder.markSignature();
   }
 }
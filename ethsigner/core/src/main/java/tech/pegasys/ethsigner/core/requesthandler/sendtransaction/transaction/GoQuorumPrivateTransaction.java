@@ -21,39 +21,42 @@ import tech.pegasys.ethsigner.core.jsonrpc.exception.JsonRpcException;
 import tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcError;
 import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.EnclaveLookupIdProvider;
 import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.NonceProvider;
+import tech.pegasys.ethsigner.core.signing.RlpTransactionEncoder;
 
-import java.math.BigInteger;
 import java.util.List;
+import java.util.Optional;
 
 import com.google.common.base.MoreObjects;
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Future;
 import io.vertx.core.json.JsonObject;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
 import org.jetbrains.annotations.NotNull;
-import org.web3j.crypto.RawTransaction;
-import org.web3j.crypto.Sign.SignatureData;
-import org.web3j.crypto.TransactionEncoder;
-import org.web3j.rlp.RlpEncoder;
-import org.web3j.rlp.RlpList;
-import org.web3j.rlp.RlpType;
 import org.web3j.utils.Base64String;
+import org.web3j.utils.Numeric;
 
 public class GoQuorumPrivateTransaction extends EthTransaction {
 
+  static final String GOQUORUM_JSON_RPC_METHOD = "eth_sendRawPrivateTransaction";
+
   private final List<Base64String> privateFor;
   private final EnclaveLookupIdProvider enclaveLookupIdProvider;
+  private final Counter reusedLookupIdCounter;
   private String lookupId = "";
 
   public static GoQuorumPrivateTransaction from(
       final EthSendTransactionJsonParameters transactionJsonParameters,
       final NonceProvider nonceProvider,
       final EnclaveLookupIdProvider enclaveLookupIdProvider,
+      final Counter reusedLookupIdCounter,
       final JsonRpcRequestId id) {
 
     if (transactionJsonParameters.privateFor().isEmpty()) {
       throw new IllegalArgumentException("Transaction does not contain a valid privateFor list.");
     }
 
-    if (transactionJsonParameters.value().isPresent()
-        && !transactionJsonParameters.value().get().equals(BigInteger.ZERO)) {
+    final byte[] value = transactionJsonParameters.valueBytes();
+    if (value != null && value.length != 0) {
       throw new JsonRpcException(JsonRpcError.ETHER_VALUE_NOT_SUPPORTED);
     }
 
@@ -61,6 +64,7 @@ public class GoQuorumPrivateTransaction extends EthTransaction {
         transactionJsonParameters,
         nonceProvider,
         enclaveLookupIdProvider,
+        reusedLookupIdCounter,
         id,
         transactionJsonParameters.privateFor().get());
   }
@@ -69,33 +73,49 @@ public class GoQuorumPrivateTransaction extends EthTransaction {
       final EthSendTransactionJsonParameters transactionJsonParameters,
       final NonceProvider nonceProvider,
       final EnclaveLookupIdProvider enclaveLookupIdProvider,
+      final Counter reusedLookupIdCounter,
       final JsonRpcRequestId id,
       final List<Base64String> privateFor) {
     super(transactionJsonParameters, nonceProvider, id);
     this.privateFor = privateFor;
     this.enclaveLookupIdProvider = enclaveLookupIdProvider;
+    this.reusedLookupIdCounter = reusedLookupIdCounter;
   }
 
   @Override
   @NotNull
   public String getJsonRpcMethodName() {
-    return "eth_sendRawPrivateTransaction";
+    return GOQUORUM_JSON_RPC_METHOD;
   }
 
   @Override
-  public void updateFieldsIfRequired() {
-
-    if (!this.isNonceUserSpecified()) {
-      this.nonce = nonceProvider.getNonce();
+  public Future<Void> updateFieldsIfRequired() {
+    final Optional<String> data = this.transactionJsonParameters.data();
+    if (data.isEmpty()) {
+      return Future.failedFuture(
+          new IllegalArgumentException("GoQuorum private transaction must contain data"));
     }
 
-    final String data =
-        this.transactionJsonParameters
-            .data()
-            .orElseThrow(
-                () ->
-                    new IllegalArgumentException("GoQuorum private transaction must contain data"));
-    this.lookupId = enclaveLookupIdProvider.getLookupId(data);
+    // the nonce and the enclave lookup id are independent, so both are requested at once; both
+    // complete before a failure is reported, so an allocated nonce is known when it is released
+    final Future<Void> nonceUpdated = super.updateFieldsIfRequired();
+    final Future<Void> lookupIdUpdated = updateLookupId(data.get());
+    return CompositeFuture.join(nonceUpdated, lookupIdUpdated).map(ignored -> null);
+  }
+
+  private Future<Void> updateLookupId(final String payload) {
+    // a nonce retry resends the same payload, so the enclave already holds it under this id
+    if (!lookupId.isEmpty()) {
+      reusedLookupIdCounter.inc();
+      return Future.succeededFuture();
+    }
+    return enclaveLookupIdProvider
+        .getLookupId(payload)
+        .map(
+            providedLookupId -> {
+              this.lookupId = providedLookupId;
+              return null;
+            });
   }
 
   @Override
@@ -120,11 +140,9 @@ public class GoQuorumPrivateTransaction extends EthTransaction {
   }
 
   @Override
-  public byte[] rlpEncode(final SignatureData signatureData) {
-    final RawTransaction rawTransaction = createTransaction();
-    final List<RlpType> values = TransactionEncoder.asRlpValues(rawTransaction, signatureData);
-    final RlpList rlpList = new RlpList(values);
-    return RlpEncoder.encode(rlpList);
+  public void writeFields(final RlpTransactionEncoder encoder) {
+    // the payload is held by the enclave, so only its lookup id is signed
+    writeFields(encoder, null, Numeric.hexStringToByteArray(lookupId));
   }
 
   @Override
@@ -135,14 +153,4 @@ public class GoQuorumPrivateTransaction extends EthTransaction {
     request.setId(id);
     return request;
   }
-
-  @Override
-  protected RawTransaction createTransaction() {
-    return RawTransaction.createTransaction(
-        nonce,
-        transactionJsonParameters.gasPrice().orElse(DEFAULT_GAS_PRICE),
-        transactionJsonParameters.gas().orElse(DEFAULT_GAS),
-        transactionJsonParameters.receiver().orElse(DEFAULT_TO),
-        lookupId);
-  }
 }
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.requesthandler.sendtransaction.transaction;
+
+import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.AccountNonceManager;
+import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.AccountNonceManager.Allocation;
+import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.NonceKey;
+import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.NonceProvider;
+
+import java.math.BigInteger;
+
+import io.vertx.core.Future;
+
+public class ManagedNonceProvider implements NonceProvider {
+
+  private final NonceKey key;
+  private final AccountNonceManager nonceManager;
+  private final NonceProvider seedProvider;
+  private Allocation allocation;
+
+  public ManagedNonceProvider(
+      final NonceKey key,
+      final AccountNonceManager nonceManager,
+      final NonceProvider seedProvider) {
+    this.key = key;
+    this.nonceManager = nonceManager;
+    this.seedProvider = seedProvider;
+  }
+
+  @Override
+  public Future<BigInteger> getNonce() {
+    return nonceManager
+        .allocate(key, seedProvider)
+        .map(
+            allocated -> {
+              this.allocation = allocated;
+              return allocated.getNonce();
+            });
+  }
+
+  @Override
+  public void resync() {
+    if (allocation != null) {
+      nonceManager.resync(allocation);
+      allocation = null;
+    }
+  }
+
+  @Override
+  public void release() {
+    if (allocation != null) {
+      nonceManager.release(allocation);
+      allocation = null;
+    }
+  }
+}
@@ -16,18 +16,14 @@ import tech.pegasys.ethsigner.core.jsonrpc.EeaSendTransactionJsonParameters;
 import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequest;
 import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequestId;
 import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.NonceProvider;
+import tech.pegasys.ethsigner.core.signing.RlpTransactionEncoder;
 
 import java.math.BigInteger;
-import java.util.List;
 
 import com.google.common.base.MoreObjects;
+import io.vertx.core.Future;
 import org.jetbrains.annotations.NotNull;
-import org.web3j.crypto.Sign.SignatureData;
-import org.web3j.protocol.eea.crypto.PrivateTransactionEncoder;
-import org.web3j.protocol.eea.crypto.RawPrivateTransaction;
-import org.web3j.rlp.RlpEncoder;
-import org.web3j.rlp.RlpList;
-import org.web3j.rlp.RlpType;
+import org.web3j.utils.Restriction;
 
 public abstract class PrivateTransaction implements Transaction {
 
@@ -48,19 +44,47 @@ public abstract class PrivateTransaction implements Transaction {
   }
 
   @Override
-  public void updateFieldsIfRequired() {
+  public Future<Void> updateFieldsIfRequired() {
+    if (this.isNonceUserSpecified()) {
+      return Future.succeededFuture();
+    }
+    return nonceProvider
+        .getNonce()
+        .map(
+            providedNonce -> {
+              this.nonce = providedNonce;
+              return null;
+            });
+  }
+
+  @Override
+  public void nonceRejected() {
+    if (!this.isNonceUserSpecified()) {
+      nonceProvider.resync();
+    }
+  }
+
+  @Override
+  public void nonceUnused() {
     if (!this.isNonceUserSpecified()) {
-      this.nonce = nonceProvider.getNonce();
+      nonceProvider.release();
     }
   }
 
   @Override
-  public byte[] rlpEncode(final SignatureData signatureData) {
-    final RawPrivateTransaction rawTransaction = createTransaction();
-    final List<RlpType> values =
-        PrivateTransactionEncoder.asRlpValues(rawTransaction, signatureData);
-    final RlpList rlpList = new RlpList(values);
-    return RlpEncoder.encode(rlpList);
+  public void writeFields(final RlpTransactionEncoder encoder) {
+    encoder.writeQuantity(nonce);
+    encoder.writeQuantity(transactionJsonParameters.gasPriceBytes(), DEFAULT_GAS_PRICE);
+    encoder.writeQuantity(transactionJsonParameters.gasBytes(), DEFAULT_GAS);
+    encoder.writeHex(transactionJsonParameters.receiver().orElse(DEFAULT_TO));
+    // private transactions cannot transfer ether
+    encoder.writeQuantity(BigInteger.ZERO);
+    encoder.writeData(transactionJsonParameters.dataBytes());
+    encoder.markSignature();
+    encoder.writeBytes(transactionJsonParameters.privateFrom().raw());
+    writeRecipients(encoder);
+    encoder.writeString(
+        Restriction.fromString(transactionJsonParameters.restriction()).getRestriction());
   }
 
   @Override
@@ -100,5 +124,5 @@ public abstract class PrivateTransaction implements Transaction {
         .toString();
   }
 
-  protected abstract RawPrivateTransaction createTransaction();
+  protected abstract void writeRecipients(RlpTransactionEncoder encoder);
 }
@@ -15,6 +15,8 @@ package tech.pegasys.ethsigner.core.requesthandler.sendtransaction.transaction;
 import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequest;
 import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.EnclaveLookupIdProvider;
 
+import io.vertx.core.Future;
+
 public class StoreRawEnclaveLookupIdProvider implements EnclaveLookupIdProvider {
 
   private final VertxStoreRawRequestTransmitter vertxStoreRawRequestTransmitter;
@@ -25,7 +27,7 @@ public class StoreRawEnclaveLookupIdProvider implements EnclaveLookupIdProvider
   }
 
   @Override
-  public String getLookupId(final String payload) {
+  public Future<String> getLookupId(final String payload) {
     final JsonRpcRequest request = generateRequest(payload);
     return vertxStoreRawRequestTransmitter.storeRaw(request);
   }
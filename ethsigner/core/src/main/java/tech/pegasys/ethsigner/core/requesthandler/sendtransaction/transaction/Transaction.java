@@ -17,10 +17,12 @@ import static tech.pegasys.ethsigner.core.jsonrpc.RpcUtil.JSON_RPC_VERSION;
 
 import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequest;
 import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequestId;
+import tech.pegasys.ethsigner.core.signing.RlpTransactionEncoder;
 
 import java.math.BigInteger;
 import java.nio.ByteBuffer;
 
+import io.vertx.core.Future;
 import org.jetbrains.annotations.NotNull;
 import org.web3j.crypto.Sign.SignatureData;
 
@@ -31,9 +33,25 @@ public interface Transaction {
   String DEFAULT_DATA = "";
   String DEFAULT_TO = "";
 
-  void updateFieldsIfRequired();
+  Future<Void> updateFieldsIfRequired();
 
-  byte[] rlpEncode(SignatureData signatureData);
+  /** Invoked when the downstream node reported the nonce as too low or already in use. */
+  void nonceRejected();
+
+  /** Invoked when the transaction, and so its nonce, was not accepted by the downstream node. */
+  void nonceUnused();
+
+  /** Writes the fields of the transaction in RLP order, marking where the signature belongs. */
+  void writeFields(RlpTransactionEncoder encoder);
+
+  default byte[] rlpEncode(final SignatureData signatureData) {
+    final RlpTransactionEncoder encoder = RlpTransactionEncoder.acquire();
+    writeFields(encoder);
+    if (signatureData == null) {
+      return encoder.encode();
+    }
+    return encoder.encode(signatureData.getV(), signatureData.getR(), signatureData.getS());
+  }
 
   default byte[] rlpEncode(final long chainId) {
     final SignatureData signatureData =
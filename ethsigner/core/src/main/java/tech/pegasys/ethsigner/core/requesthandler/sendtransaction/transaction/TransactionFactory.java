@@ -17,71 +17,104 @@ import tech.pegasys.ethsigner.core.jsonrpc.EthSendTransactionJsonParameters;
 import tech.pegasys.ethsigner.core.jsonrpc.JsonDecoder;
 import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequest;
 import tech.pegasys.ethsigner.core.requesthandler.VertxRequestTransmitterFactory;
+import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.AccountNonceManager;
+import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.NonceKey;
 import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.NonceProvider;
 
 import java.util.List;
+import java.util.Optional;
 
+import io.vertx.core.MultiMap;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.RoutingContext;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
 
+/**
+ * Creates the transaction for a send transaction request. The downstream pool of a transaction is
+ * resolved once, from the method by which it is submitted, and its nonce and enclave lookups are
+ * sent to the same pool, so are pinned to the same node of that pool as its submission.
+ */
 public class TransactionFactory {
 
   private static final Logger LOG = LogManager.getLogger();
 
   private final VertxRequestTransmitterFactory transmitterFactory;
   private final JsonDecoder decoder;
+  private final Optional<AccountNonceManager> nonceManager;
+  private final Counter reusedLookupIdCounter;
 
   public TransactionFactory(
-      final JsonDecoder decoder, final VertxRequestTransmitterFactory transmitterFactory) {
+      final JsonDecoder decoder,
+      final VertxRequestTransmitterFactory transmitterFactory,
+      final Optional<AccountNonceManager> nonceManager,
+      final Counter reusedLookupIdCounter) {
     this.transmitterFactory = transmitterFactory;
     this.decoder = decoder;
+    this.nonceManager = nonceManager;
+    this.reusedLookupIdCounter = reusedLookupIdCounter;
+  }
+
+  /** @return true if nonces are allocated locally, rather than retrieved for each transaction */
+  public boolean allocatesNoncesLocally() {
+    return nonceManager.isPresent();
   }
 
   public Transaction createTransaction(final RoutingContext context, final JsonRpcRequest request) {
     final String method = request.getMethod().toLowerCase();
-    final VertxNonceRequestTransmitter nonceRequestTransmitter =
-        new VertxNonceRequestTransmitter(context.request().headers(), decoder, transmitterFactory);
-    final VertxStoreRawRequestTransmitter storeRawRequestTransmitter =
-        new VertxStoreRawRequestTransmitter(
-            context.request().headers(), decoder, transmitterFactory);
+    final MultiMap headers = context.request().headers();
 
     switch (method) {
       case "eth_sendtransaction":
-        return createEthTransaction(request, nonceRequestTransmitter, storeRawRequestTransmitter);
+        return createEthTransaction(request, headers);
       case "eea_sendtransaction":
-        return createEeaTransaction(request, nonceRequestTransmitter);
+        return createEeaTransaction(request, headers);
       default:
         throw new IllegalStateException("Unknown send transaction method " + method);
     }
   }
 
-  private Transaction createEthTransaction(
-      final JsonRpcRequest request,
-      final VertxNonceRequestTransmitter nonceRequestTransmitter,
-      final VertxStoreRawRequestTransmitter storeRawRequestTransmitter) {
+  private Transaction createEthTransaction(final JsonRpcRequest request, final MultiMap headers) {
     final EthSendTransactionJsonParameters params =
         fromRpcRequestToJsonParam(EthSendTransactionJsonParameters.class, request);
+    final VertxRequestTransmitterFactory poolTransmitterFactory =
+        transmitterFactory.forMethod(
+            params.privateFor().isPresent()
+                ? GoQuorumPrivateTransaction.GOQUORUM_JSON_RPC_METHOD
+                : EthTransaction.JSON_RPC_METHOD);
+    // pinned to the sender's node, as a stored private payload is only known to that node
+    final VertxNonceRequestTransmitter nonceRequestTransmitter =
+        new VertxNonceRequestTransmitter(headers, params.sender(), decoder, poolTransmitterFactory);
+    final VertxStoreRawRequestTransmitter storeRawRequestTransmitter =
+        new VertxStoreRawRequestTransmitter(
+            headers, params.sender(), decoder, poolTransmitterFactory);
 
     final NonceProvider ethNonceProvider =
-        new EthNonceProvider(params.sender(), nonceRequestTransmitter);
+        managed(
+            NonceKey.forAccount(params.sender()),
+            new EthNonceProvider(params.sender(), nonceRequestTransmitter));
     final StoreRawEnclaveLookupIdProvider lookupIdProvider =
         new StoreRawEnclaveLookupIdProvider(storeRawRequestTransmitter);
 
     if (params.privateFor().isPresent()) {
       return GoQuorumPrivateTransaction.from(
-          params, ethNonceProvider, lookupIdProvider, request.getId());
+          params, ethNonceProvider, lookupIdProvider, reusedLookupIdCounter, request.getId());
     } else {
       return new EthTransaction(params, ethNonceProvider, request.getId());
     }
   }
 
-  private Transaction createEeaTransaction(
-      final JsonRpcRequest request, final VertxNonceRequestTransmitter requestTransmitter) {
+  private Transaction createEeaTransaction(final JsonRpcRequest request, final MultiMap headers) {
 
     final EeaSendTransactionJsonParameters params =
         fromRpcRequestToJsonParam(EeaSendTransactionJsonParameters.class, request);
+    final VertxNonceRequestTransmitter requestTransmitter =
+        new VertxNonceRequestTransmitter(
+            headers,
+            params.sender(),
+            decoder,
+            transmitterFactory.forMethod(PrivateTransaction.JSON_RPC_METHOD));
 
     if (params.privacyGroupId().isPresent() == params.privateFor().isPresent()) {
       LOG.warn(
@@ -93,17 +126,31 @@ public class TransactionFactory {
 
     if (params.privacyGroupId().isPresent()) {
       final NonceProvider nonceProvider =
-          new BesuPrivateNonceProvider(
-              params.sender(), params.privacyGroupId().get(), requestTransmitter);
+          managed(
+              NonceKey.forPrivacyGroup(params.sender(), params.privacyGroupId().get()),
+              new BesuPrivateNonceProvider(
+                  params.sender(), params.privacyGroupId().get(), requestTransmitter));
       return BesuPrivateTransaction.from(params, nonceProvider, request.getId());
     }
 
     final NonceProvider nonceProvider =
-        new EeaPrivateNonceProvider(
-            params.sender(), params.privateFrom(), params.privateFor().get(), requestTransmitter);
+        managed(
+            NonceKey.forPrivateParties(
+                params.sender(), params.privateFrom(), params.privateFor().get()),
+            new EeaPrivateNonceProvider(
+                params.sender(),
+                params.privateFrom(),
+                params.privateFor().get(),
+                requestTransmitter));
     return EeaPrivateTransaction.from(params, nonceProvider, request.getId());
   }
 
+  private NonceProvider managed(final NonceKey key, final NonceProvider nodeNonceProvider) {
+    return nonceManager
+        .<NonceProvider>map(manager -> new ManagedNonceProvider(key, manager, nodeNonceProvider))
+        .orElse(nodeNonceProvider);
+  }
+
   public <T> T fromRpcRequestToJsonParam(final Class<T> type, final JsonRpcRequest request) {
 
     final Object object;
@@ -124,6 +171,6 @@ public class TransactionFactory {
 
     final JsonObject receivedParams = JsonObject.mapFrom(object);
 
-    return decoder.decodeValue(receivedParams.toBuffer(), type);
+    return decoder.decodeValue(receivedParams, type);
   }
 }
@@ -26,11 +26,11 @@ import tech.pegasys.ethsigner.core.requesthandler.VertxRequestTransmitterFactory
 
 import java.math.BigInteger;
 import java.util.Map.Entry;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import io.vertx.core.Future;
 import io.vertx.core.MultiMap;
+import io.vertx.core.Promise;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.core.json.DecodeException;
@@ -45,6 +45,7 @@ public class VertxNonceRequestTransmitter {
   private static final Logger LOG = LogManager.getLogger();
 
   private final MultiMap headers;
+  private final String sender;
   private final JsonDecoder decoder;
   private final VertxRequestTransmitterFactory transmitterFactory;
 
@@ -52,78 +53,77 @@ public class VertxNonceRequestTransmitter {
 
   public VertxNonceRequestTransmitter(
       final MultiMap headers,
+      final String sender,
       final JsonDecoder decoder,
       final VertxRequestTransmitterFactory transmitterFactory) {
     this.headers = headers;
+    this.sender = sender;
     this.transmitterFactory = transmitterFactory;
     this.decoder = decoder;
   }
 
-  public BigInteger requestNonce(final JsonRpcRequest request) {
-    final CompletableFuture<BigInteger> result = getNonceFromWeb3Provider(request, headers);
-
-    try {
-      final BigInteger nonce = result.get();
-      LOG.debug("Supplying nonce of {}", nonce.toString());
-      return nonce;
-    } catch (final InterruptedException | ExecutionException e) {
-      throw new RuntimeException("Failed to retrieve nonce:" + e.getMessage(), e.getCause());
-    }
+  public Future<BigInteger> requestNonce(final JsonRpcRequest request) {
+    return getNonceFromWeb3Provider(request, headers);
   }
 
-  private CompletableFuture<BigInteger> getNonceFromWeb3Provider(
+  private Future<BigInteger> getNonceFromWeb3Provider(
       final JsonRpcRequest requestBody, final MultiMap headers) {
 
-    final CompletableFuture<BigInteger> result = new CompletableFuture<>();
+    final Promise<BigInteger> result = Promise.promise();
 
-    final RequestTransmitter transmitter = transmitterFactory.create(new ResponseCallback(result));
+    // sent to the pool of the transaction, rather than routed by the method of this request
+    final RequestTransmitter transmitter =
+        transmitterFactory.createForSender(sender, new ResponseCallback(result));
 
     final MultiMap headersToSend = HeaderHelpers.createHeaders(headers);
     requestBody.setId(new JsonRpcRequestId(nextId.getAndIncrement()));
-    transmitter.sendRequest(HttpMethod.POST, headersToSend, "/", Json.encode(requestBody));
+    final Buffer body = Json.encodeToBuffer(requestBody);
+    transmitter.sendRequest(HttpMethod.POST, headersToSend, "/", body);
 
-    LOG.info("Transmitted {}", Json.encode(requestBody));
+    LOG.info("Transmitted {}", body);
 
-    return result;
+    return result.future();
   }
 
-  private void handleResponse(final String body, final CompletableFuture<BigInteger> result) {
+  private void handleResponse(final Buffer body, final Promise<BigInteger> result) {
     try {
 
       final JsonRpcSuccessResponse response =
-          decoder.decodeValue(Buffer.buffer(body), JsonRpcSuccessResponse.class);
+          decoder.decodeValue(body, JsonRpcSuccessResponse.class);
       final Object suppliedNonce = response.getResult();
       if (suppliedNonce instanceof String) {
         try {
-          result.complete(Numeric.decodeQuantity((String) suppliedNonce));
+          final BigInteger nonce = Numeric.decodeQuantity((String) suppliedNonce);
+          LOG.debug("Supplying nonce of {}", nonce);
+          result.complete(nonce);
           return;
         } catch (final MessageDecodingException ex) {
-          result.completeExceptionally(ex);
+          result.fail(ex);
           return;
         }
       }
-      result.completeExceptionally(new RuntimeException("Web3 did not provide a string response."));
+      result.fail(new RuntimeException("Web3 did not provide a string response."));
     } catch (final DecodeException e) {
-      result.completeExceptionally(new JsonRpcException(determineErrorCode(body, decoder)));
+      result.fail(new JsonRpcException(determineErrorCode(body, decoder)));
     }
   }
 
   private class ResponseCallback implements DownstreamResponseHandler {
-    private final CompletableFuture<BigInteger> result;
+    private final Promise<BigInteger> result;
 
-    private ResponseCallback(final CompletableFuture<BigInteger> result) {
+    private ResponseCallback(final Promise<BigInteger> result) {
       this.result = result;
     }
 
     @Override
     public void handleResponse(
-        final Iterable<Entry<String, String>> headers, final int statusCode, String body) {
+        final Iterable<Entry<String, String>> headers, final int statusCode, final Buffer body) {
       VertxNonceRequestTransmitter.this.handleResponse(body, result);
     }
 
     @Override
     public void handleFailure(Throwable t) {
-      result.completeExceptionally(t);
+      result.fail(t);
     }
   }
 }
@@ -25,11 +25,11 @@ import tech.pegasys.ethsigner.core.requesthandler.RequestTransmitter;
 import tech.pegasys.ethsigner.core.requesthandler.VertxRequestTransmitterFactory;
 
 import java.util.Map.Entry;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import io.vertx.core.Future;
 import io.vertx.core.MultiMap;
+import io.vertx.core.Promise;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.core.json.DecodeException;
@@ -43,6 +43,7 @@ public class VertxStoreRawRequestTransmitter {
   private static final Logger LOG = LogManager.getLogger();
 
   private final MultiMap headers;
+  private final String sender;
   private final JsonDecoder decoder;
   private final VertxRequestTransmitterFactory transmitterFactory;
 
@@ -50,79 +51,76 @@ public class VertxStoreRawRequestTransmitter {
 
   public VertxStoreRawRequestTransmitter(
       final MultiMap headers,
+      final String sender,
       final JsonDecoder decoder,
       final VertxRequestTransmitterFactory transmitterFactory) {
     this.headers = headers;
+    this.sender = sender;
     this.transmitterFactory = transmitterFactory;
     this.decoder = decoder;
   }
 
-  public String storeRaw(final JsonRpcRequest request) {
-    final CompletableFuture<String> result = storePayloadAndGetLookupId(request, headers);
-
-    try {
-      final String lookupId = result.get();
-      LOG.debug("storeRaw response of {}", lookupId);
-      return lookupId;
-    } catch (final InterruptedException | ExecutionException e) {
-      throw new RuntimeException(
-          "Failed to retrieve storeRaw result (enclave lookup id):" + e.getMessage(), e.getCause());
-    }
+  public Future<String> storeRaw(final JsonRpcRequest request) {
+    return storePayloadAndGetLookupId(request, headers);
   }
 
-  private CompletableFuture<String> storePayloadAndGetLookupId(
+  private Future<String> storePayloadAndGetLookupId(
       final JsonRpcRequest requestBody, final MultiMap headers) {
 
-    final CompletableFuture<String> result = new CompletableFuture<>();
+    final Promise<String> result = Promise.promise();
 
-    final RequestTransmitter transmitter = transmitterFactory.create(new ResponseCallback(result));
+    // sent to the pool of the transaction, rather than routed by the method of this request
+    final RequestTransmitter transmitter =
+        transmitterFactory.createForSender(sender, new ResponseCallback(result));
 
     final MultiMap headersToSend = HeaderHelpers.createHeaders(headers);
     requestBody.setId(new JsonRpcRequestId(nextId.getAndIncrement()));
-    transmitter.sendRequest(HttpMethod.POST, headersToSend, "/", Json.encode(requestBody));
+    final Buffer body = Json.encodeToBuffer(requestBody);
+    transmitter.sendRequest(HttpMethod.POST, headersToSend, "/", body);
 
-    LOG.info("Transmitted {}", Json.encode(requestBody));
+    LOG.info("Transmitted {}", body);
 
-    return result;
+    return result.future();
   }
 
-  private void handleResponse(final String body, final CompletableFuture<String> result) {
+  private void handleResponse(final Buffer body, final Promise<String> result) {
     try {
 
       final JsonRpcSuccessResponse response =
-          decoder.decodeValue(Buffer.buffer(body), JsonRpcSuccessResponse.class);
+          decoder.decodeValue(body, JsonRpcSuccessResponse.class);
       final Object suppliedLookupId = response.getResult();
       if (suppliedLookupId instanceof String) {
         try {
+          LOG.debug("storeRaw response of {}", suppliedLookupId);
           result.complete((String) suppliedLookupId);
           return;
         } catch (final MessageDecodingException ex) {
-          result.completeExceptionally(ex);
+          result.fail(ex);
           return;
         }
       }
-      result.completeExceptionally(new RuntimeException("Web3 did not provide a string response."));
+      result.fail(new RuntimeException("Web3 did not provide a string response."));
     } catch (final DecodeException e) {
-      result.completeExceptionally(new JsonRpcException(determineErrorCode(body, decoder)));
+      result.fail(new JsonRpcException(determineErrorCode(body, decoder)));
     }
   }
 
   private class ResponseCallback implements DownstreamResponseHandler {
-    private final CompletableFuture<String> result;
+    private final Promise<String> result;
 
-    private ResponseCallback(final CompletableFuture<String> result) {
+    private ResponseCallback(final Promise<String> result) {
       this.result = result;
     }
 
     @Override
     public void handleResponse(
-        final Iterable<Entry<String, String>> headers, final int statusCode, String body) {
+        final Iterable<Entry<String, String>> headers, final int statusCode, final Buffer body) {
       VertxStoreRawRequestTransmitter.this.handleResponse(body, result);
     }
 
     @Override
     public void handleFailure(Throwable t) {
-      result.completeExceptionally(t);
+      result.fail(t);
     }
   }
 }
@@ -16,9 +16,6 @@ import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.transaction.Tr
 import tech.pegasys.signers.secp256k1.api.Signature;
 import tech.pegasys.signers.secp256k1.api.Signer;
 
-import org.web3j.crypto.Sign.SignatureData;
-import org.web3j.utils.Numeric;
-
 public class GoQuorumPrivateTransactionSerializer extends TransactionSerializer {
 
   public GoQuorumPrivateTransactionSerializer(Signer signer, long chainId) {
@@ -27,16 +24,14 @@ public class GoQuorumPrivateTransactionSerializer extends TransactionSerializer
 
   @Override
   public String serialize(final Transaction transaction) {
-    final byte[] bytesToSign = transaction.rlpEncode(null);
+    final RlpTransactionEncoder encoder = RlpTransactionEncoder.acquire();
+    transaction.writeFields(encoder);
+    final byte[] bytesToSign = encoder.encode();
     final Signature signature = signer.sign(bytesToSign);
 
     byte[] newV = (getGoQuorumVValue(signature.getV().toByteArray()));
 
-    final SignatureData web3jSignature =
-        new SignatureData(newV, signature.getR().toByteArray(), signature.getS().toByteArray());
-
-    final byte[] serializedBytes = transaction.rlpEncode(web3jSignature);
-    return Numeric.toHexString(serializedBytes);
+    return encoder.encodeHex(newV, signature.getR().toByteArray(), signature.getS().toByteArray());
   }
 
   public static byte[] getGoQuorumVValue(byte[] v) {
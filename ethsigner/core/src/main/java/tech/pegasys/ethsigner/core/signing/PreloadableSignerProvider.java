@@ -0,0 +1,31 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.signing;
+
+import tech.pegasys.signers.secp256k1.api.SignerProvider;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A signer provider which is able to initialise all of its signers ahead of their first use, such
+ * that EthSigner can begin serving requests once loading has completed.
+ */
+public interface PreloadableSignerProvider extends SignerProvider {
+
+  /**
+   * Initialises every signer, reporting each to the listener as it becomes available, such that
+   * the initialised signers are retained within the bounds of the listener's cache rather than by
+   * the provider.
+   */
+  CompletableFuture<Void> preload(SignerChangeListener listener);
+}
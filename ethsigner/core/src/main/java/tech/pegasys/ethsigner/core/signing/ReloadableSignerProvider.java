@@ -0,0 +1,26 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.signing;
+
+import tech.pegasys.signers.secp256k1.api.SignerProvider;
+
+/** A signer provider whose available signers may change while EthSigner is running. */
+public interface ReloadableSignerProvider extends SignerProvider, AutoCloseable {
+
+  /** Begins monitoring for changes to the available signers, reporting them to the listener. */
+  void watch(SignerChangeListener listener);
+
+  /** Stops monitoring for changes, releasing the resources used to do so. */
+  @Override
+  void close();
+}
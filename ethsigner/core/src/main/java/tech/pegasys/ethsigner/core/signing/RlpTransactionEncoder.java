@@ -0,0 +1,295 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.signing;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import org.web3j.utils.Numeric;
+
+/**
+ * Encodes a transaction as RLP, byte for byte as web3j's TransactionEncoder and
+ * PrivateTransactionEncoder, without building an intermediate RawTransaction or list of RlpTypes.
+ *
+ * <p>The fields of the transaction are written once into a buffer which is reused by each thread,
+ * recording where the signature belongs. The signing payload and the signed transaction are then
+ * each assembled in the same buffer from those fields, with the v, r and s values written in
+ * between, such that the only allocation per encoding is its result.
+ */
+public class RlpTransactionEncoder {
+
+  private static final int STRING_OFFSET = 0x80;
+  private static final int LIST_OFFSET = 0xc0;
+  private static final int SHORT_LENGTH_LIMIT = 55;
+  private static final int INITIAL_CAPACITY = 1024;
+  // a buffer grown for an unusually large transaction is not held by the thread indefinitely
+  private static final int MAX_RETAINED_CAPACITY = 256 * 1024;
+  private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+  private static final byte[] EMPTY_DATA = new byte[0];
+
+  private static final ThreadLocal<RlpTransactionEncoder> ENCODERS =
+      ThreadLocal.withInitial(RlpTransactionEncoder::new);
+
+  private byte[] buffer = new byte[INITIAL_CAPACITY];
+  private int position;
+  // the end of the written fields, once the first encoding has been assembled after them
+  private int fieldsLength;
+  private int signatureOffset;
+
+  private RlpTransactionEncoder() {}
+
+  /**
+   * Returns the encoder of the calling thread, cleared of any previously written fields. All
+   * fields must be written before the first encoding is requested.
+   */
+  public static RlpTransactionEncoder acquire() {
+    final RlpTransactionEncoder encoder = ENCODERS.get();
+    encoder.reset();
+    return encoder;
+  }
+
+  private void reset() {
+    if (buffer.length > MAX_RETAINED_CAPACITY) {
+      buffer = new byte[INITIAL_CAPACITY];
+    }
+    position = 0;
+    fieldsLength = -1;
+    signatureOffset = -1;
+  }
+
+  public void writeQuantity(final BigInteger value) {
+    if (value.signum() < 1) {
+      writeQuantity(0L);
+    } else if (value.bitLength() < Long.SIZE) {
+      writeQuantity(value.longValue());
+    } else {
+      final byte[] bytes = value.toByteArray();
+      // the sign byte of a positive value is not part of its encoding
+      final int offset = bytes[0] == 0 ? 1 : 0;
+      writeBytes(bytes, offset, bytes.length - offset);
+    }
+  }
+
+  /** Writes a quantity held as its minimal big endian bytes, or the default if it is null. */
+  public void writeQuantity(final byte[] quantity, final BigInteger defaultValue) {
+    if (quantity == null) {
+      writeQuantity(defaultValue);
+    } else {
+      writeBytes(quantity);
+    }
+  }
+
+  public void writeQuantity(final long value) {
+    if (value <= 0) {
+      writeLength(0, STRING_OFFSET);
+      return;
+    }
+    final int length = minimalLength(value);
+    if (value < STRING_OFFSET) {
+      append((byte) value);
+      return;
+    }
+    writeLength(length, STRING_OFFSET);
+    ensureCapacity(position + length);
+    for (int shift = (length - 1) * Byte.SIZE; shift >= 0; shift -= Byte.SIZE) {
+      buffer[position++] = (byte) (value >>> shift);
+    }
+  }
+
+  public void writeBytes(final byte[] bytes) {
+    writeBytes(bytes, 0, bytes.length);
+  }
+
+  /** Writes transaction data, or no data if it is null. */
+  public void writeData(final byte[] data) {
+    writeBytes(data == null ? EMPTY_DATA : data);
+  }
+
+  /** Writes hex as the bytes it represents, decoded as by web3j's Numeric.hexStringToByteArray. */
+  public void writeHex(final String hex) {
+    final int start = Numeric.containsHexPrefix(hex) ? 2 : 0;
+    final int digits = hex.length() - start;
+    final int length = (digits + 1) / 2;
+    final boolean oddDigits = digits % 2 != 0;
+
+    if (length == 1) {
+      final byte value = oddDigits ? hexDigit(hex, start) : hexPair(hex, start);
+      writeBytes(new byte[] {value}, 0, 1);
+      return;
+    }
+    writeLength(length, STRING_OFFSET);
+    ensureCapacity(position + length);
+    int index = start;
+    if (oddDigits) {
+      buffer[position++] = hexDigit(hex, index++);
+    }
+    for (; index < hex.length(); index += 2) {
+      buffer[position++] = hexPair(hex, index);
+    }
+  }
+
+  public void writeString(final String value) {
+    writeBytes(value.getBytes(StandardCharsets.UTF_8));
+  }
+
+  public void writeBytesList(final List<byte[]> items) {
+    int payloadLength = 0;
+    for (final byte[] item : items) {
+      payloadLength += encodedLength(item, 0, item.length);
+    }
+    writeLength(payloadLength, LIST_OFFSET);
+    for (final byte[] item : items) {
+      writeBytes(item);
+    }
+  }
+
+  /** Records that the signature follows the fields written so far. */
+  public void markSignature() {
+    signatureOffset = position;
+  }
+
+  /** Encodes the written fields without a signature. */
+  public byte[] encode() {
+    final int outputOffset = assemble(null, null, null);
+    return Arrays.copyOfRange(buffer, outputOffset, position);
+  }
+
+  /** Encodes the written fields, with the signature values trimmed of leading zero bytes. */
+  public byte[] encode(final byte[] v, final byte[] r, final byte[] s) {
+    final int outputOffset = assemble(v, r, s);
+    return Arrays.copyOfRange(buffer, outputOffset, position);
+  }
+
+  /** As {@link #encode(byte[], byte[], byte[])}, returning the encoding as 0x prefixed hex. */
+  public String encodeHex(final byte[] v, final byte[] r, final byte[] s) {
+    final int outputOffset = assemble(v, r, s);
+    final char[] hex = new char[2 + (position - outputOffset) * 2];
+    hex[0] = '0';
+    hex[1] = 'x';
+    int index = 2;
+    for (int i = outputOffset; i < position; i++) {
+      hex[index++] = HEX_DIGITS[(buffer[i] >> 4) & 0xf];
+      hex[index++] = HEX_DIGITS[buffer[i] & 0xf];
+    }
+    return new String(hex);
+  }
+
+  // assembles the encoding after the written fields, returning the offset at which it starts
+  private int assemble(final byte[] v, final byte[] r, final byte[] s) {
+    if (fieldsLength < 0) {
+      fieldsLength = position;
+    }
+    final int splitOffset = signatureOffset < 0 ? fieldsLength : signatureOffset;
+    final boolean signed = v != null;
+    final int signatureLength =
+        signed ? signatureValueLength(v) + signatureValueLength(r) + signatureValueLength(s) : 0;
+    final int payloadLength = fieldsLength + signatureLength;
+
+    position = fieldsLength;
+    ensureCapacity(position + lengthOfLength(payloadLength) + payloadLength);
+    writeLength(payloadLength, LIST_OFFSET);
+    append(buffer, 0, splitOffset);
+    if (signed) {
+      writeSignatureValue(v);
+      writeSignatureValue(r);
+      writeSignatureValue(s);
+    }
+    append(buffer, splitOffset, fieldsLength - splitOffset);
+    return fieldsLength;
+  }
+
+  // as web3j's Bytes.trimLeadingZeroes, a value of zero retains a single zero byte
+  private static int signatureValueOffset(final byte[] value) {
+    int offset = 0;
+    while (offset < value.length - 1 && value[offset] == 0) {
+      offset++;
+    }
+    return offset;
+  }
+
+  private static int signatureValueLength(final byte[] value) {
+    final int offset = signatureValueOffset(value);
+    return encodedLength(value, offset, value.length - offset);
+  }
+
+  private void writeSignatureValue(final byte[] value) {
+    final int offset = signatureValueOffset(value);
+    writeBytes(value, offset, value.length - offset);
+  }
+
+  private void writeBytes(final byte[] bytes, final int offset, final int length) {
+    if (length == 1 && (bytes[offset] & 0xff) < STRING_OFFSET) {
+      append(bytes[offset]);
+      return;
+    }
+    writeLength(length, STRING_OFFSET);
+    append(bytes, offset, length);
+  }
+
+  private void writeLength(final int length, final int offset) {
+    if (length <= SHORT_LENGTH_LIMIT) {
+      append((byte) (offset + length));
+      return;
+    }
+    final int lengthOfLength = minimalLength(length);
+    ensureCapacity(position + 1 + lengthOfLength);
+    buffer[position++] = (byte) (offset + SHORT_LENGTH_LIMIT + lengthOfLength);
+    for (int shift = (lengthOfLength - 1) * Byte.SIZE; shift >= 0; shift -= Byte.SIZE) {
+      buffer[position++] = (byte) (length >>> shift);
+    }
+  }
+
+  private static int encodedLength(final byte[] bytes, final int offset, final int length) {
+    if (length == 1 && (bytes[offset] & 0xff) < STRING_OFFSET) {
+      return 1;
+    }
+    return lengthOfLength(length) + length;
+  }
+
+  private static int lengthOfLength(final int length) {
+    return length <= SHORT_LENGTH_LIMIT ? 1 : 1 + minimalLength(length);
+  }
+
+  private static int minimalLength(final long value) {
+    return (Long.SIZE - Long.numberOfLeadingZeros(value) + Byte.SIZE - 1) / Byte.SIZE;
+  }
+
+  private static byte hexDigit(final String hex, final int index) {
+    return (byte) Character.digit(hex.charAt(index), 16);
+  }
+
+  private static byte hexPair(final String hex, final int index) {
+    return (byte)
+        ((Character.digit(hex.charAt(index), 16) << 4)
+            + Character.digit(hex.charAt(index + 1), 16));
+  }
+
+  private void append(final byte value) {
+    ensureCapacity(position + 1);
+    buffer[position++] = value;
+  }
+
+  private void append(final byte[] bytes, final int offset, final int length) {
+    ensureCapacity(position + length);
+    System.arraycopy(bytes, offset, buffer, position, length);
+    position += length;
+  }
+
+  private void ensureCapacity(final int capacity) {
+    if (capacity > buffer.length) {
+      buffer = Arrays.copyOf(buffer, Math.max(capacity, buffer.length * 2));
+    }
+  }
+}
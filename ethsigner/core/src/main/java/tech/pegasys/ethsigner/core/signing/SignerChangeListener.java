@@ -0,0 +1,25 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.signing;
+
+import tech.pegasys.signers.secp256k1.api.Signer;
+
+/** Receives changes to the set of signers available from a {@link ReloadableSignerProvider}. */
+public interface SignerChangeListener {
+
+  /** A signer has been added, or has replaced an existing signer for the same address. */
+  void signerAdded(Signer signer);
+
+  /** The signer for the given (0x prefixed) address is no longer available. */
+  void signerRemoved(String address);
+}
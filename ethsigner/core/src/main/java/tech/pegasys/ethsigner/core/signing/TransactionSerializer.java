@@ -19,7 +19,6 @@ import tech.pegasys.signers.secp256k1.api.Signer;
 import org.web3j.crypto.Keys;
 import org.web3j.crypto.Sign.SignatureData;
 import org.web3j.crypto.TransactionEncoder;
-import org.web3j.utils.Numeric;
 
 public class TransactionSerializer {
 
@@ -32,7 +31,11 @@ public class TransactionSerializer {
   }
 
   public String serialize(final Transaction transaction) {
-    final byte[] bytesToSign = transaction.rlpEncode(chainId);
+    // the fields are encoded once, for both the signing payload and the signed transaction
+    final RlpTransactionEncoder encoder = RlpTransactionEncoder.acquire();
+    transaction.writeFields(encoder);
+    final byte[] bytesToSign =
+        encoder.encode(Transaction.longToBytes(chainId), new byte[] {}, new byte[] {});
 
     final Signature signature = signer.sign(bytesToSign);
 
@@ -45,8 +48,8 @@ public class TransactionSerializer {
     final SignatureData eip155Signature =
         TransactionEncoder.createEip155SignatureData(web3jSignature, chainId);
 
-    final byte[] serializedBytes = transaction.rlpEncode(eip155Signature);
-    return Numeric.toHexString(serializedBytes);
+    return encoder.encodeHex(
+        eip155Signature.getV(), eip155Signature.getR(), eip155Signature.getS());
   }
 
   public String getAddress() {
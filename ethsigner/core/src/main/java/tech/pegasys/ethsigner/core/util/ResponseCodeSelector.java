@@ -14,6 +14,7 @@ package tech.pegasys.ethsigner.core.util;
 
 import static io.netty.handler.codec.http.HttpResponseStatus.BAD_REQUEST;
 import static io.netty.handler.codec.http.HttpResponseStatus.OK;
+import static io.netty.handler.codec.http.HttpResponseStatus.TOO_MANY_REQUESTS;
 
 import tech.pegasys.ethsigner.core.jsonrpc.exception.JsonRpcException;
 
@@ -24,6 +25,8 @@ public class ResponseCodeSelector {
       case INVALID_PARAMS:
       case PARSE_ERROR:
         return BAD_REQUEST.code();
+      case SIGNING_CAPACITY_EXCEEDED:
+        return TOO_MANY_REQUESTS.code();
       default:
         return OK.code();
     }
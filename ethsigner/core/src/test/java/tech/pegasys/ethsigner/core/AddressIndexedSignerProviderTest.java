@@ -0,0 +1,202 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import tech.pegasys.ethsigner.core.signing.PreloadableSignerProvider;
+import tech.pegasys.ethsigner.core.signing.SignerChangeListener;
+import tech.pegasys.signers.secp256k1.EthPublicKeyUtils;
+import tech.pegasys.signers.secp256k1.api.Signer;
+import tech.pegasys.signers.secp256k1.api.SignerProvider;
+
+import java.security.interfaces.ECPublicKey;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AddressIndexedSignerProviderTest {
+
+  private static final String ADDRESS_1 = "0x7577919ae5df4941180eac211965f275cdce314d";
+  private static final String ADDRESS_2 = "0xfe3b557e8fb62b89f4916b721be55ceb828dbd73";
+
+  private final ECPublicKey publicKey1 = mock(ECPublicKey.class);
+  private final ECPublicKey publicKey2 = mock(ECPublicKey.class);
+  private final Signer signer1 = mock(Signer.class);
+  private final Signer signer2 = mock(Signer.class);
+  private final SignerProvider signerProvider = mock(SignerProvider.class);
+
+  @BeforeEach
+  void setup() {
+    when(signerProvider.getSigner(publicKey1)).thenReturn(Optional.of(signer1));
+    when(signerProvider.getSigner(publicKey2)).thenReturn(Optional.of(signer2));
+  }
+
+  @Test
+  void signerIsOnlyLoadedOnceWhenCached() {
+    final AddressIndexedSignerProvider provider = createProvider(10);
+
+    assertThat(provider.getSigner(ADDRESS_1)).contains(signer1);
+    assertThat(provider.getSigner(ADDRESS_1.toUpperCase().replace("0X", "0x"))).contains(signer1);
+
+    verify(signerProvider, times(1)).getSigner(publicKey1);
+  }
+
+  @Test
+  void signerIsReloadedAfterEviction() {
+    final AddressIndexedSignerProvider provider = createProvider(1);
+
+    assertThat(provider.getSigner(ADDRESS_1)).contains(signer1);
+    assertThat(provider.getSigner(ADDRESS_2)).contains(signer2);
+    assertThat(provider.getSigner(ADDRESS_1)).contains(signer1);
+
+    verify(signerProvider, times(2)).getSigner(publicKey1);
+  }
+
+  @Test
+  void concurrentLookupsOfUncachedSignerLoadItOnce() throws Exception {
+    final CountDownLatch loading = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    when(signerProvider.getSigner(publicKey1))
+        .thenAnswer(
+            invocation -> {
+              loading.countDown();
+              release.await(5, TimeUnit.SECONDS);
+              return Optional.of(signer1);
+            });
+    final AddressIndexedSignerProvider provider = createProvider(10);
+    final CompletableFuture<Optional<Signer>> first = new CompletableFuture<>();
+    final CompletableFuture<Optional<Signer>> second = new CompletableFuture<>();
+
+    new Thread(() -> first.complete(provider.getSigner(ADDRESS_1))).start();
+    assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+    final Thread secondLookup = new Thread(() -> second.complete(provider.getSigner(ADDRESS_1)));
+    secondLookup.start();
+    while (secondLookup.getState() == Thread.State.NEW
+        || secondLookup.getState() == Thread.State.RUNNABLE) {
+      Thread.onSpinWait();
+    }
+    release.countDown();
+
+    assertThat(first.get(5, TimeUnit.SECONDS)).contains(signer1);
+    assertThat(second.get(5, TimeUnit.SECONDS)).contains(signer1);
+    verify(signerProvider, times(1)).getSigner(publicKey1);
+  }
+
+  @Test
+  void zeroSizedCacheAlwaysLoadsSigner() {
+    final AddressIndexedSignerProvider provider = createProvider(0);
+
+    provider.getSigner(ADDRESS_1);
+    provider.getSigner(ADDRESS_1);
+
+    verify(signerProvider, times(2)).getSigner(publicKey1);
+  }
+
+  @Test
+  void unavailableSignerIsNotCached() {
+    when(signerProvider.getSigner(publicKey1))
+        .thenReturn(Optional.empty())
+        .thenReturn(Optional.of(signer1));
+    final AddressIndexedSignerProvider provider = createProvider(10);
+
+    assertThat(provider.getSigner(ADDRESS_1)).isEmpty();
+    assertThat(provider.getSigner(ADDRESS_1)).contains(signer1);
+  }
+
+  @Test
+  void unknownAddressReturnsEmpty() {
+    final AddressIndexedSignerProvider provider = createProvider(10);
+
+    assertThat(provider.getSigner("0x0000000000000000000000000000000000000000")).isEmpty();
+  }
+
+  @Test
+  void removedSignerIsNoLongerAvailable() {
+    final AddressIndexedSignerProvider provider = createProvider(10);
+    assertThat(provider.getSigner(ADDRESS_1)).contains(signer1);
+
+    provider.signerRemoved(ADDRESS_1.toUpperCase().replace("0X", "0x"));
+
+    assertThat(provider.getSigner(ADDRESS_1)).isEmpty();
+    assertThat(provider.availableAddresses()).containsOnly(ADDRESS_2);
+    assertThat(provider.availablePublicKeys()).containsOnly(publicKey2);
+  }
+
+  @Test
+  void preloadedSignersAreCachedAndTheirAddressesAvailable() throws Exception {
+    final ECPublicKey publicKey =
+        EthPublicKeyUtils.createPublicKey(Bytes.fromHexString("A".repeat(128)));
+    final String address = AddressIndexedSignerProvider.toAddress(publicKey);
+    when(signer1.getPublicKey()).thenReturn(publicKey);
+    final PreloadableSignerProvider preloadableProvider = mock(PreloadableSignerProvider.class);
+    when(preloadableProvider.availablePublicKeys()).thenReturn(Set.of(publicKey));
+    when(preloadableProvider.preload(any()))
+        .thenAnswer(
+            invocation -> {
+              invocation.<SignerChangeListener>getArgument(0).signerAdded(signer1);
+              return CompletableFuture.completedFuture(null);
+            });
+    final AddressIndexedSignerProvider provider =
+        AddressIndexedSignerProvider.createUnloaded(
+            preloadableProvider, 10, Duration.ZERO, new NoOpMetricsSystem());
+    assertThat(provider.isLoaded()).isFalse();
+
+    provider.preload().get(5, TimeUnit.SECONDS);
+
+    assertThat(provider.isLoaded()).isTrue();
+    assertThat(provider.hasLoadFailed()).isFalse();
+    assertThat(provider.availableAddresses()).containsOnly(address);
+    assertThat(provider.getSigner(address)).contains(signer1);
+    verify(preloadableProvider, never()).getSigner(any());
+  }
+
+  @Test
+  void failedPreloadIsReported() {
+    final PreloadableSignerProvider preloadableProvider = mock(PreloadableSignerProvider.class);
+    when(preloadableProvider.preload(any()))
+        .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("vault unavailable")));
+    final AddressIndexedSignerProvider provider =
+        AddressIndexedSignerProvider.createUnloaded(
+            preloadableProvider, 10, Duration.ZERO, new NoOpMetricsSystem());
+
+    assertThat(provider.preload()).isCompletedExceptionally();
+
+    assertThat(provider.isLoaded()).isFalse();
+    assertThat(provider.hasLoadFailed()).isTrue();
+  }
+
+  private AddressIndexedSignerProvider createProvider(final long cacheSize) {
+    return new AddressIndexedSignerProvider(
+        signerProvider,
+        Map.of(ADDRESS_1, publicKey1, ADDRESS_2, publicKey2),
+        cacheSize,
+        Duration.ZERO,
+        new NoOpMetricsSystem());
+  }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import tech.pegasys.ethsigner.core.config.Config;
+
+import io.vertx.core.http.HttpServerOptions;
+import io.vertx.core.http.HttpVersion;
+import org.junit.jupiter.api.Test;
+
+class EthSignerTest {
+
+  private final Config config = mock(Config.class);
+
+  @Test
+  void http2OptionsAreAppliedToServerWhenEnabled() {
+    when(config.isHttp2Enabled()).thenReturn(true);
+    when(config.getHttp2MaxConcurrentStreams()).thenReturn(50);
+    when(config.getHttp2InitialWindowSize()).thenReturn(1_048_576);
+    when(config.getHttp2ConnectionWindowSize()).thenReturn(4_194_304);
+    final HttpServerOptions input = new HttpServerOptions().setPort(8545);
+
+    final HttpServerOptions options = EthSigner.applyHttp2SettingsTo(input, config);
+
+    assertThat(options.isUseAlpn()).isTrue();
+    assertThat(options.getAlpnVersions()).containsExactly(HttpVersion.HTTP_2, HttpVersion.HTTP_1_1);
+    assertThat(options.getInitialSettings().getMaxConcurrentStreams()).isEqualTo(50);
+    assertThat(options.getInitialSettings().getInitialWindowSize()).isEqualTo(1_048_576);
+    assertThat(options.getHttp2ConnectionWindowSize()).isEqualTo(4_194_304);
+    assertThat(options.getPort()).isEqualTo(8545);
+  }
+
+  @Test
+  void serverOptionsAreUnchangedWhenHttp2IsDisabled() {
+    when(config.isHttp2Enabled()).thenReturn(false);
+    final HttpServerOptions input = new HttpServerOptions();
+
+    assertThat(EthSigner.applyHttp2SettingsTo(input, config)).isSameAs(input);
+  }
+}
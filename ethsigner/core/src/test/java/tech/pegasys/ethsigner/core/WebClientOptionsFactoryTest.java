@@ -0,0 +1,104 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import tech.pegasys.ethsigner.core.config.Config;
+
+import java.time.Duration;
+
+import io.vertx.core.http.HttpVersion;
+import io.vertx.ext.web.client.WebClientOptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class WebClientOptionsFactoryTest {
+
+  private final Config config = mock(Config.class);
+  private final WebClientOptionsFactory factory = new WebClientOptionsFactory();
+
+  @BeforeEach
+  void setup() {
+    when(config.getDownstreamHttpHost()).thenReturn("node");
+    when(config.getDownstreamHttpPort()).thenReturn(8545);
+    when(config.getDownstreamHttpMaxPoolSize()).thenReturn(20);
+    when(config.getDownstreamHttpMaxWaitQueueSize()).thenReturn(100);
+    when(config.getDownstreamHttpKeepAliveTimeout()).thenReturn(Duration.ofSeconds(30));
+    when(config.getDownstreamHttpIdleTimeout()).thenReturn(Duration.ofSeconds(90));
+    when(config.isDownstreamHttpPipeliningEnabled()).thenReturn(true);
+    when(config.getDownstreamHttpPipeliningLimit()).thenReturn(8);
+    when(config.isDownstreamHttp2Enabled()).thenReturn(false);
+  }
+
+  @Test
+  void connectionOptionsAreMappedFromConfig() {
+    final WebClientOptions options = factory.createWebClientOptions(config);
+
+    assertThat(options.getDefaultHost()).isEqualTo("node");
+    assertThat(options.getDefaultPort()).isEqualTo(8545);
+    assertThat(options.isTryUseCompression()).isTrue();
+    assertThat(options.getMaxPoolSize()).isEqualTo(20);
+    assertThat(options.getMaxWaitQueueSize()).isEqualTo(100);
+    assertThat(options.getKeepAliveTimeout()).isEqualTo(30);
+    assertThat(options.getIdleTimeout()).isEqualTo(90);
+    assertThat(options.isPipelining()).isTrue();
+    assertThat(options.getPipeliningLimit()).isEqualTo(8);
+    assertThat(options.isSsl()).isFalse();
+  }
+
+  @Test
+  void transactionOptionsOverrideSizeKeepAliveAndPipelining() {
+    when(config.getDownstreamHttpTransactionPoolSize()).thenReturn(3);
+    when(config.isDownstreamHttpTransactionKeepAliveEnabled()).thenReturn(false);
+    when(config.isDownstreamHttpTransactionPipeliningEnabled()).thenReturn(false);
+    final WebClientOptions clientOptions = factory.createWebClientOptions(config);
+
+    final WebClientOptions options =
+        factory.createTransactionWebClientOptions(config, clientOptions);
+
+    assertThat(options.getMaxPoolSize()).isEqualTo(3);
+    assertThat(options.isKeepAlive()).isFalse();
+    assertThat(options.isPipelining()).isFalse();
+    assertThat(options.getDefaultHost()).isEqualTo("node");
+    assertThat(options.getMaxWaitQueueSize()).isEqualTo(100);
+    assertThat(options.getIdleTimeout()).isEqualTo(90);
+    assertThat(clientOptions.getMaxPoolSize()).isEqualTo(20);
+  }
+
+  @Test
+  void http2OptionsAreAppliedWhenDownstreamHttp2IsEnabled() {
+    when(config.isDownstreamHttp2Enabled()).thenReturn(true);
+    when(config.getHttp2MaxConcurrentStreams()).thenReturn(50);
+    when(config.getHttp2InitialWindowSize()).thenReturn(1_048_576);
+    when(config.getHttp2ConnectionWindowSize()).thenReturn(4_194_304);
+
+    final WebClientOptions options = factory.createWebClientOptions(config);
+
+    assertThat(options.getProtocolVersion()).isEqualTo(HttpVersion.HTTP_2);
+    assertThat(options.isHttp2ClearTextUpgrade()).isTrue();
+    assertThat(options.isUseAlpn()).isFalse();
+    assertThat(options.getHttp2MultiplexingLimit()).isEqualTo(50);
+    assertThat(options.getInitialSettings().getInitialWindowSize()).isEqualTo(1_048_576);
+    assertThat(options.getHttp2ConnectionWindowSize()).isEqualTo(4_194_304);
+  }
+
+  @Test
+  void http1IsUsedWhenDownstreamHttp2IsDisabled() {
+    final WebClientOptions options = factory.createWebClientOptions(config);
+
+    assertThat(options.getProtocolVersion()).isEqualTo(HttpVersion.HTTP_1_1);
+  }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.downstream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.DownstreamPathCalculator;
+
+import java.time.Duration;
+import java.util.List;
+
+import com.google.common.net.HostAndPort;
+import io.vertx.core.Handler;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientRequest;
+import io.vertx.core.http.HttpMethod;
+import org.junit.jupiter.api.Test;
+
+class ConnectionWarmerTest {
+
+  private static final Duration TIMEOUT = Duration.ofSeconds(2);
+
+  private final HttpClient httpClient = mock(HttpClient.class);
+  private final HttpClientRequest request = mock(HttpClientRequest.class);
+  private final DownstreamNodes downstreamNodes = mock(DownstreamNodes.class);
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void eachNodeIsProbedOncePerConnection() {
+    when(downstreamNodes.nodes())
+        .thenReturn(
+            List.of(
+                new DownstreamNode(HostAndPort.fromParts("node1", 8545), 100),
+                new DownstreamNode(HostAndPort.fromParts("node2", 8546), 100)));
+    when(httpClient.request(
+            any(HttpMethod.class), anyInt(), anyString(), anyString(), any(Handler.class)))
+        .thenReturn(request);
+
+    new ConnectionWarmer(downstreamNodes, new DownstreamPathCalculator("/rpc"), TIMEOUT)
+        .warmUp(httpClient, 3);
+
+    verify(httpClient, times(3))
+        .request(eq(HttpMethod.POST), eq(8545), eq("node1"), eq("/rpc"), any(Handler.class));
+    verify(httpClient, times(3))
+        .request(eq(HttpMethod.POST), eq(8546), eq("node2"), eq("/rpc"), any(Handler.class));
+    verify(request, times(6)).setTimeout(TIMEOUT.toMillis());
+    verify(request, times(6)).end(DownstreamHealthChecker.PROBE);
+  }
+
+  @Test
+  void connectionsAreDividedAmongstClients() {
+    // e.g. two server instances, each with three clients to the pool
+    assertThat(ConnectionWarmer.connectionsPerClient(12, 6, 10)).isEqualTo(2);
+    assertThat(ConnectionWarmer.connectionsPerClient(13, 6, 10)).isEqualTo(3);
+    assertThat(ConnectionWarmer.connectionsPerClient(1, 6, 10)).isEqualTo(1);
+    assertThat(ConnectionWarmer.connectionsPerClient(0, 6, 10)).isZero();
+  }
+
+  @Test
+  void connectionsPerClientAreLimitedToItsPoolSize() {
+    assertThat(ConnectionWarmer.connectionsPerClient(60, 3, 5)).isEqualTo(5);
+  }
+}
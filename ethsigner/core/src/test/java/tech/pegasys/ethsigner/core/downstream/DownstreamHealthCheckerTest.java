@@ -0,0 +1,132 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.downstream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.DownstreamPathCalculator;
+
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.List;
+
+import com.google.common.net.HostAndPort;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientRequest;
+import io.vertx.core.http.HttpClientResponse;
+import io.vertx.core.http.HttpMethod;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class DownstreamHealthCheckerTest {
+
+  private static final Duration INTERVAL = Duration.ofSeconds(10);
+  private static final Duration TIMEOUT = Duration.ofSeconds(2);
+
+  private final Vertx vertx = mock(Vertx.class);
+  private final HttpClient httpClient = mock(HttpClient.class);
+  private final HttpClientRequest request = mock(HttpClientRequest.class);
+  private final DownstreamNodes downstreamNodes = mock(DownstreamNodes.class);
+  private final DownstreamNode node = new DownstreamNode(HostAndPort.fromParts("node1", 8545), 100);
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  void setup() {
+    when(downstreamNodes.nodes()).thenReturn(List.of(node));
+    when(httpClient.request(
+            any(HttpMethod.class), anyInt(), anyString(), anyString(), any(Handler.class)))
+        .thenReturn(request);
+
+    new DownstreamHealthChecker(
+            vertx,
+            httpClient,
+            downstreamNodes,
+            new DownstreamPathCalculator("/rpc"),
+            INTERVAL,
+            TIMEOUT)
+        .start();
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void eachNodeIsProbedWithTimeoutAtInterval() {
+    probe();
+
+    verify(httpClient)
+        .request(eq(HttpMethod.POST), eq(8545), eq("node1"), eq("/rpc"), any(Handler.class));
+    verify(request).setTimeout(TIMEOUT.toMillis());
+    verify(request).end(DownstreamHealthChecker.PROBE);
+  }
+
+  @Test
+  void successfulProbeIsReported() {
+    probe();
+
+    respond(200);
+
+    verify(downstreamNodes).healthCheckSucceeded(node);
+    verify(downstreamNodes, never()).healthCheckFailed(node);
+  }
+
+  @Test
+  void errorStatusIsReportedAsFailure() {
+    probe();
+
+    respond(503);
+
+    verify(downstreamNodes).healthCheckFailed(node);
+    verify(downstreamNodes, never()).healthCheckSucceeded(node);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void probeWhichFailsToConnectOrTimesOutIsReportedAsFailure() {
+    probe();
+
+    final ArgumentCaptor<Handler<Throwable>> exceptionHandler =
+        ArgumentCaptor.forClass(Handler.class);
+    verify(request).exceptionHandler(exceptionHandler.capture());
+    exceptionHandler.getValue().handle(new ConnectException("refused"));
+
+    verify(downstreamNodes).healthCheckFailed(node);
+  }
+
+  @SuppressWarnings("unchecked")
+  private void probe() {
+    final ArgumentCaptor<Handler<Long>> timer = ArgumentCaptor.forClass(Handler.class);
+    verify(vertx).setPeriodic(eq(INTERVAL.toMillis()), timer.capture());
+    timer.getValue().handle(1L);
+  }
+
+  @SuppressWarnings("unchecked")
+  private void respond(final int statusCode) {
+    final ArgumentCaptor<Handler<HttpClientResponse>> responseHandler =
+        ArgumentCaptor.forClass(Handler.class);
+    verify(httpClient)
+        .request(
+            any(HttpMethod.class), anyInt(), anyString(), anyString(), responseHandler.capture());
+    final HttpClientResponse response = mock(HttpClientResponse.class);
+    when(response.statusCode()).thenReturn(statusCode);
+    responseHandler.getValue().handle(response);
+  }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.downstream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static tech.pegasys.ethsigner.core.downstream.DownstreamNodes.EJECTION_PERIOD;
+import static tech.pegasys.ethsigner.core.downstream.DownstreamNodes.EJECTION_THRESHOLD;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+
+import com.google.common.net.HostAndPort;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class DownstreamNodesTest {
+
+  private static final String SENDER = "0x7577919ae5df4941180eac211965f275cdce314d";
+
+  private final Clock clock = mock(Clock.class);
+  private DownstreamNodes downstreamNodes;
+  private DownstreamNode first;
+  private DownstreamNode second;
+
+  @BeforeEach
+  public void setup() {
+    when(clock.millis()).thenReturn(1_000L);
+    downstreamNodes =
+        new DownstreamNodes(
+            "default",
+            List.of(HostAndPort.fromParts("node1", 8545), HostAndPort.fromParts("node2", 8545)),
+            new DownstreamMetrics(new NoOpMetricsSystem()),
+            Duration.ofMillis(100),
+            Duration.ofSeconds(5),
+            clock);
+    first = downstreamNodes.nodes().get(0);
+    second = downstreamNodes.nodes().get(1);
+  }
+
+  @Test
+  public void nodeWithFewerOutstandingRequestsIsSelected() {
+    complete(first, 10);
+    complete(second, 10);
+    first.requestStarted();
+
+    assertThat(downstreamNodes.select()).isSameAs(second);
+  }
+
+  @Test
+  public void nodeWithLowerLatencyIsSelected() {
+    complete(first, 200);
+    complete(second, 20);
+
+    assertThat(downstreamNodes.select()).isSameAs(second);
+  }
+
+  @Test
+  public void nodeWithoutLatencySamplesIsCostedAtInitialLatency() {
+    complete(first, 10);
+
+    assertThat(downstreamNodes.select()).isSameAs(first);
+  }
+
+  @Test
+  public void failureCountsTowardsLatencyBeforeEjection() {
+    complete(first, 10);
+    complete(second, 50);
+
+    fail(first, 1);
+
+    assertThat(downstreamNodes.select()).isSameAs(second);
+  }
+
+  @Test
+  public void failedHealthCheckCountsTowardsLatency() {
+    complete(first, 10);
+    complete(second, 50);
+
+    downstreamNodes.healthCheckFailed(first);
+
+    assertThat(downstreamNodes.select()).isSameAs(second);
+  }
+
+  @Test
+  public void nodeIsEjectedAfterConsecutiveFailures() {
+    complete(first, 10);
+    complete(second, 500);
+
+    fail(first, EJECTION_THRESHOLD);
+
+    assertThat(downstreamNodes.select()).isSameAs(second);
+  }
+
+  @Test
+  public void nodeIsSelectableAgainOnceEjectionPeriodHasElapsed() {
+    complete(first, 10);
+    complete(second, 500);
+    fail(first, EJECTION_THRESHOLD);
+
+    when(clock.millis()).thenReturn(1_000L + EJECTION_PERIOD.toMillis());
+
+    assertThat(downstreamNodes.select()).isSameAs(first);
+  }
+
+  @Test
+  public void successfulHealthCheckReinstatesNode() {
+    complete(first, 10);
+    complete(second, 500);
+    fail(first, EJECTION_THRESHOLD);
+
+    downstreamNodes.healthCheckSucceeded(first);
+
+    assertThat(downstreamNodes.select()).isSameAs(first);
+  }
+
+  @Test
+  public void allNodesAreSelectableWhenAllAreEjected() {
+    fail(first, EJECTION_THRESHOLD);
+    fail(second, EJECTION_THRESHOLD);
+
+    assertThat(downstreamNodes.select()).isIn(first, second);
+  }
+
+  @Test
+  public void senderIsPinnedToSameNodeRegardlessOfLoad() {
+    final DownstreamNode pinned = downstreamNodes.selectForSender(SENDER);
+    pinned.requestStarted();
+    pinned.requestStarted();
+
+    assertThat(downstreamNodes.selectForSender(SENDER)).isSameAs(pinned);
+    assertThat(downstreamNodes.selectForSender(SENDER.toUpperCase())).isSameAs(pinned);
+  }
+
+  @Test
+  public void senderMovesToAnotherNodeWhenItsNodeIsEjected() {
+    final DownstreamNode pinned = downstreamNodes.selectForSender(SENDER);
+    fail(pinned, EJECTION_THRESHOLD);
+
+    assertThat(downstreamNodes.selectForSender(SENDER)).isNotSameAs(pinned);
+  }
+
+  private void complete(final DownstreamNode node, final long latencyMillis) {
+    node.requestStarted();
+    downstreamNodes.requestSucceeded(node, latencyMillis);
+  }
+
+  private void fail(final DownstreamNode node, final int times) {
+    for (int i = 0; i < times; i++) {
+      node.requestStarted();
+      downstreamNodes.requestFailed(node);
+    }
+  }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.downstream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static tech.pegasys.ethsigner.core.downstream.DownstreamRoutingTable.DEFAULT_POOL;
+
+import tech.pegasys.ethsigner.core.InitializationException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import com.google.common.net.HostAndPort;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class DownstreamRoutingTableTest {
+
+  private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(5);
+
+  @TempDir Path tempDir;
+
+  @Test
+  public void methodsAreRoutedByExactMatchThenLongestPrefix() throws IOException {
+    final DownstreamRoutingTable routingTable =
+        load(
+            "[pools.archive]\n"
+                + "endpoints = [\"archive:8545\"]\n"
+                + "[pools.trace]\n"
+                + "endpoints = [\"trace:8545\"]\n"
+                + "[routes]\n"
+                + "eth_getLogs = \"archive\"\n"
+                + "\"trace_*\" = \"archive\"\n"
+                + "\"trace_block*\" = \"trace\"\n"
+                + "trace_blockHeader = \"default\"\n");
+
+    assertThat(routingTable.poolFor("eth_getLogs")).isEqualTo("archive");
+    assertThat(routingTable.poolFor("trace_transaction")).isEqualTo("archive");
+    assertThat(routingTable.poolFor("trace_block")).isEqualTo("trace");
+    assertThat(routingTable.poolFor("trace_blockHeader")).isEqualTo(DEFAULT_POOL);
+    assertThat(routingTable.poolFor("eth_sendRawTransaction")).isEqualTo(DEFAULT_POOL);
+  }
+
+  @Test
+  public void poolOptionsAreLoadedWithDefaults() throws IOException {
+    final DownstreamRoutingTable routingTable =
+        load(
+            "[pools.archive]\n"
+                + "endpoints = [\"archive-1:8545\", \"archive-2:8546\"]\n"
+                + "max-pool-size = 32\n"
+                + "[pools.submission]\n"
+                + "endpoints = [\"full:8545\"]\n"
+                + "timeout-ms = 1000\n"
+                + "[pools.trace]\n"
+                + "endpoints = [\"trace:8545\"]\n"
+                + "max-pool-size = 2\n"
+                + "[pools.priority]\n"
+                + "endpoints = [\"full:8545\"]\n"
+                + "transaction-pool-size = 8\n");
+
+    assertThat(routingTable.getPools())
+        .extracting(
+            DownstreamPool::getName,
+            DownstreamPool::getMaxPoolSize,
+            DownstreamPool::getTransactionPoolSize,
+            DownstreamPool::getRequestTimeout)
+        .containsExactlyInAnyOrder(
+            tuple("archive", 32, 3, DEFAULT_TIMEOUT),
+            tuple("submission", 5, 3, Duration.ofSeconds(1)),
+            tuple("trace", 2, 2, DEFAULT_TIMEOUT),
+            tuple("priority", 5, 8, DEFAULT_TIMEOUT));
+    assertThat(routingTable.getPools())
+        .filteredOn(pool -> pool.getName().equals("archive"))
+        .flatExtracting(DownstreamPool::getEndpoints)
+        .containsExactly(
+            HostAndPort.fromParts("archive-1", 8545), HostAndPort.fromParts("archive-2", 8546));
+  }
+
+  @Test
+  public void poolWithoutTransactionConnectionsIsRejected() {
+    final String toml =
+        "[pools.archive]\nendpoints = [\"archive:8545\"]\ntransaction-pool-size = 0\n";
+    assertThatThrownBy(() -> load(toml))
+        .isInstanceOf(InitializationException.class)
+        .hasMessageContaining("greater than 0");
+  }
+
+  @Test
+  public void routeToUnknownPoolIsRejected() {
+    assertThatThrownBy(() -> load("[routes]\neth_getLogs = \"archive\"\n"))
+        .isInstanceOf(InitializationException.class)
+        .hasMessageContaining("unknown pool archive");
+  }
+
+  @Test
+  public void poolWithoutEndpointsIsRejected() {
+    assertThatThrownBy(() -> load("[pools.archive]\nmax-pool-size = 4\n"))
+        .isInstanceOf(InitializationException.class)
+        .hasMessageContaining("at least one endpoint");
+  }
+
+  @Test
+  public void endpointWithoutPortIsRejected() {
+    assertThatThrownBy(() -> load("[pools.archive]\nendpoints = [\"archive\"]\n"))
+        .isInstanceOf(InitializationException.class)
+        .hasMessageContaining("has no port");
+  }
+
+  @Test
+  public void emptyTableRoutesAllMethodsToDefaultPool() {
+    assertThat(DownstreamRoutingTable.empty().poolFor("eth_getLogs")).isEqualTo(DEFAULT_POOL);
+  }
+
+  private DownstreamRoutingTable load(final String toml) throws IOException {
+    final Path file = tempDir.resolve("routing.toml");
+    Files.writeString(file, toml, StandardCharsets.UTF_8);
+    return DownstreamRoutingTable.fromToml(file, 5, 3, DEFAULT_TIMEOUT);
+  }
+}
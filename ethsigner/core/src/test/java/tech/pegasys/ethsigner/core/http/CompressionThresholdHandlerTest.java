@@ -0,0 +1,95 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.http;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.net.HttpHeaders;
+import io.vertx.core.Handler;
+import io.vertx.core.MultiMap;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.http.impl.headers.VertxHttpHeaders;
+import io.vertx.ext.web.RoutingContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class CompressionThresholdHandlerTest {
+
+  private final RoutingContext context = mock(RoutingContext.class);
+  private final HttpServerResponse response = mock(HttpServerResponse.class);
+  private final MultiMap headers = new VertxHttpHeaders();
+
+  @BeforeEach
+  void setup() {
+    when(context.response()).thenReturn(response);
+    when(response.headers()).thenReturn(headers);
+  }
+
+  @Test
+  void responseSmallerThanMinimumIsNotCompressed() {
+    headers.add(HttpHeaders.CONTENT_LENGTH, "1023");
+
+    endHeaders(1024);
+
+    assertThat(headers.get(HttpHeaders.CONTENT_ENCODING)).isEqualTo("identity");
+  }
+
+  @Test
+  void responseOfMinimumSizeMayBeCompressed() {
+    headers.add(HttpHeaders.CONTENT_LENGTH, "1024");
+
+    endHeaders(1024);
+
+    assertThat(headers.contains(HttpHeaders.CONTENT_ENCODING)).isFalse();
+  }
+
+  @Test
+  void chunkedResponseMayBeCompressed() {
+    endHeaders(1024);
+
+    assertThat(headers.contains(HttpHeaders.CONTENT_ENCODING)).isFalse();
+  }
+
+  @Test
+  void responseWithMalformedContentLengthMayBeCompressed() {
+    headers.add(HttpHeaders.CONTENT_LENGTH, "12abc");
+
+    endHeaders(1024);
+
+    assertThat(headers.contains(HttpHeaders.CONTENT_ENCODING)).isFalse();
+  }
+
+  @Test
+  void existingContentEncodingIsRetained() {
+    headers.add(HttpHeaders.CONTENT_LENGTH, "10");
+    headers.add(HttpHeaders.CONTENT_ENCODING, "gzip");
+
+    endHeaders(1024);
+
+    assertThat(headers.get(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+  }
+
+  @SuppressWarnings("unchecked")
+  private void endHeaders(final long minimumSize) {
+    new CompressionThresholdHandler(minimumSize).handle(context);
+
+    final ArgumentCaptor<Handler<Void>> headersEndHandler = ArgumentCaptor.forClass(Handler.class);
+    verify(context).addHeadersEndHandler(headersEndHandler.capture());
+    verify(context).next();
+    headersEndHandler.getValue().handle(null);
+  }
+}
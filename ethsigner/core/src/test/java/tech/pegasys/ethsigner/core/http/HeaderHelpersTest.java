@@ -46,6 +46,58 @@ class HeaderHelpersTest {
     assertThat(output.get(headerToRemove)).isNull();
   }
 
+  @ParameterizedTest
+  @ValueSource(strings = {"Connection", "keep-alive", "Transfer-Encoding", "TE", "Upgrade"})
+  void hopByHopHeaderIsRemoved(String headerToRemove) {
+    final MultiMap input = new VertxHttpHeaders();
+    input.add(headerToRemove, "arbitrary");
+    final MultiMap output = HeaderHelpers.createHeaders(input);
+
+    assertThat(output.get(headerToRemove)).isNull();
+  }
+
+  @ParameterizedTest
+  @ValueSource(
+      strings = {
+        "Connection", "Keep-Alive", "proxy-connection", "TE", "transfer-encoding", "UPGRADE"
+      })
+  void hopByHopHeaderIsIdentified(String header) {
+    assertThat(HeaderHelpers.isHopByHopHeader(header)).isTrue();
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"Content-Type", "Content-Encoding", "Vary"})
+  void endToEndHeaderIsNotHopByHop(String header) {
+    assertThat(HeaderHelpers.isHopByHopHeader(header)).isFalse();
+  }
+
+  @Test
+  void webSocketHeadersOfUpgradeRequestAreRemoved() {
+    final MultiMap input = new VertxHttpHeaders();
+    input.add(HttpHeaders.CONNECTION, "Upgrade");
+    input.add(HttpHeaders.UPGRADE, "websocket");
+    input.add("Sec-WebSocket-Key", "dGhlIHNhbXBsZSBub25jZQ==");
+    input.add("Sec-WebSocket-Version", "13");
+    input.add("sec-websocket-extensions", "permessage-deflate");
+    input.add(HttpHeaders.AUTHORIZATION, "Bearer token");
+
+    final MultiMap output = HeaderHelpers.createHeaders(input);
+
+    assertThat(output.names()).containsExactly(HttpHeaders.AUTHORIZATION);
+  }
+
+  @Test
+  void http2PseudoHeadersAreRemoved() {
+    final MultiMap input = new VertxHttpHeaders();
+    input.add(":path", "/");
+    input.add(":authority", "arbitrary");
+    input.add(HttpHeaders.CONTENT_TYPE, "application/json");
+
+    final MultiMap output = HeaderHelpers.createHeaders(input);
+
+    assertThat(output.names()).containsExactly(HttpHeaders.CONTENT_TYPE);
+  }
+
   @Test
   void hostHeaderIsRenamedToXForwardedHost() {
     final MultiMap input = new VertxHttpHeaders();
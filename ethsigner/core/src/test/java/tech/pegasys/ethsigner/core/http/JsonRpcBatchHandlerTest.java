@@ -0,0 +1,181 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.http;
+
+import static java.util.Collections.emptyList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import tech.pegasys.ethsigner.core.jsonrpc.JsonDecoder;
+import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequest;
+import tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcError;
+import tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcErrorResponse;
+import tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcSuccessResponse;
+import tech.pegasys.ethsigner.core.requesthandler.DownstreamResponseHandler;
+import tech.pegasys.ethsigner.core.requesthandler.JsonRpcRequestHandler;
+import tech.pegasys.ethsigner.core.requesthandler.JsonRpcResponder;
+import tech.pegasys.ethsigner.core.requesthandler.passthrough.PassThroughHandler;
+
+import java.util.Optional;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.RoutingContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class JsonRpcBatchHandlerTest {
+
+  private static final String TRANSACTION_HASH =
+      "0x2ba3c7ef2f62e4cbcb6d3a1a1e4e3bd8d4a4d3b0a7d8c1e38d2d3c0ee2c3a2b1";
+
+  private final HttpResponseFactory responseFactory = mock(HttpResponseFactory.class);
+  private final PassThroughHandler passThroughHandler = mock(PassThroughHandler.class);
+  private final JsonRpcRequestHandler sendTransactionHandler = mock(JsonRpcRequestHandler.class);
+  private final RoutingContext context = mock(RoutingContext.class);
+
+  private JsonRpcBatchHandler batchHandler;
+
+  @BeforeEach
+  void setup() {
+    final RequestMapper requestMapper = new RequestMapper(passThroughHandler);
+    requestMapper.addHandler("eth_sendTransaction", sendTransactionHandler);
+    batchHandler =
+        new JsonRpcBatchHandler(
+            responseFactory,
+            requestMapper,
+            passThroughHandler,
+            new JsonDecoder(new ObjectMapper()),
+            3);
+
+    doAnswer(
+            invocation -> {
+              final JsonRpcRequest request = invocation.getArgument(1);
+              final JsonRpcResponder responder = invocation.getArgument(2);
+              responder.respond(200, new JsonRpcSuccessResponse(request.getId(), TRANSACTION_HASH));
+              return null;
+            })
+        .when(sendTransactionHandler)
+        .handle(any(), any(), any());
+  }
+
+  @Test
+  void sendTransactionInBatchIsSignedWhileRemainingElementsAreForwarded() {
+    doAnswer(
+            invocation -> {
+              final DownstreamResponseHandler handler = invocation.getArgument(2);
+              handler.handleResponse(
+                  emptyList(), 200, new JsonArray().add(response(2, "0x10")).toBuffer());
+              return null;
+            })
+        .when(passThroughHandler)
+        .forward(any(), any(Buffer.class), any(DownstreamResponseHandler.class));
+
+    final JsonArray batch =
+        new JsonArray().add(sendTransaction(1)).add(request(2, "eth_blockNumber"));
+
+    final Optional<Buffer> response = batchHandler.process(context, batch).result();
+
+    final ArgumentCaptor<JsonRpcRequest> signed = ArgumentCaptor.forClass(JsonRpcRequest.class);
+    verify(sendTransactionHandler).handle(eq(context), signed.capture(), any());
+    assertThat(signed.getValue().getMethod()).isEqualTo("eth_sendTransaction");
+    assertThat(signed.getValue().getId().getValue()).isEqualTo(1);
+
+    final ArgumentCaptor<Buffer> forwarded = ArgumentCaptor.forClass(Buffer.class);
+    verify(passThroughHandler).forward(eq(context), forwarded.capture(), any());
+    assertThat(new JsonArray(forwarded.getValue()))
+        .isEqualTo(new JsonArray().add(request(2, "eth_blockNumber")));
+
+    assertThat(response).isPresent();
+    assertThat(new JsonArray(response.get()))
+        .isEqualTo(new JsonArray().add(response(1, TRANSACTION_HASH)).add(response(2, "0x10")));
+  }
+
+  @Test
+  void notificationsInBatchAreProcessedWithoutResponses() {
+    final JsonObject notification = sendTransaction(1);
+    notification.remove("id");
+    final JsonArray batch = new JsonArray().add(notification).add(sendTransaction(2));
+
+    final Optional<Buffer> response = batchHandler.process(context, batch).result();
+
+    verify(sendTransactionHandler, times(2)).handle(eq(context), any(), any());
+    verifyNoInteractions(passThroughHandler);
+    assertThat(response).isPresent();
+    assertThat(new JsonArray(response.get()))
+        .isEqualTo(new JsonArray().add(response(2, TRANSACTION_HASH)));
+  }
+
+  @Test
+  void batchOfOnlyNotificationsHasNoResponse() {
+    final JsonObject notification = sendTransaction(1);
+    notification.remove("id");
+
+    final Optional<Buffer> response =
+        batchHandler.process(context, new JsonArray().add(notification)).result();
+
+    verify(sendTransactionHandler).handle(eq(context), any(), any());
+    assertThat(response).isEmpty();
+  }
+
+  @Test
+  void batchExceedingMaxBatchSizeIsRejected() {
+    final HttpServerResponse httpResponse = mock(HttpServerResponse.class);
+    when(context.response()).thenReturn(httpResponse);
+    final JsonArray batch = new JsonArray();
+    for (int id = 1; id <= 4; id++) {
+      batch.add(sendTransaction(id));
+    }
+
+    batchHandler.handle(context, batch);
+
+    final ArgumentCaptor<JsonRpcErrorResponse> error =
+        ArgumentCaptor.forClass(JsonRpcErrorResponse.class);
+    verify(responseFactory).response(eq(httpResponse), eq(400), error.capture());
+    assertThat(error.getValue().getError()).isEqualTo(JsonRpcError.EXCEEDS_RPC_MAX_BATCH_SIZE);
+    verify(sendTransactionHandler, never()).handle(any(), any(), any());
+    verifyNoInteractions(passThroughHandler);
+  }
+
+  private static JsonObject sendTransaction(final int id) {
+    return request(id, "eth_sendTransaction")
+        .put(
+            "params",
+            new JsonArray()
+                .add(
+                    new JsonObject()
+                        .put("from", "0x7577919ae5df4941180eac211965f275cdce314d")
+                        .put("to", "0xd46e8dd67c5d32be8058bb8eb970870f07244567")
+                        .put("value", "0x1")));
+  }
+
+  private static JsonObject request(final int id, final String method) {
+    return new JsonObject().put("jsonrpc", "2.0").put("id", id).put("method", method);
+  }
+
+  private static JsonObject response(final int id, final String result) {
+    return new JsonObject().put("jsonrpc", "2.0").put("id", id).put("result", result);
+  }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.http;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.ext.web.RoutingContext;
+import org.junit.jupiter.api.Test;
+
+class UpcheckHandlerTest {
+
+  private final AtomicBoolean loaded = new AtomicBoolean(false);
+  private final AtomicBoolean failed = new AtomicBoolean(false);
+  private final UpcheckHandler handler = new UpcheckHandler(loaded::get, failed::get);
+
+  @Test
+  void reportsUnavailableUntilSignersAreLoaded() {
+    final HttpServerResponse loadingResponse = upcheck();
+    verify(loadingResponse).setStatusCode(503);
+    verify(loadingResponse).end("Loading signers");
+
+    loaded.set(true);
+
+    final HttpServerResponse loadedResponse = upcheck();
+    verify(loadedResponse, never()).setStatusCode(anyInt());
+    verify(loadedResponse).end("I'm up!");
+  }
+
+  @Test
+  void reportsFailureOnceSignerLoadingHasFailed() {
+    upcheck();
+    failed.set(true);
+
+    final HttpServerResponse response = upcheck();
+
+    verify(response).setStatusCode(500);
+    verify(response).end("Failed to load signers");
+  }
+
+  private HttpServerResponse upcheck() {
+    final HttpServerResponse response = mock(HttpServerResponse.class);
+    when(response.setStatusCode(anyInt())).thenReturn(response);
+    final RoutingContext routingContext = mock(RoutingContext.class);
+    when(routingContext.response()).thenReturn(response);
+    handler.handle(routingContext);
+    return response;
+  }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.http;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import tech.pegasys.ethsigner.core.jsonrpc.JsonDecoder;
+import tech.pegasys.ethsigner.core.jsonrpc.exception.JsonRpcException;
+import tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcError;
+import tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcSuccessResponse;
+import tech.pegasys.ethsigner.core.requesthandler.JsonRpcRequestHandler;
+import tech.pegasys.ethsigner.core.requesthandler.JsonRpcResponder;
+import tech.pegasys.ethsigner.core.requesthandler.StreamingJsonRpcRequestHandler;
+import tech.pegasys.ethsigner.core.requesthandler.passthrough.DownstreamWebSocket;
+import tech.pegasys.ethsigner.core.requesthandler.passthrough.DownstreamWebSocketFactory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.net.HttpHeaders;
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.ServerWebSocket;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.RoutingContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class WebSocketJsonRpcHandlerTest {
+
+  private static final String SEND_TRANSACTION =
+      "{\"jsonrpc\":\"2.0\",\"method\":\"eth_sendTransaction\",\"params\":[],\"id\":3}";
+  private static final String SUBSCRIBE =
+      "{\"jsonrpc\":\"2.0\",\"method\":\"eth_subscribe\",\"params\":[\"newHeads\"],\"id\":7}";
+
+  private final StreamingJsonRpcRequestHandler passThroughHandler =
+      mock(StreamingJsonRpcRequestHandler.class);
+  private final JsonRpcRequestHandler sendTransactionHandler = mock(JsonRpcRequestHandler.class);
+  private final DownstreamWebSocketFactory downstreamWebSocketFactory =
+      mock(DownstreamWebSocketFactory.class);
+  private final DownstreamWebSocket downstreamWebSocket = mock(DownstreamWebSocket.class);
+  private final RoutingContext context = mock(RoutingContext.class);
+  private final HttpServerRequest request = mock(HttpServerRequest.class);
+  private final ServerWebSocket socket = mock(ServerWebSocket.class);
+  private WebSocketJsonRpcHandler handler;
+
+  @BeforeEach
+  void setup() {
+    final RequestMapper requestMapper = new RequestMapper(passThroughHandler);
+    requestMapper.addHandler("eth_sendTransaction", sendTransactionHandler);
+    handler =
+        new WebSocketJsonRpcHandler(
+            requestMapper,
+            new JsonDecoder(new ObjectMapper()),
+            mock(JsonRpcBatchHandler.class),
+            downstreamWebSocketFactory);
+
+    when(context.request()).thenReturn(request);
+    when(request.upgrade()).thenReturn(socket);
+    when(downstreamWebSocketFactory.create(eq(socket), any())).thenReturn(downstreamWebSocket);
+  }
+
+  @Test
+  void requestWithoutUpgradeIsPassedToNextHandler() {
+    handler.handle(context);
+
+    verify(context).next();
+    verify(request, never()).upgrade();
+  }
+
+  @Test
+  void forwardedRequestIsSentOverDownstreamWebSocket() {
+    receive(SUBSCRIBE);
+
+    verify(downstreamWebSocket).send(Buffer.buffer(SUBSCRIBE));
+    verify(passThroughHandler, never()).handle(any(), any(), any());
+  }
+
+  @Test
+  void responseToInterceptedRequestIsWrittenToSocket() {
+    doAnswer(
+            invocation -> {
+              final JsonRpcResponder responder = invocation.getArgument(2);
+              responder.respond(200, new JsonRpcSuccessResponse(3, "0x1234"));
+              return null;
+            })
+        .when(sendTransactionHandler)
+        .handle(eq(context), any(), any());
+
+    receive(SEND_TRANSACTION);
+
+    final JsonObject response = writtenMessage();
+    assertThat(response.getInteger("id")).isEqualTo(3);
+    assertThat(response.getString("result")).isEqualTo("0x1234");
+    verify(downstreamWebSocket, never()).send(any());
+  }
+
+  @Test
+  void malformedMessageIsAnsweredWithParseError() {
+    receive("{\"jsonrpc\":");
+
+    assertThat(writtenMessage().getJsonObject("error").getInteger("code"))
+        .isEqualTo(JsonRpcError.PARSE_ERROR.getCode());
+  }
+
+  @Test
+  void unexpectedExceptionIsAnsweredWithInternalErrorForRequest() {
+    doThrow(new IllegalStateException("unexpected"))
+        .when(sendTransactionHandler)
+        .handle(any(), any(), any());
+
+    receive(SEND_TRANSACTION);
+
+    final JsonObject response = writtenMessage();
+    assertThat(response.getInteger("id")).isEqualTo(3);
+    assertThat(response.getJsonObject("error").getInteger("code"))
+        .isEqualTo(JsonRpcError.INTERNAL_ERROR.getCode());
+  }
+
+  @Test
+  void jsonRpcExceptionIsAnsweredWithItsErrorForRequest() {
+    doThrow(new JsonRpcException(JsonRpcError.INVALID_PARAMS))
+        .when(sendTransactionHandler)
+        .handle(any(), any(), any());
+
+    receive(SEND_TRANSACTION);
+
+    final JsonObject response = writtenMessage();
+    assertThat(response.getInteger("id")).isEqualTo(3);
+    assertThat(response.getJsonObject("error").getInteger("code"))
+        .isEqualTo(JsonRpcError.INVALID_PARAMS.getCode());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void binaryMessageClosesSocket() {
+    when(request.getHeader(HttpHeaders.UPGRADE)).thenReturn("websocket");
+    handler.handle(context);
+    final ArgumentCaptor<Handler<Buffer>> messageHandler = ArgumentCaptor.forClass(Handler.class);
+    verify(socket).binaryMessageHandler(messageHandler.capture());
+
+    messageHandler.getValue().handle(Buffer.buffer(SUBSCRIBE));
+
+    verify(socket).close(eq((short) 1003), any());
+    verify(downstreamWebSocket, never()).send(any());
+  }
+
+  @SuppressWarnings("unchecked")
+  private void receive(final String message) {
+    when(request.getHeader(HttpHeaders.UPGRADE)).thenReturn("websocket");
+    handler.handle(context);
+    final ArgumentCaptor<Handler<String>> messageHandler = ArgumentCaptor.forClass(Handler.class);
+    verify(socket).textMessageHandler(messageHandler.capture());
+    messageHandler.getValue().handle(message);
+  }
+
+  private JsonObject writtenMessage() {
+    final ArgumentCaptor<String> message = ArgumentCaptor.forClass(String.class);
+    verify(socket).writeTextMessage(message.capture());
+    return new JsonObject(message.getValue());
+  }
+}
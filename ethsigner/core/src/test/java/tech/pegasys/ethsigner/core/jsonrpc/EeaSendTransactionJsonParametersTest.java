@@ -24,9 +24,11 @@ import java.util.Optional;
 
 import io.vertx.core.json.DecodeException;
 import io.vertx.core.json.JsonObject;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.web3j.utils.Base64String;
+import org.web3j.utils.Numeric;
 
 public class EeaSendTransactionJsonParametersTest {
 
@@ -35,7 +37,9 @@ public class EeaSendTransactionJsonParametersTest {
   @BeforeEach
   public void setup() {
     // NOTE: the factory has been configured as per its use in the application.
-    factory = new TransactionFactory(EthSigner.createJsonDecoder(), null);
+    factory =
+        new TransactionFactory(
+            EthSigner.createJsonDecoder(), null, Optional.empty(), NoOpMetricsSystem.NO_OP_COUNTER);
   }
 
   @Test
@@ -155,6 +159,49 @@ public class EeaSendTransactionJsonParametersTest {
     assertThat(txnParams.receiver()).contains("invalidToAddress");
   }
 
+  @Test
+  public void quantitiesAndDataAreDecodedToBytes() {
+    final JsonObject parameters = validEeaTransactionParameters();
+
+    final JsonRpcRequest request = wrapParametersInRequest(parameters);
+    final EeaSendTransactionJsonParameters txnParams =
+        factory.fromRpcRequestToJsonParam(EeaSendTransactionJsonParameters.class, request);
+
+    assertThat(txnParams.gasBytes()).isEqualTo(new byte[] {0x76, (byte) 0xc0});
+    assertThat(txnParams.gasPriceBytes())
+        .isEqualTo(Numeric.hexStringToByteArray(parameters.getString("gasPrice")));
+    assertThat(txnParams.valueBytes()).isEmpty();
+    assertThat(txnParams.dataBytes())
+        .isEqualTo(Numeric.hexStringToByteArray(parameters.getString("data")));
+    assertThat(txnParams.data()).contains(parameters.getString("data"));
+  }
+
+  @Test
+  public void dataContainingNonHexDigitFails() {
+    final JsonObject parameters = validEeaTransactionParameters();
+    parameters.put("data", "0xd46e8dd67c5d32be8g");
+
+    final JsonRpcRequest request = wrapParametersInRequest(parameters);
+
+    assertThatExceptionOfType(DecodeException.class)
+        .isThrownBy(
+            () ->
+                factory.fromRpcRequestToJsonParam(EeaSendTransactionJsonParameters.class, request));
+  }
+
+  @Test
+  public void dataWithoutHexPrefixFails() {
+    final JsonObject parameters = validEeaTransactionParameters();
+    parameters.put("data", "d46e8dd67c5d32be8058bb8eb970870f072445675");
+
+    final JsonRpcRequest request = wrapParametersInRequest(parameters);
+
+    assertThatExceptionOfType(DecodeException.class)
+        .isThrownBy(
+            () ->
+                factory.fromRpcRequestToJsonParam(EeaSendTransactionJsonParameters.class, request));
+  }
+
   private Optional<BigInteger> getStringAsOptionalBigInteger(
       final JsonObject object, final String key) {
     final String value = object.getString(key);
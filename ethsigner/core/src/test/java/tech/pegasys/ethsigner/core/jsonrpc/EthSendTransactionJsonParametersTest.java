@@ -13,16 +13,22 @@
 package tech.pegasys.ethsigner.core.jsonrpc;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcError.INVALID_PARAMS;
 
 import tech.pegasys.ethsigner.core.EthSigner;
+import tech.pegasys.ethsigner.core.jsonrpc.exception.JsonRpcException;
 import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.transaction.TransactionFactory;
 
 import java.math.BigInteger;
 import java.util.Optional;
 
+import io.vertx.core.json.DecodeException;
 import io.vertx.core.json.JsonObject;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.web3j.utils.Numeric;
 
 public class EthSendTransactionJsonParametersTest {
 
@@ -31,7 +37,9 @@ public class EthSendTransactionJsonParametersTest {
   @BeforeEach
   public void setup() {
     // NOTE: the factory has been configured as per its use in the application.
-    factory = new TransactionFactory(EthSigner.createJsonDecoder(), null);
+    factory =
+        new TransactionFactory(
+            EthSigner.createJsonDecoder(), null, Optional.empty(), NoOpMetricsSystem.NO_OP_COUNTER);
   }
 
   private Optional<BigInteger> getStringAsOptionalBigInteger(
@@ -96,6 +104,85 @@ public class EthSendTransactionJsonParametersTest {
     assertThat(txnParams.receiver()).contains("invalidToAddress");
   }
 
+  @Test
+  public void quantitiesAndDataAreDecodedToBytes() {
+    final JsonObject parameters = validEthTransactionParameters();
+    parameters.put("value", "0x00de0b6b3a7640000000");
+
+    final JsonRpcRequest request = wrapParametersInRequest(parameters);
+    final EthSendTransactionJsonParameters txnParams =
+        factory.fromRpcRequestToJsonParam(EthSendTransactionJsonParameters.class, request);
+
+    assertThat(txnParams.gasBytes()).isEqualTo(new byte[] {0x76, (byte) 0xc0});
+    assertThat(txnParams.valueBytes())
+        .isEqualTo(Numeric.hexStringToByteArray("0xde0b6b3a7640000000"));
+    assertThat(txnParams.value()).contains(new BigInteger("de0b6b3a7640000000", 16));
+    assertThat(txnParams.dataBytes())
+        .isEqualTo(Numeric.hexStringToByteArray(parameters.getString("data")));
+    assertThat(txnParams.data()).contains(parameters.getString("data"));
+  }
+
+  @Test
+  public void zeroQuantityIsDecodedToEmptyBytes() {
+    final JsonObject parameters = validEthTransactionParameters();
+    parameters.put("value", "0x0");
+
+    final JsonRpcRequest request = wrapParametersInRequest(parameters);
+    final EthSendTransactionJsonParameters txnParams =
+        factory.fromRpcRequestToJsonParam(EthSendTransactionJsonParameters.class, request);
+
+    assertThat(txnParams.valueBytes()).isEmpty();
+    assertThat(txnParams.value()).contains(BigInteger.ZERO);
+  }
+
+  @Test
+  public void dataContainingNonHexDigitFails() {
+    final JsonObject parameters = validEthTransactionParameters();
+    parameters.put("data", "0xd46e8dd67c5d32be8g");
+
+    final JsonRpcRequest request = wrapParametersInRequest(parameters);
+
+    assertThatExceptionOfType(DecodeException.class)
+        .isThrownBy(
+            () ->
+                factory.fromRpcRequestToJsonParam(EthSendTransactionJsonParameters.class, request));
+  }
+
+  @Test
+  public void dataWithoutHexPrefixFails() {
+    final JsonObject parameters = validEthTransactionParameters();
+    parameters.put("data", "d46e8dd67c5d32be8058bb8eb970870f072445675");
+
+    final JsonRpcRequest request = wrapParametersInRequest(parameters);
+
+    assertThatExceptionOfType(DecodeException.class)
+        .isThrownBy(
+            () ->
+                factory.fromRpcRequestToJsonParam(EthSendTransactionJsonParameters.class, request));
+  }
+
+  @Test
+  public void dataSetWithoutHexPrefixFails() {
+    final EthSendTransactionJsonParameters txnParams =
+        new EthSendTransactionJsonParameters("0xb60e8dd61c5d32be8058bb8eb970870f07233155");
+
+    assertThatExceptionOfType(JsonRpcException.class)
+        .isThrownBy(() -> txnParams.data("d46e8dd67c5d32be8058bb8eb970870f072445675"))
+        .matches(e -> e.getJsonRpcError() == INVALID_PARAMS);
+  }
+
+  @Test
+  public void emptyDataIsDecodedToEmptyBytes() {
+    final JsonObject parameters = validEthTransactionParameters();
+    parameters.put("data", "0x");
+
+    final JsonRpcRequest request = wrapParametersInRequest(parameters);
+    final EthSendTransactionJsonParameters txnParams =
+        factory.fromRpcRequestToJsonParam(EthSendTransactionJsonParameters.class, request);
+
+    assertThat(txnParams.dataBytes()).isEmpty();
+  }
+
   private JsonObject validEthTransactionParameters() {
     final JsonObject parameters = new JsonObject();
     parameters.put("from", "0xb60e8dd61c5d32be8058bb8eb970870f07233155");
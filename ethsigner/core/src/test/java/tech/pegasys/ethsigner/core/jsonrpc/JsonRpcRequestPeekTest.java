@@ -0,0 +1,78 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.jsonrpc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigInteger;
+import java.util.Optional;
+
+import io.vertx.core.buffer.Buffer;
+import org.junit.jupiter.api.Test;
+
+public class JsonRpcRequestPeekTest {
+
+  @Test
+  public void methodAndIdAreReadRegardlessOfFieldOrder() {
+    final Optional<JsonRpcRequestPeek> peek =
+        peek(
+            "{\"params\":[{\"address\":\"0x1\",\"topics\":[[\"0x2\"]]}],\"id\":7,"
+                + "\"method\":\"eth_getLogs\",\"jsonrpc\":\"2.0\"}");
+
+    assertThat(peek).isPresent();
+    assertThat(peek.get().getMethod()).isEqualTo("eth_getLogs");
+    assertThat(peek.get().getId()).isEqualTo(new JsonRpcRequestId(7));
+  }
+
+  @Test
+  public void idTypesMatchDecodedRequest() {
+    assertThat(peek("{\"jsonrpc\":\"2.0\",\"method\":\"m\",\"id\":\"abc\"}").get().getId())
+        .isEqualTo(new JsonRpcRequestId("abc"));
+    assertThat(peek("{\"jsonrpc\":\"2.0\",\"method\":\"m\",\"id\":1.5}").get().getId())
+        .isEqualTo(new JsonRpcRequestId(1.5d));
+    assertThat(
+            peek("{\"jsonrpc\":\"2.0\",\"method\":\"m\",\"id\":123456789012345678901234}")
+                .get()
+                .getId())
+        .isEqualTo(new JsonRpcRequestId(new BigInteger("123456789012345678901234")));
+    assertThat(peek("{\"jsonrpc\":\"2.0\",\"method\":\"m\",\"id\":null}").get().getId())
+        .isEqualTo(new JsonRpcRequestId(null));
+    assertThat(peek("{\"jsonrpc\":\"2.0\",\"method\":\"m\"}").get().getId())
+        .isEqualTo(new JsonRpcRequestId(null));
+  }
+
+  @Test
+  public void numericVersionIsAccepted() {
+    assertThat(peek("{\"jsonrpc\":2.0,\"method\":\"m\",\"id\":1}")).isPresent();
+  }
+
+  @Test
+  public void requestsRequiringFullDecodingAreNotPeeked() {
+    assertThat(peek("{\"method\":\"m\",\"id\":1}")).isEmpty();
+    assertThat(peek("{\"jsonrpc\":\"2.0\",\"id\":1}")).isEmpty();
+    assertThat(peek("{\"jsonrpc\":\"2.0\",\"method\":5,\"id\":1}")).isEmpty();
+    assertThat(peek("{\"jsonrpc\":\"2.0\",\"method\":\"m\",\"id\":{\"a\":1}}")).isEmpty();
+    assertThat(peek("[{\"jsonrpc\":\"2.0\",\"method\":\"m\",\"id\":1}]")).isEmpty();
+  }
+
+  @Test
+  public void malformedJsonIsNotPeeked() {
+    assertThat(peek("{\"jsonrpc\":\"2.0\",\"method\":\"m\",\"id\":1")).isEmpty();
+    assertThat(peek("{\"jsonrpc\":\"2.0\",\"method\":\"m\",\"id\":1}}")).isEmpty();
+    assertThat(peek("not json")).isEmpty();
+  }
+
+  private Optional<JsonRpcRequestPeek> peek(final String body) {
+    return JsonRpcRequestPeek.peek(Buffer.buffer(body));
+  }
+}
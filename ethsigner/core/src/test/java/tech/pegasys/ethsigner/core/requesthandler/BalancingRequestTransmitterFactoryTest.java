@@ -0,0 +1,184 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.requesthandler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import tech.pegasys.ethsigner.core.downstream.ConnectionWaitQueue;
+import tech.pegasys.ethsigner.core.downstream.DownstreamMetrics;
+import tech.pegasys.ethsigner.core.downstream.DownstreamNodes;
+import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.DownstreamPathCalculator;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import com.google.common.net.HostAndPort;
+import io.vertx.core.Context;
+import io.vertx.core.MultiMap;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.http.HttpServerRequest;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BalancingRequestTransmitterFactoryTest {
+
+  private static final String SENDER = "0x7577919ae5df4941180eac211965f275cdce314d";
+  private static final Duration TIMEOUT = Duration.ofSeconds(30);
+  private static final String READ = "{\"jsonrpc\":\"2.0\",\"id\":1,\"method\":\"eth_getLogs\"}";
+  private static final String TRANSACTION =
+      "{\"jsonrpc\":\"2.0\",\"id\":2,\"method\":\"eth_sendRawTransaction\"}";
+  private static final String RESULT = "{\"jsonrpc\":\"2.0\",\"id\":2,\"result\":\"0x1\"}";
+
+  private final Vertx vertx = Vertx.vertx();
+  private final Context context = vertx.getOrCreateContext();
+  private final DownstreamMetrics downstreamMetrics =
+      new DownstreamMetrics(new NoOpMetricsSystem());
+  // the bodies of the requests received by the downstream node, in order of receipt
+  private final List<String> received = new CopyOnWriteArrayList<>();
+  // requests are answered by the test, so they remain in flight until then
+  private final List<HttpServerRequest> unanswered = new CopyOnWriteArrayList<>();
+  private final ConnectionWaitQueue readWaitQueue =
+      new ConnectionWaitQueue("default", "passthrough", downstreamMetrics);
+  private HttpServer server;
+  private BalancingRequestTransmitterFactory readTransmitterFactory;
+  private BalancingRequestTransmitterFactory transactionTransmitterFactory;
+
+  @BeforeEach
+  void setup() throws Exception {
+    final CompletableFuture<HttpServer> listening = new CompletableFuture<>();
+    vertx
+        .createHttpServer()
+        .requestHandler(
+            request ->
+                request.bodyHandler(
+                    body -> {
+                      received.add(body.toString());
+                      unanswered.add(request);
+                    }))
+        .listen(0, "localhost", result -> listening.complete(result.result()));
+    server = listening.get(5, TimeUnit.SECONDS);
+
+    final DownstreamNodes downstreamNodes =
+        new DownstreamNodes(
+            "default",
+            List.of(HostAndPort.fromParts("localhost", server.actualPort())),
+            downstreamMetrics,
+            Duration.ofMillis(100),
+            TIMEOUT);
+    final DownstreamPathCalculator pathCalculator = new DownstreamPathCalculator("/");
+    readTransmitterFactory =
+        new BalancingRequestTransmitterFactory(
+            vertx.createHttpClient(new HttpClientOptions().setMaxPoolSize(1)),
+            downstreamNodes,
+            readWaitQueue,
+            TIMEOUT,
+            pathCalculator);
+    transactionTransmitterFactory =
+        new BalancingRequestTransmitterFactory(
+            vertx.createHttpClient(new HttpClientOptions().setMaxPoolSize(1)),
+            downstreamNodes,
+            new ConnectionWaitQueue("default", "transaction", downstreamMetrics),
+            TIMEOUT,
+            pathCalculator);
+  }
+
+  @AfterEach
+  void tearDown() {
+    vertx.close();
+  }
+
+  @Test
+  void transactionIsNotQueuedBehindSaturatedReads() throws Exception {
+    for (int i = 0; i < 3; i++) {
+      send(readTransmitterFactory, READ);
+    }
+    waitFor(() -> received.size() == 1 && readWaitQueue.size() == 2);
+
+    final CompletableFuture<Integer> transactionStatus =
+        send(transactionTransmitterFactory, TRANSACTION);
+    waitFor(() -> received.size() == 2);
+    answer(1);
+
+    assertThat(received).containsExactly(READ, TRANSACTION);
+    assertThat(transactionStatus.get(5, TimeUnit.SECONDS)).isEqualTo(200);
+    assertThat(readWaitQueue.size()).isEqualTo(2);
+  }
+
+  @Test
+  void readIsNotHeldWhileTransactionIsInFlight() throws Exception {
+    final CompletableFuture<Integer> transactionStatus =
+        send(transactionTransmitterFactory, TRANSACTION);
+    waitFor(() -> received.size() == 1);
+
+    final CompletableFuture<Integer> readStatus = send(readTransmitterFactory, READ);
+    waitFor(() -> received.size() == 2);
+    answer(1);
+
+    assertThat(received).containsExactly(TRANSACTION, READ);
+    assertThat(readStatus.get(5, TimeUnit.SECONDS)).isEqualTo(200);
+    assertThat(transactionStatus.isDone()).isFalse();
+  }
+
+  private CompletableFuture<Integer> send(
+      final VertxRequestTransmitterFactory transmitterFactory, final String body) {
+    final CompletableFuture<Integer> status = new CompletableFuture<>();
+    final DownstreamResponseHandler responseHandler =
+        new DownstreamResponseHandler() {
+          @Override
+          public void handleResponse(
+              final Iterable<Entry<String, String>> headers,
+              final int statusCode,
+              final Buffer responseBody) {
+            status.complete(statusCode);
+          }
+
+          @Override
+          public void handleFailure(final Throwable t) {
+            status.completeExceptionally(t);
+          }
+        };
+    context.runOnContext(
+        v ->
+            transmitterFactory
+                .createForSender(SENDER, responseHandler)
+                .sendRequest(
+                    HttpMethod.POST,
+                    MultiMap.caseInsensitiveMultiMap(),
+                    "/",
+                    Buffer.buffer(body)));
+    return status;
+  }
+
+  private void answer(final int index) {
+    unanswered.get(index).response().end(RESULT);
+  }
+
+  private void waitFor(final BooleanSupplier condition) throws InterruptedException {
+    final long deadline = System.currentTimeMillis() + 5_000;
+    while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    assertThat(condition.getAsBoolean()).isTrue();
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.requesthandler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcError.SIGNING_CAPACITY_EXCEEDED;
+
+import tech.pegasys.ethsigner.core.jsonrpc.exception.JsonRpcException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class SigningExecutorTest {
+
+  private final Vertx vertx = Vertx.vertx();
+  private final Context context = vertx.getOrCreateContext();
+  private final SigningExecutor executor = new SigningExecutor(1, 1, new NoOpMetricsSystem());
+
+  @AfterEach
+  public void tearDown() {
+    vertx.close();
+  }
+
+  @Test
+  public void resultIsDeliveredOnSuppliedContext() throws Exception {
+    final CompletableFuture<Boolean> onContext = new CompletableFuture<>();
+    executor
+        .execute(context, () -> "signed")
+        .onComplete(
+            result -> onContext.complete(result.succeeded() && Vertx.currentContext() == context));
+
+    assertThat(onContext.get(5, TimeUnit.SECONDS)).isTrue();
+  }
+
+  @Test
+  public void taskExceptionFailsFuture() throws Exception {
+    final CompletableFuture<Throwable> failure = new CompletableFuture<>();
+    executor
+        .<String>execute(
+            context,
+            () -> {
+              throw new IllegalArgumentException("bad transaction");
+            })
+        .onComplete(result -> failure.complete(result.cause()));
+
+    assertThat(failure.get(5, TimeUnit.SECONDS)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void taskIsRejectedWhenThreadsAndQueueAreFull() throws Exception {
+    final CountDownLatch release = new CountDownLatch(1);
+    final CountDownLatch started = new CountDownLatch(1);
+    executor.execute(
+        context,
+        () -> {
+          started.countDown();
+          return release.await(5, TimeUnit.SECONDS);
+        });
+    assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+    final Future<String> queued = executor.execute(context, () -> "queued");
+
+    final Future<String> rejected = executor.execute(context, () -> "rejected");
+
+    assertThat(rejected.failed()).isTrue();
+    assertThat(rejected.cause()).isInstanceOf(JsonRpcException.class);
+    assertThat(((JsonRpcException) rejected.cause()).getJsonRpcError())
+        .isEqualTo(SIGNING_CAPACITY_EXCEEDED);
+    assertThat(queued.isComplete()).isFalse();
+    release.countDown();
+  }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.requesthandler.passthrough;
+
+import static java.util.Collections.emptyList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequest;
+import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequestId;
+import tech.pegasys.ethsigner.core.requesthandler.DownstreamResponseHandler;
+import tech.pegasys.ethsigner.core.requesthandler.JsonRpcResponder;
+
+import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.impl.headers.VertxHttpHeaders;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.RoutingContext;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class CachingPassThroughHandlerTest {
+
+  private final RoutingContext context = context();
+  private final CoalescingPassThroughHandler passThroughHandler =
+      mock(CoalescingPassThroughHandler.class);
+  private final CachingPassThroughHandler handler =
+      new CachingPassThroughHandler(
+          passThroughHandler, new ResponseCache(10_000, new NoOpMetricsSystem()));
+
+  @Test
+  void cacheableResultIsForwardedOnceThenAnsweredFromCache() {
+    respondDownstreamWith(200, "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":\"0x9\"}");
+
+    final JsonRpcResponder firstResponder = mock(JsonRpcResponder.class);
+    handler.handle(context, request(1, "eth_chainId"), firstResponder);
+    final JsonRpcResponder secondResponder = mock(JsonRpcResponder.class);
+    handler.handle(context, request(2, "eth_chainId"), secondResponder);
+
+    verify(passThroughHandler).forward(eq(context), any(), any());
+    verify(firstResponder).respond(eq(200), any(), any(Buffer.class));
+    final ArgumentCaptor<Buffer> cachedResponse = ArgumentCaptor.forClass(Buffer.class);
+    verify(secondResponder).respond(eq(200), eq(emptyList()), cachedResponse.capture());
+    final JsonObject response = new JsonObject(cachedResponse.getValue());
+    assertThat(response.getValue("id")).isEqualTo(2);
+    assertThat(response.getString("result")).isEqualTo("0x9");
+  }
+
+  @Test
+  void errorResponseIsNotCached() {
+    respondDownstreamWith(
+        200, "{\"jsonrpc\":\"2.0\",\"id\":1,\"error\":{\"code\":-32000,\"message\":\"busy\"}}");
+
+    handler.handle(context, request(1, "eth_chainId"), mock(JsonRpcResponder.class));
+    handler.handle(context, request(2, "eth_chainId"), mock(JsonRpcResponder.class));
+
+    verify(passThroughHandler, times(2)).forward(eq(context), any(), any());
+  }
+
+  @Test
+  void unsuccessfulResponseIsNotCached() {
+    respondDownstreamWith(503, "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":\"0x9\"}");
+
+    final JsonRpcResponder responder = mock(JsonRpcResponder.class);
+    handler.handle(context, request(1, "eth_chainId"), responder);
+    handler.handle(context, request(2, "eth_chainId"), mock(JsonRpcResponder.class));
+
+    verify(responder).respond(anyInt(), any(), any(Buffer.class));
+    verify(passThroughHandler, times(2)).forward(eq(context), any(), any());
+  }
+
+  @Test
+  void cachedResultIsNotServedToClientWithOtherCredentials() {
+    respondDownstreamWith(200, "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":\"0x9\"}");
+    final RoutingContext firstClient = context("Authorization", "Bearer a");
+    final RoutingContext secondClient = context("Authorization", "Bearer b");
+
+    handler.handle(firstClient, request(1, "eth_chainId"), mock(JsonRpcResponder.class));
+    handler.handle(secondClient, request(2, "eth_chainId"), mock(JsonRpcResponder.class));
+    handler.handle(context, request(3, "eth_chainId"), mock(JsonRpcResponder.class));
+    handler.handle(firstClient, request(4, "eth_chainId"), mock(JsonRpcResponder.class));
+
+    verify(passThroughHandler).forward(eq(firstClient), any(), any());
+    verify(passThroughHandler).forward(eq(secondClient), any(), any());
+    verify(passThroughHandler).forward(eq(context), any(), any());
+  }
+
+  private void respondDownstreamWith(final int statusCode, final String body) {
+    doAnswer(
+            invocation -> {
+              final DownstreamResponseHandler responseHandler = invocation.getArgument(2);
+              responseHandler.handleResponse(emptyList(), statusCode, Buffer.buffer(body));
+              return null;
+            })
+        .when(passThroughHandler)
+        .forward(any(), any(), any());
+  }
+
+  private static RoutingContext context(final String... headerNamesAndValues) {
+    final MultiMap headers = new VertxHttpHeaders();
+    for (int i = 0; i < headerNamesAndValues.length; i += 2) {
+      headers.add(headerNamesAndValues[i], headerNamesAndValues[i + 1]);
+    }
+    final HttpServerRequest request = mock(HttpServerRequest.class);
+    when(request.path()).thenReturn("/");
+    when(request.headers()).thenReturn(headers);
+    final RoutingContext context = mock(RoutingContext.class);
+    when(context.request()).thenReturn(request);
+    return context;
+  }
+
+  private static JsonRpcRequest request(final int id, final String method) {
+    final JsonRpcRequest request = new JsonRpcRequest("2.0", method);
+    request.setId(new JsonRpcRequestId(id));
+    return request;
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.requesthandler.passthrough;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequest;
+import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequestId;
+import tech.pegasys.ethsigner.core.requesthandler.DownstreamResponseHandler;
+
+import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.impl.headers.VertxHttpHeaders;
+import io.vertx.ext.web.RoutingContext;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.junit.jupiter.api.Test;
+
+class CoalescingPassThroughHandlerTest {
+
+  private final PassThroughHandler passThroughHandler = mock(PassThroughHandler.class);
+  private final CoalescingPassThroughHandler handler =
+      new CoalescingPassThroughHandler(
+          passThroughHandler, new RequestCoalescer(new NoOpMetricsSystem()));
+
+  @Test
+  void concurrentRequestsWithSameCredentialsAreCoalesced() {
+    forward(context("/", "Authorization", "Bearer a", "User-Agent", "curl"));
+    forward(context("/", "authorization", "Bearer a", "User-Agent", "wget"));
+
+    verify(passThroughHandler)
+        .forward(
+            any(), eq("eth_blockNumber"), any(Buffer.class), any(DownstreamResponseHandler.class));
+  }
+
+  @Test
+  void concurrentRequestsWithDifferentCredentialsAreNotCoalesced() {
+    forward(context("/", "Authorization", "Bearer a"));
+    forward(context("/", "Authorization", "Bearer b"));
+    forward(context("/", "Cookie", "session=c"));
+
+    verify(passThroughHandler, times(3))
+        .forward(any(), anyString(), any(Buffer.class), any(DownstreamResponseHandler.class));
+  }
+
+  @Test
+  void concurrentRequestsForwardedForDifferentClientsAreNotCoalesced() {
+    forward(context("/", "X-Forwarded-For", "10.0.0.1"));
+    forward(context("/", "X-Forwarded-For", "10.0.0.2"));
+
+    verify(passThroughHandler, times(2))
+        .forward(any(), anyString(), any(Buffer.class), any(DownstreamResponseHandler.class));
+  }
+
+  @Test
+  void scopeIncludesPath() {
+    assertThat(CoalescingPassThroughHandler.scopeOf(context("/a").request()))
+        .isNotEqualTo(CoalescingPassThroughHandler.scopeOf(context("/b").request()));
+  }
+
+  private void forward(final RoutingContext context) {
+    final JsonRpcRequest request = new JsonRpcRequest("2.0", "eth_blockNumber");
+    request.setId(new JsonRpcRequestId(1));
+    handler.forward(context, request, mock(DownstreamResponseHandler.class));
+  }
+
+  private static RoutingContext context(final String path, final String... headerNamesAndValues) {
+    final MultiMap headers = new VertxHttpHeaders();
+    for (int i = 0; i < headerNamesAndValues.length; i += 2) {
+      headers.add(headerNamesAndValues[i], headerNamesAndValues[i + 1]);
+    }
+    final HttpServerRequest request = mock(HttpServerRequest.class);
+    when(request.path()).thenReturn(path);
+    when(request.headers()).thenReturn(headers);
+    final RoutingContext context = mock(RoutingContext.class);
+    when(context.request()).thenReturn(request);
+    return context;
+  }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.requesthandler.passthrough;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import tech.pegasys.ethsigner.core.downstream.DownstreamMetrics;
+import tech.pegasys.ethsigner.core.downstream.DownstreamNodes;
+import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.DownstreamPathCalculator;
+
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.List;
+
+import com.google.common.net.HostAndPort;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.ServerWebSocket;
+import io.vertx.core.http.WebSocket;
+import io.vertx.core.http.WebSocketConnectOptions;
+import io.vertx.core.http.impl.headers.VertxHttpHeaders;
+import io.vertx.core.json.JsonObject;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+public class DownstreamWebSocketTest {
+
+  private static final String SUBSCRIBE =
+      "{\"jsonrpc\":\"2.0\",\"method\":\"eth_subscribe\",\"params\":[\"newHeads\"],\"id\":7}";
+
+  private final HttpClient httpClient = mock(HttpClient.class);
+  private final ServerWebSocket clientSocket = mock(ServerWebSocket.class);
+  private final WebSocket webSocket = mock(WebSocket.class);
+  private final MultiMap upgradeHeaders = new VertxHttpHeaders();
+  private DownstreamWebSocket downstreamWebSocket;
+
+  @BeforeEach
+  public void setup() {
+    final DownstreamNodes downstreamNodes =
+        new DownstreamNodes(
+            "default",
+            List.of(HostAndPort.fromParts("node", 8546)),
+            new DownstreamMetrics(new NoOpMetricsSystem()),
+            Duration.ofMillis(100),
+            Duration.ofSeconds(5));
+    downstreamWebSocket =
+        new DownstreamWebSocketFactory(
+                httpClient, downstreamNodes, new DownstreamPathCalculator("/ws"))
+            .create(clientSocket, upgradeHeaders);
+  }
+
+  @Test
+  public void messagesSentWhileConnectingAreForwardedOnceConnected() {
+    downstreamWebSocket.send(Buffer.buffer(SUBSCRIBE));
+    downstreamWebSocket.send(Buffer.buffer("second"));
+
+    final ArgumentCaptor<WebSocketConnectOptions> options =
+        ArgumentCaptor.forClass(WebSocketConnectOptions.class);
+    final Handler<AsyncResult<WebSocket>> connectHandler = connectHandler(options);
+    assertThat(options.getValue().getHost()).isEqualTo("node");
+    assertThat(options.getValue().getPort()).isEqualTo(8546);
+    assertThat(options.getValue().getURI()).isEqualTo("/ws");
+    verify(webSocket, never()).writeTextMessage(any());
+
+    connectHandler.handle(Future.succeededFuture(webSocket));
+    verify(webSocket).writeTextMessage(SUBSCRIBE);
+    verify(webSocket).writeTextMessage("second");
+
+    downstreamWebSocket.send(Buffer.buffer("third"));
+    verify(webSocket).writeTextMessage("third");
+    verify(httpClient, times(1)).webSocket(any(WebSocketConnectOptions.class), any());
+  }
+
+  @Test
+  public void upgradeHeadersAreForwardedExceptThoseOfTheConnection() {
+    upgradeHeaders.add("Authorization", "Bearer token");
+    upgradeHeaders.add("Host", "ethsigner:8545");
+    upgradeHeaders.add("Upgrade", "websocket");
+    upgradeHeaders.add("Connection", "Upgrade");
+    upgradeHeaders.add("Sec-WebSocket-Key", "dGhlIHNhbXBsZSBub25jZQ==");
+
+    downstreamWebSocket.send(Buffer.buffer(SUBSCRIBE));
+
+    final ArgumentCaptor<WebSocketConnectOptions> options =
+        ArgumentCaptor.forClass(WebSocketConnectOptions.class);
+    connectHandler(options);
+    final MultiMap headers = options.getValue().getHeaders();
+    assertThat(headers.get("Authorization")).isEqualTo("Bearer token");
+    assertThat(headers.get("X-Forwarded-Host")).isEqualTo("ethsigner:8545");
+    assertThat(headers.contains("Host")).isFalse();
+    assertThat(headers.contains("Upgrade")).isFalse();
+    assertThat(headers.contains("Connection")).isFalse();
+    assertThat(headers.contains("Sec-WebSocket-Key")).isFalse();
+  }
+
+  @Test
+  public void clientSocketIsPausedWhileConnecting() {
+    downstreamWebSocket.send(Buffer.buffer(SUBSCRIBE));
+    downstreamWebSocket.send(Buffer.buffer("second"));
+
+    verify(clientSocket, times(1)).pause();
+    verify(clientSocket, never()).resume();
+
+    connectHandler(ArgumentCaptor.forClass(WebSocketConnectOptions.class))
+        .handle(Future.succeededFuture(webSocket));
+    verify(clientSocket).resume();
+  }
+
+  @Test
+  public void clientSocketIsResumedWhenConnectionFails() {
+    downstreamWebSocket.send(Buffer.buffer(SUBSCRIBE));
+
+    connectHandler(ArgumentCaptor.forClass(WebSocketConnectOptions.class))
+        .handle(Future.failedFuture(new ConnectException("refused")));
+
+    verify(clientSocket).resume();
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void downstreamMessagesAreRelayedToClient() {
+    downstreamWebSocket.send(Buffer.buffer(SUBSCRIBE));
+    connectHandler(ArgumentCaptor.forClass(WebSocketConnectOptions.class))
+        .handle(Future.succeededFuture(webSocket));
+
+    final ArgumentCaptor<Handler<String>> messageHandler = ArgumentCaptor.forClass(Handler.class);
+    verify(webSocket).textMessageHandler(messageHandler.capture());
+    messageHandler.getValue().handle("notification");
+
+    verify(clientSocket).writeTextMessage("notification");
+  }
+
+  @Test
+  public void failureToConnectIsReportedForEachPendingRequest() {
+    downstreamWebSocket.send(Buffer.buffer(SUBSCRIBE));
+    connectHandler(ArgumentCaptor.forClass(WebSocketConnectOptions.class))
+        .handle(Future.failedFuture(new ConnectException("refused")));
+
+    final ArgumentCaptor<String> response = ArgumentCaptor.forClass(String.class);
+    verify(clientSocket).writeTextMessage(response.capture());
+    final JsonObject error = new JsonObject(response.getValue());
+    assertThat(error.getInteger("id")).isEqualTo(7);
+    assertThat(error.getJsonObject("error").getInteger("code")).isEqualTo(-32000);
+  }
+
+  @Test
+  public void connectionCompletingAfterClientClosedIsClosed() {
+    downstreamWebSocket.send(Buffer.buffer(SUBSCRIBE));
+    downstreamWebSocket.close();
+    connectHandler(ArgumentCaptor.forClass(WebSocketConnectOptions.class))
+        .handle(Future.succeededFuture(webSocket));
+
+    verify(webSocket).close();
+    verify(webSocket, never()).writeTextMessage(any());
+  }
+
+  @SuppressWarnings("unchecked")
+  private Handler<AsyncResult<WebSocket>> connectHandler(
+      final ArgumentCaptor<WebSocketConnectOptions> options) {
+    final ArgumentCaptor<Handler<AsyncResult<WebSocket>>> connectHandler =
+        ArgumentCaptor.forClass(Handler.class);
+    verify(httpClient).webSocket(options.capture(), connectHandler.capture());
+    return connectHandler.getValue();
+  }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.requesthandler.passthrough;
+
+import static java.util.Collections.emptyList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequest;
+import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequestId;
+import tech.pegasys.ethsigner.core.requesthandler.DownstreamResponseHandler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+public class RequestCoalescerTest {
+
+  private static final String SCOPE = "/";
+
+  private final RequestCoalescer coalescer = new RequestCoalescer(new NoOpMetricsSystem());
+  private final List<DownstreamResponseHandler> downstreamCalls = new ArrayList<>();
+
+  @Test
+  public void identicalRequestsInFlightShareDownstreamResponseWithOwnIds() {
+    final DownstreamResponseHandler first = mock(DownstreamResponseHandler.class);
+    final DownstreamResponseHandler second = mock(DownstreamResponseHandler.class);
+
+    coalesce(request(1, "eth_blockNumber"), first);
+    coalesce(request("abc", "eth_blockNumber"), second);
+    assertThat(downstreamCalls).hasSize(1);
+
+    downstreamCalls.get(0).handleResponse(emptyList(), 200, response(1, "0x10"));
+
+    assertThat(responseBody(first).getValue("id")).isEqualTo(1);
+    assertThat(responseBody(second).getValue("id")).isEqualTo("abc");
+    assertThat(responseBody(second).getString("result")).isEqualTo("0x10");
+  }
+
+  @Test
+  public void requestsWithDifferentParamsAreNotCoalesced() {
+    final JsonRpcRequest latest = request(1, "eth_getBlockByNumber");
+    latest.setParams(List.of("latest", false));
+    final JsonRpcRequest earliest = request(2, "eth_getBlockByNumber");
+    earliest.setParams(List.of("earliest", false));
+
+    coalesce(latest, mock(DownstreamResponseHandler.class));
+    coalesce(earliest, mock(DownstreamResponseHandler.class));
+
+    assertThat(downstreamCalls).hasSize(2);
+  }
+
+  @Test
+  public void requestsInDifferentScopesAreNotCoalesced() {
+    coalescer.coalesce(
+        "/\nauthorization:Bearer a",
+        request(1, "eth_blockNumber"),
+        mock(DownstreamResponseHandler.class),
+        downstreamCalls::add);
+    coalescer.coalesce(
+        "/\nauthorization:Bearer b",
+        request(2, "eth_blockNumber"),
+        mock(DownstreamResponseHandler.class),
+        downstreamCalls::add);
+
+    assertThat(downstreamCalls).hasSize(2);
+  }
+
+  @Test
+  public void requestAfterCompletionIsSentDownstream() {
+    coalesce(request(1, "eth_gasPrice"), mock(DownstreamResponseHandler.class));
+    downstreamCalls.get(0).handleResponse(emptyList(), 200, response(1, "0x1"));
+
+    coalesce(request(2, "eth_gasPrice"), mock(DownstreamResponseHandler.class));
+
+    assertThat(downstreamCalls).hasSize(2);
+  }
+
+  @Test
+  public void downstreamFailureIsDeliveredToAllWaiters() {
+    final DownstreamResponseHandler first = mock(DownstreamResponseHandler.class);
+    final DownstreamResponseHandler second = mock(DownstreamResponseHandler.class);
+    coalesce(request(1, "eth_blockNumber"), first);
+    coalesce(request(2, "eth_blockNumber"), second);
+
+    final TimeoutException failure = new TimeoutException();
+    downstreamCalls.get(0).handleFailure(failure);
+
+    verify(first).handleFailure(failure);
+    verify(second).handleFailure(failure);
+  }
+
+  private void coalesce(
+      final JsonRpcRequest request, final DownstreamResponseHandler responseHandler) {
+    coalescer.coalesce(SCOPE, request, responseHandler, downstreamCalls::add);
+  }
+
+  private static JsonObject responseBody(final DownstreamResponseHandler handler) {
+    final ArgumentCaptor<Buffer> body = ArgumentCaptor.forClass(Buffer.class);
+    verify(handler).handleResponse(any(), eq(200), body.capture());
+    return new JsonObject(body.getValue());
+  }
+
+  private static Buffer response(final Object id, final String result) {
+    return new JsonObject().put("jsonrpc", "2.0").put("id", id).put("result", result).toBuffer();
+  }
+
+  private static JsonRpcRequest request(final Object id, final String method) {
+    final JsonRpcRequest request = new JsonRpcRequest("2.0", method);
+    request.setId(new JsonRpcRequestId(id));
+    return request;
+  }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.requesthandler.passthrough;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequest;
+import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequestId;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.vertx.core.json.JsonObject;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.junit.jupiter.api.Test;
+
+public class ResponseCacheTest {
+
+  private static final String SCOPE = "/\n";
+
+  private final ResponseCache cache = new ResponseCache(10_000, new NoOpMetricsSystem());
+
+  @Test
+  public void cachedResponseCarriesIdOfLaterRequest() {
+    cache.put(SCOPE, request(1, "eth_chainId", null), "0x9");
+
+    final JsonObject response =
+        new JsonObject(cache.get(SCOPE, request(7, "eth_chainId", null)).get());
+
+    assertThat(response.getValue("id")).isEqualTo(7);
+    assertThat(response.getString("result")).isEqualTo("0x9");
+    assertThat(response.getString("jsonrpc")).isEqualTo("2.0");
+  }
+
+  @Test
+  public void missingReceiptIsNotCached() {
+    cache.put(SCOPE, request(1, "eth_getTransactionReceipt", List.of("0xab")), null);
+
+    assertThat(cache.get(SCOPE, request(2, "eth_getTransactionReceipt", List.of("0xab"))))
+        .isEmpty();
+  }
+
+  @Test
+  public void emptyCodeIsNotCached() {
+    cache.put(SCOPE, request(1, "eth_getCode", List.of("0x01", "latest")), "0x");
+
+    assertThat(cache.get(SCOPE, request(2, "eth_getCode", List.of("0x01", "latest")))).isEmpty();
+  }
+
+  @Test
+  public void codeAtPendingBlockIsNotCached() {
+    cache.put(SCOPE, request(1, "eth_getCode", List.of("0x01", "pending")), "0x6080");
+
+    assertThat(cache.get(SCOPE, request(2, "eth_getCode", List.of("0x01", "pending")))).isEmpty();
+  }
+
+  @Test
+  public void codeAtLatestBlockIsNotCached() {
+    observeBlock(1_000);
+    cache.put(SCOPE, request(1, "eth_getCode", List.of("0x01", "latest")), "0x6080");
+
+    assertThat(cache.get(SCOPE, request(2, "eth_getCode", List.of("0x01", "latest")))).isEmpty();
+  }
+
+  @Test
+  public void codeAtBlockHashIsCached() {
+    final List<Object> params = List.of("0x01", Map.of("blockHash", "0xbeef"));
+    cache.put(SCOPE, request(1, "eth_getCode", params), "0x6080");
+
+    assertThat(cache.get(SCOPE, request(2, "eth_getCode", params))).isPresent();
+  }
+
+  @Test
+  public void codeAtBlockNumberIsOnlyCachedOnceFinal() {
+    final List<Object> params = List.of("0x01", "0x64");
+    observeBlock(0x64 + ResponseCache.FINALITY_DEPTH - 1);
+    cache.put(SCOPE, request(1, "eth_getCode", params), "0x6080");
+    assertThat(cache.get(SCOPE, request(2, "eth_getCode", params))).isEmpty();
+
+    observeBlock(0x64 + ResponseCache.FINALITY_DEPTH);
+    cache.put(SCOPE, request(3, "eth_getCode", params), "0x6080");
+    assertThat(cache.get(SCOPE, request(4, "eth_getCode", params))).isPresent();
+  }
+
+  @Test
+  public void recentReceiptIsNotCached() {
+    observeBlock(1_000);
+    final List<Object> params = List.of("0xab");
+
+    cache.put(SCOPE, request(1, "eth_getTransactionReceipt", params), receipt(1_000));
+
+    assertThat(cache.get(SCOPE, request(2, "eth_getTransactionReceipt", params))).isEmpty();
+  }
+
+  @Test
+  public void receiptBelowFinalityDepthIsCached() {
+    observeBlock(1_000);
+    final List<Object> params = List.of("0xab");
+
+    cache.put(
+        SCOPE,
+        request(1, "eth_getTransactionReceipt", params),
+        receipt(1_000 - ResponseCache.FINALITY_DEPTH));
+
+    assertThat(cache.get(SCOPE, request(2, "eth_getTransactionReceipt", params))).isPresent();
+  }
+
+  @Test
+  public void paramsWithReorderedKeysShareEntry() {
+    final Map<String, Object> params = new LinkedHashMap<>();
+    params.put("hash", "0xab");
+    params.put("full", true);
+    final Map<String, Object> reorderedParams = new LinkedHashMap<>();
+    reorderedParams.put("full", true);
+    reorderedParams.put("hash", "0xab");
+
+    cache.put(SCOPE, request(1, "eth_getBlockByHash", params), "block");
+
+    assertThat(cache.get(SCOPE, request(2, "eth_getBlockByHash", reorderedParams))).isPresent();
+  }
+
+  @Test
+  public void nonCacheableMethodIsNotCached() {
+    cache.put(SCOPE, request(1, "eth_blockNumber", null), "0x10");
+
+    assertThat(cache.get(SCOPE, request(2, "eth_blockNumber", null))).isEmpty();
+  }
+
+  @Test
+  public void responseIsNotSharedAcrossScopes() {
+    cache.put("/\nauthorization:Bearer a", request(1, "eth_chainId", null), "0x9");
+
+    assertThat(cache.get("/\nauthorization:Bearer a", request(2, "eth_chainId", null)))
+        .isPresent();
+    assertThat(cache.get("/\nauthorization:Bearer b", request(3, "eth_chainId", null))).isEmpty();
+    assertThat(cache.get(SCOPE, request(4, "eth_chainId", null))).isEmpty();
+  }
+
+  private void observeBlock(final long number) {
+    cache.put(
+        SCOPE,
+        request(0, "eth_getBlockByHash", List.of("0xb10c" + Long.toHexString(number), false)),
+        new JsonObject().put("number", "0x" + Long.toHexString(number)));
+  }
+
+  private static JsonObject receipt(final long blockNumber) {
+    return new JsonObject()
+        .put("transactionHash", "0xab")
+        .put("blockNumber", "0x" + Long.toHexString(blockNumber));
+  }
+
+  private static JsonRpcRequest request(final int id, final String method, final Object params) {
+    final JsonRpcRequest request = new JsonRpcRequest("2.0", method);
+    request.setId(new JsonRpcRequestId(id));
+    request.setParams(params);
+    return request;
+  }
+}
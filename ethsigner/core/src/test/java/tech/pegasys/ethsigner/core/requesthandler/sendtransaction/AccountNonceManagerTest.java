@@ -0,0 +1,173 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.requesthandler.sendtransaction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.AccountNonceManager.Allocation;
+
+import java.math.BigInteger;
+import java.util.List;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.web3j.utils.Base64String;
+
+public class AccountNonceManagerTest {
+
+  private static final String ACCOUNT = "0x7577919ae5df4941180eac211965f275cdce314d";
+  private static final NonceKey KEY = NonceKey.forAccount(ACCOUNT);
+  private static final Base64String PRIVATE_FROM =
+      Base64String.wrap("ZlapEsl9qDLPy/e88+/6yvCUEVIvH83y0N4A6wHuKXI=");
+  private static final Base64String RECIPIENT_1 =
+      Base64String.wrap("GV8m0VZAccYGAAYMBuYQtKEj0XtpXeaw2APcoBmtA2w=");
+  private static final Base64String RECIPIENT_2 =
+      Base64String.wrap("k2zXEin4Ip/qBGlRkJejnGWdP9cjkK+DAvKNW31L2C8=");
+
+  private final NonceProvider seedProvider = mock(NonceProvider.class);
+  private final AccountNonceManager nonceManager = new AccountNonceManager();
+
+  @BeforeEach
+  public void setup() {
+    when(seedProvider.getNonce()).thenReturn(Future.succeededFuture(BigInteger.valueOf(5)));
+  }
+
+  @Test
+  public void nonceIsSeededOnceAndThenAllocatedLocally() {
+    final NonceKey upperCaseKey = NonceKey.forAccount(ACCOUNT.toUpperCase());
+    assertThat(nonce(nonceManager.allocate(KEY, seedProvider))).isEqualTo(BigInteger.valueOf(5));
+    assertThat(nonce(nonceManager.allocate(KEY, seedProvider))).isEqualTo(BigInteger.valueOf(6));
+    assertThat(nonce(nonceManager.allocate(upperCaseKey, seedProvider)))
+        .isEqualTo(BigInteger.valueOf(7));
+
+    verify(seedProvider, times(1)).getNonce();
+  }
+
+  @Test
+  public void requestsReceivedWhileSeedingReceiveConsecutiveNonces() {
+    final Promise<BigInteger> seed = Promise.promise();
+    when(seedProvider.getNonce()).thenReturn(seed.future());
+
+    final Future<Allocation> first = nonceManager.allocate(KEY, seedProvider);
+    final Future<Allocation> second = nonceManager.allocate(KEY, seedProvider);
+    assertThat(first.isComplete()).isFalse();
+    assertThat(second.isComplete()).isFalse();
+
+    seed.complete(BigInteger.TEN);
+
+    assertThat(nonce(first)).isEqualTo(BigInteger.valueOf(10));
+    assertThat(nonce(second)).isEqualTo(BigInteger.valueOf(11));
+    verify(seedProvider, times(1)).getNonce();
+  }
+
+  @Test
+  public void resyncCausesNonceToBeReseededFromNode() {
+    nonceManager.allocate(KEY, seedProvider);
+    final Allocation rejected = nonceManager.allocate(KEY, seedProvider).result();
+
+    nonceManager.resync(rejected);
+
+    assertThat(nonce(nonceManager.allocate(KEY, seedProvider))).isEqualTo(BigInteger.valueOf(5));
+    verify(seedProvider, times(2)).getNonce();
+  }
+
+  @Test
+  public void staleRejectionDoesNotDiscardFreshSeed() {
+    final Allocation stale = nonceManager.allocate(KEY, seedProvider).result();
+    nonceManager.resync(stale);
+    when(seedProvider.getNonce()).thenReturn(Future.succeededFuture(BigInteger.valueOf(9)));
+    assertThat(nonce(nonceManager.allocate(KEY, seedProvider))).isEqualTo(BigInteger.valueOf(9));
+
+    nonceManager.resync(stale);
+
+    assertThat(nonce(nonceManager.allocate(KEY, seedProvider))).isEqualTo(BigInteger.TEN);
+    verify(seedProvider, times(2)).getNonce();
+  }
+
+  @Test
+  public void releasedNonceIsAllocatedAgain() {
+    nonceManager.allocate(KEY, seedProvider);
+    final Allocation unused = nonceManager.allocate(KEY, seedProvider).result();
+
+    nonceManager.release(unused);
+
+    assertThat(nonce(nonceManager.allocate(KEY, seedProvider))).isEqualTo(BigInteger.valueOf(6));
+    verify(seedProvider, times(1)).getNonce();
+  }
+
+  @Test
+  public void releasingNonceFollowedByOthersReseedsFromNode() {
+    final Allocation unused = nonceManager.allocate(KEY, seedProvider).result();
+    nonceManager.allocate(KEY, seedProvider);
+
+    nonceManager.release(unused);
+
+    assertThat(nonce(nonceManager.allocate(KEY, seedProvider))).isEqualTo(BigInteger.valueOf(5));
+    verify(seedProvider, times(2)).getNonce();
+  }
+
+  @Test
+  public void failedSeedIsNotRetained() {
+    when(seedProvider.getNonce())
+        .thenReturn(Future.failedFuture(new RuntimeException("node unavailable")))
+        .thenReturn(Future.succeededFuture(BigInteger.ONE));
+
+    assertThat(nonceManager.allocate(KEY, seedProvider).failed()).isTrue();
+    assertThat(nonce(nonceManager.allocate(KEY, seedProvider))).isEqualTo(BigInteger.ONE);
+  }
+
+  @Test
+  public void privateNoncesAreTrackedSeparatelyForEachPrivacyGroup() {
+    final NonceKey privacyGroupKey = NonceKey.forPrivacyGroup(ACCOUNT, RECIPIENT_1);
+    final NonceProvider privateSeedProvider = mock(NonceProvider.class);
+    when(privateSeedProvider.getNonce()).thenReturn(Future.succeededFuture(BigInteger.ZERO));
+
+    assertThat(nonce(nonceManager.allocate(KEY, seedProvider))).isEqualTo(BigInteger.valueOf(5));
+    assertThat(nonce(nonceManager.allocate(privacyGroupKey, privateSeedProvider)))
+        .isEqualTo(BigInteger.ZERO);
+    final Allocation rejected =
+        nonceManager.allocate(privacyGroupKey, privateSeedProvider).result();
+    assertThat(rejected.getNonce()).isEqualTo(BigInteger.ONE);
+
+    nonceManager.resync(rejected);
+
+    assertThat(nonce(nonceManager.allocate(KEY, seedProvider))).isEqualTo(BigInteger.valueOf(6));
+    assertThat(nonce(nonceManager.allocate(privacyGroupKey, privateSeedProvider)))
+        .isEqualTo(BigInteger.ZERO);
+    verify(seedProvider, times(1)).getNonce();
+    verify(privateSeedProvider, times(2)).getNonce();
+  }
+
+  @Test
+  public void privatePartiesIdentifyTheSameNonceRegardlessOfRecipientOrder() {
+    assertThat(NonceKey.forPrivateParties(ACCOUNT, PRIVATE_FROM, List.of(RECIPIENT_1, RECIPIENT_2)))
+        .isEqualTo(
+            NonceKey.forPrivateParties(
+                ACCOUNT.toUpperCase(), PRIVATE_FROM, List.of(RECIPIENT_2, RECIPIENT_1)));
+    assertThat(NonceKey.forPrivateParties(ACCOUNT, PRIVATE_FROM, List.of(RECIPIENT_1)))
+        .isNotEqualTo(
+            NonceKey.forPrivateParties(ACCOUNT, PRIVATE_FROM, List.of(RECIPIENT_1, RECIPIENT_2)));
+    assertThat(NonceKey.forPrivacyGroup(ACCOUNT, RECIPIENT_1))
+        .isNotEqualTo(NonceKey.forPrivacyGroup(ACCOUNT, RECIPIENT_2));
+  }
+
+  private static BigInteger nonce(final Future<Allocation> allocation) {
+    return allocation.result().getNonce();
+  }
+}
@@ -22,6 +22,7 @@ import tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcErrorResponse;
 import java.math.BigInteger;
 
 import io.netty.handler.codec.http.HttpResponseStatus;
+import io.vertx.core.Future;
 import io.vertx.core.http.HttpClientResponse;
 import io.vertx.core.json.Json;
 import io.vertx.core.json.JsonObject;
@@ -37,7 +38,7 @@ public class NonceTooLowRetryMechanismTest {
 
   @BeforeEach
   public void setup() {
-    when(nonceProvider.getNonce()).thenReturn(BigInteger.ONE);
+    when(nonceProvider.getNonce()).thenReturn(Future.succeededFuture(BigInteger.ONE));
   }
 
   @Test
@@ -48,7 +49,7 @@ public class NonceTooLowRetryMechanismTest {
 
     assertThat(
             retryMechanism.responseRequiresRetry(
-                httpResponse.statusCode(), Json.encode(errorResponse)))
+                httpResponse.statusCode(), Json.encodeToBuffer(errorResponse)))
         .isTrue();
   }
 
@@ -61,7 +62,7 @@ public class NonceTooLowRetryMechanismTest {
 
     assertThat(
             retryMechanism.responseRequiresRetry(
-                httpResponse.statusCode(), Json.encode(errorResponse)))
+                httpResponse.statusCode(), Json.encodeToBuffer(errorResponse)))
         .isTrue();
   }
 
@@ -74,7 +75,7 @@ public class NonceTooLowRetryMechanismTest {
 
     assertThat(
             retryMechanism.responseRequiresRetry(
-                httpResponse.statusCode(), Json.encode(errorResponse)))
+                httpResponse.statusCode(), Json.encodeToBuffer(errorResponse)))
         .isTrue();
   }
 
@@ -87,7 +88,7 @@ public class NonceTooLowRetryMechanismTest {
 
     assertThat(
             retryMechanism.responseRequiresRetry(
-                httpResponse.statusCode(), Json.encode(errorResponse)))
+                httpResponse.statusCode(), Json.encodeToBuffer(errorResponse)))
         .isFalse();
   }
 
@@ -105,7 +106,7 @@ public class NonceTooLowRetryMechanismTest {
 
     assertThat(
             retryMechanism.responseRequiresRetry(
-                httpResponse.statusCode(), Json.encode(errorResponse)))
+                httpResponse.statusCode(), Json.encodeToBuffer(errorResponse)))
         .isFalse();
   }
 
@@ -0,0 +1,262 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.requesthandler.sendtransaction;
+
+import static java.util.Collections.emptyList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import tech.pegasys.ethsigner.core.AddressIndexedSignerProvider;
+import tech.pegasys.ethsigner.core.jsonrpc.EthSendTransactionJsonParameters;
+import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequest;
+import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequestId;
+import tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcResponse;
+import tech.pegasys.ethsigner.core.requesthandler.DownstreamResponseHandler;
+import tech.pegasys.ethsigner.core.requesthandler.JsonRpcResponder;
+import tech.pegasys.ethsigner.core.requesthandler.SigningExecutor;
+import tech.pegasys.ethsigner.core.requesthandler.VertxRequestTransmitter;
+import tech.pegasys.ethsigner.core.requesthandler.VertxRequestTransmitterFactory;
+import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.transaction.EthTransaction;
+import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.transaction.ManagedNonceProvider;
+import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.transaction.TransactionFactory;
+import tech.pegasys.signers.secp256k1.api.Signature;
+import tech.pegasys.signers.secp256k1.api.Signer;
+
+import java.math.BigInteger;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.MultiMap;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.RoutingContext;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.web3j.crypto.TransactionDecoder;
+
+class SendTransactionHandlerTest {
+
+  private static final String SENDER = "0x7577919ae5df4941180eac211965f275cdce314d";
+  private static final long CHAIN_ID = 2018;
+
+  private final Vertx vertx = Vertx.vertx();
+  private final Context context = vertx.getOrCreateContext();
+  private final AccountNonceManager nonceManager = new AccountNonceManager();
+  private final TransactionFactory transactionFactory = mock(TransactionFactory.class);
+  private final BlockingQueue<Submission> submissions = new LinkedBlockingQueue<>();
+
+  private SendTransactionHandler handler;
+
+  @BeforeEach
+  void setup() {
+    final Signer signer = mock(Signer.class);
+    when(signer.sign(any(byte[].class)))
+        .thenReturn(new Signature(BigInteger.valueOf(27), BigInteger.ONE, BigInteger.TWO));
+    final AddressIndexedSignerProvider signerProvider = mock(AddressIndexedSignerProvider.class);
+    when(signerProvider.getSigner(SENDER)).thenReturn(Optional.of(signer));
+    when(transactionFactory.allocatesNoncesLocally()).thenReturn(true);
+
+    handler =
+        new SendTransactionHandler(
+            CHAIN_ID,
+            signerProvider,
+            transactionFactory,
+            new RecordingTransmitterFactory(),
+            new SubmissionLanes(),
+            new SigningExecutor(2, 10, new NoOpMetricsSystem()));
+  }
+
+  @AfterEach
+  void teardown() {
+    vertx.close();
+  }
+
+  @Test
+  void sendersNextTransactionIsSubmittedOnceThePreviousNonceIsAssigned() throws Exception {
+    when(transactionFactory.createTransaction(any(), any()))
+        .thenReturn(transaction(), transaction());
+    final RecordingResponder firstResponder = new RecordingResponder();
+    final RecordingResponder secondResponder = new RecordingResponder();
+
+    context.runOnContext(
+        v -> {
+          handler.handle(routingContext(), request(), firstResponder);
+          handler.handle(routingContext(), request(), secondResponder);
+        });
+
+    // neither transaction has been answered by the node, yet both have been submitted
+    final Submission first = submissions.poll(5, TimeUnit.SECONDS);
+    final Submission second = submissions.poll(5, TimeUnit.SECONDS);
+    assertThat(first).isNotNull();
+    assertThat(second).isNotNull();
+    assertThat(first.nonce()).isEqualTo(BigInteger.valueOf(5));
+    assertThat(second.nonce()).isEqualTo(BigInteger.valueOf(6));
+    assertThat(firstResponder.respondedOn).isNotDone();
+    assertThat(secondResponder.respondedOn).isNotDone();
+  }
+
+  @Test
+  void transactionResumesOnItsOwnContextWhenNonceIsSeededByAnotherInstance() throws Exception {
+    final Context otherInstance = vertx.getOrCreateContext();
+    final Promise<BigInteger> seed = Promise.promise();
+    onContext(
+        otherInstance, () -> nonceManager.allocate(NonceKey.forAccount(SENDER), seed::future));
+
+    final CompletableFuture<Void> allocating = new CompletableFuture<>();
+    final NonceProvider nonceProvider = managedNonceProvider(seed::future);
+    when(transactionFactory.createTransaction(any(), any()))
+        .thenReturn(
+            transaction(
+                () -> {
+                  final Future<BigInteger> nonce = nonceProvider.getNonce();
+                  allocating.complete(null);
+                  return nonce;
+                }));
+    final RecordingResponder responder = new RecordingResponder();
+    context.runOnContext(v -> handler.handle(routingContext(), request(), responder));
+
+    // the seed requested by the other instance completes on its event loop
+    allocating.get(5, TimeUnit.SECONDS);
+    otherInstance.runOnContext(v -> seed.complete(BigInteger.valueOf(5)));
+
+    final Submission submission = submissions.poll(5, TimeUnit.SECONDS);
+    assertThat(submission).isNotNull();
+    assertThat(submission.nonce()).isEqualTo(BigInteger.valueOf(6));
+    assertThat(submission.context).isSameAs(context);
+
+    final Buffer result = Buffer.buffer("{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":\"0x1\"}");
+    submission.context.runOnContext(
+        v -> submission.responseHandler.handleResponse(emptyList(), 200, result));
+    assertThat(responder.respondedOn.get(5, TimeUnit.SECONDS)).isSameAs(context);
+  }
+
+  private void onContext(final Context target, final Runnable action) throws Exception {
+    final CompletableFuture<Void> done = new CompletableFuture<>();
+    target.runOnContext(
+        v -> {
+          action.run();
+          done.complete(null);
+        });
+    done.get(5, TimeUnit.SECONDS);
+  }
+
+  private EthTransaction transaction() {
+    return transaction(managedNonceProvider(() -> Future.succeededFuture(BigInteger.valueOf(5))));
+  }
+
+  private NonceProvider managedNonceProvider(final NonceProvider seedProvider) {
+    return new ManagedNonceProvider(NonceKey.forAccount(SENDER), nonceManager, seedProvider);
+  }
+
+  private EthTransaction transaction(final NonceProvider nonceProvider) {
+    final EthSendTransactionJsonParameters params = new EthSendTransactionJsonParameters(SENDER);
+    params.receiver("0xd46e8dd67c5d32be8058bb8eb970870f07244567");
+    params.gas("0x76c0");
+    params.gasPrice("0x9184e72a000");
+    params.value("0x0");
+    return new EthTransaction(params, nonceProvider, new JsonRpcRequestId(1));
+  }
+
+  private JsonRpcRequest request() {
+    final JsonRpcRequest request = new JsonRpcRequest("2.0", "eth_sendTransaction");
+    request.setId(new JsonRpcRequestId(1));
+    return request;
+  }
+
+  private RoutingContext routingContext() {
+    final HttpServerRequest httpRequest = mock(HttpServerRequest.class);
+    when(httpRequest.headers()).thenReturn(MultiMap.caseInsensitiveMultiMap());
+    when(httpRequest.path()).thenReturn("/");
+    final RoutingContext routingContext = mock(RoutingContext.class);
+    when(routingContext.vertx()).thenReturn(vertx);
+    when(routingContext.request()).thenReturn(httpRequest);
+    return routingContext;
+  }
+
+  private static class Submission {
+    private final Context context;
+    private final Buffer body;
+    private final DownstreamResponseHandler responseHandler;
+
+    private Submission(
+        final Context context, final Buffer body, final DownstreamResponseHandler responseHandler) {
+      this.context = context;
+      this.body = body;
+      this.responseHandler = responseHandler;
+    }
+
+    private BigInteger nonce() {
+      final String rawTransaction = new JsonObject(body).getJsonArray("params").getString(0);
+      return TransactionDecoder.decode(rawTransaction).getNonce();
+    }
+  }
+
+  private class RecordingTransmitterFactory implements VertxRequestTransmitterFactory {
+
+    @Override
+    public VertxRequestTransmitter create(final DownstreamResponseHandler responseHandler) {
+      return createForSender(SENDER, responseHandler);
+    }
+
+    @Override
+    public VertxRequestTransmitter createForSender(
+        final String sender, final DownstreamResponseHandler responseHandler) {
+      final VertxRequestTransmitter transmitter = mock(VertxRequestTransmitter.class);
+      doAnswer(
+              invocation -> {
+                submissions.add(
+                    new Submission(
+                        Vertx.currentContext(), invocation.getArgument(3), responseHandler));
+                return null;
+              })
+          .when(transmitter)
+          .sendRequest(any(), any(), anyString(), any());
+      return transmitter;
+    }
+  }
+
+  private static class RecordingResponder implements JsonRpcResponder {
+    private final CompletableFuture<Context> respondedOn = new CompletableFuture<>();
+
+    @Override
+    public void respond(
+        final int statusCode, final Iterable<Entry<String, String>> headers, final Buffer body) {
+      respondedOn.complete(Vertx.currentContext());
+    }
+
+    @Override
+    public void respond(final int statusCode, final JsonRpcResponse response) {
+      respondedOn.complete(Vertx.currentContext());
+    }
+
+    @Override
+    public void fail(final int statusCode, final Throwable failure) {
+      respondedOn.complete(Vertx.currentContext());
+    }
+  }
+}
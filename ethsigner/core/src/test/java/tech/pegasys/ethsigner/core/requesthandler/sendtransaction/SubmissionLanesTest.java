@@ -0,0 +1,134 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.requesthandler.sendtransaction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import io.vertx.core.Context;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class SubmissionLanesTest {
+
+  private static final String SENDER_A = "0x7577919ae5df4941180eac211965f275cdce314d";
+  private static final String SENDER_B = "0xfe3b557e8fb62b89f4916b721be55ceb828dbd73";
+
+  private final Vertx vertx = Vertx.vertx();
+  private final Context context = vertx.getOrCreateContext();
+  private final SubmissionLanes lanes = new SubmissionLanes();
+  private final List<String> started = new CopyOnWriteArrayList<>();
+  private final List<Promise<Void>> slots = new CopyOnWriteArrayList<>();
+
+  @AfterEach
+  public void tearDown() {
+    vertx.close();
+  }
+
+  @Test
+  public void tasksForSameSenderRunSequentiallyInSubmissionOrder() throws Exception {
+    onContext(
+        () -> {
+          lanes.submit(context, SENDER_A, slot -> record("first", slot));
+          lanes.submit(context, SENDER_A.toUpperCase(), slot -> record("second", slot));
+          lanes.submit(context, SENDER_A, slot -> record("third", slot));
+        });
+
+    assertThat(started).containsExactly("first");
+
+    onContext(() -> slots.get(0).complete());
+    assertThat(started).containsExactly("first", "second");
+
+    onContext(() -> slots.get(1).fail("failed transaction"));
+    assertThat(started).containsExactly("first", "second", "third");
+  }
+
+  @Test
+  public void tasksForDifferentSendersRunConcurrently() throws Exception {
+    onContext(
+        () -> {
+          lanes.submit(context, SENDER_A, slot -> record("a", slot));
+          lanes.submit(context, SENDER_B, slot -> record("b", slot));
+        });
+
+    assertThat(started).containsExactly("a", "b");
+  }
+
+  @Test
+  public void taskThrowingExceptionReleasesLane() throws Exception {
+    onContext(
+        () -> {
+          lanes.submit(
+              context,
+              SENDER_A,
+              slot -> {
+                throw new IllegalStateException("task failed");
+              });
+          lanes.submit(context, SENDER_A, slot -> record("next", slot));
+        });
+
+    assertThat(started).containsExactly("next");
+  }
+
+  @Test
+  public void laneIsReusableOnceDrained() throws Exception {
+    onContext(() -> lanes.submit(context, SENDER_A, slot -> record("first", slot)));
+    onContext(() -> slots.get(0).complete());
+
+    onContext(() -> lanes.submit(context, SENDER_A, slot -> record("second", slot)));
+
+    assertThat(started).containsExactly("first", "second");
+  }
+
+  @Test
+  public void queuedTaskIsStartedOnItsSubmittingContext() throws Exception {
+    final Context otherContext = vertx.getOrCreateContext();
+    final CompletableFuture<Context> queuedTaskContext = new CompletableFuture<>();
+    final CompletableFuture<Void> queued = new CompletableFuture<>();
+    onContext(() -> lanes.submit(context, SENDER_A, slot -> record("first", slot)));
+    otherContext.runOnContext(
+        v -> {
+          lanes.submit(
+              otherContext, SENDER_A, slot -> queuedTaskContext.complete(Vertx.currentContext()));
+          queued.complete(null);
+        });
+    queued.get(5, TimeUnit.SECONDS);
+    assertThat(queuedTaskContext).isNotDone();
+
+    onContext(() -> slots.get(0).complete());
+
+    assertThat(queuedTaskContext.get(5, TimeUnit.SECONDS)).isSameAs(otherContext);
+  }
+
+  private void record(final String name, final Promise<Void> slot) {
+    started.add(name);
+    slots.add(slot);
+  }
+
+  // runs the action on the context, returning once any work it dispatched to the context is done
+  private void onContext(final Runnable action) throws Exception {
+    final CompletableFuture<Void> done = new CompletableFuture<>();
+    context.runOnContext(
+        v -> {
+          action.run();
+          context.runOnContext(ignored -> done.complete(null));
+        });
+    done.get(5, TimeUnit.SECONDS);
+  }
+}
@@ -24,6 +24,7 @@ import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequestId;
 import java.math.BigInteger;
 import java.util.List;
 
+import io.vertx.core.Future;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.web3j.crypto.Sign.SignatureData;
@@ -55,7 +56,8 @@ public class EeaPrivateTransactionTest {
     params.privateFor(new String[] {"GV8m0VZAccYGAAYMBuYQtKEj0XtpXeaw2APcoBmtA2w="});
 
     privateTransaction =
-        EeaPrivateTransaction.from(params, () -> BigInteger.ZERO, new JsonRpcRequestId(1));
+        EeaPrivateTransaction.from(
+            params, () -> Future.succeededFuture(BigInteger.ZERO), new JsonRpcRequestId(1));
   }
 
   @Test
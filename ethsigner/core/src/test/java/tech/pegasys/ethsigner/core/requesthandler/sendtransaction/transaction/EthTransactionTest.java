@@ -23,6 +23,7 @@ import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequestId;
 import java.math.BigInteger;
 import java.util.List;
 
+import io.vertx.core.Future;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.web3j.crypto.Sign.SignatureData;
@@ -46,7 +47,9 @@ public class EthTransactionTest {
     params.data(
         "0xd46e8dd67c5d32be8d46e8dd67c5d32be8058bb8eb970870f072445675058bb8eb970870f072445675");
 
-    ethTransaction = new EthTransaction(params, () -> BigInteger.ZERO, new JsonRpcRequestId(1));
+    ethTransaction =
+        new EthTransaction(
+            params, () -> Future.succeededFuture(BigInteger.ZERO), new JsonRpcRequestId(1));
   }
 
   @Test
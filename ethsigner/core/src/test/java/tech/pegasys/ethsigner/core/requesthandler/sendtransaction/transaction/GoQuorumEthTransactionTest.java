@@ -14,6 +14,9 @@ package tech.pegasys.ethsigner.core.requesthandler.sendtransaction.transaction;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 import static tech.pegasys.ethsigner.core.jsonrpc.response.JsonRpcError.ETHER_VALUE_NOT_SUPPORTED;
 
 import tech.pegasys.ethsigner.core.jsonrpc.EthSendTransactionJsonParameters;
@@ -21,16 +24,25 @@ import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequest;
 import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequestId;
 import tech.pegasys.ethsigner.core.jsonrpc.exception.JsonRpcException;
 import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.EnclaveLookupIdProvider;
+import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.NonceProvider;
 
 import java.math.BigInteger;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
 import io.vertx.core.json.JsonObject;
 import org.assertj.core.api.Condition;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.web3j.crypto.RawTransaction;
+import org.web3j.crypto.TransactionDecoder;
 import org.web3j.utils.Base64String;
+import org.web3j.utils.Numeric;
 
 public class GoQuorumEthTransactionTest {
 
@@ -53,7 +65,8 @@ public class GoQuorumEthTransactionTest {
 
     enclaveLookupIdProvider =
         (x) ->
-            "9aefeff5ef9cef1dfdeffccff0afefff6fef0ff9faef9feffaeff3ffeffcf8feefafefeffdefef98ba7aafef";
+            Future.succeededFuture(
+                "9aefeff5ef9cef1dfdeffccff0afefff6fef0ff9faef9feffaeff3ffeffcf8feefafefeffdefef98ba7aafef");
   }
 
   @Test
@@ -107,18 +120,103 @@ public class GoQuorumEthTransactionTest {
             "Must have correct error type: " + ETHER_VALUE_NOT_SUPPORTED);
 
     assertThatExceptionOfType(JsonRpcException.class)
-        .isThrownBy(() -> GoQuorumPrivateTransaction.from(params, null, null, null))
+        .isThrownBy(() -> GoQuorumPrivateTransaction.from(params, null, null, null, null))
         .has(hasErrorType);
   }
 
+  @Test
+  public void retryReusesLookupIdWithoutStoringPayloadAgain() {
+    params.nonce(null);
+    final AtomicInteger storeRawCalls = new AtomicInteger();
+    final AtomicInteger nonce = new AtomicInteger(7);
+    final Counter reusedLookupIdCounter = mock(Counter.class);
+    final GoQuorumPrivateTransaction transaction =
+        GoQuorumPrivateTransaction.from(
+            params,
+            () -> Future.succeededFuture(BigInteger.valueOf(nonce.getAndIncrement())),
+            payload -> {
+              storeRawCalls.incrementAndGet();
+              return enclaveLookupIdProvider.getLookupId(payload);
+            },
+            reusedLookupIdCounter,
+            new JsonRpcRequestId(1));
+
+    transaction.updateFieldsIfRequired();
+    final String firstLookupId = decode(transaction).getData();
+    transaction.updateFieldsIfRequired();
+
+    assertThat(storeRawCalls).hasValue(1);
+    assertThat(decode(transaction).getNonce()).isEqualTo(BigInteger.valueOf(8));
+    assertThat(decode(transaction).getData()).isEqualTo(firstLookupId);
+    verify(reusedLookupIdCounter).inc();
+  }
+
+  @Test
+  public void lookupIdIsRequestedWithoutWaitingForNonce() {
+    params.nonce(null);
+    final Promise<BigInteger> nonce = Promise.promise();
+    final AtomicInteger storeRawCalls = new AtomicInteger();
+    final GoQuorumPrivateTransaction transaction =
+        GoQuorumPrivateTransaction.from(
+            params,
+            nonce::future,
+            payload -> {
+              storeRawCalls.incrementAndGet();
+              return enclaveLookupIdProvider.getLookupId(payload);
+            },
+            NoOpMetricsSystem.NO_OP_COUNTER,
+            new JsonRpcRequestId(1));
+
+    final Future<Void> fieldsUpdated = transaction.updateFieldsIfRequired();
+    assertThat(storeRawCalls).hasValue(1);
+    assertThat(fieldsUpdated.isComplete()).isFalse();
+
+    nonce.complete(BigInteger.valueOf(7));
+    assertThat(fieldsUpdated.succeeded()).isTrue();
+    assertThat(decode(transaction).getNonce()).isEqualTo(BigInteger.valueOf(7));
+  }
+
+  @Test
+  public void failedLookupIdIsReportedOnceNonceIsAllocated() {
+    params.nonce(null);
+    final Promise<BigInteger> nonce = Promise.promise();
+    final NonceProvider nonceProvider = mock(NonceProvider.class);
+    when(nonceProvider.getNonce()).thenReturn(nonce.future());
+    final GoQuorumPrivateTransaction transaction =
+        GoQuorumPrivateTransaction.from(
+            params,
+            nonceProvider,
+            payload -> Future.failedFuture(new IllegalStateException("enclave unavailable")),
+            NoOpMetricsSystem.NO_OP_COUNTER,
+            new JsonRpcRequestId(1));
+
+    final Future<Void> fieldsUpdated = transaction.updateFieldsIfRequired();
+    assertThat(fieldsUpdated.isComplete()).isFalse();
+
+    nonce.complete(BigInteger.valueOf(7));
+    assertThat(fieldsUpdated.failed()).isTrue();
+    assertThat(fieldsUpdated.cause()).hasMessage("enclave unavailable");
+
+    transaction.nonceUnused();
+    verify(nonceProvider).release();
+  }
+
   private void createGoQuorumPrivateTransaction(final Optional<String> privateFrom) {
     privateFrom.ifPresent((p) -> params.privateFrom(p));
     ethTransaction =
         GoQuorumPrivateTransaction.from(
-            params, () -> BigInteger.valueOf(7), enclaveLookupIdProvider, new JsonRpcRequestId(1));
+            params,
+            () -> Future.succeededFuture(BigInteger.valueOf(7)),
+            enclaveLookupIdProvider,
+            NoOpMetricsSystem.NO_OP_COUNTER,
+            new JsonRpcRequestId(1));
     ethTransaction.updateFieldsIfRequired();
   }
 
+  private RawTransaction decode(final GoQuorumPrivateTransaction transaction) {
+    return TransactionDecoder.decode(Numeric.toHexString(transaction.rlpEncode(null)));
+  }
+
   private JsonObject getGoQuorumRawTxJsonParams(
       final Optional<Base64String> privateFrom, final List<Base64String> privateFor) {
     final JsonObject jsonObject = new JsonObject();
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.requesthandler.sendtransaction.transaction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import tech.pegasys.ethsigner.core.jsonrpc.JsonDecoder;
+import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequest;
+import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequestId;
+import tech.pegasys.ethsigner.core.requesthandler.VertxRequestTransmitter;
+import tech.pegasys.ethsigner.core.requesthandler.VertxRequestTransmitterFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.impl.headers.VertxHttpHeaders;
+import io.vertx.ext.web.RoutingContext;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TransactionFactoryTest {
+
+  private static final String SENDER = "0x7577919ae5df4941180eac211965f275cdce314d";
+
+  private final VertxRequestTransmitterFactory routingTransmitterFactory =
+      mock(VertxRequestTransmitterFactory.class);
+  private final VertxRequestTransmitterFactory poolTransmitterFactory =
+      mock(VertxRequestTransmitterFactory.class);
+  private final RoutingContext context = mock(RoutingContext.class);
+
+  private TransactionFactory transactionFactory;
+
+  @BeforeEach
+  void setup() {
+    when(routingTransmitterFactory.forMethod(anyString())).thenReturn(poolTransmitterFactory);
+    when(poolTransmitterFactory.createForSender(anyString(), any()))
+        .thenAnswer(invocation -> mock(VertxRequestTransmitter.class));
+    final HttpServerRequest request = mock(HttpServerRequest.class);
+    when(request.headers()).thenReturn(new VertxHttpHeaders());
+    when(context.request()).thenReturn(request);
+
+    transactionFactory =
+        new TransactionFactory(
+            new JsonDecoder(new ObjectMapper()),
+            routingTransmitterFactory,
+            Optional.empty(),
+            mock(Counter.class));
+  }
+
+  @Test
+  void goQuorumNonceAndStoreRawAreSentToThePoolOfTheSubmission() {
+    final Transaction transaction =
+        transactionFactory.createTransaction(
+            context,
+            sendTransaction(
+                Map.of(
+                    "from", SENDER,
+                    "to", "0xd46e8dd67c5d32be8058bb8eb970870f07244567",
+                    "data", "0x6080",
+                    "privateFor", List.of("GV8m0VZAccYGAAYMBuYQtKEj0XtpXeaw2APcoBmtA2w="))));
+
+    transaction.updateFieldsIfRequired();
+
+    verify(routingTransmitterFactory).forMethod("eth_sendRawPrivateTransaction");
+    verify(routingTransmitterFactory, times(1)).forMethod(anyString());
+    // the nonce query and the storeraw
+    verify(poolTransmitterFactory, times(2)).createForSender(eq(SENDER), any());
+    assertThat(transaction.getJsonRpcMethodName()).isEqualTo("eth_sendRawPrivateTransaction");
+  }
+
+  @Test
+  void publicTransactionNonceIsSentToThePoolOfTheSubmission() {
+    final Transaction transaction =
+        transactionFactory.createTransaction(context, sendTransaction(Map.of("from", SENDER)));
+
+    transaction.updateFieldsIfRequired();
+
+    verify(routingTransmitterFactory).forMethod("eth_sendRawTransaction");
+    verify(routingTransmitterFactory, times(1)).forMethod(anyString());
+    verify(poolTransmitterFactory).createForSender(eq(SENDER), any());
+  }
+
+  private static JsonRpcRequest sendTransaction(final Map<String, Object> params) {
+    final JsonRpcRequest request = new JsonRpcRequest("2.0", "eth_sendTransaction");
+    request.setId(new JsonRpcRequestId(1));
+    request.setParams(List.of(params));
+    return request;
+  }
+}
@@ -0,0 +1,241 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.core.signing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import tech.pegasys.ethsigner.core.jsonrpc.EeaSendTransactionJsonParameters;
+import tech.pegasys.ethsigner.core.jsonrpc.EthSendTransactionJsonParameters;
+import tech.pegasys.ethsigner.core.jsonrpc.JsonRpcRequestId;
+import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.transaction.BesuPrivateTransaction;
+import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.transaction.EeaPrivateTransaction;
+import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.transaction.EthTransaction;
+import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.transaction.GoQuorumPrivateTransaction;
+import tech.pegasys.ethsigner.core.requesthandler.sendtransaction.transaction.Transaction;
+
+import java.math.BigInteger;
+import java.util.List;
+
+import com.google.common.base.Strings;
+import io.vertx.core.Future;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.junit.jupiter.api.Test;
+import org.web3j.crypto.RawTransaction;
+import org.web3j.crypto.Sign.SignatureData;
+import org.web3j.crypto.TransactionEncoder;
+import org.web3j.protocol.eea.crypto.PrivateTransactionEncoder;
+import org.web3j.protocol.eea.crypto.RawPrivateTransaction;
+import org.web3j.rlp.RlpEncoder;
+import org.web3j.rlp.RlpList;
+import org.web3j.utils.Base64String;
+import org.web3j.utils.Numeric;
+import org.web3j.utils.Restriction;
+
+public class RlpTransactionEncoderTest {
+
+  private static final String SENDER = "0x7577919ae5df4941180eac211965f275cdce314d";
+  private static final String RECEIVER = "0x00e8dd67c5d32be8058bb8eb970870f072445675";
+  private static final String PRIVATE_FROM = "ZlapEsl9qDLPy/e88+/6yvCUEVIvH83y0N4A6wHuKXI=";
+  private static final String RECIPIENT_1 = "GV8m0VZAccYGAAYMBuYQtKEj0XtpXeaw2APcoBmtA2w=";
+  private static final String RECIPIENT_2 = "k2zXEin4Ip/qBGlRkJejnGWdP9cjkK+DAvKNW31L2C8=";
+  private static final String LARGE_DATA = "0x" + Strings.repeat("d46e8dd67c5d32be", 40);
+  private static final long CHAIN_ID = 2018;
+
+  // r and s as produced by BigInteger.toByteArray, with a leading sign byte
+  private static final SignatureData SIGNATURE =
+      new SignatureData(
+          new byte[] {0, 0, 0x0f, (byte) 0xe8},
+          Numeric.hexStringToByteArray(
+              "0x00fe72a92aede764ce41d06b163d28700b58e5ee8bb1af91d9d54979ea3bdb3e7e"),
+          Numeric.hexStringToByteArray(
+              "0x46ae10c94c322fa44ddceb86677c2cd6cc17dfbd766924f41d10a244c512996d"));
+
+  @Test
+  public void ethTransactionIsEncodedAsWeb3j() {
+    final EthSendTransactionJsonParameters params = ethParams("0x9184e72a000", "0x76c0");
+    params.receiver(RECEIVER);
+    params.value("0xde0b6b3a7640000");
+    params.data("0xd46e8dd67c5d32be8d46e8dd67c5d32be8058bb8eb970870f072445675");
+    final EthTransaction transaction = new EthTransaction(params, null, new JsonRpcRequestId(1));
+    final RawTransaction rawTransaction =
+        RawTransaction.createTransaction(
+            BigInteger.valueOf(7),
+            new BigInteger("9184e72a000", 16),
+            BigInteger.valueOf(0x76c0),
+            RECEIVER,
+            new BigInteger("de0b6b3a7640000", 16),
+            "0xd46e8dd67c5d32be8d46e8dd67c5d32be8058bb8eb970870f072445675");
+
+    assertEncodedAsWeb3j(transaction, rawTransaction);
+  }
+
+  @Test
+  public void contractCreationWithLargeValuesIsEncodedAsWeb3j() {
+    final String nonce = "0xe04d296d2460cfb8472af2c5fd05b5a214109c25688d3704aed5484f9a7792f2";
+    final EthSendTransactionJsonParameters params = ethParams("0x0", "0x7fffffffffffffff");
+    params.nonce(nonce);
+    params.data(LARGE_DATA);
+    final EthTransaction transaction = new EthTransaction(params, null, new JsonRpcRequestId(1));
+    final RawTransaction rawTransaction =
+        RawTransaction.createTransaction(
+            Numeric.decodeQuantity(nonce),
+            BigInteger.ZERO,
+            BigInteger.valueOf(Long.MAX_VALUE),
+            "",
+            BigInteger.ZERO,
+            LARGE_DATA);
+
+    assertEncodedAsWeb3j(transaction, rawTransaction);
+  }
+
+  @Test
+  public void transactionWithoutDataIsEncodedAsWeb3j() {
+    final EthSendTransactionJsonParameters params = ethParams("0x1", "0x76c0");
+    params.receiver(RECEIVER);
+    final EthTransaction transaction = new EthTransaction(params, null, new JsonRpcRequestId(1));
+    final RawTransaction rawTransaction =
+        RawTransaction.createTransaction(
+            BigInteger.valueOf(7), BigInteger.ONE, BigInteger.valueOf(0x76c0), RECEIVER, "");
+
+    assertEncodedAsWeb3j(transaction, rawTransaction);
+  }
+
+  @Test
+  public void goQuorumPrivateTransactionIsEncodedAsWeb3j() {
+    final String lookupId = "0x9aefeff5ef9cef1dfdeffccff0afefff6fef0ff9faef9feffaeff3ffeffcf8fe";
+    final EthSendTransactionJsonParameters params = ethParams("0x1", "0x76c0");
+    params.receiver(RECEIVER);
+    params.data(LARGE_DATA);
+    params.privateFor(new String[] {RECIPIENT_1});
+    final GoQuorumPrivateTransaction transaction =
+        GoQuorumPrivateTransaction.from(
+            params,
+            null,
+            payload -> Future.succeededFuture(lookupId),
+            NoOpMetricsSystem.NO_OP_COUNTER,
+            new JsonRpcRequestId(1));
+    transaction.updateFieldsIfRequired();
+    final RawTransaction rawTransaction =
+        RawTransaction.createTransaction(
+            BigInteger.valueOf(7), BigInteger.ONE, BigInteger.valueOf(0x76c0), RECEIVER, lookupId);
+
+    assertThat(transaction.rlpEncode(null)).isEqualTo(TransactionEncoder.encode(rawTransaction));
+    assertEncodedAsWeb3j(transaction, rawTransaction);
+  }
+
+  @Test
+  public void eeaPrivateTransactionIsEncodedAsWeb3j() {
+    final EeaSendTransactionJsonParameters params = eeaParams("unrestricted");
+    params.privateFor(new String[] {RECIPIENT_1, RECIPIENT_2});
+    final EeaPrivateTransaction transaction =
+        EeaPrivateTransaction.from(params, null, new JsonRpcRequestId(1));
+    final RawPrivateTransaction rawTransaction =
+        RawPrivateTransaction.createTransaction(
+            BigInteger.valueOf(7),
+            BigInteger.ONE,
+            BigInteger.valueOf(0x76c0),
+            RECEIVER,
+            LARGE_DATA,
+            Base64String.wrap(PRIVATE_FROM),
+            List.of(Base64String.wrap(RECIPIENT_1), Base64String.wrap(RECIPIENT_2)),
+            Restriction.UNRESTRICTED);
+
+    assertEncodedAsWeb3j(transaction, rawTransaction);
+  }
+
+  @Test
+  public void besuPrivateTransactionIsEncodedAsWeb3j() {
+    final EeaSendTransactionJsonParameters params = eeaParams("restricted");
+    params.privacyGroupId(RECIPIENT_2);
+    final BesuPrivateTransaction transaction =
+        BesuPrivateTransaction.from(params, null, new JsonRpcRequestId(1));
+    final RawPrivateTransaction rawTransaction =
+        RawPrivateTransaction.createTransaction(
+            BigInteger.valueOf(7),
+            BigInteger.ONE,
+            BigInteger.valueOf(0x76c0),
+            RECEIVER,
+            LARGE_DATA,
+            Base64String.wrap(PRIVATE_FROM),
+            Base64String.wrap(RECIPIENT_2),
+            Restriction.RESTRICTED);
+
+    assertEncodedAsWeb3j(transaction, rawTransaction);
+  }
+
+  @Test
+  public void signedEncodingsReuseTheFieldsWrittenOnce() {
+    final EthSendTransactionJsonParameters params = ethParams("0x1", "0x76c0");
+    params.receiver(RECEIVER);
+    params.data(LARGE_DATA);
+    final EthTransaction transaction = new EthTransaction(params, null, new JsonRpcRequestId(1));
+    final SignatureData chainIdSignature = chainIdSignature();
+
+    final RlpTransactionEncoder encoder = RlpTransactionEncoder.acquire();
+    transaction.writeFields(encoder);
+    final byte[] payload = encoder.encode(chainIdSignature.getV(), new byte[] {}, new byte[] {});
+    final String signed = encoder.encodeHex(SIGNATURE.getV(), SIGNATURE.getR(), SIGNATURE.getS());
+
+    assertThat(payload).isEqualTo(transaction.rlpEncode(chainIdSignature));
+    assertThat(signed).isEqualTo(Numeric.toHexString(transaction.rlpEncode(SIGNATURE)));
+  }
+
+  private void assertEncodedAsWeb3j(
+      final Transaction transaction, final RawTransaction rawTransaction) {
+    assertThat(transaction.rlpEncode(CHAIN_ID))
+        .isEqualTo(
+            RlpEncoder.encode(
+                new RlpList(TransactionEncoder.asRlpValues(rawTransaction, chainIdSignature()))));
+    assertThat(transaction.rlpEncode(SIGNATURE))
+        .isEqualTo(
+            RlpEncoder.encode(
+                new RlpList(TransactionEncoder.asRlpValues(rawTransaction, SIGNATURE))));
+  }
+
+  private void assertEncodedAsWeb3j(
+      final Transaction transaction, final RawPrivateTransaction rawTransaction) {
+    assertThat(transaction.rlpEncode(CHAIN_ID))
+        .isEqualTo(
+            RlpEncoder.encode(
+                new RlpList(
+                    PrivateTransactionEncoder.asRlpValues(rawTransaction, chainIdSignature()))));
+    assertThat(transaction.rlpEncode(SIGNATURE))
+        .isEqualTo(
+            RlpEncoder.encode(
+                new RlpList(PrivateTransactionEncoder.asRlpValues(rawTransaction, SIGNATURE))));
+  }
+
+  private static SignatureData chainIdSignature() {
+    return new SignatureData(Transaction.longToBytes(CHAIN_ID), new byte[] {}, new byte[] {});
+  }
+
+  private static EthSendTransactionJsonParameters ethParams(
+      final String gasPrice, final String gas) {
+    final EthSendTransactionJsonParameters params = new EthSendTransactionJsonParameters(SENDER);
+    params.gasPrice(gasPrice);
+    params.gas(gas);
+    params.nonce("0x7");
+    return params;
+  }
+
+  private static EeaSendTransactionJsonParameters eeaParams(final String restriction) {
+    final EeaSendTransactionJsonParameters params =
+        new EeaSendTransactionJsonParameters(SENDER, PRIVATE_FROM, restriction);
+    params.receiver(RECEIVER);
+    params.gasPrice("0x1");
+    params.gas("0x76c0");
+    params.nonce("0x7");
+    params.data(LARGE_DATA);
+    return params;
+  }
+}
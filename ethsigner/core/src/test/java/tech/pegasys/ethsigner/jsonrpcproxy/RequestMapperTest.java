@@ -44,4 +44,12 @@ public class RequestMapperTest {
     assertThat(requestMapper.getMatchingHandler("")).isEqualTo(defaultHandler);
     assertThat(requestMapper.getMatchingHandler("nothing")).isEqualTo(defaultHandler);
   }
+
+  @Test
+  public void onlyAddedMethodsHaveHandler() {
+    final RequestMapper requestMapper = new RequestMapper(defaultHandler);
+    requestMapper.addHandler("foo", handler1);
+    assertThat(requestMapper.hasHandler("foo")).isTrue();
+    assertThat(requestMapper.hasHandler("nothing")).isFalse();
+  }
 }
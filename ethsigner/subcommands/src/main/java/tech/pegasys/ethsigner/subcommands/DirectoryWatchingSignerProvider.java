@@ -0,0 +1,268 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.subcommands;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import tech.pegasys.ethsigner.core.AddressIndexedSignerProvider;
+import tech.pegasys.ethsigner.core.InitializationException;
+import tech.pegasys.ethsigner.core.signing.PreloadableSignerProvider;
+import tech.pegasys.ethsigner.core.signing.ReloadableSignerProvider;
+import tech.pegasys.ethsigner.core.signing.SignerChangeListener;
+import tech.pegasys.signers.secp256k1.api.FileSelector;
+import tech.pegasys.signers.secp256k1.api.Signer;
+import tech.pegasys.signers.secp256k1.api.SignerProvider;
+import tech.pegasys.signers.secp256k1.multikey.MultiKeySignerProvider;
+import tech.pegasys.signers.secp256k1.multikey.SigningMetadataTomlConfigLoader;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.security.interfaces.ECPublicKey;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.google.common.io.Files;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Monitors a multikey signing directory, loading the signer for each added or modified metadata
+ * file and reporting it (along with removed files) to the registered listeners, such that only the
+ * affected signers are reloaded. Signers are otherwise served by the delegate provider.
+ */
+public class DirectoryWatchingSignerProvider implements ReloadableSignerProvider {
+
+  private static final Logger LOG = LogManager.getLogger();
+  private static final int ADDRESS_HEX_LENGTH = 40;
+
+  private final Path directory;
+  private final FileSelector<ECPublicKey> fileSelector;
+  private final SignerProvider delegate;
+  private final MultiKeySignerProvider multiKeySignerProvider;
+  private final SigningMetadataTomlConfigLoader metadataLoader;
+  private final List<SignerChangeListener> listeners = new CopyOnWriteArrayList<>();
+  // the address of the signer most recently loaded from each metadata file
+  private final Map<Path, String> fileAddresses = new ConcurrentHashMap<>();
+  private WatchService watchService;
+
+  /**
+   * Creates a provider watching the directory, which is preloadable if (and only if) its delegate
+   * is, such that addresses are only unavailable while they are being preloaded.
+   */
+  public static DirectoryWatchingSignerProvider create(
+      final Path directory,
+      final FileSelector<ECPublicKey> fileSelector,
+      final SignerProvider delegate) {
+    if (delegate instanceof PreloadableSignerProvider) {
+      return new PreloadingDirectoryWatchingSignerProvider(
+          directory, fileSelector, (PreloadableSignerProvider) delegate);
+    }
+    return new DirectoryWatchingSignerProvider(directory, fileSelector, delegate);
+  }
+
+  DirectoryWatchingSignerProvider(
+      final Path directory,
+      final FileSelector<ECPublicKey> fileSelector,
+      final SignerProvider delegate) {
+    this.directory = directory;
+    this.fileSelector = fileSelector;
+    this.delegate = delegate;
+    this.multiKeySignerProvider = MultiKeySignerProvider.create(directory, fileSelector);
+    this.metadataLoader = new SigningMetadataTomlConfigLoader(directory);
+    if (delegate instanceof SignerChangeListener) {
+      listeners.add((SignerChangeListener) delegate);
+    }
+  }
+
+  @Override
+  public synchronized void watch(final SignerChangeListener listener) {
+    if (watchService != null) {
+      throw new IllegalStateException("Already watching " + directory);
+    }
+
+    final WatchService service;
+    try {
+      service = FileSystems.getDefault().newWatchService();
+    } catch (final IOException e) {
+      throw new InitializationException("Unable to watch directory " + directory, e);
+    }
+    try {
+      directory.register(service, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+    } catch (final IOException e) {
+      closeWatchService(service);
+      throw new InitializationException("Unable to watch directory " + directory, e);
+    }
+    listeners.add(listener);
+    watchService = service;
+
+    final Thread watchThread =
+        new Thread(() -> processEvents(service), "multikey-directory-watcher");
+    watchThread.setDaemon(true);
+    watchThread.start();
+    LOG.info("Watching {} for changes to signing metadata files", directory);
+  }
+
+  private void processEvents(final WatchService service) {
+    while (true) {
+      final WatchKey watchKey;
+      try {
+        watchKey = service.take();
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (final ClosedWatchServiceException e) {
+        LOG.info("Stopped watching {} for changes to signing metadata files", directory);
+        return;
+      }
+
+      for (final WatchEvent<?> event : watchKey.pollEvents()) {
+        if (event.kind() == OVERFLOW) {
+          LOG.warn("Changes to {} were missed, restart to pick up all changes", directory);
+          continue;
+        }
+        handleEvent(event.kind(), directory.resolve((Path) event.context()));
+      }
+
+      if (!watchKey.reset()) {
+        LOG.error("{} is no longer accessible, changes will not be applied", directory);
+        return;
+      }
+    }
+  }
+
+  private void handleEvent(final WatchEvent.Kind<?> kind, final Path file) {
+    try {
+      if (!fileSelector.getAllConfigFilesFilter().accept(file)) {
+        return;
+      }
+    } catch (final IOException e) {
+      LOG.warn("Unable to process change to {}", file, e);
+      return;
+    }
+
+    if (kind == ENTRY_DELETE) {
+      previousAddressOf(file, fileAddresses.remove(file)).ifPresent(this::notifyRemoved);
+    } else {
+      loadSigner(file).ifPresent(signer -> signerLoaded(kind, file, signer));
+    }
+  }
+
+  private void signerLoaded(final WatchEvent.Kind<?> kind, final Path file, final Signer signer) {
+    final String address = AddressIndexedSignerProvider.toAddress(signer.getPublicKey());
+    final String previouslyLoaded = fileAddresses.put(file, address);
+    // a newly created file has no previous signer, even though its name may be that of an address
+    final Optional<String> previousAddress =
+        kind == ENTRY_CREATE && previouslyLoaded == null
+            ? Optional.empty()
+            : previousAddressOf(file, previouslyLoaded);
+    // the file may now contain a different key, whose predecessor is no longer available
+    previousAddress.filter(previous -> !previous.equals(address)).ifPresent(this::notifyRemoved);
+    notifyAdded(signer);
+  }
+
+  /**
+   * The address of the signer previously loaded from the file, or for a file which has not been
+   * loaded since watching began, that in its name, as the multikey provider only resolves a signer
+   * from the file named for its address.
+   */
+  private Optional<String> previousAddressOf(final Path file, final String previouslyLoaded) {
+    return Optional.ofNullable(previouslyLoaded).or(() -> addressInNameOf(file));
+  }
+
+  private Optional<Signer> loadSigner(final Path file) {
+    try {
+      return metadataLoader
+          .loadMetadata(entry -> entry.getFileName().equals(file.getFileName()))
+          .map(metadataFile -> metadataFile.createSigner(multiKeySignerProvider));
+    } catch (final RuntimeException e) {
+      // the file may be partially written, a subsequent modification event will retry
+      LOG.warn("Unable to load signer from {}, existing signer is retained", file, e);
+      return Optional.empty();
+    }
+  }
+
+  private Optional<String> addressInNameOf(final Path file) {
+    final String name = Files.getNameWithoutExtension(file.getFileName().toString());
+    if (name.length() < ADDRESS_HEX_LENGTH) {
+      return Optional.empty();
+    }
+    return Optional.of(
+        "0x" + name.substring(name.length() - ADDRESS_HEX_LENGTH).toLowerCase(Locale.ROOT));
+  }
+
+  private void notifyAdded(final Signer signer) {
+    listeners.forEach(listener -> listener.signerAdded(signer));
+  }
+
+  private void notifyRemoved(final String address) {
+    listeners.forEach(listener -> listener.signerRemoved(address));
+  }
+
+  @Override
+  public Optional<Signer> getSigner(final ECPublicKey publicKey) {
+    return delegate.getSigner(publicKey);
+  }
+
+  @Override
+  public Set<ECPublicKey> availablePublicKeys() {
+    return delegate.availablePublicKeys();
+  }
+
+  @Override
+  public synchronized void close() {
+    if (watchService != null) {
+      closeWatchService(watchService);
+    }
+  }
+
+  private void closeWatchService(final WatchService service) {
+    try {
+      service.close();
+    } catch (final IOException e) {
+      LOG.warn("Failed to close watch service for {}", directory, e);
+    }
+  }
+
+  private static class PreloadingDirectoryWatchingSignerProvider
+      extends DirectoryWatchingSignerProvider implements PreloadableSignerProvider {
+
+    private final PreloadableSignerProvider delegate;
+
+    PreloadingDirectoryWatchingSignerProvider(
+        final Path directory,
+        final FileSelector<ECPublicKey> fileSelector,
+        final PreloadableSignerProvider delegate) {
+      super(directory, fileSelector, delegate);
+      this.delegate = delegate;
+    }
+
+    @Override
+    public CompletableFuture<Void> preload(final SignerChangeListener listener) {
+      return delegate.preload(listener);
+    }
+  }
+}
@@ -12,11 +12,13 @@
  */
 package tech.pegasys.ethsigner.subcommands;
 
+import static tech.pegasys.ethsigner.DefaultCommandValues.INTEGER_FORMAT_HELP;
 import static tech.pegasys.ethsigner.DefaultCommandValues.PATH_FORMAT_HELP;
 import static tech.pegasys.ethsigner.util.RequiredOptionsUtil.checkIfRequiredOptionsAreInitialized;
 
 import tech.pegasys.ethsigner.SignerSubCommand;
 import tech.pegasys.ethsigner.annotations.RequiredOption;
+import tech.pegasys.ethsigner.config.InvalidCommandLineOptionsException;
 import tech.pegasys.ethsigner.core.InitializationException;
 import tech.pegasys.signers.secp256k1.api.SignerProvider;
 import tech.pegasys.signers.secp256k1.common.SignerInitializationException;
@@ -60,15 +62,53 @@ public class MultiKeySubCommand extends SignerSubCommand {
       arity = "1")
   private Path directoryPath;
 
+  @Option(
+      names = {"--preload-signers"},
+      description =
+          "Initialise all signers concurrently at startup, /upcheck reports unavailable until loading is complete (default: ${DEFAULT-VALUE})")
+  private final Boolean preloadSigners = false;
+
+  @SuppressWarnings("FieldMayBeFinal")
+  @Option(
+      names = {"--preload-signers-parallelism"},
+      description =
+          "Maximum number of signers initialised concurrently when preloading, this bounds the concurrent requests made to remote vaults (default: number of available processors)",
+      paramLabel = INTEGER_FORMAT_HELP,
+      arity = "1")
+  private int preloadSignersParallelism = Runtime.getRuntime().availableProcessors();
+
+  @Option(
+      names = {"--watch-directory"},
+      description =
+          "Monitor the directory for added, modified or removed signing metadata files and apply them without a restart (default: ${DEFAULT-VALUE})")
+  private final Boolean watchDirectory = false;
+
   @Override
   protected void validateArgs() throws InitializationException {
     checkIfRequiredOptionsAreInitialized(this);
+    if (preloadSignersParallelism < 1) {
+      throw new InvalidCommandLineOptionsException(
+          "--preload-signers-parallelism must be greater than 0");
+    }
     super.validateArgs();
   }
 
   @Override
   public SignerProvider createSignerFactory() throws SignerInitializationException {
-    return MultiKeySignerProvider.create(directoryPath, new EthSignerFileSelector());
+    final SignerProvider signerProvider;
+    if (preloadSigners) {
+      signerProvider =
+          new PreloadingMultiKeySignerProvider(
+              directoryPath, new EthSignerFileSelector(), preloadSignersParallelism);
+    } else {
+      signerProvider = MultiKeySignerProvider.create(directoryPath, new EthSignerFileSelector());
+    }
+
+    if (watchDirectory) {
+      return DirectoryWatchingSignerProvider.create(
+          directoryPath, new EthSignerFileSelector(), signerProvider);
+    }
+    return signerProvider;
   }
 
   @Override
@@ -81,8 +121,28 @@ public class MultiKeySubCommand extends SignerSubCommand {
     return directoryPath;
   }
 
+  @VisibleForTesting
+  boolean isPreloadSigners() {
+    return preloadSigners;
+  }
+
+  @VisibleForTesting
+  int getPreloadSignersParallelism() {
+    return preloadSignersParallelism;
+  }
+
+  @VisibleForTesting
+  boolean isWatchDirectory() {
+    return watchDirectory;
+  }
+
   @Override
   public String toString() {
-    return MoreObjects.toStringHelper(this).add("directoryPath", directoryPath).toString();
+    return MoreObjects.toStringHelper(this)
+        .add("directoryPath", directoryPath)
+        .add("preloadSigners", preloadSigners)
+        .add("preloadSignersParallelism", preloadSignersParallelism)
+        .add("watchDirectory", watchDirectory)
+        .toString();
   }
 }
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.subcommands;
+
+import tech.pegasys.ethsigner.core.AddressIndexedSignerProvider;
+import tech.pegasys.ethsigner.core.signing.PreloadableSignerProvider;
+import tech.pegasys.ethsigner.core.signing.SignerChangeListener;
+import tech.pegasys.signers.secp256k1.api.FileSelector;
+import tech.pegasys.signers.secp256k1.api.Signer;
+import tech.pegasys.signers.secp256k1.multikey.MultiKeySignerProvider;
+import tech.pegasys.signers.secp256k1.multikey.SigningMetadataTomlConfigLoader;
+import tech.pegasys.signers.secp256k1.multikey.metadata.SigningMetadataFile;
+
+import java.nio.file.Path;
+import java.security.interfaces.ECPublicKey;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.common.base.Stopwatch;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Parses every signing metadata file in a directory, then initialises the corresponding signers
+ * concurrently (decrypting keystores, or fetching keys from remote vaults), handing the resulting
+ * signers to the preloading listener. Only the public keys are retained, a signer which is no
+ * longer held by the listener is initialised again on its next use.
+ *
+ * <p>The parallelism of the pool on which signers are initialised bounds the number of concurrent
+ * requests made to a remote vault.
+ *
+ * <p>Signers loaded (or removed) after the initial preload are applied via the {@link
+ * SignerChangeListener} callbacks.
+ */
+public class PreloadingMultiKeySignerProvider
+    implements PreloadableSignerProvider, SignerChangeListener {
+
+  private static final Logger LOG = LogManager.getLogger();
+  private static final int PROGRESS_REPORT_PERCENTAGE = 10;
+
+  private final MultiKeySignerProvider multiKeySignerProvider;
+  private final SigningMetadataTomlConfigLoader metadataLoader;
+  private final FileSelector<ECPublicKey> fileSelector;
+  private final int parallelism;
+  private final Set<ECPublicKey> publicKeys = ConcurrentHashMap.newKeySet();
+
+  public PreloadingMultiKeySignerProvider(
+      final Path directory, final FileSelector<ECPublicKey> fileSelector, final int parallelism) {
+    this.multiKeySignerProvider = MultiKeySignerProvider.create(directory, fileSelector);
+    this.metadataLoader = new SigningMetadataTomlConfigLoader(directory);
+    this.fileSelector = fileSelector;
+    this.parallelism = parallelism;
+  }
+
+  @Override
+  public CompletableFuture<Void> preload(final SignerChangeListener listener) {
+    final ForkJoinPool loadingPool = new ForkJoinPool(parallelism);
+    return CompletableFuture.runAsync(() -> loadSigners(listener), loadingPool)
+        .whenComplete((result, thrown) -> loadingPool.shutdown());
+  }
+
+  private void loadSigners(final SignerChangeListener listener) {
+    final Stopwatch stopwatch = Stopwatch.createStarted();
+    final List<SigningMetadataFile> metadataFiles =
+        metadataLoader.loadAvailableSigningMetadataTomlConfigs(
+            fileSelector.getAllConfigFilesFilter());
+    LOG.info("Initialising {} signers with parallelism of {}", metadataFiles.size(), parallelism);
+
+    final AtomicInteger completed = new AtomicInteger();
+    metadataFiles
+        .parallelStream()
+        .forEach(
+            metadataFile -> {
+              loadSigner(metadataFile, listener);
+              reportProgress(completed.incrementAndGet(), metadataFiles.size());
+            });
+
+    LOG.info("Initialised {} signers in {}", publicKeys.size(), stopwatch);
+  }
+
+  private void loadSigner(
+      final SigningMetadataFile metadataFile, final SignerChangeListener listener) {
+    try {
+      final Signer signer = metadataFile.createSigner(multiKeySignerProvider);
+      if (signer != null) {
+        publicKeys.add(signer.getPublicKey());
+        listener.signerAdded(signer);
+      }
+    } catch (final RuntimeException e) {
+      LOG.warn("Failed to initialise signer from {}", metadataFile.getFilename(), e);
+    }
+  }
+
+  private void reportProgress(final int completed, final int total) {
+    final int stepSize = Math.max(1, total * PROGRESS_REPORT_PERCENTAGE / 100);
+    if (completed % stepSize == 0 || completed == total) {
+      LOG.info("Loaded {} of {} signers ({}%)", completed, total, completed * 100 / total);
+    }
+  }
+
+  @Override
+  public void signerAdded(final Signer signer) {
+    publicKeys.add(signer.getPublicKey());
+  }
+
+  @Override
+  public void signerRemoved(final String address) {
+    publicKeys.removeIf(
+        publicKey -> AddressIndexedSignerProvider.toAddress(publicKey).equalsIgnoreCase(address));
+  }
+
+  @Override
+  public Optional<Signer> getSigner(final ECPublicKey publicKey) {
+    if (!publicKeys.contains(publicKey)) {
+      return Optional.empty();
+    }
+    return multiKeySignerProvider.getSigner(publicKey);
+  }
+
+  @Override
+  public Set<ECPublicKey> availablePublicKeys() {
+    return publicKeys;
+  }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.ethsigner.subcommands;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import tech.pegasys.ethsigner.core.AddressIndexedSignerProvider;
+import tech.pegasys.signers.secp256k1.multikey.MultiKeySignerProvider;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.web3j.crypto.ECKeyPair;
+import org.web3j.crypto.Keys;
+import org.web3j.crypto.WalletUtils;
+import org.web3j.utils.Numeric;
+
+class DirectoryWatchingSignerProviderTest {
+
+  private static final String PASSWORD = "password";
+  private static final ECKeyPair KEY_PAIR_1 =
+      ECKeyPair.create(
+          Numeric.toBigInt("8f2a55949038a9610f50fb23b5883af3b4ecb3c3bb792cbcefbd1542c692be63"));
+  private static final ECKeyPair KEY_PAIR_2 =
+      ECKeyPair.create(
+          Numeric.toBigInt("c87509a1c067bbde78beb793e6fa76530b6382a4c0241e5e4a9ec0a0f44dc0d3"));
+  private static final String ADDRESS_1 = "0x" + Keys.getAddress(KEY_PAIR_1);
+  private static final String ADDRESS_2 = "0x" + Keys.getAddress(KEY_PAIR_2);
+
+  @TempDir Path tempDir;
+
+  private Path metadataDirectory;
+  private Path keyDirectory;
+  private DirectoryWatchingSignerProvider watchingProvider;
+  private AddressIndexedSignerProvider signerProvider;
+
+  @BeforeEach
+  void setup() throws Exception {
+    metadataDirectory = Files.createDirectory(tempDir.resolve("metadata"));
+    keyDirectory = Files.createDirectory(tempDir.resolve("keys"));
+    final EthSignerFileSelector fileSelector = new EthSignerFileSelector();
+    watchingProvider =
+        DirectoryWatchingSignerProvider.create(
+            metadataDirectory,
+            fileSelector,
+            MultiKeySignerProvider.create(metadataDirectory, fileSelector));
+    signerProvider = AddressIndexedSignerProvider.create(watchingProvider);
+    watchingProvider.watch(signerProvider);
+  }
+
+  @AfterEach
+  void teardown() {
+    watchingProvider.close();
+  }
+
+  @Test
+  void signerOfCreatedMetadataFileBecomesAvailable() throws Exception {
+    writeMetadataFile("signer.toml", KEY_PAIR_1);
+
+    awaitAvailableAddresses(ADDRESS_1);
+    assertThat(signerProvider.getSigner(ADDRESS_1)).isPresent();
+  }
+
+  @Test
+  void metadataFileModifiedToAnotherKeyReplacesItsPreviousSigner() throws Exception {
+    writeMetadataFile("signer.toml", KEY_PAIR_1);
+    awaitAvailableAddresses(ADDRESS_1);
+
+    writeMetadataFile("signer.toml", KEY_PAIR_2);
+
+    awaitAvailableAddresses(ADDRESS_2);
+    assertThat(signerProvider.getSigner(ADDRESS_1)).isEmpty();
+    assertThat(signerProvider.getSigner(ADDRESS_2)).isPresent();
+  }
+
+  @Test
+  void deletingMetadataFileRemovesTheSignerLoadedFromIt() throws Exception {
+    // the file name does not contain the address, so it can only be derived from the key
+    final Path metadataFile = writeMetadataFile("signer.toml", KEY_PAIR_1);
+    writeMetadataFile("other.toml", KEY_PAIR_2);
+    awaitAvailableAddresses(ADDRESS_1, ADDRESS_2);
+
+    Files.delete(metadataFile);
+
+    awaitAvailableAddresses(ADDRESS_2);
+    assertThat(signerProvider.getSigner(ADDRESS_1)).isEmpty();
+  }
+
+  private Path writeMetadataFile(final String fileName, final ECKeyPair keyPair)
+      throws Exception {
+    final Path keyFile =
+        keyDirectory.resolve(
+            WalletUtils.generateWalletFile(PASSWORD, keyPair, keyDirectory.toFile(), false));
+    final Path passwordFile = Files.writeString(Path.of(keyFile + ".pass"), PASSWORD);
+    final String toml =
+        String.format(
+            "[signing]%ntype = \"file-based-signer\"%nkey-file = \"%s\"%npassword-file = \"%s\"%n",
+            keyFile, passwordFile);
+    return Files.writeString(metadataDirectory.resolve(fileName), toml);
+  }
+
+  private void awaitAvailableAddresses(final String... addresses) throws InterruptedException {
+    final Set<String> expected = Set.of(addresses);
+    final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (!availableAddresses().equals(expected) && System.nanoTime() < deadline) {
+      Thread.sleep(50);
+    }
+    assertThat(availableAddresses()).isEqualTo(expected);
+  }
+
+  private Set<String> availableAddresses() {
+    return Set.copyOf(signerProvider.availableAddresses());
+  }
+}
@@ -57,6 +57,57 @@ class MultiKeySubCommandTest extends SubCommandTestBase {
     assertThat(((MultiKeySubCommand) subCommand).getDirectoryPath()).isEqualTo(expectedPath);
   }
 
+  @Test
+  void parseCommandSuccessfullySetsPreloadOptions() {
+    final List<String> subCommandOptions =
+        List.of(
+            "--directory",
+            "/keys/directory/path",
+            "--preload-signers",
+            "--preload-signers-parallelism",
+            "16");
+
+    final List<String> options = getOptions(subCommandOptions);
+
+    final boolean result = parser.parseCommandLine(options.toArray(String[]::new));
+
+    assertThat(result).isTrue();
+    final MultiKeySubCommand multiKeySubCommand = (MultiKeySubCommand) subCommand;
+    assertThat(multiKeySubCommand.isPreloadSigners()).isTrue();
+    assertThat(multiKeySubCommand.getPreloadSignersParallelism()).isEqualTo(16);
+  }
+
+  @Test
+  void preloadIsDisabledByDefault() {
+    final List<String> options = getOptions(List.of("--directory", "/keys/directory/path"));
+
+    final boolean result = parser.parseCommandLine(options.toArray(String[]::new));
+
+    assertThat(result).isTrue();
+    assertThat(((MultiKeySubCommand) subCommand).isPreloadSigners()).isFalse();
+  }
+
+  @Test
+  void parseCommandSuccessfullySetsWatchDirectory() {
+    final List<String> options =
+        getOptions(List.of("--directory", "/keys/directory/path", "--watch-directory"));
+
+    final boolean result = parser.parseCommandLine(options.toArray(String[]::new));
+
+    assertThat(result).isTrue();
+    assertThat(((MultiKeySubCommand) subCommand).isWatchDirectory()).isTrue();
+  }
+
+  @Test
+  void watchDirectoryIsDisabledByDefault() {
+    final List<String> options = getOptions(List.of("--directory", "/keys/directory/path"));
+
+    final boolean result = parser.parseCommandLine(options.toArray(String[]::new));
+
+    assertThat(result).isTrue();
+    assertThat(((MultiKeySubCommand) subCommand).isWatchDirectory()).isFalse();
+  }
+
   @Test
   void configFileSuccessfullyParsedAndValidates() {
     final Path expectedPath = Path.of("/keys/directory/path");